@@ -0,0 +1,148 @@
+package com.jonas.tetris.bench;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import com.jonas.tetris.util.JsonReader;
+
+/**
+ * Resultado de um benchmark lido do JSON do JMH: as medições de todas as
+ * iterações de todos os forks.
+ */
+final class BenchmarkResult {
+    private final String key;
+    private final String mode;
+    private final String unit;
+    private final double[] samples;
+
+    BenchmarkResult(String key, String mode, String unit, double[] samples) {
+        this.key = key;
+        this.mode = mode;
+        this.unit = unit;
+        this.samples = samples;
+    }
+
+    /**
+     * Lê um arquivo gerado com {@code -rf json}.
+     */
+    static List<BenchmarkResult> load(Path file) throws IOException {
+        Object root;
+        try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            root = new JsonReader(reader).readTree();
+        }
+        if (!(root instanceof List)) {
+            throw new IllegalArgumentException(file + ": esperado um array de resultados do JMH");
+        }
+
+        List<BenchmarkResult> results = new ArrayList<>();
+        for (Object item : (List<?>) root) {
+            Map<?, ?> entry = (Map<?, ?>) item;
+            Map<?, ?> metric = (Map<?, ?>) entry.get("primaryMetric");
+            results.add(new BenchmarkResult(
+                    keyOf(entry),
+                    (String) entry.get("mode"),
+                    (String) metric.get("scoreUnit"),
+                    samplesOf(metric)));
+        }
+        return results;
+    }
+
+    /**
+     * Nome curto (classe.método) mais os parâmetros, ex.:
+     * {@code BoardBenchmark.clearCompleteLines [pattern=stack]}.
+     */
+    private static String keyOf(Map<?, ?> entry) {
+        String name = (String) entry.get("benchmark");
+        int methodDot = name.lastIndexOf('.');
+        int classDot = name.lastIndexOf('.', methodDot - 1);
+        StringBuilder key = new StringBuilder(name.substring(classDot + 1));
+
+        Object params = entry.get("params");
+        if (params instanceof Map && !((Map<?, ?>) params).isEmpty()) {
+            key.append(" [");
+            boolean first = true;
+            for (Map.Entry<?, ?> param : ((Map<?, ?>) params).entrySet()) {
+                if (!first) {
+                    key.append(", ");
+                }
+                key.append(param.getKey()).append('=').append(param.getValue());
+                first = false;
+            }
+            key.append(']');
+        }
+        return key.toString();
+    }
+
+    private static double[] samplesOf(Map<?, ?> metric) {
+        Object raw = metric.get("rawData");
+        List<Double> values = new ArrayList<>();
+        if (raw instanceof List) {
+            for (Object fork : (List<?>) raw) {
+                for (Object value : (List<?>) fork) {
+                    values.add((Double) value);
+                }
+            }
+        }
+        if (values.isEmpty()) {
+            values.add((Double) metric.get("score"));
+        }
+
+        double[] samples = new double[values.size()];
+        for (int i = 0; i < samples.length; i++) {
+            samples[i] = values.get(i);
+        }
+        return samples;
+    }
+
+    String getKey() {
+        return key;
+    }
+
+    String getMode() {
+        return mode;
+    }
+
+    String getUnit() {
+        return unit;
+    }
+
+    int getCount() {
+        return samples.length;
+    }
+
+    /**
+     * No modo throughput, maior é melhor; nos modos de tempo, menor é melhor.
+     */
+    boolean isHigherBetter() {
+        return "thrpt".equals(mode);
+    }
+
+    double getMean() {
+        double sum = 0;
+        for (double sample : samples) {
+            sum += sample;
+        }
+        return sum / samples.length;
+    }
+
+    /**
+     * Variância amostral (n - 1).
+     */
+    double getVariance() {
+        if (samples.length < 2) {
+            return 0;
+        }
+        double mean = getMean();
+        double sum = 0;
+        for (double sample : samples) {
+            sum += (sample - mean) * (sample - mean);
+        }
+        return sum / (samples.length - 1);
+    }
+}
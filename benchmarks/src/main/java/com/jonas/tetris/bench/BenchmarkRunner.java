@@ -0,0 +1,43 @@
+package com.jonas.tetris.bench;
+
+import java.io.File;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Ponto de entrada do benchmarks.jar: aceita as mesmas opções do JMH, mas
+ * por padrão grava os resultados em JSON em {@code bench-results/}, para
+ * comparar execuções ao longo do tempo.
+ *
+ * Exemplo: {@code java -jar benchmarks/target/benchmarks.jar Board -f 1}
+ */
+public final class BenchmarkRunner {
+    public static final String RESULTS_DIRECTORY = "bench-results";
+
+    private BenchmarkRunner() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        CommandLineOptions cli = new CommandLineOptions(args);
+        ChainedOptionsBuilder options = new OptionsBuilder().parent(cli);
+
+        if (!cli.getResultFormat().hasValue()) {
+            options.resultFormat(ResultFormatType.JSON);
+        }
+        if (!cli.getResult().hasValue()) {
+            new File(RESULTS_DIRECTORY).mkdirs();
+            String timestamp = new SimpleDateFormat("yyyyMMdd-HHmmss").format(new Date());
+            options.result(RESULTS_DIRECTORY + File.separator + "jmh-" + timestamp + ".json");
+        }
+        // Renderização offscreen sem display
+        options.jvmArgsAppend("-Djava.awt.headless=true");
+
+        new Runner(options.build()).run();
+    }
+}
@@ -0,0 +1,53 @@
+package com.jonas.tetris.bench;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.jonas.tetris.domain.Board;
+
+/**
+ * Limpeza de linhas em vários padrões de preenchimento. O tabuleiro é
+ * remontado antes de cada chamada (Level.Invocation), já que a limpeza o
+ * modifica.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Thread)
+public class BoardBenchmark {
+
+    @Param({ BoardPatterns.EMPTY, BoardPatterns.SINGLE, BoardPatterns.TETRIS, BoardPatterns.STACK,
+            BoardPatterns.ALTERNATING })
+    public String pattern;
+
+    private final Board board = new Board();
+
+    @Setup(Level.Invocation)
+    public void refill() {
+        BoardPatterns.fill(board, pattern);
+    }
+
+    @Benchmark
+    public int clearCompleteLines() {
+        return board.clearCompleteLines();
+    }
+
+    @Benchmark
+    public int countHoles() {
+        return board.countHoles();
+    }
+}
@@ -0,0 +1,68 @@
+package com.jonas.tetris.bench;
+
+import java.awt.Color;
+
+import com.jonas.tetris.domain.Board;
+
+/**
+ * Padrões de preenchimento usados nos benchmarks do tabuleiro.
+ */
+final class BoardPatterns {
+    static final String EMPTY = "empty";
+    static final String SINGLE = "single"; // 1 linha completa no fundo
+    static final String TETRIS = "tetris"; // 4 linhas completas no fundo
+    static final String STACK = "stack"; // pilha de meio de jogo, sem linhas completas
+    static final String ALTERNATING = "alternating"; // linhas completas intercaladas (pior caso)
+
+    private BoardPatterns() {
+    }
+
+    static void fill(Board board, String pattern) {
+        board.clear();
+        int bottom = board.getHeight() - 1;
+        switch (pattern) {
+            case EMPTY:
+                break;
+            case SINGLE:
+                fillRow(board, bottom, -1);
+                fillStack(board, bottom - 1, 4);
+                break;
+            case TETRIS:
+                for (int i = 0; i < 4; i++) {
+                    fillRow(board, bottom - i, -1);
+                }
+                fillStack(board, bottom - 4, 4);
+                break;
+            case STACK:
+                fillStack(board, bottom, 12);
+                break;
+            case ALTERNATING:
+                for (int i = 0; i < 10; i++) {
+                    fillRow(board, bottom - i, i % 2 == 0 ? -1 : i % board.getWidth());
+                }
+                break;
+            default:
+                throw new IllegalArgumentException("Padrão desconhecido: " + pattern);
+        }
+    }
+
+    /**
+     * Preenche a linha inteira, exceto a coluna {@code gap} (-1 = completa).
+     */
+    private static void fillRow(Board board, int y, int gap) {
+        for (int x = 0; x < board.getWidth(); x++) {
+            if (x != gap) {
+                board.setCell(x, y, Color.GRAY);
+            }
+        }
+    }
+
+    /**
+     * Pilha irregular de {@code rows} linhas, cada uma com um buraco.
+     */
+    private static void fillStack(Board board, int fromY, int rows) {
+        for (int i = 0; i < rows; i++) {
+            fillRow(board, fromY - i, (i * 7 + 3) % board.getWidth());
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package com.jonas.tetris.bench;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.jonas.tetris.domain.Board;
+import com.jonas.tetris.domain.Tetromino;
+import com.jonas.tetris.engine.CollisionDetector;
+
+/**
+ * Testes de colisão e cálculo da linha de queda, alternando entre todas as
+ * peças e rotações para não favorecer um único formato.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Thread)
+public class CollisionBenchmark {
+
+    @Param({ BoardPatterns.EMPTY, BoardPatterns.STACK })
+    public String pattern;
+
+    private final Board board = new Board();
+    private Tetromino[] pieces;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        BoardPatterns.fill(board, pattern);
+        Tetromino.Type[] types = Tetromino.Type.values();
+        pieces = new Tetromino[types.length * 4];
+        for (int i = 0; i < pieces.length; i++) {
+            pieces[i] = Tetromino.of(types[i / 4], i % 4, 3, 0);
+        }
+    }
+
+    private Tetromino nextPiece() {
+        Tetromino piece = pieces[next];
+        next = next + 1 == pieces.length ? 0 : next + 1;
+        return piece;
+    }
+
+    @Benchmark
+    public boolean canMoveTo() {
+        Tetromino piece = nextPiece();
+        return CollisionDetector.canMoveTo(piece, piece.getX() + 1, piece.getY() + 1, board);
+    }
+
+    @Benchmark
+    public int getHardDropY() {
+        return CollisionDetector.getHardDropY(nextPiece(), board);
+    }
+
+    @Benchmark
+    public int getShiftLimitX() {
+        return CollisionDetector.getShiftLimitX(nextPiece(), 1, board);
+    }
+}
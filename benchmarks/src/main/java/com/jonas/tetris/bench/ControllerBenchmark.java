@@ -0,0 +1,49 @@
+package com.jonas.tetris.bench;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.jonas.tetris.engine.GameController;
+import com.jonas.tetris.engine.GameState;
+
+/**
+ * Leitura do snapshot pela UI: cópia nova versus snapshot reaproveitado,
+ * com o tabuleiro já parcialmente ocupado.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Thread)
+public class ControllerBenchmark {
+    private GameController controller;
+    private final GameState snapshot = new GameState();
+
+    @Setup
+    public void setUp() {
+        controller = new GameController(GameSimulation.SEED);
+        controller.startGame();
+        GameSimulation.placePieces(controller, 12);
+    }
+
+    @Benchmark
+    public GameState getState() {
+        return controller.getState();
+    }
+
+    @Benchmark
+    public GameState getStateReused() {
+        return controller.getState(snapshot);
+    }
+}
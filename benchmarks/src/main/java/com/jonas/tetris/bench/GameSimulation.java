@@ -0,0 +1,50 @@
+package com.jonas.tetris.bench;
+
+import com.jonas.tetris.engine.GameController;
+import com.jonas.tetris.engine.GameState;
+
+/**
+ * Jogador roteirizado e determinístico: para cada peça escolhe rotação e
+ * coluna por uma sequência fixa, deixa a gravidade agir alguns frames e
+ * faz hard drop. Com a mesma semente, a partida é sempre a mesma.
+ */
+final class GameSimulation {
+    static final long SEED = 20240601L;
+    private static final int FRAMES_PER_PIECE = 12;
+
+    private GameSimulation() {
+    }
+
+    /**
+     * Joga até {@code maxPieces} peças ou game over.
+     *
+     * @return peças colocadas
+     */
+    static int placePieces(GameController controller, int maxPieces) {
+        GameState snapshot = new GameState();
+        int placed = 0;
+        while (placed < maxPieces && controller.getStatus() == GameState.GameStatus.PLAYING) {
+            int rotations = placed & 3;
+            for (int r = 0; r < rotations; r++) {
+                controller.rotate();
+            }
+
+            int target = (placed * 3) % 8;
+            int x = controller.getState(snapshot).getCurrentPiece().getX();
+            for (; x < target; x++) {
+                controller.moveRight();
+            }
+            for (; x > target; x--) {
+                controller.moveLeft();
+            }
+
+            for (int f = 0; f < FRAMES_PER_PIECE; f++) {
+                controller.update();
+            }
+            controller.getState(snapshot); // leitura da UI a cada peça
+            controller.hardDrop();
+            placed++;
+        }
+        return placed;
+    }
+}
@@ -0,0 +1,37 @@
+package com.jonas.tetris.bench;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.jonas.tetris.engine.GameController;
+
+/**
+ * Partida completa simulada, do startGame ao game over (ou 1000 peças).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(2)
+@State(Scope.Thread)
+public class GameSimulationBenchmark {
+    private static final int MAX_PIECES = 1000;
+
+    @Benchmark
+    public int fullGame() {
+        GameController controller = new GameController(GameSimulation.SEED);
+        controller.startGame();
+        int placed = GameSimulation.placePieces(controller, MAX_PIECES);
+        controller.getEventBus().close();
+        return placed + controller.getScore();
+    }
+}
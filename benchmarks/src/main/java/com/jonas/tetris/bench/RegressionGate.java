@@ -0,0 +1,246 @@
+package com.jonas.tetris.bench;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+import org.apache.commons.math3.distribution.TDistribution;
+
+/**
+ * Compara um resultado JSON do JMH com uma baseline gravada e falha (código
+ * de saída 1) se alguma operação ficou significativamente mais lenta ou se
+ * algum benchmark da baseline não aparece no resultado atual (renomeado,
+ * removido ou que quebrou antes de medir).
+ *
+ * Para cada benchmark calcula o intervalo de confiança (Welch) da diferença
+ * relativa entre as médias. Só é regressão se o intervalo inteiro estiver
+ * acima do limite: ruído entre execuções não derruba o build e uma piora
+ * pequena, mesmo que estatisticamente real, também não.
+ *
+ * Uso: {@code RegressionGate <baseline.json> <atual.json> [--threshold 5]
+ * [--confidence 99] [--include regex]}
+ */
+public final class RegressionGate {
+    public static final double DEFAULT_THRESHOLD_PERCENT = 5;
+    public static final double DEFAULT_CONFIDENCE_PERCENT = 99;
+    public static final String DEFAULT_INCLUDE = "^(BoardBenchmark|CollisionBenchmark|ControllerBenchmark)\\.";
+
+    static final int EXIT_OK = 0;
+    static final int EXIT_REGRESSION = 1;
+    static final int EXIT_ERROR = 2;
+
+    enum Verdict {
+        REGRESSION("REGRESSÃO"),
+        IMPROVEMENT("melhora"),
+        UNCHANGED("ok"),
+        INCONCLUSIVE("inconclusivo"),
+        NEW("novo"),
+        MISSING("ausente");
+
+        private final String label;
+
+        Verdict(String label) {
+            this.label = label;
+        }
+    }
+
+    /**
+     * Resultado da comparação de um benchmark. A variação é a piora relativa
+     * (positiva = mais lento), com o intervalo de confiança [low, high].
+     */
+    static final class Comparison {
+        final String key;
+        final BenchmarkResult baseline;
+        final BenchmarkResult current;
+        final double change;
+        final double low;
+        final double high;
+        final Verdict verdict;
+
+        Comparison(String key, BenchmarkResult baseline, BenchmarkResult current,
+                double change, double low, double high, Verdict verdict) {
+            this.key = key;
+            this.baseline = baseline;
+            this.current = current;
+            this.change = change;
+            this.low = low;
+            this.high = high;
+            this.verdict = verdict;
+        }
+    }
+
+    private RegressionGate() {
+    }
+
+    public static void main(String[] args) {
+        System.exit(run(args, System.out));
+    }
+
+    static int run(String[] args, PrintStream out) {
+        List<String> files = new ArrayList<>();
+        double threshold = DEFAULT_THRESHOLD_PERCENT;
+        double confidence = DEFAULT_CONFIDENCE_PERCENT;
+        String include = DEFAULT_INCLUDE;
+
+        try {
+            for (int i = 0; i < args.length; i++) {
+                if (args[i].equals("--threshold")) {
+                    threshold = Double.parseDouble(args[++i]);
+                } else if (args[i].equals("--confidence")) {
+                    confidence = Double.parseDouble(args[++i]);
+                } else if (args[i].equals("--include")) {
+                    include = args[++i];
+                } else {
+                    files.add(args[i]);
+                }
+            }
+        } catch (ArrayIndexOutOfBoundsException | NumberFormatException e) {
+            files.clear();
+        }
+        if (files.size() != 2 || confidence <= 0 || confidence >= 100) {
+            out.println("Uso: RegressionGate <baseline.json> <atual.json> [--threshold %] [--confidence %] [--include regex]");
+            return EXIT_ERROR;
+        }
+
+        List<Comparison> comparisons;
+        try {
+            Path baselineFile = Paths.get(files.get(0));
+            Path currentFile = Paths.get(files.get(1));
+            comparisons = compare(BenchmarkResult.load(baselineFile), BenchmarkResult.load(currentFile),
+                    threshold / 100, confidence / 100, Pattern.compile(include));
+        } catch (IOException | RuntimeException e) {
+            out.println("Erro ao ler resultados: " + e.getMessage());
+            return EXIT_ERROR;
+        }
+
+        printReport(comparisons, threshold, confidence, out);
+        for (Comparison comparison : comparisons) {
+            if (comparison.verdict == Verdict.REGRESSION || comparison.verdict == Verdict.MISSING) {
+                return EXIT_REGRESSION;
+            }
+        }
+        return EXIT_OK;
+    }
+
+    /**
+     * Compara os benchmarks cujo nome casa com {@code include}.
+     *
+     * @param threshold  piora relativa tolerada (0.05 = 5%)
+     * @param confidence nível de confiança (0.99 = 99%)
+     */
+    static List<Comparison> compare(List<BenchmarkResult> baseline, List<BenchmarkResult> current,
+            double threshold, double confidence, Pattern include) {
+        Map<String, BenchmarkResult> currentByKey = new LinkedHashMap<>();
+        for (BenchmarkResult result : current) {
+            if (include.matcher(result.getKey()).find()) {
+                currentByKey.put(result.getKey(), result);
+            }
+        }
+
+        List<Comparison> comparisons = new ArrayList<>();
+        for (BenchmarkResult base : baseline) {
+            if (!include.matcher(base.getKey()).find()) {
+                continue;
+            }
+            BenchmarkResult cur = currentByKey.remove(base.getKey());
+            if (cur == null) {
+                comparisons.add(new Comparison(base.getKey(), base, null, Double.NaN, Double.NaN, Double.NaN,
+                        Verdict.MISSING));
+            } else {
+                comparisons.add(compareOne(base, cur, threshold, confidence));
+            }
+        }
+        for (BenchmarkResult cur : currentByKey.values()) {
+            comparisons.add(new Comparison(cur.getKey(), null, cur, Double.NaN, Double.NaN, Double.NaN, Verdict.NEW));
+        }
+        return comparisons;
+    }
+
+    private static Comparison compareOne(BenchmarkResult base, BenchmarkResult cur, double threshold,
+            double confidence) {
+        String key = base.getKey();
+        if (!base.getMode().equals(cur.getMode()) || !base.getUnit().equals(cur.getUnit())
+                || base.getCount() < 2 || cur.getCount() < 2 || base.getMean() == 0) {
+            return new Comparison(key, base, cur, Double.NaN, Double.NaN, Double.NaN, Verdict.INCONCLUSIVE);
+        }
+
+        // Diferença orientada para que positivo seja sempre piora
+        double sign = base.isHigherBetter() ? -1 : 1;
+        double diff = sign * (cur.getMean() - base.getMean());
+
+        // Welch: variâncias e tamanhos diferentes
+        double baseTerm = base.getVariance() / base.getCount();
+        double curTerm = cur.getVariance() / cur.getCount();
+        double standardError = Math.sqrt(baseTerm + curTerm);
+
+        double margin = 0;
+        if (standardError > 0) {
+            double degrees = (baseTerm + curTerm) * (baseTerm + curTerm)
+                    / (baseTerm * baseTerm / (base.getCount() - 1) + curTerm * curTerm / (cur.getCount() - 1));
+            double t = new TDistribution(degrees).inverseCumulativeProbability(1 - (1 - confidence) / 2);
+            margin = t * standardError;
+        }
+
+        double scale = base.getMean();
+        double change = diff / scale;
+        double low = (diff - margin) / scale;
+        double high = (diff + margin) / scale;
+
+        Verdict verdict;
+        if (low > threshold) {
+            verdict = Verdict.REGRESSION;
+        } else if (high < -threshold) {
+            verdict = Verdict.IMPROVEMENT;
+        } else {
+            verdict = Verdict.UNCHANGED;
+        }
+        return new Comparison(key, base, cur, change, low, high, verdict);
+    }
+
+    private static void printReport(List<Comparison> comparisons, double threshold, double confidence,
+            PrintStream out) {
+        int width = "Benchmark".length();
+        for (Comparison comparison : comparisons) {
+            width = Math.max(width, comparison.key.length());
+        }
+        String row = "%-" + width + "s  %18s  %18s  %-28s  %s%n";
+
+        out.printf(Locale.ROOT, "Limite: %.1f%% de piora, IC de %.0f%%%n%n", threshold, confidence);
+        out.printf(Locale.ROOT, row, "Benchmark", "Baseline", "Atual", "Piora (IC)", "Resultado");
+
+        int regressions = 0;
+        int missing = 0;
+        for (Comparison c : comparisons) {
+            String change = Double.isNaN(c.change) ? "-"
+                    : String.format(Locale.ROOT, "%+.1f%% [%+.1f%%, %+.1f%%]", c.change * 100, c.low * 100,
+                            c.high * 100);
+            out.printf(Locale.ROOT, row, c.key, describe(c.baseline), describe(c.current), change, c.verdict.label);
+            if (c.verdict == Verdict.REGRESSION) {
+                regressions++;
+            } else if (c.verdict == Verdict.MISSING) {
+                missing++;
+            }
+        }
+
+        out.println();
+        out.println(regressions == 0 ? "Nenhuma regressão significativa."
+                : regressions + " regressão(ões) significativa(s).");
+        if (missing > 0) {
+            out.println(missing + " benchmark(s) da baseline ausente(s) no resultado atual.");
+        }
+    }
+
+    private static String describe(BenchmarkResult result) {
+        if (result == null) {
+            return "-";
+        }
+        return String.format(Locale.ROOT, "%.2f %s", result.getMean(), result.getUnit());
+    }
+}
@@ -0,0 +1,71 @@
+package com.jonas.tetris.bench;
+
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.jonas.tetris.domain.Board;
+import com.jonas.tetris.engine.GameController;
+import com.jonas.tetris.metrics.FrameStats;
+import com.jonas.tetris.ui.GamePanel;
+
+/**
+ * Pintura completa do GamePanel num BufferedImage (sem display), com um
+ * tabuleiro de meio de jogo.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = "-Djava.awt.headless=true")
+@State(Scope.Thread)
+public class RenderBenchmark {
+
+    @Param({ "24", "35", "48" })
+    public int tileSize;
+
+    private GamePanel panel;
+    private BufferedImage image;
+    private Graphics2D graphics;
+
+    @Setup
+    public void setUp() {
+        GameController controller = new GameController(GameSimulation.SEED);
+        controller.startGame();
+        GameSimulation.placePieces(controller, 12);
+
+        panel = new GamePanel(controller, new FrameStats());
+        panel.setTileSize(tileSize);
+        int width = Board.BOARD_WIDTH * tileSize;
+        int height = Board.BOARD_HEIGHT * tileSize;
+        panel.setSize(width, height);
+        panel.updateState(controller.getState());
+
+        image = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+        graphics = image.createGraphics();
+    }
+
+    @TearDown
+    public void tearDown() {
+        graphics.dispose();
+    }
+
+    @Benchmark
+    public BufferedImage paint() {
+        panel.paint(graphics);
+        return image;
+    }
+}
@@ -0,0 +1,42 @@
+package com.jonas.tetris.bench;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.jonas.tetris.domain.Tetromino;
+
+/**
+ * Rotação e movimento de peças (instâncias compartilhadas).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Thread)
+public class TetrominoBenchmark {
+    private Tetromino piece = Tetromino.spawn(Tetromino.Type.T);
+    private int step;
+
+    @Benchmark
+    public Tetromino rotated() {
+        piece = piece.rotated();
+        return piece;
+    }
+
+    @Benchmark
+    public Tetromino moveTo() {
+        step = (step + 1) & 3;
+        piece = piece.moveTo(2 + step, step);
+        return piece;
+    }
+}
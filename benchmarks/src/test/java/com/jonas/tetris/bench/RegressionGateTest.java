@@ -0,0 +1,109 @@
+package com.jonas.tetris.bench;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.List;
+import java.util.regex.Pattern;
+
+public class RegressionGateTest {
+    private static final Pattern ALL = Pattern.compile("");
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private static String entry(String name, String mode, String params, double... samples) {
+        StringBuilder raw = new StringBuilder();
+        for (int i = 0; i < samples.length; i++) {
+            raw.append(i == 0 ? "" : ", ").append(samples[i]);
+        }
+        return "{ \"benchmark\" : \"com.jonas.tetris.bench." + name + "\", \"mode\" : \"" + mode + "\","
+                + (params == null ? "" : " \"params\" : { " + params + " },")
+                + " \"primaryMetric\" : { \"score\" : " + samples[0] + ", \"scoreUnit\" : \"ns/op\","
+                + " \"rawData\" : [ [ " + raw + " ] ] } }";
+    }
+
+    private File write(String... entries) throws Exception {
+        File file = folder.newFile();
+        Files.write(file.toPath(), ("[" + String.join(",", entries) + "]").getBytes(StandardCharsets.UTF_8));
+        return file;
+    }
+
+    private List<RegressionGate.Comparison> compare(String baseline, String current) throws Exception {
+        return RegressionGate.compare(
+                BenchmarkResult.load(write(baseline).toPath()),
+                BenchmarkResult.load(write(current).toPath()),
+                0.05, 0.99, ALL);
+    }
+
+    @Test
+    public void testSignificantSlowdownIsRegression() throws Exception {
+        List<RegressionGate.Comparison> result = compare(
+                entry("BoardBenchmark.clearCompleteLines", "avgt", "\"pattern\" : \"stack\"", 100, 101, 99, 100, 102),
+                entry("BoardBenchmark.clearCompleteLines", "avgt", "\"pattern\" : \"stack\"", 130, 131, 129, 130, 132));
+
+        assertEquals(RegressionGate.Verdict.REGRESSION, result.get(0).verdict);
+        assertEquals("BoardBenchmark.clearCompleteLines [pattern=stack]", result.get(0).key);
+        assertEquals(0.3, result.get(0).change, 0.01);
+    }
+
+    @Test
+    public void testNoisySlowdownIsNotRegression() throws Exception {
+        // Média 10% pior, mas a variação entre iterações não permite afirmar
+        List<RegressionGate.Comparison> result = compare(
+                entry("CollisionBenchmark.canMoveTo", "avgt", null, 80, 120, 90, 110, 100),
+                entry("CollisionBenchmark.canMoveTo", "avgt", null, 70, 150, 95, 125, 110));
+
+        assertEquals(RegressionGate.Verdict.UNCHANGED, result.get(0).verdict);
+        assertTrue(result.get(0).low < 0.05);
+    }
+
+    @Test
+    public void testThroughputDropIsRegression() throws Exception {
+        List<RegressionGate.Comparison> result = compare(
+                entry("ControllerBenchmark.getState", "thrpt", null, 1000, 1010, 990, 1000),
+                entry("ControllerBenchmark.getState", "thrpt", null, 800, 810, 790, 800));
+
+        assertEquals(RegressionGate.Verdict.REGRESSION, result.get(0).verdict);
+    }
+
+    @Test
+    public void testNewAndMissingBenchmarks() throws Exception {
+        List<RegressionGate.Comparison> result = compare(
+                entry("BoardBenchmark.countHoles", "avgt", null, 10, 11),
+                entry("BoardBenchmark.clearCompleteLines", "avgt", null, 10, 11));
+
+        assertEquals(RegressionGate.Verdict.MISSING, result.get(0).verdict);
+        assertEquals(RegressionGate.Verdict.NEW, result.get(1).verdict);
+    }
+
+    @Test
+    public void testExitCodes() throws Exception {
+        File baseline = write(entry("BoardBenchmark.countHoles", "avgt", null, 100, 101, 99, 100));
+        File same = write(entry("BoardBenchmark.countHoles", "avgt", null, 100, 100, 101, 99));
+        File slower = write(entry("BoardBenchmark.countHoles", "avgt", null, 200, 201, 199, 200));
+        PrintStream out = new PrintStream(new ByteArrayOutputStream(), true, "UTF-8");
+
+        assertEquals(RegressionGate.EXIT_OK, RegressionGate.run(new String[] { baseline.getPath(), same.getPath() }, out));
+        assertEquals(RegressionGate.EXIT_REGRESSION,
+                RegressionGate.run(new String[] { baseline.getPath(), slower.getPath() }, out));
+        // Benchmark da baseline que sumiu do resultado atual também derruba o gate
+        File renamed = write(entry("BoardBenchmark.countHolesFast", "avgt", null, 100, 100, 101, 99));
+        assertEquals(RegressionGate.EXIT_REGRESSION,
+                RegressionGate.run(new String[] { baseline.getPath(), renamed.getPath() }, out));
+        // Fora do filtro padrão (Board/Collision/Controller) nada é comparado
+        File render = write(entry("RenderBenchmark.paint", "avgt", null, 1, 1));
+        File renderSlower = write(entry("RenderBenchmark.paint", "avgt", null, 9, 9));
+        assertEquals(RegressionGate.EXIT_OK,
+                RegressionGate.run(new String[] { render.getPath(), renderSlower.getPath() }, out));
+        assertEquals(RegressionGate.EXIT_ERROR, RegressionGate.run(new String[] { baseline.getPath() }, out));
+    }
+}
@@ -0,0 +1,129 @@
+package com.jonas.tetris.bot;
+
+import java.io.IOException;
+
+import com.jonas.tetris.engine.GameController;
+import com.jonas.tetris.util.JsonReader;
+
+/**
+ * Um comando do protocolo de bots, lido de uma linha JSON. Reaproveitado
+ * entre linhas: {@link #read(JsonReader)} zera os campos antes de ler.
+ * Usado pela sessão local ({@link BotSession}) e pelo servidor versus, que
+ * acrescenta {@code room} e {@code size} ao {@code join}.
+ */
+public final class BotCommand {
+    public static final int NO_X = Integer.MIN_VALUE;
+
+    public String type;
+    public long seed;
+    public boolean hasSeed;
+    public int preview;
+    public int x;
+    public int rotation;
+    public boolean hold;
+    public String keys;
+    public String room;
+    public int size;
+
+    /**
+     * Lê um objeto; campos desconhecidos são ignorados.
+     */
+    public void read(JsonReader in) throws IOException {
+        type = null;
+        hasSeed = false;
+        preview = -1;
+        x = NO_X;
+        rotation = 0;
+        hold = false;
+        keys = null;
+        room = null;
+        size = 0;
+
+        in.beginObject();
+        while (in.hasNext()) {
+            if (in.nextNameEquals("type")) {
+                type = in.nextString();
+            } else if (in.nextNameEquals("x")) {
+                x = in.nextInt();
+            } else if (in.nextNameEquals("rotation")) {
+                rotation = in.nextInt();
+            } else if (in.nextNameEquals("hold")) {
+                hold = in.nextBoolean();
+            } else if (in.nextNameEquals("keys")) {
+                keys = in.nextString();
+            } else if (in.nextNameEquals("seed")) {
+                seed = in.nextLong();
+                hasSeed = true;
+            } else if (in.nextNameEquals("preview")) {
+                preview = in.nextInt();
+            } else if (in.nextNameEquals("room")) {
+                room = in.nextString();
+            } else if (in.nextNameEquals("size")) {
+                size = in.nextInt();
+            } else {
+                in.nextName();
+                in.skipValue();
+            }
+        }
+        in.endObject();
+    }
+
+    /**
+     * Executa um {@code play} (hold opcional, gira no lugar, desliza e hard
+     * drop).
+     *
+     * @return mensagem de erro, ou null se a peça caiu
+     */
+    public String play(GameController controller) {
+        if (x == NO_X) {
+            return "play sem x";
+        }
+        if (!controller.placeAt(hold, rotation, x)) {
+            return "posição inalcançável: x=" + x + " rotation=" + rotation;
+        }
+        return null;
+    }
+
+    /**
+     * Executa um {@code input}: aplica as teclas em ordem e para na primeira
+     * desconhecida.
+     *
+     * @return mensagem de erro, ou null se todas as teclas valeram
+     */
+    public String input(GameController controller) {
+        if (keys == null) {
+            return "keys inválidas: null";
+        }
+        for (int i = 0; i < keys.length(); i++) {
+            switch (keys.charAt(i)) {
+                case 'L':
+                    controller.moveLeft();
+                    break;
+                case 'R':
+                    controller.moveRight();
+                    break;
+                case '<':
+                    controller.shiftToWall(-1);
+                    break;
+                case '>':
+                    controller.shiftToWall(1);
+                    break;
+                case 'r':
+                    controller.rotate();
+                    break;
+                case 'D':
+                    controller.softDrop();
+                    break;
+                case 'H':
+                    controller.hardDrop();
+                    break;
+                case 'C':
+                    controller.hold();
+                    break;
+                default:
+                    return "keys inválidas: " + keys;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,196 @@
+package com.jonas.tetris.bot;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.FileDescriptor;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.PrintStream;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+
+import com.jonas.tetris.domain.Board;
+import com.jonas.tetris.engine.GameController;
+import com.jonas.tetris.engine.GameState;
+import com.jonas.tetris.util.JsonReader;
+
+/**
+ * Modo headless para bots externos: o motor fala um protocolo de linhas
+ * JSON (um objeto por linha) em stdin/stdout, na linha do Tetris Bot
+ * Protocol. Sem gravidade nem relógio: o jogo só anda com os comandos do bot,
+ * o mais rápido que ele responder.
+ *
+ * Bot → motor:
+ * <pre>
+ * {"type":"start","seed":42,"preview":5}   nova partida (campos opcionais)
+ * {"type":"play","x":3,"rotation":1,"hold":false}
+ *                                          hold opcional, gira no lugar e
+ *                                          desliza até x, hard drop
+ * {"type":"input","keys":"LLrH"}           teclas: L R (mover), r (girar),
+ *                                          D (soft drop), H (hard drop),
+ *                                          C (hold), &lt; &gt; (até a parede)
+ * {"type":"sync"}                          estado completo de novo
+ * {"type":"quit"}
+ * </pre>
+ *
+ * Motor → bot: {@code info} ao abrir, {@code state} depois de cada comando e
+ * {@code error} para comandos inválidos (o jogo não muda). O {@code state}
+ * é incremental: {@code rows} traz só as linhas do tabuleiro que mudaram
+ * desde o último {@code state}, como {@code [y, máscara]} (bit x = célula
+ * ocupada, y = 0 no topo das {@value StateWriter#ROWS} linhas, buffer de spawn
+ * incluído):
+ * <pre>
+ * {"type":"state","status":"playing","piece":12,"current":"T","x":4,"y":0,
+ *  "rotation":0,"hold":"I","queue":"OSZ","score":340,"lines":2,"level":1,
+ *  "rows":[[21,1015],[20,3]]}
+ * </pre>
+ * A saída só é descarregada quando não há mais comandos esperando na
+ * entrada, então um bot que manda vários comandos de uma vez recebe as
+ * respostas num único write.
+ */
+public class BotSession {
+    static final int PROTOCOL_VERSION = 1;
+
+    private final JsonReader in;
+    private final Writer out;
+    private final StringBuilder line = new StringBuilder(512);
+    private final BotCommand command = new BotCommand(); // Reaproveitado entre linhas
+    private final StateWriter stateWriter = new StateWriter();
+
+    private GameController controller;
+
+    public BotSession(Reader in, Writer out) {
+        this.in = new JsonReader(in);
+        this.out = out;
+    }
+
+    /**
+     * Atende comandos até {@code quit} ou fim da entrada.
+     */
+    public void run() throws IOException {
+        line.setLength(0);
+        line.append("{\"type\":\"info\",\"name\":\"java-tetris\",\"version\":").append(PROTOCOL_VERSION)
+                .append(",\"width\":").append(Board.BOARD_WIDTH)
+                .append(",\"height\":").append(StateWriter.ROWS).append("}\n");
+        out.append(line);
+        out.flush();
+
+        while (true) {
+            try {
+                if (in.peek() == JsonReader.Token.END_DOCUMENT) {
+                    break;
+                }
+                command.read(in);
+            } catch (IOException e) {
+                // Erro de sintaxe: descarta a linha e segue
+                in.skipLine();
+                sendError(e.getMessage());
+                flushIfIdle();
+                continue;
+            }
+            if ("quit".equals(command.type)) {
+                break;
+            }
+            handleCommand();
+            flushIfIdle();
+        }
+        out.flush();
+    }
+
+    private void handleCommand() throws IOException {
+        if (command.type == null) {
+            sendError("comando sem type");
+            return;
+        }
+        switch (command.type) {
+            case "start":
+                controller = command.hasSeed ? new GameController(command.seed) : new GameController();
+                if (command.preview > 0) {
+                    controller.setPreviewLength(command.preview);
+                }
+                controller.startGame();
+                stateWriter.reset();
+                sendState();
+                break;
+            case "sync":
+                if (controller == null) {
+                    sendError("nenhuma partida em andamento");
+                    return;
+                }
+                stateWriter.reset();
+                sendState();
+                break;
+            case "play":
+                if (!checkPlaying()) {
+                    return;
+                }
+                String playError = command.play(controller);
+                if (playError != null) {
+                    sendError(playError);
+                    if (command.x == BotCommand.NO_X) {
+                        return;
+                    }
+                }
+                sendState();
+                break;
+            case "input":
+                if (!checkPlaying()) {
+                    return;
+                }
+                String inputError = command.input(controller);
+                if (inputError != null) {
+                    sendError(inputError);
+                }
+                sendState();
+                break;
+            default:
+                sendError("comando desconhecido: " + command.type);
+                break;
+        }
+    }
+
+    private boolean checkPlaying() throws IOException {
+        if (controller == null || controller.getStatus() != GameState.GameStatus.PLAYING) {
+            sendError("nenhuma partida em andamento");
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Estado atual com só as linhas que mudaram desde o último envio.
+     */
+    private void sendState() throws IOException {
+        line.setLength(0);
+        stateWriter.appendState(line, controller);
+        out.append(line);
+    }
+
+    private void sendError(String message) throws IOException {
+        line.setLength(0);
+        StateWriter.appendError(line, message);
+        out.append(line);
+    }
+
+    private void flushIfIdle() throws IOException {
+        if (!in.ready()) {
+            out.flush();
+        }
+    }
+
+    /**
+     * Sessão em stdin/stdout. O System.out vai para stderr, para nenhum
+     * aviso do jogo se misturar ao protocolo.
+     */
+    public static void runOnStdio() throws IOException {
+        Writer protocolOut = new BufferedWriter(
+                new OutputStreamWriter(new FileOutputStream(FileDescriptor.out),
+                        StandardCharsets.UTF_8), 1 << 16);
+        System.setOut(new PrintStream(System.err, true, StandardCharsets.UTF_8));
+        Reader protocolIn = new BufferedReader(new InputStreamReader(System.in, StandardCharsets.UTF_8), 1 << 16);
+        new BotSession(protocolIn, protocolOut).run();
+    }
+}
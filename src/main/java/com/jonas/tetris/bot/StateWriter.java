@@ -0,0 +1,106 @@
+package com.jonas.tetris.bot;
+
+import java.util.Arrays;
+
+import com.jonas.tetris.domain.Board;
+import com.jonas.tetris.domain.Tetromino;
+import com.jonas.tetris.engine.GameController;
+import com.jonas.tetris.engine.GameState;
+import com.jonas.tetris.engine.PiecePreview;
+
+/**
+ * Mensagens do motor para o bot, montadas num {@link StringBuilder}
+ * reaproveitado. Guarda o tabuleiro já enviado a um cliente, para o
+ * {@code state} levar só as linhas que mudaram.
+ */
+public final class StateWriter {
+    public static final int ROWS = Board.BOARD_HEIGHT + 2;
+
+    private final GameState state = new GameState();
+    private final int[] sentRows = new int[ROWS]; // O que o cliente já conhece
+
+    /**
+     * Esquece o que foi enviado: o próximo {@code state} traz todas as linhas.
+     */
+    public void reset() {
+        Arrays.fill(sentRows, 0);
+    }
+
+    /**
+     * Acrescenta um {@code state} terminado em quebra de linha.
+     */
+    public void appendState(StringBuilder line, GameController controller) {
+        controller.getState(state);
+        line.append("{\"type\":\"state\",\"status\":\"")
+                .append(state.getStatus() == GameState.GameStatus.GAME_OVER ? "game_over" : "playing")
+                .append("\",\"piece\":").append(state.getTotalPieces());
+
+        Tetromino current = state.getCurrentPiece();
+        line.append(",\"current\":\"").append(current.getType().name())
+                .append("\",\"x\":").append(current.getX())
+                .append(",\"y\":").append(current.getY())
+                .append(",\"rotation\":").append(current.getRotation());
+
+        Tetromino held = state.getHoldPiece();
+        line.append(",\"hold\":");
+        if (held == null) {
+            line.append("null");
+        } else {
+            line.append('"').append(held.getType().name()).append('"');
+        }
+
+        PiecePreview queue = state.getNextQueue();
+        line.append(",\"queue\":\"");
+        for (int i = 0; i < queue.size(); i++) {
+            line.append(queue.get(i).name());
+        }
+        line.append("\",\"score\":").append(state.getScore())
+                .append(",\"lines\":").append(state.getTotalLines())
+                .append(",\"level\":").append(state.getLevel());
+
+        line.append(",\"rows\":[");
+        int[][] grid = state.getBoardGrid();
+        boolean first = true;
+        for (int y = 0; y < ROWS; y++) {
+            int mask = 0;
+            for (int column = 0; column < grid[y].length; column++) {
+                if (grid[y][column] != 0) {
+                    mask |= 1 << column;
+                }
+            }
+            if (mask != sentRows[y]) {
+                sentRows[y] = mask;
+                line.append(first ? "" : ",").append('[').append(y).append(',').append(mask).append(']');
+                first = false;
+            }
+        }
+        line.append("]}\n");
+    }
+
+    /**
+     * Acrescenta um {@code error} terminado em quebra de linha.
+     */
+    public static void appendError(StringBuilder line, String message) {
+        line.append("{\"type\":\"error\",\"message\":");
+        appendString(line, message);
+        line.append("}\n");
+    }
+
+    /**
+     * String JSON entre aspas, com escapes.
+     */
+    public static void appendString(StringBuilder line, String value) {
+        line.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"' || c == '\\') {
+                line.append('\\').append(c);
+            } else if (c < 0x20) {
+                line.append(String.format("\\u%04x", (int) c));
+            } else {
+                line.append(c);
+            }
+        }
+        line.append('"');
+    }
+}
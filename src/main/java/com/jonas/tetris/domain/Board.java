@@ -2,6 +2,8 @@ package com.jonas.tetris.domain;
 
 import java.awt.*;
 
+import com.jonas.tetris.util.RamUsage;
+
 /**
  * Representa o tabuleiro de jogo.
  * Mantém o estado das células (blocos fixos) com suas cores.
@@ -13,10 +15,35 @@ public class Board {
 
     private final int[][] grid; // 0 = vazio, 1 = ocupado
     private final Color[][] colors; // cor de cada célula
+    private final int[] columnHeights; // altura da pilha em cada coluna (0 = vazia)
 
     public Board() {
         this.grid = new int[BOARD_HEIGHT + BUFFER_HEIGHT][BOARD_WIDTH];
         this.colors = new Color[BOARD_HEIGHT + BUFFER_HEIGHT][BOARD_WIDTH];
+        this.columnHeights = new int[BOARD_WIDTH];
+    }
+
+    /**
+     * Copia células, cores e alturas de outro tabuleiro, linha a linha com
+     * {@link System#arraycopy} (sem alocar).
+     */
+    public void copyFrom(Board other) {
+        for (int y = 0; y < grid.length; y++) {
+            System.arraycopy(other.grid[y], 0, grid[y], 0, BOARD_WIDTH);
+            System.arraycopy(other.colors[y], 0, colors[y], 0, BOARD_WIDTH);
+        }
+        System.arraycopy(other.columnHeights, 0, columnHeights, 0, BOARD_WIDTH);
+    }
+
+    /**
+     * Memória retida estimada (as cores são compartilhadas, não entram).
+     */
+    public long ramBytesUsed() {
+        int rows = BOARD_HEIGHT + BUFFER_HEIGHT;
+        return RamUsage.object(3 * RamUsage.REFERENCE)
+                + RamUsage.array(rows, RamUsage.REFERENCE) + rows * RamUsage.array(BOARD_WIDTH, Integer.BYTES)
+                + RamUsage.array(rows, RamUsage.REFERENCE) + rows * RamUsage.array(BOARD_WIDTH, RamUsage.REFERENCE)
+                + RamUsage.array(BOARD_WIDTH, Integer.BYTES);
     }
 
     /**
@@ -44,6 +71,54 @@ public class Board {
         if (isWithinBounds(x, y)) {
             grid[y][x] = 1;
             colors[y][x] = color;
+            columnHeights[x] = Math.max(columnHeights[x], BOARD_HEIGHT + BUFFER_HEIGHT - y);
+        }
+    }
+
+    /**
+     * Cor do bloco na posição (null se vazia ou fora do tabuleiro).
+     */
+    public Color getCellColor(int x, int y) {
+        return isWithinBounds(x, y) ? colors[y][x] : null;
+    }
+
+    /**
+     * Altura da pilha na coluna: distância do bloco mais alto até o fundo
+     * (0 se a coluna estiver vazia). Mantida incrementalmente.
+     */
+    public int getColumnHeight(int x) {
+        return columnHeights[x];
+    }
+
+    /**
+     * Conta os buracos: células vazias abaixo do topo da pilha de cada coluna.
+     */
+    public int countHoles() {
+        int holes = 0;
+        int rows = BOARD_HEIGHT + BUFFER_HEIGHT;
+        for (int x = 0; x < BOARD_WIDTH; x++) {
+            for (int y = rows - columnHeights[x]; y < rows; y++) {
+                if (grid[y][x] == 0) {
+                    holes++;
+                }
+            }
+        }
+        return holes;
+    }
+
+    /**
+     * Recalcula as alturas das colunas após linhas serem removidas.
+     */
+    private void recomputeColumnHeights() {
+        for (int x = 0; x < BOARD_WIDTH; x++) {
+            int height = 0;
+            for (int y = 0; y < BOARD_HEIGHT + BUFFER_HEIGHT; y++) {
+                if (grid[y][x] != 0) {
+                    height = BOARD_HEIGHT + BUFFER_HEIGHT - y;
+                    break;
+                }
+            }
+            columnHeights[x] = height;
         }
     }
 
@@ -64,9 +139,43 @@ public class Board {
             }
         }
 
+        if (linesCleared > 0) {
+            recomputeColumnHeights();
+        }
         return linesCleared;
     }
 
+    /**
+     * Empurra a pilha para cima e insere {@code count} linhas de lixo no
+     * fundo, cheias exceto pela coluna {@code hole}.
+     *
+     * @return true se algum bloco saiu pelo topo
+     */
+    public boolean addGarbageLines(int count, int hole, Color color) {
+        int rows = BOARD_HEIGHT + BUFFER_HEIGHT;
+        count = Math.min(count, rows);
+        boolean toppedOut = false;
+        for (int y = 0; y < count; y++) {
+            for (int x = 0; x < BOARD_WIDTH; x++) {
+                toppedOut |= grid[y][x] != 0;
+            }
+        }
+
+        for (int y = 0; y < rows - count; y++) {
+            System.arraycopy(grid[y + count], 0, grid[y], 0, BOARD_WIDTH);
+            System.arraycopy(colors[y + count], 0, colors[y], 0, BOARD_WIDTH);
+        }
+        for (int y = rows - count; y < rows; y++) {
+            for (int x = 0; x < BOARD_WIDTH; x++) {
+                grid[y][x] = x == hole ? 0 : 1;
+                colors[y][x] = x == hole ? null : color;
+            }
+        }
+
+        recomputeColumnHeights();
+        return toppedOut;
+    }
+
     /**
      * Verifica se uma linha está completamente preenchida.
      */
@@ -102,10 +211,18 @@ public class Board {
      */
     public int[][] getGridCopy() {
         int[][] copy = new int[BOARD_HEIGHT + BUFFER_HEIGHT][BOARD_WIDTH];
+        copyGridInto(copy);
+        return copy;
+    }
+
+    /**
+     * Copia a grade para um array já alocado ({@link #getHeight()} x
+     * {@link #getWidth()}), sem alocar.
+     */
+    public void copyGridInto(int[][] target) {
         for (int i = 0; i < BOARD_HEIGHT + BUFFER_HEIGHT; i++) {
-            System.arraycopy(grid[i], 0, copy[i], 0, BOARD_WIDTH);
+            System.arraycopy(grid[i], 0, target[i], 0, BOARD_WIDTH);
         }
-        return copy;
     }
 
     /**
@@ -113,10 +230,17 @@ public class Board {
      */
     public Color[][] getColorsCopy() {
         Color[][] copy = new Color[BOARD_HEIGHT + BUFFER_HEIGHT][BOARD_WIDTH];
+        copyColorsInto(copy);
+        return copy;
+    }
+
+    /**
+     * Copia as cores para um array já alocado, sem alocar.
+     */
+    public void copyColorsInto(Color[][] target) {
         for (int i = 0; i < BOARD_HEIGHT + BUFFER_HEIGHT; i++) {
-            System.arraycopy(colors[i], 0, copy[i], 0, BOARD_WIDTH);
+            System.arraycopy(colors[i], 0, target[i], 0, BOARD_WIDTH);
         }
-        return copy;
     }
 
     /**
@@ -129,6 +253,9 @@ public class Board {
                 colors[i][j] = null;
             }
         }
+        for (int x = 0; x < BOARD_WIDTH; x++) {
+            columnHeights[x] = 0;
+        }
     }
 
     public int getWidth() {
@@ -11,7 +11,38 @@ public class Tetromino {
         I, O, T, S, Z, J, L
     }
 
+    private static final int ROTATIONS = 4;
+
+    // Faixa de posições com instâncias compartilhadas (cobre o tabuleiro com folga)
+    private static final int MIN_X = -4;
+    private static final int MAX_X = Board.BOARD_WIDTH + 3;
+    private static final int MIN_Y = -4;
+    private static final int MAX_Y = Board.BOARD_HEIGHT + 5;
+    private static final int SPAN_X = MAX_X - MIN_X + 1;
+    private static final int SPAN_Y = MAX_Y - MIN_Y + 1;
+
+    private static final int[][][][] SHAPES = new int[Type.values().length][ROTATIONS][][];
+    private static final Color[] COLORS = new Color[Type.values().length];
+
+    static {
+        for (Type type : Type.values()) {
+            int[][] shape = initShape(type);
+            for (int r = 0; r < ROTATIONS; r++) {
+                SHAPES[type.ordinal()][r] = shape;
+                shape = rotateShape(shape);
+            }
+            COLORS[type.ordinal()] = initColor(type);
+        }
+    }
+
+    /**
+     * Instâncias já criadas por {@link #of}, preenchidas sob demanda. Como a
+     * peça é imutável, uma corrida só cria uma cópia equivalente a mais.
+     */
+    private static final Tetromino[] CACHE = new Tetromino[Type.values().length * ROTATIONS * SPAN_X * SPAN_Y];
+
     private final Type type;
+    private final int rotation;
     private final int[][] shape;
     private final Color color;
     private final int x;
@@ -32,56 +63,59 @@ public class Tetromino {
      * Cria um novo Tetromino com posição específica.
      */
     public Tetromino(Type type, int x, int y) {
+        this(type, 0, x, y);
+    }
+
+    private Tetromino(Type type, int rotation, int x, int y) {
         this.type = type;
+        this.rotation = rotation;
         this.x = x;
         this.y = y;
-        this.shape = initShape(type);
-        this.color = initColor(type);
+        this.shape = SHAPES[type.ordinal()][rotation];
+        this.color = COLORS[type.ordinal()];
     }
 
     /**
-     * Cria uma cópia do Tetromino com nova posição (imutabilidade).
+     * Retorna a instância compartilhada para tipo, rotação e posição. Depois
+     * que uma posição foi usada uma vez, não há mais alocação.
+     *
+     * @param rotation quartos de volta no sentido horário (0 a 3)
      */
-    public Tetromino moveTo(int newX, int newY) {
-        return new Tetromino(this.type, newX, newY);
+    public static Tetromino of(Type type, int rotation, int x, int y) {
+        if (x < MIN_X || x > MAX_X || y < MIN_Y || y > MAX_Y) {
+            return new Tetromino(type, rotation, x, y);
+        }
+        int index = ((type.ordinal() * ROTATIONS + rotation) * SPAN_X + (x - MIN_X)) * SPAN_Y + (y - MIN_Y);
+        Tetromino piece = CACHE[index];
+        if (piece == null) {
+            piece = new Tetromino(type, rotation, x, y);
+            CACHE[index] = piece;
+        }
+        return piece;
     }
 
     /**
-     * Cria uma cópia rotacionada do Tetromino (90 graus no sentido horário).
+     * Peça na posição de spawn, sem rotação.
      */
-    public Tetromino rotated() {
-        int[][] rotatedShape = rotateShape(shape);
-        return new RotatedTetromino(this.type, this.x, this.y, rotatedShape);
+    public static Tetromino spawn(Type type) {
+        return of(type, 0, 4, 0);
     }
 
     /**
-     * Subclasse privada para Tetromino rotacionado.
+     * Retorna o Tetromino na nova posição (imutabilidade), mantendo a rotação.
      */
-    private static class RotatedTetromino extends Tetromino {
-        private final int[][] rotatedShape;
-
-        RotatedTetromino(Type type, int x, int y, int[][] rotatedShape) {
-            super(type, x, y);
-            this.rotatedShape = rotatedShape;
-        }
-
-        @Override
-        public int[][] getShape() {
-            return rotatedShape;
-        }
-
-        @Override
-        public Tetromino moveTo(int newX, int newY) {
-            // IMPORTANTE: Manter o shape rotacionado ao mover
-            return new RotatedTetromino(getType(), newX, newY, rotatedShape);
+    public Tetromino moveTo(int newX, int newY) {
+        if (newX == x && newY == y) {
+            return this;
         }
+        return of(type, rotation, newX, newY);
+    }
 
-        @Override
-        public Tetromino rotated() {
-            // Rotacionar o shape atual (já rotacionado), não o original
-            int[][] newRotatedShape = rotateShape(rotatedShape);
-            return new RotatedTetromino(getType(), getX(), getY(), newRotatedShape);
-        }
+    /**
+     * Retorna o Tetromino rotacionado (90 graus no sentido horário).
+     */
+    public Tetromino rotated() {
+        return of(type, (rotation + 1) & (ROTATIONS - 1), x, y);
     }
 
     /**
@@ -148,10 +182,18 @@ public class Tetromino {
         return type;
     }
 
+    /**
+     * Forma na rotação atual. O array é compartilhado entre instâncias: não
+     * deve ser modificado.
+     */
     public int[][] getShape() {
         return shape;
     }
 
+    public int getRotation() {
+        return rotation;
+    }
+
     public Color getColor() {
         return color;
     }
@@ -61,13 +61,54 @@ public class CollisionDetector {
         int dropY = tetromino.getY();
 
         // Continuar descendo até bater em algo
-        while (canMoveTo(tetromino.moveTo(tetromino.getX(), dropY + 1), tetromino.getX(), dropY + 1, board)) {
+        while (canMoveTo(tetromino, tetromino.getX(), dropY + 1, board)) {
             dropY++;
         }
 
         return dropY;
     }
 
+    /**
+     * Calcula até onde a peça desliza horizontalmente (shift até a parede,
+     * usado com ARR = 0).
+     * Usa a altura das colunas como atalho: enquanto a base da peça estiver
+     * acima da pilha nas colunas atravessadas, não há colisão possível e não é
+     * preciso testar célula a célula.
+     *
+     * @param tetromino tetromino a deslocar
+     * @param direction -1 (esquerda) ou 1 (direita)
+     * @param board tabuleiro
+     * @return posição X final
+     */
+    public static int getShiftLimitX(Tetromino tetromino, int direction, Board board) {
+        int[][] shape = tetromino.getShape();
+        int width = shape[0].length;
+        int y = tetromino.getY();
+        int x = tetromino.getX();
+
+        // Linha (a partir do fundo) logo abaixo da base da peça
+        int clearance = board.getHeight() - (y + shape.length);
+        boolean aboveStack = true;
+        for (int col = x; col < x + width && aboveStack; col++) {
+            aboveStack = col >= 0 && col < board.getWidth() && board.getColumnHeight(col) <= clearance;
+        }
+
+        while (true) {
+            int next = x + direction;
+            if (next < 0 || next + width > board.getWidth()) {
+                return x;
+            }
+
+            int enteringColumn = direction < 0 ? next : next + width - 1;
+            aboveStack = aboveStack && board.getColumnHeight(enteringColumn) <= clearance;
+
+            if (!aboveStack && !canMoveTo(tetromino, next, y, board)) {
+                return x;
+            }
+            x = next;
+        }
+    }
+
     /**
      * Verifica se um Tetromino está completamente fora do tabuleiro visível.
      * Usado para detectar game over.
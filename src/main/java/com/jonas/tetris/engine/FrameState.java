@@ -0,0 +1,87 @@
+package com.jonas.tetris.engine;
+
+import com.jonas.tetris.domain.Board;
+import com.jonas.tetris.domain.Tetromino;
+
+/**
+ * Estado lógico de uma partida num frame, para rollback: preenchido por
+ * {@link GameController#saveFrame(FrameState)} e aplicado por
+ * {@link GameController#loadFrame(FrameState)}.
+ *
+ * Ao contrário do {@link GameCheckpoint}, não é formato de disco: o
+ * tabuleiro é copiado linha a linha com {@link System#arraycopy}, peças são
+ * as próprias instâncias compartilhadas (imutáveis) e o resto são campos
+ * primitivos, então gravar e voltar custam poucas centenas de nanossegundos
+ * e não alocam. Relógio e pausa não entram: não afetam a simulação.
+ */
+public final class FrameState {
+    final Board board = new Board();
+    final PieceQueue queue = new PieceQueue();
+    final int[] piecesByType = new int[Tetromino.Type.values().length];
+    final int[] clearsBySize = new int[GameState.MAX_CLEAR + 1];
+
+    long randomState;
+    long garbageRandomState;
+    Tetromino currentPiece;
+    Tetromino holdPiece;
+    boolean canHold;
+    GameState.GameStatus status;
+    SpeedCurve speedCurve;
+    int gravityOverride;
+    int previewLength;
+
+    int score;
+    int level;
+    int totalLines;
+    int totalPieces;
+
+    int gravityProgress;
+    int lockTimer;
+    int lockResets;
+    int lowestY;
+    int rotation;
+    long frameCount;
+    int pendingGarbage;
+    int outgoingGarbage;
+
+    public long getFrameCount() {
+        return frameCount;
+    }
+
+    /**
+     * Hash do estado, para comparar simulações (detecção de dessincronia).
+     */
+    public long checksum() {
+        long hash = 0xcbf29ce484222325L;
+        for (int y = 0; y < board.getHeight(); y++) {
+            int mask = 0;
+            for (int x = 0; x < Board.BOARD_WIDTH; x++) {
+                if (board.isCellOccupied(x, y)) {
+                    mask |= 1 << x;
+                }
+            }
+            hash = mix(hash, mask);
+        }
+        hash = mix(hash, currentPiece.getType().ordinal() << 16 | currentPiece.getRotation() << 12
+                | (currentPiece.getX() & 0x3F) << 6 | (currentPiece.getY() & 0x3F));
+        hash = mix(hash, holdPiece == null ? -1 : holdPiece.getType().ordinal());
+        for (int i = 0; i < queue.size(); i++) {
+            hash = mix(hash, queue.get(i).ordinal());
+        }
+        hash = mix(hash, randomState);
+        hash = mix(hash, garbageRandomState);
+        hash = mix(hash, status.ordinal());
+        hash = mix(hash, score);
+        hash = mix(hash, totalLines);
+        hash = mix(hash, totalPieces);
+        hash = mix(hash, gravityProgress);
+        hash = mix(hash, lockTimer);
+        hash = mix(hash, pendingGarbage);
+        hash = mix(hash, outgoingGarbage);
+        return mix(hash, frameCount);
+    }
+
+    private static long mix(long hash, long value) {
+        return (hash ^ value) * 0x100000001b3L; // FNV-1a por palavra
+    }
+}
@@ -0,0 +1,251 @@
+package com.jonas.tetris.engine;
+
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+import com.jonas.tetris.domain.Board;
+import com.jonas.tetris.domain.Tetromino;
+import com.jonas.tetris.util.RamUsage;
+
+/**
+ * Estado completo de uma partida em andamento, o suficiente para retomá-la
+ * exatamente de onde parou: tabuleiro, peça atual, hold, fila, estado do
+ * gerador de peças, pontuação, tempo jogado e o estado de gravidade/lock da
+ * peça, além do modo treino. Preenchido por {@link GameController#checkpoint(GameCheckpoint)} e
+ * aplicado por {@link GameController#restore(GameCheckpoint)}.
+ *
+ * O formato binário ({@link #writeTo(ByteBuffer)}) é compacto (algumas
+ * centenas de bytes): o tabuleiro vai como um byte por célula, índice numa
+ * paleta das cores usadas. Reaproveitável entre gravações.
+ */
+public class GameCheckpoint {
+    /**
+     * Versão do formato de {@link #writeTo(ByteBuffer)}. A versão 1 (sem o
+     * modo treino) ainda é lida, como partida normal.
+     */
+    public static final short FORMAT_VERSION = 2;
+
+    /**
+     * Tamanho máximo serializado, com folga para uma paleta com uma cor por
+     * célula.
+     */
+    public static final int MAX_BYTES = 2048;
+
+    private static final int CELLS = Board.BOARD_WIDTH * (Board.BOARD_HEIGHT + 2); // com o buffer de spawn
+    private static final Tetromino.Type[] TYPES = Tetromino.Type.values();
+
+    String curveId = LevelManager.DEFAULT_CURVE;
+    int previewLength;
+    int gravityOverride;
+    int score;
+    int level;
+    int totalLines;
+    int totalPieces;
+    long elapsedMs;
+    long frameCount;
+    long randomState;
+
+    int currentType;
+    int currentRotation;
+    int currentX;
+    int currentY;
+    int holdType = -1;
+    boolean canHold;
+
+    int gravityProgress;
+    int lockTimer;
+    int lockResets;
+    int lowestY;
+    int rotation;
+
+    final byte[] queue = new byte[PieceQueue.MAX_PREVIEW];
+    int queueSize;
+    final int[] piecesByType = new int[TYPES.length];
+    final int[] clearsBySize = new int[GameState.MAX_CLEAR + 1];
+
+    // Tabuleiro: 0 = vazio, senão índice + 1 na paleta (ARGB)
+    final byte[] cells = new byte[CELLS];
+    final int[] palette = new int[CELLS];
+    int paletteSize;
+
+    int rewindCapacity; // 0 = partida normal; senão, modo treino
+
+    public int getScore() {
+        return score;
+    }
+
+    public int getLevel() {
+        return level;
+    }
+
+    public int getTotalLines() {
+        return totalLines;
+    }
+
+    /**
+     * Tempo jogado até o checkpoint, sem as pausas.
+     */
+    public long getElapsedMs() {
+        return elapsedMs;
+    }
+
+    /**
+     * Identificador da curva ({@link SpeedCurve#getId()}).
+     */
+    public String getCurveId() {
+        return curveId;
+    }
+
+    /**
+     * Se a partida salva é do modo treino (com volta de peças).
+     */
+    public boolean isPractice() {
+        return rewindCapacity > 0;
+    }
+
+    /**
+     * Memória retida estimada (o nome da curva é compartilhado).
+     */
+    long ramBytesUsed() {
+        return RamUsage.object(116) + RamUsage.array(queue.length, 1)
+                + RamUsage.array(piecesByType.length, Integer.BYTES) + RamUsage.array(clearsBySize.length, Integer.BYTES)
+                + RamUsage.array(CELLS, 1) + RamUsage.array(CELLS, Integer.BYTES);
+    }
+
+    /**
+     * Índice da cor na paleta, acrescentando se for nova.
+     */
+    int paletteIndex(int argb) {
+        for (int i = 0; i < paletteSize; i++) {
+            if (palette[i] == argb) {
+                return i;
+            }
+        }
+        palette[paletteSize] = argb;
+        return paletteSize++;
+    }
+
+    /**
+     * Escreve o checkpoint a partir da posição atual do buffer (a ordem de
+     * bytes é a do buffer). Cabe em {@link #MAX_BYTES}.
+     */
+    public void writeTo(ByteBuffer buffer) {
+        byte[] name = curveId.getBytes(StandardCharsets.UTF_8);
+        int nameLength = Math.min(255, name.length);
+        buffer.put((byte) nameLength).put(name, 0, nameLength);
+
+        buffer.put((byte) previewLength).putInt(gravityOverride);
+        buffer.putInt(score).putInt(level).putInt(totalLines).putInt(totalPieces);
+        buffer.putLong(elapsedMs).putLong(frameCount).putLong(randomState);
+
+        buffer.put((byte) currentType).put((byte) currentRotation).put((byte) currentX).put((byte) currentY);
+        buffer.put((byte) holdType).put((byte) (canHold ? 1 : 0));
+        buffer.putInt(gravityProgress).putInt(lockTimer).putInt(lockResets).putInt(lowestY);
+        buffer.put((byte) rotation);
+
+        buffer.put((byte) queueSize).put(queue, 0, queueSize);
+        for (int count : piecesByType) {
+            buffer.putInt(count);
+        }
+        for (int count : clearsBySize) {
+            buffer.putInt(count);
+        }
+
+        buffer.put((byte) paletteSize);
+        for (int i = 0; i < paletteSize; i++) {
+            buffer.putInt(palette[i]);
+        }
+        buffer.putShort((short) CELLS).put(cells);
+        buffer.putInt(rewindCapacity);
+    }
+
+    /**
+     * Lê um checkpoint escrito por {@link #writeTo(ByteBuffer)} na versão
+     * indicada. Valores fora do esperado (tipos, tamanhos) viram
+     * {@link IOException}.
+     */
+    public static GameCheckpoint readFrom(ByteBuffer buffer, short version) throws IOException {
+        if (version != 1 && version != FORMAT_VERSION) {
+            throw new IOException("versão " + version + " não suportada");
+        }
+        GameCheckpoint checkpoint = new GameCheckpoint();
+        try {
+            checkpoint.decode(buffer);
+            if (version >= 2) {
+                checkpoint.rewindCapacity = Math.max(0, buffer.getInt());
+            }
+        } catch (BufferUnderflowException e) {
+            throw new IOException("checkpoint incompleto");
+        }
+        return checkpoint;
+    }
+
+    private void decode(ByteBuffer buffer) throws IOException {
+        byte[] name = new byte[buffer.get() & 0xFF];
+        buffer.get(name);
+        curveId = new String(name, StandardCharsets.UTF_8);
+
+        previewLength = PieceQueue.clampPreview(buffer.get());
+        gravityOverride = buffer.getInt();
+        score = buffer.getInt();
+        level = buffer.getInt();
+        totalLines = buffer.getInt();
+        totalPieces = buffer.getInt();
+        elapsedMs = buffer.getLong();
+        frameCount = buffer.getLong();
+        randomState = buffer.getLong();
+
+        currentType = checkType(buffer.get());
+        currentRotation = buffer.get() & 3;
+        currentX = buffer.get();
+        currentY = buffer.get();
+        holdType = buffer.get();
+        if (holdType != -1) {
+            checkType(holdType);
+        }
+        canHold = buffer.get() != 0;
+        gravityProgress = buffer.getInt();
+        lockTimer = buffer.getInt();
+        lockResets = buffer.getInt();
+        lowestY = buffer.getInt();
+        rotation = buffer.get() & 3;
+
+        queueSize = buffer.get();
+        if (queueSize < 0 || queueSize > queue.length) {
+            throw new IOException("fila inválida: " + queueSize);
+        }
+        buffer.get(queue, 0, queueSize);
+        for (int i = 0; i < queueSize; i++) {
+            checkType(queue[i]);
+        }
+        for (int i = 0; i < piecesByType.length; i++) {
+            piecesByType[i] = buffer.getInt();
+        }
+        for (int i = 0; i < clearsBySize.length; i++) {
+            clearsBySize[i] = buffer.getInt();
+        }
+
+        paletteSize = buffer.get() & 0xFF;
+        for (int i = 0; i < paletteSize; i++) {
+            palette[i] = buffer.getInt();
+        }
+        if (buffer.getShort() != CELLS) {
+            throw new IOException("tabuleiro de tamanho diferente");
+        }
+        buffer.get(cells);
+        for (byte cell : cells) {
+            if ((cell & 0xFF) > paletteSize) {
+                throw new IOException("cor fora da paleta");
+            }
+        }
+    }
+
+    private static int checkType(int ordinal) throws IOException {
+        if (ordinal < 0 || ordinal >= TYPES.length) {
+            throw new IOException("tipo de peça inválido: " + ordinal);
+        }
+        return ordinal;
+    }
+}
@@ -2,6 +2,10 @@ package com.jonas.tetris.engine;
 
 import com.jonas.tetris.domain.Board;
 import com.jonas.tetris.domain.Tetromino;
+import com.jonas.tetris.metrics.GameMetrics;
+import com.jonas.tetris.metrics.jfr.LineClearEvent;
+import com.jonas.tetris.metrics.jfr.PieceLockEvent;
+import com.jonas.tetris.util.RamUsage;
 
 import java.util.*;
 
@@ -9,13 +13,18 @@ import java.util.*;
  * Controlador central do jogo.
  * Orquestra a lógica de jogo, input, e state management.
  * Separa completamente a lógica da renderização (UI).
+ *
+ * Os métodos públicos são sincronizados: a lógica roda na thread do
+ * {@link GameLoop} enquanto a UI lê o estado pela EDT.
  */
 public class GameController {
     private final Board board;
-    private final Random random;
+    private final GameRandom random;
+    private final GameRandom garbageRandom; // Buracos do lixo, fora da sequência de peças
 
     private Tetromino currentPiece;
-    private final Queue<Tetromino> nextQueue;
+    private final PieceQueue nextQueue;
+    private int previewLength = PieceQueue.DEFAULT_PREVIEW;
     private Tetromino holdPiece;
     private boolean canHoldThisTurn;
 
@@ -24,13 +33,40 @@ public class GameController {
     private int totalLines;
     private long gameStartTime;
     private int totalPieces;
+    private final int[] piecesByType = new int[Tetromino.Type.values().length];
+    private final int[] clearsBySize = new int[GameState.MAX_CLEAR + 1]; // índice = linhas
 
     private GameState.GameStatus status;
     private long pauseStartTime;
     private long totalPausedTime;
 
-    // Observers para eventos
-    private final List<GameEventListener> listeners;
+    // Gravidade e lock delay (em frames de lógica)
+    private static final int MAX_LOCK_RESETS = 15;
+    private static final Tetromino.Type[] PIECE_TYPES = Tetromino.Type.values();
+    private SpeedCurve speedCurve = LevelManager.getCurrentCurve();
+    private int gravityOverride = -1;
+    private int gravityProgress; // fração de célula acumulada (ponto fixo)
+    private int lockTimer; // frames consecutivos no chão
+    private int lockResets; // move resets usados na peça atual
+    private int lowestY; // linha mais baixa já alcançada pela peça atual
+    private int rotation; // quartos de volta desde o spawn
+    private long frameCount;
+
+    // Modo versus: lixo recebido ainda não aplicado e lixo a enviar
+    private static final java.awt.Color GARBAGE_COLOR = java.awt.Color.GRAY;
+    private int pendingGarbage;
+    private int outgoingGarbage;
+
+    // Modo treino: início de cada peça, para voltar jogadas
+    private RewindBuffer rewindBuffer;
+    private GameCheckpoint rewindScratch;
+
+    // Re-simulação do rollback: os eventos do trecho já foram publicados
+    private boolean eventsMuted;
+
+    // Observers para eventos, entregues fora da thread de lógica
+    private final GameEventBus eventBus;
+    private final Map<GameEventListener, GameEventBus.Subscription> listeners;
 
     public interface GameEventListener {
         void onLineCleared(int lineCount, int points);
@@ -43,44 +79,69 @@ public class GameController {
     }
 
     public GameController() {
+        this(new GameRandom(), new GameRandom());
+    }
+
+    /**
+     * Controller com sequência de peças reproduzível (benchmarks, testes).
+     */
+    public GameController(long seed) {
+        this(new GameRandom(seed), new GameRandom(~seed));
+    }
+
+    private GameController(GameRandom random, GameRandom garbageRandom) {
         this.board = new Board();
-        this.random = new Random();
-        this.nextQueue = new LinkedList<>();
-        this.listeners = new ArrayList<>();
+        this.random = random;
+        this.garbageRandom = garbageRandom;
+        this.nextQueue = new PieceQueue();
+        this.eventBus = new GameEventBus();
+        this.listeners = new HashMap<>();
         this.status = GameState.GameStatus.NOT_STARTED;
         this.totalPausedTime = 0;
 
-        // Inicializar fila com 3 peças
-        for (int i = 0; i < 3; i++) {
-            nextQueue.add(getRandomPiece());
-        }
+        fillQueue();
     }
 
     /**
      * Inicia um novo jogo.
      */
-    public void startGame() {
+    public synchronized void startGame() {
+        // Curvas do usuário podem mudar entre partidas, nunca durante uma
+        LevelManager.reloadCustomCurves();
+        speedCurve = LevelManager.getCurrentCurve();
+
         board.clear();
         score = 0;
         level = 1;
         totalLines = 0;
         totalPieces = 0;
+        Arrays.fill(piecesByType, 0);
+        Arrays.fill(clearsBySize, 0);
+        pendingGarbage = 0;
+        outgoingGarbage = 0;
         gameStartTime = System.currentTimeMillis();
         totalPausedTime = 0;
         status = GameState.GameStatus.PLAYING;
         holdPiece = null;
+        frameCount = 0;
+        if (rewindBuffer != null) {
+            rewindBuffer.clear();
+        }
 
         spawnNextPiece();
+        recordRewindPoint();
     }
 
     /**
      * Spawna a próxima peça ou game over.
      */
     private void spawnNextPiece() {
-        currentPiece = nextQueue.poll();
-        nextQueue.add(getRandomPiece());
+        currentPiece = Tetromino.spawn(nextQueue.poll());
+        nextQueue.add(randomType());
         canHoldThisTurn = true;
         totalPieces++;
+        piecesByType[currentPiece.getType().ordinal()]++;
+        resetPieceState();
 
         // Verificar game over
         if (CollisionDetector.isGameOver(currentPiece, board)) {
@@ -89,49 +150,81 @@ public class GameController {
             return;
         }
 
+        applyInstantGravity();
         notifyPieceSpawned(currentPiece);
     }
 
+    /**
+     * Zera gravidade acumulada e lock delay para uma peça nova.
+     */
+    private void resetPieceState() {
+        gravityProgress = 0;
+        lockTimer = 0;
+        lockResets = 0;
+        lowestY = currentPiece.getY();
+        rotation = 0;
+    }
+
     /**
      * Move a peça para o lado.
      */
-    public void moveLeft() {
+    public synchronized void moveLeft() {
         if (status != GameState.GameStatus.PLAYING)
             return;
 
         if (CollisionDetector.canMoveTo(currentPiece, currentPiece.getX() - 1, currentPiece.getY(), board)) {
             currentPiece = currentPiece.moveTo(currentPiece.getX() - 1, currentPiece.getY());
+            onPieceManipulated();
+            notifyPieceEvent(GameEvent.Type.MOVE);
         }
     }
 
-    public void moveRight() {
+    public synchronized void moveRight() {
         if (status != GameState.GameStatus.PLAYING)
             return;
 
         if (CollisionDetector.canMoveTo(currentPiece, currentPiece.getX() + 1, currentPiece.getY(), board)) {
             currentPiece = currentPiece.moveTo(currentPiece.getX() + 1, currentPiece.getY());
+            onPieceManipulated();
+            notifyPieceEvent(GameEvent.Type.MOVE);
+        }
+    }
+
+    /**
+     * Desliza a peça até a parede ou até a pilha (ARR = 0).
+     *
+     * @param direction -1 (esquerda) ou 1 (direita)
+     */
+    public synchronized void shiftToWall(int direction) {
+        if (status != GameState.GameStatus.PLAYING)
+            return;
+
+        int targetX = CollisionDetector.getShiftLimitX(currentPiece, direction, board);
+        if (targetX != currentPiece.getX()) {
+            currentPiece = currentPiece.moveTo(targetX, currentPiece.getY());
+            onPieceManipulated();
+            notifyPieceEvent(GameEvent.Type.MOVE);
         }
     }
 
     /**
      * Soft drop: move a peça para baixo um passo (com bonus de score).
+     * No chão não trava na hora: o lock delay continua valendo.
      */
-    public void softDrop() {
+    public synchronized void softDrop() {
         if (status != GameState.GameStatus.PLAYING)
             return;
 
-        if (CollisionDetector.canMoveTo(currentPiece, currentPiece.getX(), currentPiece.getY() + 1, board)) {
-            currentPiece = currentPiece.moveTo(currentPiece.getX(), currentPiece.getY() + 1);
+        if (stepDown()) {
             score += ScoreCalculator.calculateSoftDrop(1);
-        } else {
-            placePiece();
+            notifyPieceEvent(GameEvent.Type.MOVE);
         }
     }
 
     /**
      * Hard drop: move a peça até o fundo imediatamente.
      */
-    public void hardDrop() {
+    public synchronized void hardDrop() {
         if (status != GameState.GameStatus.PLAYING)
             return;
 
@@ -140,6 +233,7 @@ public class GameController {
 
         currentPiece = currentPiece.moveTo(currentPiece.getX(), finalY);
         score += ScoreCalculator.calculateHardDrop(cellsFallen);
+        notifyPieceEvent(GameEvent.Type.MOVE);
 
         placePiece();
     }
@@ -147,7 +241,7 @@ public class GameController {
     /**
      * Rotaciona a peça.
      */
-    public void rotate() {
+    public synchronized void rotate() {
         if (status != GameState.GameStatus.PLAYING)
             return;
 
@@ -155,14 +249,127 @@ public class GameController {
 
         if (CollisionDetector.canRotate(currentPiece, rotated, board)) {
             currentPiece = rotated;
+            rotation = (rotation + 1) & 3;
+            onPieceManipulated();
+            notifyPieceEvent(GameEvent.Type.ROTATE);
         }
         // TODO: Implementar wall kick (SRS) futuramente
     }
 
+    /**
+     * Leva a peça atual direto à posição final e faz hard drop: gira
+     * {@code turns} quartos de volta no lugar e desliza até a coluna
+     * {@code x}. Para bots; o caminho inteiro é validado antes de mexer em
+     * qualquer coisa.
+     *
+     * @return false se algum passo está bloqueado (nada muda)
+     */
+    public synchronized boolean placeAt(int turns, int x) {
+        return placeAt(false, turns, x);
+    }
+
+    /**
+     * Como {@link #placeAt(int, int)}, trocando antes pela peça do hold se
+     * {@code hold} (e o hold ainda estiver livre). O caminho é validado para
+     * a peça que entraria em jogo, então uma jogada inalcançável não gasta o
+     * hold.
+     *
+     * @return false se algum passo está bloqueado (nada muda)
+     */
+    public synchronized boolean placeAt(boolean hold, int turns, int x) {
+        if (status != GameState.GameStatus.PLAYING)
+            return false;
+
+        boolean swap = hold && canHoldThisTurn;
+        if (pathTo(swap ? pieceAfterHold() : currentPiece, turns, x) == null) {
+            return false;
+        }
+        if (swap) {
+            hold();
+            if (status != GameState.GameStatus.PLAYING) {
+                return false;
+            }
+        }
+
+        currentPiece = pathTo(currentPiece, turns, x);
+        rotation = (rotation + turns) & 3;
+        hardDrop();
+        return true;
+    }
+
+    /**
+     * Gira {@code turns} quartos de volta no lugar e desliza até a coluna
+     * {@code x}, sem mexer no jogo.
+     *
+     * @return a peça no fim do caminho, ou null se algum passo está bloqueado
+     */
+    private Tetromino pathTo(Tetromino piece, int turns, int x) {
+        for (int i = 0; i < (turns & 3); i++) {
+            Tetromino rotated = piece.rotated();
+            if (!CollisionDetector.canRotate(piece, rotated, board)) {
+                return null;
+            }
+            piece = rotated;
+        }
+        int step = Integer.signum(x - piece.getX());
+        while (piece.getX() != x) {
+            if (!CollisionDetector.canMoveTo(piece, piece.getX() + step, piece.getY(), board)) {
+                return null;
+            }
+            piece = piece.moveTo(piece.getX() + step, piece.getY());
+        }
+        return piece;
+    }
+
+    /**
+     * Peça que {@link #hold()} colocaria em jogo, já com a gravidade
+     * instantânea do 20G.
+     */
+    private Tetromino pieceAfterHold() {
+        Tetromino piece = Tetromino.spawn(holdPiece != null ? holdPiece.getType() : nextQueue.get(0));
+        if (getGravity() >= LevelManager.TWENTY_G) {
+            piece = piece.moveTo(piece.getX(), CollisionDetector.getHardDropY(piece, board));
+        }
+        return piece;
+    }
+
+    /**
+     * Um frame determinístico para netcode: aplica as ações da máscara
+     * (bit {@code 1 << Action.ordinal()} de {@link InputHandler.Action}, na
+     * ordem hold, rotação, movimentos, soft drop, hard drop) e avança a
+     * gravidade com {@link #update()}. Mesmo estado e mesma máscara dão
+     * sempre o mesmo estado seguinte; PAUSE é ignorado.
+     */
+    public synchronized void step(int actions) {
+        if ((actions & bit(InputHandler.Action.HOLD)) != 0) {
+            hold();
+        }
+        if ((actions & bit(InputHandler.Action.ROTATE)) != 0) {
+            rotate();
+        }
+        if ((actions & bit(InputHandler.Action.LEFT)) != 0) {
+            moveLeft();
+        }
+        if ((actions & bit(InputHandler.Action.RIGHT)) != 0) {
+            moveRight();
+        }
+        if ((actions & bit(InputHandler.Action.SOFT_DROP)) != 0) {
+            softDrop();
+        }
+        if ((actions & bit(InputHandler.Action.HARD_DROP)) != 0) {
+            hardDrop();
+        }
+        update();
+    }
+
+    private static int bit(InputHandler.Action action) {
+        return 1 << action.ordinal();
+    }
+
     /**
      * Hold: troca a peça atual com a guardada.
      */
-    public void hold() {
+    public synchronized void hold() {
         if (status != GameState.GameStatus.PLAYING || !canHoldThisTurn)
             return;
 
@@ -170,18 +377,21 @@ public class GameController {
         holdPiece = currentPiece;
 
         if (temp != null) {
-            currentPiece = new Tetromino(temp.getType());
+            currentPiece = Tetromino.spawn(temp.getType());
+            resetPieceState();
+            applyInstantGravity();
         } else {
             spawnNextPiece();
         }
 
         canHoldThisTurn = false;
+        notifyPieceEvent(GameEvent.Type.HOLD);
     }
 
     /**
      * Pausa o jogo.
      */
-    public void pause() {
+    public synchronized void pause() {
         if (status == GameState.GameStatus.PLAYING) {
             status = GameState.GameStatus.PAUSED;
             pauseStartTime = System.currentTimeMillis();
@@ -192,19 +402,91 @@ public class GameController {
     }
 
     /**
-     * Atualiza o estado do jogo (chamado pelo game loop).
-     * Retorna o novo GameState.
+     * Avança um frame de lógica (chamado pelo game loop a 60 Hz).
+     * Aplica a gravidade fracionária e conta o lock delay com a peça no chão.
      */
-    public void update() {
+    public synchronized void update() {
         if (status != GameState.GameStatus.PLAYING)
             return;
 
-        // Tentar mover a peça para baixo
-        if (CollisionDetector.canMoveTo(currentPiece, currentPiece.getX(), currentPiece.getY() + 1, board)) {
-            currentPiece = currentPiece.moveTo(currentPiece.getX(), currentPiece.getY() + 1);
+        frameCount++;
+        int gravity = getGravity();
+
+        if (gravity >= LevelManager.TWENTY_G) {
+            // 20G: a peça vai direto para a linha de queda
+            dropToFloor();
         } else {
-            // Peça não pode descer: colocar no tabuleiro
-            placePiece();
+            gravityProgress += gravity;
+            while (gravityProgress >= LevelManager.GRAVITY_UNIT) {
+                gravityProgress -= LevelManager.GRAVITY_UNIT;
+                if (!stepDown()) {
+                    gravityProgress = 0;
+                    break;
+                }
+            }
+        }
+
+        if (isOnGround()) {
+            lockTimer++;
+            if (lockTimer >= speedCurve.getLockDelay(level)) {
+                placePiece();
+            }
+        }
+    }
+
+    /**
+     * Desce a peça uma linha, se possível.
+     */
+    private boolean stepDown() {
+        if (!CollisionDetector.canMoveTo(currentPiece, currentPiece.getX(), currentPiece.getY() + 1, board)) {
+            return false;
+        }
+        currentPiece = currentPiece.moveTo(currentPiece.getX(), currentPiece.getY() + 1);
+        onPieceDescended();
+        return true;
+    }
+
+    private void dropToFloor() {
+        int floorY = CollisionDetector.getHardDropY(currentPiece, board);
+        if (floorY != currentPiece.getY()) {
+            currentPiece = currentPiece.moveTo(currentPiece.getX(), floorY);
+            onPieceDescended();
+        }
+    }
+
+    private boolean isOnGround() {
+        return !CollisionDetector.canMoveTo(currentPiece, currentPiece.getX(), currentPiece.getY() + 1, board);
+    }
+
+    /**
+     * Alcançar uma linha nova zera o lock delay e os move resets.
+     */
+    private void onPieceDescended() {
+        if (currentPiece.getY() > lowestY) {
+            lowestY = currentPiece.getY();
+            lockTimer = 0;
+            lockResets = 0;
+        }
+    }
+
+    /**
+     * Move/rotação bem-sucedidos no chão reiniciam o lock delay, até o limite
+     * de {@value #MAX_LOCK_RESETS} vezes por peça.
+     */
+    private void onPieceManipulated() {
+        if (lockTimer > 0 && lockResets < MAX_LOCK_RESETS) {
+            lockTimer = 0;
+            lockResets++;
+        }
+        applyInstantGravity();
+    }
+
+    /**
+     * Em 20G a peça nunca fica no ar: após spawn ou movimento, cai direto.
+     */
+    private void applyInstantGravity() {
+        if (getGravity() >= LevelManager.TWENTY_G) {
+            dropToFloor();
         }
     }
 
@@ -212,6 +494,13 @@ public class GameController {
      * Coloca a peça no tabuleiro.
      */
     private void placePiece() {
+        notifyPieceEvent(GameEvent.Type.PIECE_LOCKED);
+        GameMetrics.PIECES_PLACED.increment();
+
+        // Buracos só são contados durante uma gravação JFR
+        PieceLockEvent lockEvent = PieceLockEvent.enabled() ? new PieceLockEvent() : null;
+        int holesBefore = lockEvent != null ? board.countHoles() : 0;
+
         int[][] shape = currentPiece.getShape();
         java.awt.Color color = currentPiece.getColor();
 
@@ -228,38 +517,341 @@ public class GameController {
             }
         }
 
+        if (lockEvent != null) {
+            lockEvent.pieceType = currentPiece.getType().name();
+            lockEvent.x = currentPiece.getX();
+            lockEvent.y = currentPiece.getY();
+            lockEvent.rotation = rotation;
+            lockEvent.holesCreated = board.countHoles() - holesBefore;
+            lockEvent.frame = frameCount;
+            lockEvent.commit();
+        }
+
         // Verificar linhas completas
         int linesCleared = board.clearCompleteLines();
+        if (settleGarbage(linesCleared)) {
+            // O lixo empurrou blocos para fora do topo
+            status = GameState.GameStatus.GAME_OVER;
+            notifyGameOver();
+            return;
+        }
         if (linesCleared > 0) {
+            GameMetrics.recordLinesCleared(linesCleared);
             totalLines += linesCleared;
+            clearsBySize[linesCleared]++;
             int points = ScoreCalculator.calculateLinesCleared(linesCleared, level);
             score += points;
-            int newLevel = LevelManager.calculateLevel(totalLines);
+            int newLevel = speedCurve.calculateLevel(totalLines);
             if (newLevel > level) {
                 level = newLevel;
                 notifyLevelUp(level);
             }
             notifyLineCleared(linesCleared, points);
+
+            if (LineClearEvent.enabled()) {
+                LineClearEvent clearEvent = new LineClearEvent();
+                clearEvent.lines = linesCleared;
+                clearEvent.points = points;
+                clearEvent.level = level;
+                clearEvent.totalLines = totalLines;
+                clearEvent.frame = frameCount;
+                clearEvent.commit();
+            }
         }
 
         // Spawn próxima peça
         spawnNextPiece();
+        recordRewindPoint();
+    }
+
+    /**
+     * Versus: o ataque da peça primeiro cancela o lixo pendente e o que
+     * sobra vai para o oponente; sem limpar linhas, o lixo pendente sobe no
+     * tabuleiro antes da próxima peça.
+     *
+     * @return true se o lixo empurrou blocos para fora do topo
+     */
+    private boolean settleGarbage(int linesCleared) {
+        int attack = ScoreCalculator.calculateGarbage(linesCleared);
+        int cancelled = Math.min(attack, pendingGarbage);
+        pendingGarbage -= cancelled;
+        outgoingGarbage += attack - cancelled;
+
+        if (linesCleared == 0 && pendingGarbage > 0) {
+            int count = pendingGarbage;
+            pendingGarbage = 0;
+            return board.addGarbageLines(count, garbageRandom.nextInt(board.getWidth()), GARBAGE_COLOR);
+        }
+        return false;
+    }
+
+    /**
+     * Versus: lixo recebido de um oponente, aplicado quando a próxima peça
+     * travar sem limpar linhas.
+     */
+    public synchronized void receiveGarbage(int lines) {
+        if (status == GameState.GameStatus.PLAYING && lines > 0) {
+            pendingGarbage += lines;
+        }
+    }
+
+    public synchronized int getPendingGarbage() {
+        return pendingGarbage;
+    }
+
+    /**
+     * Versus: linhas de ataque geradas desde a última chamada (zera o total).
+     */
+    public synchronized int drainOutgoingGarbage() {
+        int lines = outgoingGarbage;
+        outgoingGarbage = 0;
+        return lines;
     }
 
     /**
      * Retorna o estado atual do jogo (imutável).
      */
     public GameState getState() {
-        Tetromino shadowPiece = currentPiece.moveTo(
-                currentPiece.getX(),
-                CollisionDetector.getHardDropY(currentPiece, board));
+        return getState(new GameState());
+    }
+
+    /**
+     * Preenche um snapshot já alocado com o estado atual, sem alocar.
+     * Quem renderiza a cada frame reaproveita os mesmos snapshots.
+     *
+     * @return o próprio {@code target}
+     */
+    public synchronized GameState getState(GameState target) {
+        GameMetrics.STATE_SNAPSHOTS.increment();
+        Tetromino shadowPiece = currentPiece == null ? null
+                : currentPiece.moveTo(currentPiece.getX(), CollisionDetector.getHardDropY(currentPiece, board));
 
-        return new GameState(
+        target.fill(
                 board, currentPiece, shadowPiece,
-                new ArrayList<>(nextQueue), holdPiece,
+                nextQueue, holdPiece,
                 score, level, totalLines,
                 getTotalElapsedTime(),
-                status, totalPieces);
+                status, totalPieces, piecesByType, clearsBySize);
+        return target;
+    }
+
+    /**
+     * Copia a partida em andamento para {@code target}, para salvar e
+     * retomar depois. Só copia arrays pequenos; pode ser chamado a cada
+     * poucos segundos sem atrapalhar a thread de lógica.
+     *
+     * @return false (e {@code target} intocado) se não há partida em andamento
+     */
+    public synchronized boolean checkpoint(GameCheckpoint target) {
+        if (status != GameState.GameStatus.PLAYING && status != GameState.GameStatus.PAUSED) {
+            return false;
+        }
+        fillCheckpoint(target);
+        return true;
+    }
+
+    private void fillCheckpoint(GameCheckpoint target) {
+        target.curveId = speedCurve.getId();
+        target.rewindCapacity = rewindBuffer == null ? 0 : rewindBuffer.capacity();
+        target.previewLength = previewLength;
+        target.gravityOverride = gravityOverride;
+        target.score = score;
+        target.level = level;
+        target.totalLines = totalLines;
+        target.totalPieces = totalPieces;
+        target.elapsedMs = getTotalElapsedTime();
+        target.frameCount = frameCount;
+        target.randomState = random.getState();
+
+        target.currentType = currentPiece.getType().ordinal();
+        target.currentRotation = currentPiece.getRotation();
+        target.currentX = currentPiece.getX();
+        target.currentY = currentPiece.getY();
+        target.holdType = holdPiece == null ? -1 : holdPiece.getType().ordinal();
+        target.canHold = canHoldThisTurn;
+        target.gravityProgress = gravityProgress;
+        target.lockTimer = lockTimer;
+        target.lockResets = lockResets;
+        target.lowestY = lowestY;
+        target.rotation = rotation;
+
+        target.queueSize = nextQueue.size();
+        for (int i = 0; i < target.queueSize; i++) {
+            target.queue[i] = (byte) nextQueue.get(i).ordinal();
+        }
+        System.arraycopy(piecesByType, 0, target.piecesByType, 0, piecesByType.length);
+        System.arraycopy(clearsBySize, 0, target.clearsBySize, 0, clearsBySize.length);
+
+        target.paletteSize = 0;
+        int cell = 0;
+        for (int y = 0; y < board.getHeight(); y++) {
+            for (int x = 0; x < board.getWidth(); x++) {
+                java.awt.Color color = board.getCellColor(x, y);
+                target.cells[cell++] = color == null ? 0 : (byte) (target.paletteIndex(color.getRGB()) + 1);
+            }
+        }
+    }
+
+    /**
+     * Retoma uma partida salva por {@link #checkpoint(GameCheckpoint)}. O
+     * jogo volta pausado, com o mesmo tempo jogado; a sequência de peças
+     * continua a mesma que a partida original teria. Um save do modo treino
+     * volta com a volta de peças ligada, a partir deste ponto.
+     */
+    public synchronized void restore(GameCheckpoint checkpoint) {
+        LevelManager.reloadCustomCurves();
+        SpeedCurve curve = LevelManager.getCurve(checkpoint.curveId);
+        speedCurve = curve != null ? curve : LevelManager.getCurrentCurve();
+        previewLength = checkpoint.previewLength;
+        gravityOverride = checkpoint.gravityOverride;
+        frameCount = checkpoint.frameCount;
+        applyCheckpoint(checkpoint);
+
+        currentPiece = Tetromino.of(PIECE_TYPES[checkpoint.currentType], checkpoint.currentRotation,
+                checkpoint.currentX, checkpoint.currentY);
+        gravityProgress = checkpoint.gravityProgress;
+        lockTimer = checkpoint.lockTimer;
+        lockResets = checkpoint.lockResets;
+        lowestY = checkpoint.lowestY;
+        rotation = checkpoint.rotation;
+
+        // Pausado desde agora, com o tempo jogado preservado
+        long now = System.currentTimeMillis();
+        gameStartTime = now - checkpoint.elapsedMs;
+        totalPausedTime = 0;
+        pauseStartTime = now;
+        status = GameState.GameStatus.PAUSED;
+        enableRewind(checkpoint.rewindCapacity);
+        if (rewindBuffer != null) {
+            // O histórico não vai no save: o ponto retomado é o mais antigo
+            fillCheckpoint(rewindScratch);
+            rewindBuffer.push(rewindScratch);
+        }
+    }
+
+    /**
+     * Tabuleiro, hold, fila, gerador e contadores: o que o checkpoint e o
+     * histórico do modo treino têm em comum.
+     */
+    private void applyCheckpoint(GameCheckpoint checkpoint) {
+        score = checkpoint.score;
+        level = checkpoint.level;
+        totalLines = checkpoint.totalLines;
+        totalPieces = checkpoint.totalPieces;
+        random.setState(checkpoint.randomState);
+        holdPiece = checkpoint.holdType < 0 ? null : Tetromino.spawn(PIECE_TYPES[checkpoint.holdType]);
+        canHoldThisTurn = checkpoint.canHold;
+
+        nextQueue.clear();
+        for (int i = 0; i < checkpoint.queueSize; i++) {
+            nextQueue.add(PIECE_TYPES[checkpoint.queue[i]]);
+        }
+        System.arraycopy(checkpoint.piecesByType, 0, piecesByType, 0, piecesByType.length);
+        System.arraycopy(checkpoint.clearsBySize, 0, clearsBySize, 0, clearsBySize.length);
+
+        board.clear();
+        int cell = 0;
+        for (int y = 0; y < board.getHeight(); y++) {
+            for (int x = 0; x < board.getWidth(); x++) {
+                int index = checkpoint.cells[cell++] & 0xFF;
+                if (index != 0) {
+                    board.setCell(x, y, new java.awt.Color(checkpoint.palette[index - 1], true));
+                }
+            }
+        }
+    }
+
+    /**
+     * Liga o histórico do modo treino, guardando as últimas {@code capacity}
+     * peças (0 desliga). Vale a partir da próxima partida.
+     */
+    public synchronized void enableRewind(int capacity) {
+        rewindBuffer = capacity > 0 ? new RewindBuffer(capacity) : null;
+        rewindScratch = capacity > 0 ? new GameCheckpoint() : null;
+    }
+
+    public synchronized boolean isRewindEnabled() {
+        return rewindBuffer != null;
+    }
+
+    /**
+     * Quantas peças podem ser desfeitas agora.
+     */
+    public synchronized int getRewindDepth() {
+        if (rewindBuffer == null || rewindBuffer.size() == 0) {
+            return 0;
+        }
+        return status == GameState.GameStatus.GAME_OVER ? rewindBuffer.size() : rewindBuffer.size() - 1;
+    }
+
+    /**
+     * Modo treino: volta ao início da peça colocada {@code pieces} peças
+     * atrás, com o mesmo tabuleiro, fila e sorteios seguintes. Também
+     * desfaz um game over. O relógio da partida não volta.
+     *
+     * @return false se o histórico não alcança (nada muda)
+     */
+    public synchronized boolean rewind(int pieces) {
+        if (rewindBuffer == null || pieces < 1 || status == GameState.GameStatus.NOT_STARTED) {
+            return false;
+        }
+        // No game over a entrada mais recente já é o início da última peça colocada
+        int back = status == GameState.GameStatus.GAME_OVER ? pieces - 1 : pieces;
+        if (!rewindBuffer.rewind(back, rewindScratch)) {
+            return false;
+        }
+        applyCheckpoint(rewindScratch);
+        currentPiece = Tetromino.spawn(PIECE_TYPES[rewindScratch.currentType]);
+        resetPieceState();
+        if (status == GameState.GameStatus.GAME_OVER) {
+            status = GameState.GameStatus.PLAYING;
+        }
+        applyInstantGravity();
+        notifyPieceSpawned(currentPiece);
+        return true;
+    }
+
+    /**
+     * Grava o início da peça atual no histórico do modo treino.
+     */
+    private void recordRewindPoint() {
+        if (rewindBuffer != null && status == GameState.GameStatus.PLAYING) {
+            fillCheckpoint(rewindScratch);
+            rewindBuffer.push(rewindScratch);
+        }
+    }
+
+    public synchronized int getLevel() {
+        return level;
+    }
+
+    public synchronized int getScore() {
+        return score;
+    }
+
+    /**
+     * Gravidade atual em unidades de {@link LevelManager#GRAVITY_UNIT}.
+     */
+    public synchronized int getGravity() {
+        return gravityOverride >= 0 ? gravityOverride : speedCurve.getGravity(level);
+    }
+
+    /**
+     * Força uma gravidade fixa, ignorando o nível (-1 volta ao normal).
+     */
+    synchronized void setGravityOverride(int gravity) {
+        this.gravityOverride = gravity;
+    }
+
+    /**
+     * Frames de lógica simulados desde o início da partida.
+     */
+    public synchronized long getFrameCount() {
+        return frameCount;
+    }
+
+    public synchronized GameState.GameStatus getStatus() {
+        return status;
     }
 
     private long getTotalElapsedTime() {
@@ -272,42 +864,193 @@ public class GameController {
         return System.currentTimeMillis() - gameStartTime - totalPausedTime;
     }
 
-    private Tetromino getRandomPiece() {
-        Tetromino.Type[] types = Tetromino.Type.values();
-        return new Tetromino(types[random.nextInt(types.length)]);
+    private Tetromino.Type randomType() {
+        return PIECE_TYPES[random.nextInt(PIECE_TYPES.length)];
+    }
+
+    private void fillQueue() {
+        while (nextQueue.size() < previewLength) {
+            nextQueue.add(randomType());
+        }
+    }
+
+    /**
+     * Quantas próximas peças ficam visíveis (1 a 7). Vale na hora: a fila é
+     * completada ou cortada.
+     */
+    public synchronized void setPreviewLength(int length) {
+        previewLength = PieceQueue.clampPreview(length);
+        nextQueue.truncate(previewLength);
+        fillQueue();
+    }
+
+    public synchronized int getPreviewLength() {
+        return previewLength;
+    }
+
+    /**
+     * Memória retida estimada deste controller: tabuleiro, fila, geradores,
+     * histórico do modo treino e barramento de eventos. Peças e cores são
+     * compartilhadas entre controllers e não entram.
+     */
+    public synchronized long ramBytesUsed() {
+        long bytes = RamUsage.object(160) + board.ramBytesUsed()
+                + RamUsage.object(RamUsage.REFERENCE + 8) + RamUsage.array(8, 1) // fila
+                + 2 * RamUsage.object(32) // geradores
+                + RamUsage.array(piecesByType.length, Integer.BYTES)
+                + RamUsage.array(clearsBySize.length, Integer.BYTES)
+                + RamUsage.object(48) + listeners.size() * RamUsage.object(32)
+                + eventBus.ramBytesUsed();
+        if (rewindBuffer != null) {
+            bytes += rewindBuffer.ramBytesUsed() + rewindScratch.ramBytesUsed();
+        }
+        return bytes;
+    }
+
+    // Snapshots de frame para o rollback do versus
+
+    /**
+     * Copia o estado lógico para {@code target} (rollback). Não aloca.
+     */
+    public synchronized void saveFrame(FrameState target) {
+        target.board.copyFrom(board);
+        target.queue.copyFrom(nextQueue);
+        System.arraycopy(piecesByType, 0, target.piecesByType, 0, piecesByType.length);
+        System.arraycopy(clearsBySize, 0, target.clearsBySize, 0, clearsBySize.length);
+        target.randomState = random.getState();
+        target.garbageRandomState = garbageRandom.getState();
+        target.currentPiece = currentPiece;
+        target.holdPiece = holdPiece;
+        target.canHold = canHoldThisTurn;
+        target.status = status;
+        target.speedCurve = speedCurve;
+        target.gravityOverride = gravityOverride;
+        target.previewLength = previewLength;
+        target.score = score;
+        target.level = level;
+        target.totalLines = totalLines;
+        target.totalPieces = totalPieces;
+        target.gravityProgress = gravityProgress;
+        target.lockTimer = lockTimer;
+        target.lockResets = lockResets;
+        target.lowestY = lowestY;
+        target.rotation = rotation;
+        target.frameCount = frameCount;
+        target.pendingGarbage = pendingGarbage;
+        target.outgoingGarbage = outgoingGarbage;
+    }
+
+    /**
+     * Volta ao estado gravado por {@link #saveFrame(FrameState)}. Relógio,
+     * pausa e listeners ficam como estão.
+     */
+    public synchronized void loadFrame(FrameState source) {
+        board.copyFrom(source.board);
+        nextQueue.copyFrom(source.queue);
+        System.arraycopy(source.piecesByType, 0, piecesByType, 0, piecesByType.length);
+        System.arraycopy(source.clearsBySize, 0, clearsBySize, 0, clearsBySize.length);
+        random.setState(source.randomState);
+        garbageRandom.setState(source.garbageRandomState);
+        currentPiece = source.currentPiece;
+        holdPiece = source.holdPiece;
+        canHoldThisTurn = source.canHold;
+        status = source.status;
+        speedCurve = source.speedCurve;
+        gravityOverride = source.gravityOverride;
+        previewLength = source.previewLength;
+        score = source.score;
+        level = source.level;
+        totalLines = source.totalLines;
+        totalPieces = source.totalPieces;
+        gravityProgress = source.gravityProgress;
+        lockTimer = source.lockTimer;
+        lockResets = source.lockResets;
+        lowestY = source.lowestY;
+        rotation = source.rotation;
+        frameCount = source.frameCount;
+        pendingGarbage = source.pendingGarbage;
+        outgoingGarbage = source.outgoingGarbage;
+    }
+
+    /**
+     * Suspende a publicação de eventos (re-simulação de frames cujos eventos
+     * já saíram).
+     */
+    public synchronized void setEventsMuted(boolean muted) {
+        eventsMuted = muted;
     }
 
     // Observer methods
 
+    /**
+     * Barramento onde os eventos de jogo são publicados.
+     */
+    public GameEventBus getEventBus() {
+        return eventBus;
+    }
+
+    /**
+     * Registra um listener numa thread própria, no modo COALESCE: recebe
+     * cada evento na ordem em que aconteceu e nunca atrasa o jogo; só se
+     * ficar uma volta inteira atrás as linhas e pontos perdidos chegam
+     * somados.
+     */
     public void addListener(GameEventListener listener) {
-        listeners.add(listener);
+        addListener(listener, GameEventBus.Backpressure.COALESCE);
+    }
+
+    public synchronized void addListener(GameEventListener listener, GameEventBus.Backpressure backpressure) {
+        if (listeners.containsKey(listener)) {
+            return;
+        }
+        String name = listener.getClass().getSimpleName();
+        listeners.put(listener, eventBus.subscribe(name.isEmpty() ? "listener" : name,
+                new GameEventBus.ListenerHandler(listener), backpressure));
     }
 
     public void removeListener(GameEventListener listener) {
-        listeners.remove(listener);
+        GameEventBus.Subscription subscription;
+        synchronized (this) {
+            subscription = listeners.remove(listener);
+        }
+        // Fora do lock: o consumidor pode estar chamando o controller
+        if (subscription != null) {
+            eventBus.unsubscribe(subscription);
+        }
     }
 
     private void notifyLineCleared(int lineCount, int points) {
-        for (GameEventListener listener : listeners) {
-            listener.onLineCleared(lineCount, points);
+        if (eventsMuted) {
+            return;
         }
+        eventBus.publishLineCleared(lineCount, points, level, frameCount);
     }
 
     private void notifyLevelUp(int newLevel) {
-        for (GameEventListener listener : listeners) {
-            listener.onLevelUp(newLevel);
+        if (eventsMuted) {
+            return;
         }
+        eventBus.publishLevelUp(newLevel, frameCount);
     }
 
     private void notifyGameOver() {
-        for (GameEventListener listener : listeners) {
-            listener.onGameOver();
+        if (eventsMuted) {
+            return;
         }
+        eventBus.publishGameOver(level, frameCount);
     }
 
     private void notifyPieceSpawned(Tetromino piece) {
-        for (GameEventListener listener : listeners) {
-            listener.onPieceSpawned(piece);
+        if (eventsMuted) {
+            return;
+        }
+        eventBus.publishPieceEvent(GameEvent.Type.PIECE_SPAWNED, piece, 0, level, frameCount);
+    }
+
+    private void notifyPieceEvent(GameEvent.Type type) {
+        if (eventsMuted) {
+            return;
         }
+        eventBus.publishPieceEvent(type, currentPiece, rotation, level, frameCount);
     }
 }
@@ -0,0 +1,112 @@
+package com.jonas.tetris.engine;
+
+import com.jonas.tetris.domain.Tetromino;
+import com.jonas.tetris.util.RamUsage;
+
+/**
+ * Evento de jogo publicado no {@link GameEventBus}.
+ *
+ * Os objetos são reutilizados: os slots do ring buffer e a cópia de cada
+ * consumidor são preenchidos de novo a cada evento. Quem precisar guardar
+ * um valor deve copiá-lo durante o callback.
+ */
+public final class GameEvent {
+    public enum Type {
+        PIECE_SPAWNED, MOVE, ROTATE, HOLD, PIECE_LOCKED, LINE_CLEARED, LEVEL_UP, GAME_OVER
+    }
+
+    /**
+     * Tamanho estimado de uma instância (5 longs, 4 ints, 2 referências).
+     */
+    static final long RAM_BYTES = RamUsage.object(5 * Long.BYTES + 4 * Integer.BYTES + 2 * RamUsage.REFERENCE);
+
+    Type type;
+    long sequence;
+    long nanoTime;
+    long frame;
+    int lineCount;
+    int points;
+    int level;
+    Tetromino piece;
+    int rotation;
+
+    // Totais acumulados no barramento, usados para reconstruir eventos perdidos
+    long totalLines;
+    long totalPoints;
+
+    GameEvent() {
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    /**
+     * Número sequencial do evento no barramento (começa em 0).
+     */
+    public long getSequence() {
+        return sequence;
+    }
+
+    /**
+     * Instante da publicação (System.nanoTime).
+     */
+    public long getNanoTime() {
+        return nanoTime;
+    }
+
+    /**
+     * Frame de lógica da partida em que o evento aconteceu.
+     */
+    public long getFrame() {
+        return frame;
+    }
+
+    public int getLineCount() {
+        return lineCount;
+    }
+
+    public int getPoints() {
+        return points;
+    }
+
+    /**
+     * Nível do jogo quando o evento foi publicado.
+     */
+    public int getLevel() {
+        return level;
+    }
+
+    /**
+     * Peça envolvida (spawn, movimento, rotação, hold e travamento), ou null.
+     */
+    public Tetromino getPiece() {
+        return piece;
+    }
+
+    /**
+     * Rotação da peça (0-3, quartos de volta desde o spawn).
+     */
+    public int getRotation() {
+        return rotation;
+    }
+
+    void copyFrom(GameEvent other) {
+        type = other.type;
+        sequence = other.sequence;
+        nanoTime = other.nanoTime;
+        frame = other.frame;
+        lineCount = other.lineCount;
+        points = other.points;
+        level = other.level;
+        piece = other.piece;
+        rotation = other.rotation;
+        totalLines = other.totalLines;
+        totalPoints = other.totalPoints;
+    }
+
+    @Override
+    public String toString() {
+        return type + "#" + sequence + "[lines=" + lineCount + ", points=" + points + ", level=" + level + "]";
+    }
+}
@@ -0,0 +1,482 @@
+package com.jonas.tetris.engine;
+
+import java.lang.invoke.VarHandle;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.LockSupport;
+
+import com.jonas.tetris.domain.Tetromino;
+import com.jonas.tetris.util.RamUsage;
+
+/**
+ * Barramento de eventos de jogo sobre um ring buffer pré-alocado no
+ * primeiro {@link #subscribe}: um controller sem consumidores (bots,
+ * sessões headless) não paga os ~50 KB do ring.
+ *
+ * Há um único produtor (o {@link GameController}, que publica com o seu lock
+ * adquirido) e vários consumidores, cada um na sua thread e com a sua
+ * posição no ring. Publicar não aloca: os {@link GameEvent} dos slots são
+ * reutilizados. O consumidor copia o slot para o seu próprio evento e
+ * confere o carimbo de sequência do slot antes e depois da cópia, então
+ * nunca entrega um evento sobrescrito pela metade.
+ *
+ * Cada consumidor escolhe o que acontece quando fica uma volta inteira atrás
+ * do produtor ({@link Backpressure}):
+ * <ul>
+ * <li>DROP: os eventos mais antigos são perdidos e contados;</li>
+ * <li>BLOCK: o produtor espera o consumidor liberar espaço;</li>
+ * <li>COALESCE: como DROP, mas os eventos perdidos viram um resumo (linhas
+ * e pontos somados, último nível) entregue antes do primeiro evento ainda
+ * disponível.</li>
+ * </ul>
+ * Sem perdas, todo consumidor recebe cada evento, na ordem de publicação.
+ * Consumidores BLOCK não devem chamar métodos sincronizados do controller:
+ * o produtor espera segurando o lock dele.
+ */
+public class GameEventBus {
+    public static final int DEFAULT_CAPACITY = 1024;
+    public static final int DEFAULT_MAX_BATCH = 64;
+
+    private static final long WRITING = -1;
+    private static final long MAX_IDLE_PARK_NANOS = 1_000_000L;
+
+    public enum Backpressure {
+        DROP, BLOCK, COALESCE
+    }
+
+    /**
+     * Recebe os eventos na thread do consumidor. O objeto é reutilizado a
+     * cada chamada.
+     */
+    public interface Handler {
+        /**
+         * @param endOfBatch true no último evento do lote atual
+         */
+        void onEvent(GameEvent event, boolean endOfBatch);
+    }
+
+    private GameEvent[] ring; // Criado no primeiro subscribe
+    private AtomicLongArray stamps; // sequência publicada em cada slot
+    private final int capacity;
+    private final int mask;
+
+    // Estado do produtor (sempre acessado pela mesma thread por vez)
+    private volatile long cursor = -1; // última sequência publicada
+    private long totalLines;
+    private long totalPoints;
+
+    private volatile Subscription[] subscriptions = new Subscription[0];
+
+    public GameEventBus() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * @param capacity tamanho do ring (arredondado para potência de 2)
+     */
+    public GameEventBus(int capacity) {
+        int size = Integer.highestOneBit(Math.max(2, capacity - 1)) << 1;
+        this.capacity = size;
+        this.mask = size - 1;
+    }
+
+    /**
+     * Aloca o ring. Fica visível ao produtor e aos consumidores pela escrita
+     * volátil de {@code subscriptions} que vem logo depois.
+     */
+    private void allocateRing() {
+        GameEvent[] events = new GameEvent[capacity];
+        for (int i = 0; i < capacity; i++) {
+            events[i] = new GameEvent();
+        }
+        AtomicLongArray published = new AtomicLongArray(capacity);
+        for (int i = 0; i < capacity; i++) {
+            published.set(i, Long.MIN_VALUE);
+        }
+        ring = events;
+        stamps = published;
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * Memória retida estimada (ring, se já alocado, e consumidores; as
+     * threads deles não entram).
+     */
+    public synchronized long ramBytesUsed() {
+        long bytes = RamUsage.object(56) + RamUsage.array(subscriptions.length, RamUsage.REFERENCE)
+                + subscriptions.length * RamUsage.object(96);
+        if (ring != null) {
+            bytes += RamUsage.array(capacity, RamUsage.REFERENCE) + capacity * GameEvent.RAM_BYTES
+                    + RamUsage.object(RamUsage.REFERENCE) + RamUsage.array(capacity, Long.BYTES);
+        }
+        return bytes;
+    }
+
+    /**
+     * Última sequência publicada (-1 se nenhuma).
+     */
+    public long getCursor() {
+        return cursor;
+    }
+
+    // Publicação (produtor único)
+
+    /**
+     * Publica um evento de peça (spawn, movimento, rotação, hold ou
+     * travamento).
+     */
+    public void publishPieceEvent(GameEvent.Type type, Tetromino piece, int rotation, int level, long frame) {
+        publish(type, 0, 0, level, piece, rotation, frame);
+    }
+
+    public void publishLineCleared(int lineCount, int points, int level, long frame) {
+        totalLines += lineCount;
+        totalPoints += points;
+        publish(GameEvent.Type.LINE_CLEARED, lineCount, points, level, null, 0, frame);
+    }
+
+    public void publishLevelUp(int level, long frame) {
+        publish(GameEvent.Type.LEVEL_UP, 0, 0, level, null, 0, frame);
+    }
+
+    public void publishGameOver(int level, long frame) {
+        publish(GameEvent.Type.GAME_OVER, 0, 0, level, null, 0, frame);
+    }
+
+    private void publish(GameEvent.Type type, int lineCount, int points, int level, Tetromino piece,
+            int rotation, long frame) {
+        Subscription[] subs = subscriptions;
+        if (subs.length == 0) {
+            return;
+        }
+
+        long sequence = cursor + 1;
+        awaitBlockingConsumers(subs, sequence);
+
+        int index = (int) (sequence & mask);
+        GameEvent slot = ring[index];
+        stamps.set(index, WRITING);
+        VarHandle.storeStoreFence();
+        slot.type = type;
+        slot.sequence = sequence;
+        slot.nanoTime = System.nanoTime();
+        slot.frame = frame;
+        slot.lineCount = lineCount;
+        slot.points = points;
+        slot.level = level;
+        slot.piece = piece;
+        slot.rotation = rotation;
+        slot.totalLines = totalLines;
+        slot.totalPoints = totalPoints;
+        stamps.set(index, sequence); // libera o slot (escrita volátil)
+        cursor = sequence;
+
+        for (Subscription sub : subs) {
+            if (sub.waiting) {
+                LockSupport.unpark(sub.thread);
+            }
+        }
+    }
+
+    private void awaitBlockingConsumers(Subscription[] subs, long sequence) {
+        for (Subscription sub : subs) {
+            if (sub.backpressure != Backpressure.BLOCK) {
+                continue;
+            }
+            while (sub.running && sequence - sub.nextSequence >= capacity) {
+                sub.producerWaits++;
+                LockSupport.unpark(sub.thread);
+                LockSupport.parkNanos(10_000L);
+            }
+        }
+    }
+
+    // Consumidores
+
+    /**
+     * Registra um consumidor com thread própria. Ele recebe apenas eventos
+     * publicados depois do registro.
+     */
+    public synchronized Subscription subscribe(String name, Handler handler, Backpressure backpressure) {
+        return subscribe(name, handler, backpressure, DEFAULT_MAX_BATCH);
+    }
+
+    public synchronized Subscription subscribe(String name, Handler handler, Backpressure backpressure, int maxBatch) {
+        if (ring == null) {
+            allocateRing();
+        }
+        Subscription sub = new Subscription(name, handler, backpressure, Math.max(1, maxBatch), cursor + 1);
+        Subscription[] updated = Arrays.copyOf(subscriptions, subscriptions.length + 1);
+        updated[updated.length - 1] = sub;
+        subscriptions = updated;
+        sub.thread.start();
+        return sub;
+    }
+
+    /**
+     * Remove o consumidor, esperando ele entregar o que já foi publicado.
+     */
+    public void unsubscribe(Subscription sub) {
+        synchronized (this) {
+            Subscription[] current = subscriptions;
+            int index = Arrays.asList(current).indexOf(sub);
+            if (index < 0) {
+                return;
+            }
+            Subscription[] updated = new Subscription[current.length - 1];
+            System.arraycopy(current, 0, updated, 0, index);
+            System.arraycopy(current, index + 1, updated, index, current.length - index - 1);
+            subscriptions = updated;
+        }
+        sub.stop();
+    }
+
+    /**
+     * Para todos os consumidores.
+     */
+    public void close() {
+        for (Subscription sub : subscriptions) {
+            unsubscribe(sub);
+        }
+    }
+
+    /**
+     * Consumidor registrado: thread, posição no ring e política de
+     * backpressure.
+     */
+    public final class Subscription {
+        private final String name;
+        private final Handler handler;
+        private final Backpressure backpressure;
+        private final int maxBatch;
+        private final Thread thread;
+
+        private final GameEvent current = new GameEvent();
+        private final GameEvent summary = new GameEvent(); // Eventos perdidos no modo COALESCE
+
+        private volatile long nextSequence;
+        private volatile boolean running = true;
+        private volatile boolean waiting;
+        private volatile long droppedCount;
+        private volatile long producerWaits;
+
+        // Últimos totais vistos, para resumir eventos perdidos
+        private long seenTotalLines;
+        private long seenTotalPoints;
+        private int seenLevel;
+
+        private Subscription(String name, Handler handler, Backpressure backpressure, int maxBatch, long start) {
+            this.name = name;
+            this.handler = handler;
+            this.backpressure = backpressure;
+            this.maxBatch = maxBatch;
+            this.nextSequence = start;
+            this.seenTotalLines = totalLines;
+            this.seenTotalPoints = totalPoints;
+            this.thread = new Thread(this::run, "tetris-events-" + name);
+            thread.setDaemon(true);
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public Backpressure getBackpressure() {
+            return backpressure;
+        }
+
+        /**
+         * Eventos perdidos por ficar uma volta atrás do produtor.
+         */
+        public long getDroppedCount() {
+            return droppedCount;
+        }
+
+        /**
+         * Quantas vezes o produtor esperou por este consumidor (BLOCK).
+         */
+        public long getProducerWaits() {
+            return producerWaits;
+        }
+
+        /**
+         * Eventos publicados e ainda não entregues a este consumidor.
+         */
+        public long getLag() {
+            return Math.max(0, cursor + 1 - nextSequence);
+        }
+
+        Handler getHandler() {
+            return handler;
+        }
+
+        private void stop() {
+            running = false;
+            LockSupport.unpark(thread);
+            if (thread != Thread.currentThread()) {
+                try {
+                    thread.join(1000);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        }
+
+        private void run() {
+            long idleParkNanos = 1_000L;
+            while (true) {
+                long available = cursor;
+                long next = nextSequence;
+                if (next > available) {
+                    if (!running) {
+                        return; // Tudo entregue
+                    }
+                    waiting = true;
+                    if (cursor < next && running) {
+                        LockSupport.parkNanos(idleParkNanos);
+                        idleParkNanos = Math.min(MAX_IDLE_PARK_NANOS, idleParkNanos * 2);
+                    }
+                    waiting = false;
+                    continue;
+                }
+                idleParkNanos = 1_000L;
+
+                long end = Math.min(available, next + maxBatch - 1);
+                try {
+                    next = drain(next, end);
+                } catch (RuntimeException e) {
+                    System.err.println("Erro no consumidor de eventos " + name + ": " + e.getMessage());
+                    next = end + 1;
+                }
+                nextSequence = next;
+            }
+        }
+
+        /**
+         * Entrega as sequências de {@code from} a {@code to} e retorna a próxima
+         * a ler.
+         */
+        private long drain(long from, long to) {
+            long sequence = from;
+            while (sequence <= to) {
+                if (!readSlot(sequence)) {
+                    // Produtor já deu a volta: pular para o slot mais antigo ainda válido
+                    long oldest = Math.max(sequence + 1, cursor - capacity + 1);
+                    droppedCount += oldest - sequence;
+                    if (backpressure == Backpressure.COALESCE) {
+                        summarizeLostEvents(oldest);
+                    }
+                    return oldest;
+                }
+
+                handler.onEvent(current, sequence == to);
+                remember(current);
+                sequence++;
+            }
+            return sequence;
+        }
+
+        /**
+         * Copia o slot para {@link #current}; false se ele foi sobrescrito.
+         */
+        private boolean readSlot(long sequence) {
+            int index = (int) (sequence & mask);
+            if (stamps.get(index) != sequence) {
+                return false;
+            }
+            current.copyFrom(ring[index]);
+            VarHandle.loadLoadFence();
+            return stamps.get(index) == sequence;
+        }
+
+        private void remember(GameEvent event) {
+            seenTotalLines = event.totalLines;
+            seenTotalPoints = event.totalPoints;
+            seenLevel = event.level;
+        }
+
+        /**
+         * COALESCE: transforma a diferença de totais entre o último evento
+         * entregue e o primeiro ainda disponível em eventos sintéticos.
+         */
+        private void summarizeLostEvents(long oldest) {
+            int index = (int) (oldest & mask);
+            if (stamps.get(index) != oldest) {
+                return;
+            }
+            current.copyFrom(ring[index]);
+            VarHandle.loadLoadFence();
+            if (stamps.get(index) != oldest) {
+                return;
+            }
+
+            // Totais antes do evento mais antigo disponível
+            long linesBefore = current.type == GameEvent.Type.LINE_CLEARED
+                    ? current.totalLines - current.lineCount
+                    : current.totalLines;
+            long pointsBefore = current.type == GameEvent.Type.LINE_CLEARED
+                    ? current.totalPoints - current.points
+                    : current.totalPoints;
+            long lostLines = linesBefore - seenTotalLines;
+            long lostPoints = pointsBefore - seenTotalPoints;
+            int level = current.level;
+
+            summary.sequence = oldest - 1;
+            summary.nanoTime = current.nanoTime;
+            summary.frame = current.frame;
+            summary.piece = null;
+            summary.rotation = 0;
+            summary.level = level;
+            // Mesma ordem do controller: nível antes das linhas que o causaram
+            if (level > seenLevel) {
+                summary.type = GameEvent.Type.LEVEL_UP;
+                summary.lineCount = 0;
+                summary.points = 0;
+                handler.onEvent(summary, false);
+            }
+            if (lostLines > 0) {
+                summary.type = GameEvent.Type.LINE_CLEARED;
+                summary.lineCount = (int) lostLines;
+                summary.points = (int) lostPoints;
+                handler.onEvent(summary, false);
+            }
+            seenTotalLines = linesBefore;
+            seenTotalPoints = pointsBefore;
+            seenLevel = level;
+        }
+    }
+
+    /**
+     * Adapta um {@link GameController.GameEventListener} ao barramento.
+     */
+    static final class ListenerHandler implements Handler {
+        final GameController.GameEventListener listener;
+
+        ListenerHandler(GameController.GameEventListener listener) {
+            this.listener = listener;
+        }
+
+        @Override
+        public void onEvent(GameEvent event, boolean endOfBatch) {
+            switch (event.getType()) {
+                case LINE_CLEARED:
+                    listener.onLineCleared(event.getLineCount(), event.getPoints());
+                    break;
+                case LEVEL_UP:
+                    listener.onLevelUp(event.getLevel());
+                    break;
+                case GAME_OVER:
+                    listener.onGameOver();
+                    break;
+                case PIECE_SPAWNED:
+                    listener.onPieceSpawned(event.getPiece());
+                    break;
+                default:
+                    break; // Eventos sem callback na interface antiga
+            }
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package com.jonas.tetris.engine;
+
+import java.util.concurrent.locks.LockSupport;
+
+import com.jonas.tetris.metrics.GameMetrics;
+import com.jonas.tetris.metrics.jfr.TickEvent;
+
+/**
+ * Loop de lógica em thread própria, com passo fixo de 60 frames por segundo.
+ * A cada frame processa o input ({@link InputHandler}) e a gravidade, e avisa
+ * o {@link TickListener} (usado pela UI para agendar a renderização).
+ */
+public class GameLoop {
+    public static final int FRAMES_PER_SECOND = 60;
+    public static final long FRAME_NANOS = 1_000_000_000L / FRAMES_PER_SECOND;
+    private static final long MAX_LAG_NANOS = FRAME_NANOS * 5; // acima disso, ressincroniza
+
+    public interface TickListener {
+        /**
+         * Chamado na thread de lógica após cada frame.
+         *
+         * @param frameNanos    instante de início do frame
+         * @param durationNanos tempo gasto no tick
+         */
+        void onTick(long frameNanos, long durationNanos);
+    }
+
+    private final GameController controller;
+    private final InputHandler input;
+    private final TickListener listener;
+
+    private volatile boolean running;
+    private Thread thread;
+
+    public GameLoop(GameController controller, InputHandler input, TickListener listener) {
+        this.controller = controller;
+        this.input = input;
+        this.listener = listener;
+    }
+
+    public synchronized void start() {
+        if (running) {
+            return;
+        }
+        running = true;
+        thread = new Thread(this::run, "tetris-logic");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Para o loop e aguarda a thread terminar.
+     */
+    public synchronized void stop() {
+        running = false;
+        if (thread != null && thread != Thread.currentThread()) {
+            thread.interrupt();
+            try {
+                thread.join(1000);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        thread = null;
+    }
+
+    public boolean isRunning() {
+        return running;
+    }
+
+    public Thread getThread() {
+        return thread;
+    }
+
+    private void run() {
+        long nextFrame = System.nanoTime();
+        while (running) {
+            long frameStart = System.nanoTime();
+            TickEvent tickEvent = TickEvent.enabled() ? new TickEvent() : null;
+            if (tickEvent != null) {
+                tickEvent.begin();
+            }
+            tick(frameStart);
+            long duration = System.nanoTime() - frameStart;
+            if (tickEvent != null) {
+                tickEvent.frame = controller.getFrameCount();
+                tickEvent.level = controller.getLevel();
+                tickEvent.commit();
+            }
+            GameMetrics.TICKS.increment();
+            GameMetrics.TICK_DURATION.record(duration);
+            if (listener != null) {
+                listener.onTick(frameStart, duration);
+            }
+
+            nextFrame += FRAME_NANOS;
+            long remaining = nextFrame - System.nanoTime();
+            if (remaining > 0) {
+                LockSupport.parkNanos(remaining);
+            } else if (remaining < -MAX_LAG_NANOS) {
+                nextFrame = System.nanoTime(); // Atrasou demais: não tentar recuperar frames
+            }
+        }
+    }
+
+    /**
+     * Executa um frame de lógica: input e depois gravidade/lock delay.
+     */
+    void tick(long nowNanos) {
+        input.update(nowNanos, cellFallNanos());
+        controller.update();
+    }
+
+    /**
+     * Tempo que a gravidade atual leva para descer uma célula (base do soft
+     * drop factor).
+     */
+    private long cellFallNanos() {
+        int gravity = controller.getGravity();
+        if (gravity <= 0) {
+            return FRAME_NANOS * LevelManager.GRAVITY_UNIT;
+        }
+        return Math.max(1, FRAME_NANOS * LevelManager.GRAVITY_UNIT / gravity);
+    }
+}
@@ -0,0 +1,53 @@
+package com.jonas.tetris.engine;
+
+import java.util.Random;
+
+/**
+ * {@link Random} com o estado interno exposto, para salvar e retomar uma
+ * partida com a mesma sequência de peças. Usa o mesmo gerador congruencial
+ * linear de {@code java.util.Random}: para a mesma semente, os valores são
+ * idênticos.
+ *
+ * Não é thread-safe; o {@link GameController} só o usa sob o próprio lock.
+ */
+public class GameRandom extends Random {
+    private static final long serialVersionUID = 1L;
+
+    private static final long MULTIPLIER = 0x5DEECE66DL;
+    private static final long ADDEND = 0xBL;
+    private static final long MASK = (1L << 48) - 1;
+
+    // Sem inicializador: o construtor de Random chama setSeed antes dele
+    private long state;
+
+    public GameRandom() {
+        super();
+    }
+
+    public GameRandom(long seed) {
+        super(seed);
+    }
+
+    @Override
+    public void setSeed(long seed) {
+        super.setSeed(seed);
+        state = (seed ^ MULTIPLIER) & MASK;
+    }
+
+    @Override
+    protected int next(int bits) {
+        state = (state * MULTIPLIER + ADDEND) & MASK;
+        return (int) (state >>> (48 - bits));
+    }
+
+    /**
+     * Estado atual (48 bits), para {@link #setState(long)}.
+     */
+    public long getState() {
+        return state;
+    }
+
+    public void setState(long state) {
+        this.state = state & MASK;
+    }
+}
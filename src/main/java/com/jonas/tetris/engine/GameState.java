@@ -2,42 +2,63 @@ package com.jonas.tetris.engine;
 
 import com.jonas.tetris.domain.Board;
 import com.jonas.tetris.domain.Tetromino;
-import java.util.ArrayList;
-import java.util.Collections;
-import java.util.List;
 
 /**
- * Estado imutável do jogo.
+ * Snapshot do estado do jogo.
  * Contém todas as informações necessárias para renderizar a tela e processar
  * lógica.
+ *
+ * Snapshots criados por {@link GameController#getState()} nunca mudam. Os
+ * preenchidos por {@link GameController#getState(GameState)} são
+ * reaproveitados pelo dono a cada frame, sem alocar.
  */
 public class GameState {
+    /**
+     * Maior número de linhas limpas por uma única peça.
+     */
+    public static final int MAX_CLEAR = 4;
+
     public enum GameStatus {
         PLAYING, PAUSED, GAME_OVER, NOT_STARTED
     }
 
     private final int[][] boardGrid;
     private final java.awt.Color[][] boardColors;
-    private final Tetromino currentPiece;
-    private final Tetromino shadowPiece; // Posição de hard drop
-    private final List<Tetromino> nextQueue; // Próximas peças
-    private final Tetromino holdPiece; // Peça guardada
-    private final int score;
-    private final int level;
-    private final int totalLines;
-    private final long elapsedTimeMs;
-    private final GameStatus status;
-    private final int totalPieces;
-
-    public GameState(Board board, Tetromino currentPiece, Tetromino shadowPiece,
-            List<Tetromino> nextQueue, Tetromino holdPiece,
+    private Tetromino currentPiece;
+    private Tetromino shadowPiece; // Posição de hard drop
+    private final PieceQueue nextQueue = new PieceQueue(); // Próximas peças
+    private Tetromino holdPiece; // Peça guardada
+    private int score;
+    private int level;
+    private int totalLines;
+    private long elapsedTimeMs;
+    private GameStatus status;
+    private int totalPieces;
+    private final int[] piecesByType = new int[Tetromino.Type.values().length];
+    private final int[] clearsBySize = new int[MAX_CLEAR + 1];
+
+    /**
+     * Cria um snapshot vazio, para ser preenchido por
+     * {@link GameController#getState(GameState)}.
+     */
+    public GameState() {
+        this.boardGrid = new int[Board.BOARD_HEIGHT + 2][Board.BOARD_WIDTH];
+        this.boardColors = new java.awt.Color[Board.BOARD_HEIGHT + 2][Board.BOARD_WIDTH];
+        this.status = GameStatus.NOT_STARTED;
+    }
+
+    /**
+     * Sobrescreve o snapshot, sem alocar.
+     */
+    void fill(Board board, Tetromino currentPiece, Tetromino shadowPiece,
+            PieceQueue queue, Tetromino holdPiece,
             int score, int level, int totalLines, long elapsedTimeMs,
-            GameStatus status, int totalPieces) {
-        this.boardGrid = board.getGridCopy();
-        this.boardColors = board.getColorsCopy();
+            GameStatus status, int totalPieces, int[] piecesByType, int[] clearsBySize) {
+        board.copyGridInto(boardGrid);
+        board.copyColorsInto(boardColors);
+        nextQueue.copyFrom(queue);
         this.currentPiece = currentPiece;
         this.shadowPiece = shadowPiece;
-        this.nextQueue = Collections.unmodifiableList(new ArrayList<>(nextQueue));
         this.holdPiece = holdPiece;
         this.score = score;
         this.level = level;
@@ -45,9 +66,11 @@ public class GameState {
         this.elapsedTimeMs = elapsedTimeMs;
         this.status = status;
         this.totalPieces = totalPieces;
+        System.arraycopy(piecesByType, 0, this.piecesByType, 0, this.piecesByType.length);
+        System.arraycopy(clearsBySize, 0, this.clearsBySize, 0, this.clearsBySize.length);
     }
 
-    // Getters (todos retornam valores imutáveis)
+    // Getters
 
     public int[][] getBoardGrid() {
         return boardGrid;
@@ -65,7 +88,10 @@ public class GameState {
         return shadowPiece;
     }
 
-    public List<Tetromino> getNextQueue() {
+    /**
+     * Próximas peças (visão somente leitura).
+     */
+    public PiecePreview getNextQueue() {
         return nextQueue;
     }
 
@@ -97,6 +123,21 @@ public class GameState {
         return totalPieces;
     }
 
+    /**
+     * Peças desse tipo que entraram em jogo na partida.
+     */
+    public int getPieceCount(Tetromino.Type type) {
+        return piecesByType[type.ordinal()];
+    }
+
+    /**
+     * Quantas vezes a partida limpou exatamente {@code lines} linhas de uma vez
+     * (1 a {@value #MAX_CLEAR}).
+     */
+    public int getClearCount(int lines) {
+        return clearsBySize[lines];
+    }
+
     public String getFormattedTime() {
         long seconds = elapsedTimeMs / 1000;
         long minutes = seconds / 60;
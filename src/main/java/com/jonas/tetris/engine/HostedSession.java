@@ -0,0 +1,133 @@
+package com.jonas.tetris.engine;
+
+import com.jonas.tetris.util.RamUsage;
+
+/**
+ * Uma partida headless rodando num {@link SessionHost}: o controller, quem o
+ * comanda e as contas da sessão (frames, memória retida e alocada).
+ *
+ * A cada frame o host chama o {@link Driver} e depois
+ * {@link GameController#update()}, sempre na mesma thread de trabalho. A
+ * sessão termina no game over (se o driver não começar outra partida no
+ * frame seguinte), no limite de frames, com {@link #close()} ou quando o
+ * frame lança uma exceção ({@link #getFailure()}); as outras sessões do
+ * shard seguem rodando.
+ */
+public final class HostedSession {
+    /**
+     * Quem joga a sessão: um bot, um replay de inputs a validar etc.
+     */
+    public interface Driver {
+        /**
+         * Chamado antes da gravidade de cada frame, na thread do host. Pode
+         * mover a peça ou, vendo o game over, começar outra partida.
+         */
+        void onFrame(GameController controller, long frame);
+
+        /**
+         * Memória retida pelo próprio driver, para a conta da sessão.
+         */
+        default long ramBytesUsed() {
+            return 0;
+        }
+    }
+
+    private static final long RAM_BYTES = RamUsage.object(48);
+
+    private final long id;
+    private final GameController controller;
+    private final Driver driver;
+    private final long frameLimit;
+
+    private volatile long frame;
+    private volatile long allocatedBytes;
+    private volatile boolean finished;
+    private volatile RuntimeException failure;
+
+    HostedSession(long id, GameController controller, Driver driver, long frameLimit) {
+        this.id = id;
+        this.controller = controller;
+        this.driver = driver;
+        this.frameLimit = frameLimit;
+    }
+
+    /**
+     * Um frame. Chamado só pela thread do shard da sessão.
+     *
+     * @return false quando a sessão terminou
+     */
+    boolean tick() {
+        if (finished) {
+            return false;
+        }
+        long current = frame;
+        driver.onFrame(controller, current);
+        if (controller.getStatus() == GameState.GameStatus.GAME_OVER || current >= frameLimit) {
+            finished = true;
+            return false;
+        }
+        controller.update();
+        frame = current + 1;
+        return true;
+    }
+
+    /**
+     * Encerra a sessão por um erro no frame (do driver, em geral).
+     */
+    void fail(RuntimeException e) {
+        failure = e;
+        finished = true;
+    }
+
+    void addAllocatedBytes(long bytes) {
+        allocatedBytes += bytes; // Só a thread do shard escreve
+    }
+
+    public long getId() {
+        return id;
+    }
+
+    public GameController getController() {
+        return controller;
+    }
+
+    /**
+     * Frames já rodados.
+     */
+    public long getFrame() {
+        return frame;
+    }
+
+    public boolean isFinished() {
+        return finished;
+    }
+
+    /**
+     * Exceção que encerrou a sessão, ou null.
+     */
+    public RuntimeException getFailure() {
+        return failure;
+    }
+
+    /**
+     * Encerra a sessão; o host a retira no próximo frame do shard.
+     */
+    public void close() {
+        finished = true;
+    }
+
+    /**
+     * Memória retida estimada: sessão, controller e driver.
+     */
+    public long ramBytesUsed() {
+        return RAM_BYTES + controller.ramBytesUsed() + driver.ramBytesUsed();
+    }
+
+    /**
+     * Bytes alocados nos frames da sessão desde o início (-1 se a JVM não
+     * mede alocação por thread).
+     */
+    public long getAllocatedBytes() {
+        return SessionHost.ALLOCATION_METER == null ? -1 : allocatedBytes;
+    }
+}
@@ -0,0 +1,245 @@
+package com.jonas.tetris.engine;
+
+/**
+ * Subsistema de input com DAS/ARR próprios, independente do key-repeat do
+ * sistema operacional.
+ *
+ * A EDT apenas registra eventos de tecla pressionada/solta (com timestamp em
+ * nanossegundos) numa fila circular single-producer/single-consumer. A thread
+ * de lógica consome a fila em {@link #update(long, long)}: cada evento é
+ * aplicado no seu instante real, e as repetições automáticas devidas antes
+ * dele são aplicadas primeiro, então o tempo de DAS/ARR não depende da
+ * granularidade do frame.
+ *
+ * <ul>
+ * <li>DAS (Delayed Auto Shift): atraso até o movimento lateral começar a se
+ * repetir;</li>
+ * <li>ARR (Auto Repeat Rate): intervalo entre repetições. ARR = 0 desliza a
+ * peça direto até a parede;</li>
+ * <li>Soft drop factor: multiplicador da gravidade enquanto ↓ está
+ * pressionado.</li>
+ * </ul>
+ */
+public class InputHandler {
+    public enum Action {
+        LEFT, RIGHT, SOFT_DROP, ROTATE, HARD_DROP, HOLD, PAUSE
+    }
+
+    public static final long DEFAULT_DAS_NANOS = 167_000_000L; // ~10 frames a 60 Hz
+    public static final long DEFAULT_ARR_NANOS = 33_000_000L; // ~2 frames a 60 Hz
+    public static final int DEFAULT_SOFT_DROP_FACTOR = 20;
+
+    private static final Action[] ACTIONS = Action.values();
+    private static final int QUEUE_CAPACITY = 64; // potência de 2
+    private static final int QUEUE_MASK = QUEUE_CAPACITY - 1;
+    private static final int MAX_STEPS_PER_UPDATE = 64; // limite de segurança para repetições
+
+    private final GameController controller;
+
+    // Fila SPSC: escrita pela EDT, lida pela thread de lógica
+    private final int[] queuedActions = new int[QUEUE_CAPACITY];
+    private final boolean[] queuedPressed = new boolean[QUEUE_CAPACITY];
+    private final long[] queuedNanos = new long[QUEUE_CAPACITY];
+    private final long[] queuedTraceIds = new long[QUEUE_CAPACITY];
+    private volatile long queueHead; // próximo a consumir
+    private volatile long queueTail; // próximo a produzir
+
+    // Estado das teclas (somente thread de lógica)
+    private final boolean[] held = new boolean[ACTIONS.length];
+    private int shiftDirection; // -1 esquerda, 1 direita, 0 parado
+    private long nextShiftNanos;
+    private long nextSoftDropNanos;
+
+    private volatile long dasNanos;
+    private volatile long arrNanos;
+    private volatile int softDropFactor;
+    private volatile long lastAppliedTraceId = -1;
+
+    public InputHandler(GameController controller) {
+        this(controller, DEFAULT_DAS_NANOS, DEFAULT_ARR_NANOS, DEFAULT_SOFT_DROP_FACTOR);
+    }
+
+    public InputHandler(GameController controller, long dasNanos, long arrNanos, int softDropFactor) {
+        this.controller = controller;
+        configure(dasNanos, arrNanos, softDropFactor);
+    }
+
+    /**
+     * Altera DAS, ARR e soft drop factor (aplicado na próxima atualização).
+     */
+    public void configure(long dasNanos, long arrNanos, int softDropFactor) {
+        this.dasNanos = Math.max(0, dasNanos);
+        this.arrNanos = Math.max(0, arrNanos);
+        this.softDropFactor = Math.max(1, softDropFactor);
+    }
+
+    /**
+     * Registra uma tecla pressionada (chamado pela EDT).
+     *
+     * @param traceId identificador para rastrear latência (-1 se não usado)
+     * @return false se a fila estiver cheia e o evento foi descartado
+     */
+    public boolean press(Action action, long nanos, long traceId) {
+        return enqueue(action, true, nanos, traceId);
+    }
+
+    /**
+     * Registra uma tecla solta (chamado pela EDT).
+     */
+    public boolean release(Action action, long nanos) {
+        return enqueue(action, false, nanos, -1);
+    }
+
+    private boolean enqueue(Action action, boolean pressed, long nanos, long traceId) {
+        long tail = queueTail;
+        if (tail - queueHead >= QUEUE_CAPACITY) {
+            return false;
+        }
+        int slot = (int) (tail & QUEUE_MASK);
+        queuedActions[slot] = action.ordinal();
+        queuedPressed[slot] = pressed;
+        queuedNanos[slot] = nanos;
+        queuedTraceIds[slot] = traceId;
+        queueTail = tail + 1; // publica o slot (escrita volátil)
+        return true;
+    }
+
+    /**
+     * Processa os eventos pendentes e as repetições automáticas até
+     * {@code nowNanos}. Chamado pela thread de lógica a cada frame.
+     *
+     * @param nowNanos     instante atual (System.nanoTime)
+     * @param gravityNanos intervalo atual da gravidade, base do soft drop
+     */
+    public void update(long nowNanos, long gravityNanos) {
+        long softDropInterval = Math.max(1, gravityNanos / softDropFactor);
+
+        long head = queueHead;
+        long tail = queueTail;
+        while (head < tail) {
+            int slot = (int) (head & QUEUE_MASK);
+            long eventNanos = Math.min(queuedNanos[slot], nowNanos);
+
+            // Repetições que venceram antes deste evento acontecem antes dele
+            advance(eventNanos, softDropInterval);
+            apply(ACTIONS[queuedActions[slot]], queuedPressed[slot], eventNanos, softDropInterval);
+
+            if (queuedTraceIds[slot] >= 0) {
+                lastAppliedTraceId = queuedTraceIds[slot];
+            }
+            head++;
+        }
+        queueHead = head;
+
+        advance(nowNanos, softDropInterval);
+    }
+
+    /**
+     * Identificador do último input pressionado já aplicado ao controller.
+     */
+    public long getLastAppliedTraceId() {
+        return lastAppliedTraceId;
+    }
+
+    /**
+     * Solta todas as teclas e descarta eventos pendentes (novo jogo).
+     * Deve ser chamado com o loop de lógica parado.
+     */
+    public void reset() {
+        queueHead = queueTail;
+        for (int i = 0; i < held.length; i++) {
+            held[i] = false;
+        }
+        shiftDirection = 0;
+    }
+
+    private void apply(Action action, boolean pressed, long nanos, long softDropInterval) {
+        int index = action.ordinal();
+        if (pressed == held[index]) {
+            return; // Repetição do SO ou release duplicado
+        }
+        held[index] = pressed;
+
+        switch (action) {
+            case LEFT:
+            case RIGHT:
+                int direction = action == Action.LEFT ? -1 : 1;
+                if (pressed) {
+                    startShift(direction, nanos);
+                    shiftOnce(direction);
+                } else if (shiftDirection == direction) {
+                    // Voltar para a direção oposta se ainda estiver pressionada
+                    Action opposite = action == Action.LEFT ? Action.RIGHT : Action.LEFT;
+                    if (held[opposite.ordinal()]) {
+                        startShift(-direction, nanos);
+                    } else {
+                        shiftDirection = 0;
+                    }
+                }
+                break;
+            case SOFT_DROP:
+                if (pressed) {
+                    controller.softDrop();
+                    nextSoftDropNanos = nanos + softDropInterval;
+                }
+                break;
+            case ROTATE:
+                if (pressed)
+                    controller.rotate();
+                break;
+            case HARD_DROP:
+                if (pressed)
+                    controller.hardDrop();
+                break;
+            case HOLD:
+                if (pressed)
+                    controller.hold();
+                break;
+            case PAUSE:
+                if (pressed)
+                    controller.pause();
+                break;
+        }
+    }
+
+    private void startShift(int direction, long nanos) {
+        shiftDirection = direction;
+        nextShiftNanos = nanos + dasNanos;
+    }
+
+    private void shiftOnce(int direction) {
+        if (direction < 0) {
+            controller.moveLeft();
+        } else {
+            controller.moveRight();
+        }
+    }
+
+    /**
+     * Aplica as repetições de movimento lateral e de soft drop vencidas até
+     * o instante informado.
+     */
+    private void advance(long untilNanos, long softDropInterval) {
+        if (shiftDirection != 0 && untilNanos >= nextShiftNanos) {
+            long arr = arrNanos;
+            if (arr == 0) {
+                // Mantém a peça colada na parede enquanto a tecla estiver pressionada
+                controller.shiftToWall(shiftDirection);
+            } else {
+                long steps = (untilNanos - nextShiftNanos) / arr + 1;
+                nextShiftNanos += steps * arr;
+                for (long i = 0; i < Math.min(steps, MAX_STEPS_PER_UPDATE); i++) {
+                    shiftOnce(shiftDirection);
+                }
+            }
+        }
+
+        if (held[Action.SOFT_DROP.ordinal()] && untilNanos >= nextSoftDropNanos) {
+            long steps = (untilNanos - nextSoftDropNanos) / softDropInterval + 1;
+            nextSoftDropNanos += steps * softDropInterval;
+            for (long i = 0; i < Math.min(steps, MAX_STEPS_PER_UPDATE); i++) {
+                controller.softDrop();
+            }
+        }
+    }
+}
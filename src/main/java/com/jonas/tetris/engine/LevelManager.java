@@ -1,39 +1,174 @@
 package com.jonas.tetris.engine;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
 /**
  * Gerencia níveis e velocidade do jogo.
- * Cada nível tem uma velocidade (delay em ms para cada queda natural).
+ *
+ * As tabelas de velocidade vêm de curvas ({@link SpeedCurve}) carregadas dos
+ * recursos em {@code /curves} e dos arquivos {@code *.curve} do diretório
+ * {@code tetris_curves}. A curva ativa é trocada de uma vez (referência
+ * volátil), então as consultas por nível continuam O(1) e sem parsing.
+ * A curva padrão, "classic", mantém a tabela original (500 ms no nível 1,
+ * -25 ms por nível, sobe a cada 10 linhas).
  */
 public class LevelManager {
+    public static final String DEFAULT_CURVE = "classic";
+    private static final String[] BUILT_IN_CURVES = { "classic", "nes", "guideline", "tgm" };
+    private static final Path CUSTOM_CURVES_DIR = Paths.get("tetris_curves");
+    private static final String CURVE_EXTENSION = ".curve";
+
+    /**
+     * Gravidade em ponto fixo: GRAVITY_UNIT = 1G (uma célula por frame).
+     * Frações de G acumulam entre frames; 20G ou mais coloca a peça direto na
+     * linha de queda.
+     */
+    public static final int GRAVITY_UNIT = 65536;
+    public static final int TWENTY_G = 20 * GRAVITY_UNIT;
+
+    /**
+     * Lock delay padrão (frames no chão antes de travar, 30 = 0,5 s).
+     */
+    public static final int DEFAULT_LOCK_DELAY_FRAMES = 30;
+
+    private static final Map<String, SpeedCurve> builtInCurves = new LinkedHashMap<>();
+    private static Map<String, SpeedCurve> customCurves = new LinkedHashMap<>();
+    private static long customCurvesStamp = -1;
+    private static String selectedCurve = DEFAULT_CURVE;
+    private static volatile SpeedCurve currentCurve;
+
+    static {
+        for (String id : BUILT_IN_CURVES) {
+            try (InputStream in = LevelManager.class.getResourceAsStream("/curves/" + id + CURVE_EXTENSION)) {
+                if (in == null) {
+                    throw new IllegalStateException("Curva embutida ausente: " + id);
+                }
+                builtInCurves.put(id, SpeedCurve.parse(id, new InputStreamReader(in, StandardCharsets.UTF_8)));
+            } catch (IOException e) {
+                throw new IllegalStateException("Erro ao ler curva embutida " + id, e);
+            }
+        }
+        currentCurve = builtInCurves.get(DEFAULT_CURVE);
+    }
+
+    /**
+     * Curva usada pelas consultas estáticas e por novos jogos.
+     */
+    public static SpeedCurve getCurrentCurve() {
+        return currentCurve;
+    }
+
+    /**
+     * Seleciona a curva pelo identificador (nome do recurso ou do arquivo sem
+     * extensão). Identificadores desconhecidos voltam para a curva padrão.
+     *
+     * @return true se a curva existia
+     */
+    public static synchronized boolean selectCurve(String id) {
+        selectedCurve = id == null ? DEFAULT_CURVE : id;
+        SpeedCurve curve = findCurve(selectedCurve);
+        currentCurve = curve != null ? curve : builtInCurves.get(DEFAULT_CURVE);
+        return curve != null;
+    }
+
+    /**
+     * Identificadores disponíveis: embutidas primeiro, depois as do usuário.
+     */
+    public static synchronized List<String> getAvailableCurves() {
+        List<String> ids = new ArrayList<>(builtInCurves.keySet());
+        for (String id : customCurves.keySet()) {
+            if (!ids.contains(id)) {
+                ids.add(id);
+            }
+        }
+        return ids;
+    }
+
+    /**
+     * Recarrega as curvas do usuário se algum arquivo mudou desde a última
+     * leitura e reaplica a curva selecionada. Chamado entre partidas; curvas
+     * inválidas são ignoradas com aviso e a anterior continua valendo.
+     */
+    public static synchronized void reloadCustomCurves() {
+        long stamp = directoryStamp();
+        if (stamp == customCurvesStamp) {
+            return;
+        }
+        customCurvesStamp = stamp;
+
+        Map<String, SpeedCurve> loaded = new LinkedHashMap<>();
+        if (stamp != 0) {
+            try (DirectoryStream<Path> files = Files.newDirectoryStream(CUSTOM_CURVES_DIR, "*" + CURVE_EXTENSION)) {
+                for (Path file : files) {
+                    String id = curveId(file);
+                    try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+                        loaded.put(id, SpeedCurve.parse(id, reader));
+                    } catch (IOException | IllegalArgumentException e) {
+                        System.err.println("Curva ignorada (" + file.getFileName() + "): " + e.getMessage());
+                        SpeedCurve previous = customCurves.get(id);
+                        if (previous != null) {
+                            loaded.put(id, previous);
+                        }
+                    }
+                }
+            } catch (IOException e) {
+                System.err.println("Erro ao ler curvas: " + e.getMessage());
+                return;
+            }
+        }
+        customCurves = loaded;
+        selectCurve(selectedCurve);
+    }
+
     /**
-     * Tabela de velocidade por nível (em ms).
-     * Baseada na NES Tetris oficial.
-     * Nível sobe a cada 10 linhas limpas.
+     * Curva pelo identificador, sem trocar a selecionada (null se não existe).
      */
-    private static final int[] LEVEL_SPEEDS_MS = {
-            500, // Nível 1
-            475, // Nível 2
-            450, // Nível 3
-            425, // Nível 4
-            400, // Nível 5
-            375, // Nível 6
-            350, // Nível 7
-            325, // Nível 8
-            300, // Nível 9
-            275, // Nível 10
-            250, // Nível 11
-            225, // Nível 12
-            200, // Nível 13
-            175, // Nível 14
-            150, // Nível 15
-            125, // Nível 16
-            100, // Nível 17
-            75, // Nível 18
-            50, // Nível 19
-            30 // Nível 20+
-    };
-
-    private static final int LINES_PER_LEVEL = 10;
+    static synchronized SpeedCurve getCurve(String id) {
+        return findCurve(id);
+    }
+
+    private static SpeedCurve findCurve(String id) {
+        SpeedCurve custom = customCurves.get(id);
+        return custom != null ? custom : builtInCurves.get(id);
+    }
+
+    /**
+     * Assinatura barata do diretório (quantidade de arquivos e datas), para
+     * só reler quando algo mudou. 0 se o diretório não existir.
+     */
+    private static long directoryStamp() {
+        if (!Files.isDirectory(CUSTOM_CURVES_DIR)) {
+            return 0;
+        }
+        long stamp = 1;
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(CUSTOM_CURVES_DIR, "*" + CURVE_EXTENSION)) {
+            for (Path file : files) {
+                stamp = stamp * 31 + file.getFileName().hashCode();
+                stamp = stamp * 31 + Files.getLastModifiedTime(file).toMillis();
+                stamp = stamp * 31 + Files.size(file);
+            }
+        } catch (IOException e) {
+            return customCurvesStamp; // Mantém o que já foi carregado
+        }
+        return stamp;
+    }
+
+    private static String curveId(Path file) {
+        String fileName = file.getFileName().toString();
+        return fileName.substring(0, fileName.length() - CURVE_EXTENSION.length());
+    }
 
     /**
      * Calcula o nível baseado no número de linhas.
@@ -42,7 +177,7 @@ public class LevelManager {
      * @return nível (começa em 1)
      */
     public static int calculateLevel(int totalLines) {
-        return (totalLines / LINES_PER_LEVEL) + 1;
+        return currentCurve.calculateLevel(totalLines);
     }
 
     /**
@@ -52,13 +187,27 @@ public class LevelManager {
      * @return delay em ms
      */
     public static int getSpeedForLevel(int level) {
-        if (level < 1) {
-            return LEVEL_SPEEDS_MS[0];
-        }
-        if (level > LEVEL_SPEEDS_MS.length) {
-            return LEVEL_SPEEDS_MS[LEVEL_SPEEDS_MS.length - 1];
-        }
-        return LEVEL_SPEEDS_MS[level - 1];
+        return currentCurve.getSpeedMs(level);
+    }
+
+    /**
+     * Obtém a gravidade de um nível em unidades de {@link #GRAVITY_UNIT}.
+     *
+     * @param level nível (começa em 1)
+     * @return gravidade (65536 = 1G)
+     */
+    public static int getGravityForLevel(int level) {
+        return currentCurve.getGravity(level);
+    }
+
+    /**
+     * Obtém o lock delay de um nível, em frames.
+     *
+     * @param level nível (começa em 1)
+     * @return frames no chão antes de a peça travar
+     */
+    public static int getLockDelayForLevel(int level) {
+        return currentCurve.getLockDelay(level);
     }
 
     /**
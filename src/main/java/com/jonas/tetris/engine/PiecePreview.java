@@ -0,0 +1,33 @@
+package com.jonas.tetris.engine;
+
+import com.jonas.tetris.domain.Tetromino;
+
+/**
+ * Visão somente leitura das próximas peças, sem alocação.
+ */
+public interface PiecePreview {
+    /**
+     * Quantidade de peças visíveis.
+     */
+    int size();
+
+    /**
+     * Tipo da peça na posição {@code index} (0 = próxima).
+     */
+    Tetromino.Type get(int index);
+
+    /**
+     * Mesmas peças, na mesma ordem.
+     */
+    default boolean sameAs(PiecePreview other) {
+        if (other == null || other.size() != size()) {
+            return false;
+        }
+        for (int i = 0; i < size(); i++) {
+            if (other.get(i) != get(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
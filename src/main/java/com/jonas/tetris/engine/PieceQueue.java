@@ -0,0 +1,91 @@
+package com.jonas.tetris.engine;
+
+import com.jonas.tetris.domain.Tetromino;
+
+/**
+ * Fila das próximas peças: buffer circular de capacidade fixa guardando só
+ * o ordinal do tipo de cada peça. Nenhuma operação aloca.
+ */
+public final class PieceQueue implements PiecePreview {
+    public static final int MIN_PREVIEW = 1;
+    public static final int MAX_PREVIEW = 7;
+    public static final int DEFAULT_PREVIEW = 3;
+
+    private static final int CAPACITY = 8; // potência de 2 >= MAX_PREVIEW
+    private static final int MASK = CAPACITY - 1;
+    private static final Tetromino.Type[] TYPES = Tetromino.Type.values();
+
+    private final byte[] types = new byte[CAPACITY];
+    private int head;
+    private int size;
+
+    /**
+     * Limita o tamanho da pré-visualização a [{@value #MIN_PREVIEW},
+     * {@value #MAX_PREVIEW}].
+     */
+    public static int clampPreview(int length) {
+        return Math.max(MIN_PREVIEW, Math.min(MAX_PREVIEW, length));
+    }
+
+    /**
+     * Adiciona uma peça no fim da fila.
+     *
+     * @throws IllegalStateException se a fila estiver cheia
+     */
+    public void add(Tetromino.Type type) {
+        if (size == MAX_PREVIEW) {
+            throw new IllegalStateException("Fila de peças cheia");
+        }
+        types[(head + size) & MASK] = (byte) type.ordinal();
+        size++;
+    }
+
+    /**
+     * Remove e retorna a primeira peça.
+     *
+     * @throws IllegalStateException se a fila estiver vazia
+     */
+    public Tetromino.Type poll() {
+        if (size == 0) {
+            throw new IllegalStateException("Fila de peças vazia");
+        }
+        Tetromino.Type type = TYPES[types[head]];
+        head = (head + 1) & MASK;
+        size--;
+        return type;
+    }
+
+    @Override
+    public Tetromino.Type get(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Índice " + index + ", tamanho " + size);
+        }
+        return TYPES[types[(head + index) & MASK]];
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Descarta as peças além das {@code newSize} primeiras.
+     */
+    public void truncate(int newSize) {
+        size = Math.max(0, Math.min(size, newSize));
+    }
+
+    public void clear() {
+        head = 0;
+        size = 0;
+    }
+
+    /**
+     * Sobrescreve esta fila com o conteúdo de outra (usado nos snapshots).
+     */
+    public void copyFrom(PieceQueue other) {
+        System.arraycopy(other.types, 0, types, 0, CAPACITY);
+        head = other.head;
+        size = other.size;
+    }
+}
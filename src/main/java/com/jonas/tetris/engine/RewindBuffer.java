@@ -0,0 +1,170 @@
+package com.jonas.tetris.engine;
+
+import com.jonas.tetris.domain.Board;
+import com.jonas.tetris.domain.Tetromino;
+import com.jonas.tetris.util.RamUsage;
+
+/**
+ * Histórico do modo treino: as últimas N peças, cada uma guardada no início
+ * dela (tabuleiro, peça, hold, fila, gerador e contadores), para voltar
+ * qualquer quantidade de peças de uma vez.
+ *
+ * Buffer circular sobre arrays primitivos alocados uma vez: cada linha do
+ * tabuleiro vira um long com 4 bits por célula (índice numa paleta de até
+ * {@value #PALETTE_SIZE} cores), então uma entrada ocupa ~260 bytes e 1000
+ * peças cabem em ~260 KB. Gravar e voltar custam O(1), independentemente da
+ * distância.
+ */
+final class RewindBuffer {
+    static final int PALETTE_SIZE = 15; // Código 0 = vazio
+    private static final int ROWS = Board.BOARD_HEIGHT + 2;
+    private static final int COLUMNS = Board.BOARD_WIDTH;
+    private static final int PIECE_BYTES = 3 + PieceQueue.MAX_PREVIEW; // atual, hold, fila
+    private static final int COUNTERS = 4 + Tetromino.Type.values().length + GameState.MAX_CLEAR + 1;
+
+    private final int capacity;
+    private final long[] rows;
+    private final byte[] pieces;
+    private final byte[] flags; // bit 0: hold disponível
+    private final long[] randomStates;
+    private final int[] counters;
+    private final int[] palette = new int[PALETTE_SIZE];
+    private int paletteSize;
+
+    private int head; // Próxima posição a gravar
+    private int size;
+
+    RewindBuffer(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Capacidade inválida: " + capacity);
+        }
+        this.capacity = capacity;
+        rows = new long[capacity * ROWS];
+        pieces = new byte[capacity * PIECE_BYTES];
+        flags = new byte[capacity];
+        randomStates = new long[capacity];
+        counters = new int[capacity * COUNTERS];
+    }
+
+    int capacity() {
+        return capacity;
+    }
+
+    /**
+     * Memória retida estimada: os arrays alocados no construtor.
+     */
+    long ramBytesUsed() {
+        return RamUsage.object(32) + RamUsage.array(rows.length, Long.BYTES) + RamUsage.array(pieces.length, 1)
+                + RamUsage.array(flags.length, 1) + RamUsage.array(randomStates.length, Long.BYTES)
+                + RamUsage.array(counters.length, Integer.BYTES) + RamUsage.array(PALETTE_SIZE, Integer.BYTES);
+    }
+
+    /**
+     * Entradas guardadas (a mais recente é o início da peça atual).
+     */
+    int size() {
+        return size;
+    }
+
+    void clear() {
+        head = 0;
+        size = 0;
+    }
+
+    /**
+     * Grava o estado; sobrescreve a entrada mais antiga quando cheio.
+     */
+    void push(GameCheckpoint state) {
+        int slot = head;
+        head = (head + 1) % capacity;
+        size = Math.min(size + 1, capacity);
+
+        int cell = 0;
+        for (int y = 0; y < ROWS; y++) {
+            long row = 0;
+            for (int x = 0; x < COLUMNS; x++) {
+                int index = state.cells[cell++] & 0xFF;
+                if (index != 0) {
+                    row |= (long) code(state.palette[index - 1]) << (x * 4);
+                }
+            }
+            rows[slot * ROWS + y] = row;
+        }
+
+        int p = slot * PIECE_BYTES;
+        pieces[p] = (byte) state.currentType;
+        pieces[p + 1] = (byte) state.holdType;
+        pieces[p + 2] = (byte) state.queueSize;
+        System.arraycopy(state.queue, 0, pieces, p + 3, state.queueSize);
+        flags[slot] = (byte) (state.canHold ? 1 : 0);
+        randomStates[slot] = state.randomState;
+
+        int c = slot * COUNTERS;
+        counters[c] = state.score;
+        counters[c + 1] = state.level;
+        counters[c + 2] = state.totalLines;
+        counters[c + 3] = state.totalPieces;
+        System.arraycopy(state.piecesByType, 0, counters, c + 4, state.piecesByType.length);
+        System.arraycopy(state.clearsBySize, 0, counters, c + 4 + state.piecesByType.length,
+                state.clearsBySize.length);
+    }
+
+    /**
+     * Descarta as {@code back} entradas mais recentes e copia a que ficar no
+     * topo para {@code target} (só os campos guardados aqui).
+     *
+     * @return false se não há entradas suficientes (nada muda)
+     */
+    boolean rewind(int back, GameCheckpoint target) {
+        if (back < 0 || back >= size) {
+            return false;
+        }
+        size -= back;
+        head = (head - back + capacity) % capacity;
+        int slot = (head - 1 + capacity) % capacity;
+
+        System.arraycopy(palette, 0, target.palette, 0, paletteSize);
+        target.paletteSize = paletteSize;
+        int cell = 0;
+        for (int y = 0; y < ROWS; y++) {
+            long row = rows[slot * ROWS + y];
+            for (int x = 0; x < COLUMNS; x++) {
+                target.cells[cell++] = (byte) ((row >>> (x * 4)) & 0xF);
+            }
+        }
+
+        int p = slot * PIECE_BYTES;
+        target.currentType = pieces[p];
+        target.holdType = pieces[p + 1];
+        target.queueSize = pieces[p + 2];
+        System.arraycopy(pieces, p + 3, target.queue, 0, target.queueSize);
+        target.canHold = flags[slot] != 0;
+        target.randomState = randomStates[slot];
+
+        int c = slot * COUNTERS;
+        target.score = counters[c];
+        target.level = counters[c + 1];
+        target.totalLines = counters[c + 2];
+        target.totalPieces = counters[c + 3];
+        System.arraycopy(counters, c + 4, target.piecesByType, 0, target.piecesByType.length);
+        System.arraycopy(counters, c + 4 + target.piecesByType.length, target.clearsBySize, 0,
+                target.clearsBySize.length);
+        return true;
+    }
+
+    /**
+     * Código de 4 bits da cor (1 a {@value #PALETTE_SIZE}). Cores além da
+     * paleta usam a última; o jogo usa bem menos que isso.
+     */
+    private int code(int argb) {
+        for (int i = 0; i < paletteSize; i++) {
+            if (palette[i] == argb) {
+                return i + 1;
+            }
+        }
+        if (paletteSize < PALETTE_SIZE) {
+            palette[paletteSize++] = argb;
+        }
+        return paletteSize;
+    }
+}
@@ -57,4 +57,23 @@ public class ScoreCalculator {
     public static int calculateHardDrop(int cellsFallen) {
         return Math.max(0, cellsFallen * 2);
     }
+
+    /**
+     * Linhas de lixo enviadas ao oponente no modo versus (tabela guideline:
+     * double 1, triple 2, tetris 4).
+     *
+     * @param linesClearedCount número de linhas limpas de uma vez (1-4)
+     */
+    public static int calculateGarbage(int linesClearedCount) {
+        switch (linesClearedCount) {
+            case 2:
+                return 1;
+            case 3:
+                return 2;
+            case 4:
+                return 4;
+            default:
+                return 0;
+        }
+    }
 }
@@ -0,0 +1,275 @@
+package com.jonas.tetris.engine;
+
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.jonas.tetris.metrics.LatencyHistogram;
+
+/**
+ * Hospeda milhares de partidas headless (ladders de bots, validação no
+ * servidor) numa JVM só, sem uma thread nem um timer por partida.
+ *
+ * As sessões são repartidas em shards; cada shard é uma tarefa periódica
+ * a {@link GameLoop#FRAMES_PER_SECOND} num único agendador compartilhado,
+ * com poucas threads (uma por núcleo por padrão), e roda um frame de cada
+ * sessão dele em sequência. Os shards começam defasados dentro do frame,
+ * para o trabalho não chegar todo no mesmo instante. Cada sessão fica
+ * sempre no mesmo shard, então o controller dela só é tocado por uma
+ * thread por vez.
+ *
+ * Memória: cada sessão tem a retida estimada ({@link HostedSession#ramBytesUsed()})
+ * e a alocada nos seus frames, medida pela JVM quando disponível.
+ * {@link #open} recusa sessões além do orçamento de memória do host.
+ * Latência: o atraso de cada frame de shard em relação ao horário previsto
+ * e a duração dele vão para histogramas.
+ */
+public class SessionHost implements AutoCloseable {
+    public static final int SHARDS_PER_THREAD = 8;
+    private static final long MAX_LAG_NANOS = GameLoop.FRAME_NANOS * 5;
+
+    /**
+     * Medidor de alocação por thread da JVM (HotSpot), ou null.
+     */
+    static final com.sun.management.ThreadMXBean ALLOCATION_METER = allocationMeter();
+
+    private final ScheduledThreadPoolExecutor scheduler;
+    private final Shard[] shards;
+    private final long memoryBudget;
+    private final AtomicLong nextId = new AtomicLong();
+    private final AtomicLong accountedBytes = new AtomicLong();
+    private final AtomicInteger sessionCount = new AtomicInteger();
+    private final AtomicLong finishedCount = new AtomicLong();
+    private final AtomicLong failedCount = new AtomicLong();
+    private final LatencyHistogram tickLateness = new LatencyHistogram();
+    private final LatencyHistogram tickDuration = new LatencyHistogram();
+
+    /**
+     * Host com uma thread por núcleo.
+     */
+    public SessionHost(long memoryBudget) {
+        this(Runtime.getRuntime().availableProcessors(), memoryBudget);
+    }
+
+    /**
+     * @param threads      threads do agendador compartilhado
+     * @param memoryBudget soma máxima da memória retida estimada das sessões
+     */
+    public SessionHost(int threads, long memoryBudget) {
+        if (threads < 1) {
+            throw new IllegalArgumentException("Threads inválidas: " + threads);
+        }
+        this.memoryBudget = memoryBudget;
+        AtomicInteger threadNumber = new AtomicInteger();
+        scheduler = new ScheduledThreadPoolExecutor(threads, task -> {
+            Thread thread = new Thread(task, "tetris-host-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.setRemoveOnCancelPolicy(true);
+
+        shards = new Shard[threads * SHARDS_PER_THREAD];
+        for (int i = 0; i < shards.length; i++) {
+            shards[i] = new Shard();
+            long offset = GameLoop.FRAME_NANOS * i / shards.length;
+            scheduler.scheduleAtFixedRate(shards[i]::tick, offset, GameLoop.FRAME_NANOS,
+                    TimeUnit.NANOSECONDS);
+        }
+    }
+
+    /**
+     * Abre uma sessão com partida já começada, sem limite de frames.
+     */
+    public HostedSession open(long seed, HostedSession.Driver driver) {
+        return open(seed, driver, Long.MAX_VALUE);
+    }
+
+    /**
+     * Abre uma sessão com partida já começada.
+     *
+     * @param frameLimit frames até a sessão terminar sozinha
+     * @throws IllegalStateException se a sessão estouraria o orçamento de
+     *                               memória
+     */
+    public HostedSession open(long seed, HostedSession.Driver driver, long frameLimit) {
+        GameController controller = new GameController(seed);
+        controller.startGame();
+        HostedSession session = new HostedSession(nextId.incrementAndGet(), controller, driver, frameLimit);
+
+        long bytes = session.ramBytesUsed();
+        if (accountedBytes.addAndGet(bytes) > memoryBudget) {
+            accountedBytes.addAndGet(-bytes);
+            throw new IllegalStateException("Orçamento de memória esgotado: " + accountedBytes.get() + " de "
+                    + memoryBudget + " bytes em " + sessionCount.get() + " sessões");
+        }
+        sessionCount.incrementAndGet();
+        leastLoadedShard().add(session, bytes);
+        return session;
+    }
+
+    private Shard leastLoadedShard() {
+        Shard best = shards[0];
+        for (Shard shard : shards) {
+            if (shard.sessions.length < best.sessions.length) {
+                best = shard;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Sessões ainda rodando.
+     */
+    public int getSessionCount() {
+        return sessionCount.get();
+    }
+
+    public long getFinishedCount() {
+        return finishedCount.get();
+    }
+
+    /**
+     * Sessões encerradas por exceção no frame (já contadas em
+     * {@link #getFinishedCount()}).
+     */
+    public long getFailedCount() {
+        return failedCount.get();
+    }
+
+    /**
+     * Memória retida estimada das sessões abertas, como contada na abertura.
+     */
+    public long getAccountedBytes() {
+        return accountedBytes.get();
+    }
+
+    public long getMemoryBudget() {
+        return memoryBudget;
+    }
+
+    /**
+     * Atraso de cada frame de shard em relação ao previsto (ns).
+     */
+    public LatencyHistogram getTickLateness() {
+        return tickLateness;
+    }
+
+    /**
+     * Duração de cada frame de shard, todas as sessões dele (ns).
+     */
+    public LatencyHistogram getTickDuration() {
+        return tickDuration;
+    }
+
+    /**
+     * Para todos os shards; as sessões abertas ficam como estão.
+     */
+    @Override
+    public void close() {
+        scheduler.shutdownNow();
+        try {
+            scheduler.awaitTermination(1, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static com.sun.management.ThreadMXBean allocationMeter() {
+        try {
+            if (ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean) {
+                com.sun.management.ThreadMXBean bean =
+                        (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+                if (bean.isThreadAllocatedMemorySupported() && bean.isThreadAllocatedMemoryEnabled()) {
+                    return bean;
+                }
+            }
+        } catch (LinkageError e) {
+            // JVM sem com.sun.management: só a memória retida é contada
+        }
+        return null;
+    }
+
+    /**
+     * Grupo de sessões que roda na mesma tarefa periódica. A lista é
+     * copy-on-write: abrir sessões é raro perto de 60 frames por segundo.
+     */
+    private final class Shard {
+        private volatile HostedSession[] sessions = new HostedSession[0];
+        private long[] accounted = new long[0]; // Bytes contados de cada sessão, na mesma ordem
+        private long expected; // Início previsto do próximo frame
+
+        synchronized void add(HostedSession session, long bytes) {
+            int size = sessions.length;
+            HostedSession[] updated = Arrays.copyOf(sessions, size + 1);
+            updated[size] = session;
+            accounted = Arrays.copyOf(accounted, size + 1);
+            accounted[size] = bytes;
+            sessions = updated;
+        }
+
+        void tick() {
+            long start = System.nanoTime();
+            if (expected == 0) {
+                expected = start;
+            }
+            tickLateness.record(start - expected);
+            expected += GameLoop.FRAME_NANOS;
+            if (start - expected > MAX_LAG_NANOS) {
+                expected = start + GameLoop.FRAME_NANOS; // Atraso grande: mede a partir daqui, como o GameLoop
+            }
+
+            HostedSession[] current = sessions;
+            boolean removed = false;
+            for (HostedSession session : current) {
+                removed |= !tick(session);
+            }
+            if (removed) {
+                removeFinished();
+            }
+            tickDuration.record(System.nanoTime() - start);
+        }
+
+        /**
+         * Um frame da sessão. Uma exceção (de um driver com bug) encerra só
+         * ela: se escapasse, o agendador cancelaria a tarefa do shard inteiro.
+         */
+        private boolean tick(HostedSession session) {
+            try {
+                if (ALLOCATION_METER == null) {
+                    return session.tick();
+                }
+                long before = ALLOCATION_METER.getCurrentThreadAllocatedBytes();
+                boolean running = session.tick();
+                session.addAllocatedBytes(ALLOCATION_METER.getCurrentThreadAllocatedBytes() - before);
+                return running;
+            } catch (RuntimeException e) {
+                System.err.println("Sessão " + session.getId() + " encerrada por erro: " + e);
+                session.fail(e);
+                failedCount.incrementAndGet();
+                return false;
+            }
+        }
+
+        private synchronized void removeFinished() {
+            HostedSession[] current = sessions;
+            HostedSession[] kept = new HostedSession[current.length];
+            long[] keptBytes = new long[current.length];
+            int size = 0;
+            for (int i = 0; i < current.length; i++) {
+                if (current[i].isFinished()) {
+                    accountedBytes.addAndGet(-accounted[i]);
+                    sessionCount.decrementAndGet();
+                    finishedCount.incrementAndGet();
+                } else {
+                    kept[size] = current[i];
+                    keptBytes[size++] = accounted[i];
+                }
+            }
+            accounted = Arrays.copyOf(keptBytes, size);
+            sessions = Arrays.copyOf(kept, size);
+        }
+    }
+}
@@ -0,0 +1,255 @@
+package com.jonas.tetris.engine;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.Arrays;
+
+/**
+ * Curva de velocidade compilada: gravidade, lock delay e delay em ms por
+ * nível em arrays primitivos. Todas as consultas são O(1) e sem alocação;
+ * o texto da curva só é lido uma vez, em {@link #parse(String, Reader)}.
+ *
+ * Formato (uma diretiva por linha, '#' inicia comentário):
+ *
+ * <pre>
+ * name = Guideline
+ * lines_per_level = 10
+ * # nível  gravidade  lock(frames)
+ * 1        1000ms     30
+ * 10       0.5G       30
+ * 16       20G        20
+ * </pre>
+ *
+ * A gravidade aceita {@code <n>ms} (ms por célula), {@code <n>f} (frames por
+ * célula), {@code <x>G} ou {@code <a>/<b>G} (células por frame). Níveis
+ * omitidos repetem o último valor definido, e níveis acima do último usam o
+ * valor final. Gravidade acima de 20G é tratada como 20G.
+ */
+public final class SpeedCurve {
+    public static final int MAX_LEVELS = 999;
+    private static final int MAX_LOCK_DELAY_FRAMES = 600;
+    private static final double FRAME_MS = 1000.0 / GameLoop.FRAMES_PER_SECOND;
+
+    private final String id;
+    private final String name;
+    private final int linesPerLevel;
+    private final int[] gravity;
+    private final int[] lockDelay;
+    private final int[] speedMs;
+
+    private SpeedCurve(String id, String name, int linesPerLevel, int[] gravity, int[] lockDelay, int[] speedMs) {
+        this.id = id;
+        this.name = name;
+        this.linesPerLevel = linesPerLevel;
+        this.gravity = gravity;
+        this.lockDelay = lockDelay;
+        this.speedMs = speedMs;
+    }
+
+    /**
+     * Identificador usado por {@link LevelManager#selectCurve(String)} (nome do
+     * recurso ou do arquivo sem extensão).
+     */
+    public String getId() {
+        return id;
+    }
+
+    /**
+     * Nome para exibição (diretiva name).
+     */
+    public String getName() {
+        return name;
+    }
+
+    public int getLinesPerLevel() {
+        return linesPerLevel;
+    }
+
+    /**
+     * Quantidade de níveis com valores próprios (os seguintes repetem o último).
+     */
+    public int getLevelCount() {
+        return gravity.length;
+    }
+
+    public int calculateLevel(int totalLines) {
+        return (totalLines / linesPerLevel) + 1;
+    }
+
+    /**
+     * Gravidade do nível em unidades de {@link LevelManager#GRAVITY_UNIT}.
+     */
+    public int getGravity(int level) {
+        return gravity[index(level)];
+    }
+
+    /**
+     * Frames no chão antes de a peça travar.
+     */
+    public int getLockDelay(int level) {
+        return lockDelay[index(level)];
+    }
+
+    /**
+     * Delay aproximado em ms para cada queda natural (no mínimo 1).
+     */
+    public int getSpeedMs(int level) {
+        return speedMs[index(level)];
+    }
+
+    private int index(int level) {
+        return Math.max(0, Math.min(gravity.length, level) - 1);
+    }
+
+    /**
+     * Lê e valida uma curva.
+     *
+     * @param id identificador da curva, também o nome se o arquivo não tiver
+     *           a diretiva name
+     * @throws IllegalArgumentException se a curva for inválida (com a linha)
+     */
+    public static SpeedCurve parse(String id, Reader source) throws IOException {
+        BufferedReader reader = source instanceof BufferedReader ? (BufferedReader) source : new BufferedReader(source);
+
+        String name = id;
+        int linesPerLevel = 10;
+        int[] gravity = new int[MAX_LEVELS];
+        int[] lockDelay = new int[MAX_LEVELS];
+        int[] speedMs = new int[MAX_LEVELS];
+        int lastLevel = 0;
+
+        String line;
+        int lineNumber = 0;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            int comment = line.indexOf('#');
+            if (comment >= 0) {
+                line = line.substring(0, comment);
+            }
+            line = line.trim();
+            if (line.isEmpty()) {
+                continue;
+            }
+
+            int equals = line.indexOf('=');
+            if (equals >= 0) {
+                String key = line.substring(0, equals).trim();
+                String value = line.substring(equals + 1).trim();
+                if (key.equals("name")) {
+                    if (value.isEmpty()) {
+                        throw error(lineNumber, "nome vazio");
+                    }
+                    name = value;
+                } else if (key.equals("lines_per_level")) {
+                    linesPerLevel = parseInt(value, lineNumber);
+                    if (linesPerLevel < 1 || linesPerLevel > 1000) {
+                        throw error(lineNumber, "lines_per_level fora do intervalo 1-1000");
+                    }
+                } else {
+                    throw error(lineNumber, "diretiva desconhecida: " + key);
+                }
+                continue;
+            }
+
+            String[] parts = line.split("\\s+");
+            if (parts.length != 3) {
+                throw error(lineNumber, "esperado 'nível gravidade lock'");
+            }
+            int level = parseInt(parts[0], lineNumber);
+            if (level < 1 || level > MAX_LEVELS) {
+                throw error(lineNumber, "nível fora do intervalo 1-" + MAX_LEVELS);
+            }
+            if (lastLevel == 0 && level != 1) {
+                throw error(lineNumber, "a curva deve começar no nível 1");
+            }
+            if (level <= lastLevel) {
+                throw error(lineNumber, "níveis devem ser crescentes");
+            }
+            int levelGravity = parseGravity(parts[1], lineNumber);
+            int levelLock = parseInt(parts[2], lineNumber);
+            if (levelLock < 1 || levelLock > MAX_LOCK_DELAY_FRAMES) {
+                throw error(lineNumber, "lock delay fora do intervalo 1-" + MAX_LOCK_DELAY_FRAMES);
+            }
+            int levelSpeed = parts[1].endsWith("ms")
+                    ? Math.max(1, (int) Math.round(parseDouble(parts[1], 2, lineNumber)))
+                    : speedFromGravity(levelGravity);
+
+            // Preencher níveis omitidos com o valor anterior
+            for (int i = lastLevel; i < level - 1; i++) {
+                gravity[i] = gravity[lastLevel - 1];
+                lockDelay[i] = lockDelay[lastLevel - 1];
+                speedMs[i] = speedMs[lastLevel - 1];
+            }
+            gravity[level - 1] = levelGravity;
+            lockDelay[level - 1] = levelLock;
+            speedMs[level - 1] = levelSpeed;
+            lastLevel = level;
+        }
+
+        if (lastLevel == 0) {
+            throw new IllegalArgumentException("Curva '" + name + "' sem níveis");
+        }
+
+        return new SpeedCurve(id, name, linesPerLevel,
+                Arrays.copyOf(gravity, lastLevel),
+                Arrays.copyOf(lockDelay, lastLevel),
+                Arrays.copyOf(speedMs, lastLevel));
+    }
+
+    private static int parseGravity(String token, int lineNumber) {
+        double cellsPerFrame;
+        if (token.endsWith("ms")) {
+            cellsPerFrame = FRAME_MS / parseDouble(token, 2, lineNumber);
+        } else if (token.endsWith("f")) {
+            cellsPerFrame = 1.0 / parseDouble(token, 1, lineNumber);
+        } else if (token.endsWith("G")) {
+            String value = token.substring(0, token.length() - 1);
+            int slash = value.indexOf('/');
+            if (slash >= 0) {
+                double numerator = parseDouble(value.substring(0, slash), 0, lineNumber);
+                double denominator = parseDouble(value.substring(slash + 1), 0, lineNumber);
+                cellsPerFrame = numerator / denominator;
+            } else {
+                cellsPerFrame = parseDouble(value, 0, lineNumber);
+            }
+        } else {
+            throw error(lineNumber, "gravidade sem unidade (ms, f ou G): " + token);
+        }
+
+        if (!(cellsPerFrame > 0) || Double.isInfinite(cellsPerFrame)) {
+            throw error(lineNumber, "gravidade deve ser positiva: " + token);
+        }
+        long value = Math.round(cellsPerFrame * LevelManager.GRAVITY_UNIT);
+        return (int) Math.max(1, Math.min(LevelManager.TWENTY_G, value));
+    }
+
+    private static int speedFromGravity(int gravity) {
+        return Math.max(1, (int) Math.round(FRAME_MS * LevelManager.GRAVITY_UNIT / gravity));
+    }
+
+    private static double parseDouble(String token, int suffixLength, int lineNumber) {
+        String value = token.substring(0, token.length() - suffixLength);
+        try {
+            double parsed = Double.parseDouble(value);
+            if (!(parsed > 0) || Double.isInfinite(parsed)) {
+                throw error(lineNumber, "valor deve ser positivo: " + token);
+            }
+            return parsed;
+        } catch (NumberFormatException e) {
+            throw error(lineNumber, "número inválido: " + token);
+        }
+    }
+
+    private static int parseInt(String token, int lineNumber) {
+        try {
+            return Integer.parseInt(token);
+        } catch (NumberFormatException e) {
+            throw error(lineNumber, "inteiro inválido: " + token);
+        }
+    }
+
+    private static IllegalArgumentException error(int lineNumber, String message) {
+        return new IllegalArgumentException("Linha " + lineNumber + ": " + message);
+    }
+}
@@ -0,0 +1,23 @@
+package com.jonas.tetris.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Contador monotônico. Usa {@link LongAdder} (células por thread), então
+ * incrementos concorrentes não disputam a mesma linha de cache.
+ */
+public final class Counter {
+    private final LongAdder adder = new LongAdder();
+
+    public void increment() {
+        adder.increment();
+    }
+
+    public void add(long amount) {
+        adder.add(amount);
+    }
+
+    public long get() {
+        return adder.sum();
+    }
+}
@@ -0,0 +1,123 @@
+package com.jonas.tetris.metrics;
+
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Estatísticas de desempenho do jogo: tempo entre frames, duração dos ticks
+ * de lógica, latência entre input e frame e taxa de alocação das threads
+ * do jogo. Todos os registros são lock-free e sem alocação.
+ */
+public class FrameStats {
+    private static final int MAX_TRACKED_THREADS = 4;
+
+    private final LatencyHistogram frameTimes = new LatencyHistogram();
+    private final LatencyHistogram tickTimes = new LatencyHistogram();
+    private final LatencyHistogram inputLatencies = new LatencyHistogram();
+
+    private final InputLatencyTracker inputTracker = new InputLatencyTracker(inputLatencies);
+
+    private final AtomicLong frameCount = new AtomicLong();
+    private volatile long lastFrameNanos;
+
+    private final com.sun.management.ThreadMXBean threadBean;
+    private final long[] trackedThreadIds = new long[MAX_TRACKED_THREADS];
+    private volatile int trackedThreadCount;
+
+    public FrameStats() {
+        java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        if (bean instanceof com.sun.management.ThreadMXBean sunBean
+                && sunBean.isThreadAllocatedMemorySupported()) {
+            sunBean.setThreadAllocatedMemoryEnabled(true);
+            this.threadBean = sunBean;
+        } else {
+            this.threadBean = null;
+        }
+    }
+
+    /**
+     * Registra o fim de um frame pintado (tempo desde o frame anterior).
+     * Também fecha a medição de latência dos inputs já publicados.
+     */
+    public void recordFrame(long nowNanos) {
+        long previous = lastFrameNanos;
+        lastFrameNanos = nowNanos;
+        frameCount.incrementAndGet();
+        if (previous != 0) {
+            frameTimes.record(nowNanos - previous);
+            GameMetrics.FRAME_DURATION.record(nowNanos - previous);
+        }
+
+        inputTracker.markPresented(nowNanos);
+    }
+
+    /**
+     * Registra a duração de um tick de lógica.
+     */
+    public void recordTick(long durationNanos) {
+        tickTimes.record(durationNanos);
+    }
+
+    /**
+     * Inclui a thread na medição de taxa de alocação.
+     */
+    public synchronized void trackThread(Thread thread) {
+        int count = trackedThreadCount;
+        for (int i = 0; i < count; i++) {
+            if (trackedThreadIds[i] == thread.getId()) {
+                return;
+            }
+        }
+        if (count < MAX_TRACKED_THREADS) {
+            trackedThreadIds[count] = thread.getId();
+            trackedThreadCount = count + 1;
+        }
+    }
+
+    /**
+     * Total de bytes alocados pelas threads monitoradas (-1 se indisponível).
+     */
+    public long getAllocatedBytes() {
+        if (threadBean == null) {
+            return -1;
+        }
+        long total = 0;
+        int count = trackedThreadCount;
+        for (int i = 0; i < count; i++) {
+            long bytes = threadBean.getThreadAllocatedBytes(trackedThreadIds[i]);
+            if (bytes > 0) {
+                total += bytes;
+            }
+        }
+        return total;
+    }
+
+    public long getFrameCount() {
+        return frameCount.get();
+    }
+
+    public LatencyHistogram getFrameTimes() {
+        return frameTimes;
+    }
+
+    public LatencyHistogram getTickTimes() {
+        return tickTimes;
+    }
+
+    public LatencyHistogram getInputLatencies() {
+        return inputLatencies;
+    }
+
+    public InputLatencyTracker getInputTracker() {
+        return inputTracker;
+    }
+
+    /**
+     * Zera os histogramas (início de uma nova janela de medição).
+     */
+    public void reset() {
+        frameTimes.reset();
+        tickTimes.reset();
+        inputLatencies.reset();
+    }
+}
@@ -0,0 +1,62 @@
+package com.jonas.tetris.metrics;
+
+/**
+ * Métricas padrão do jogo, registradas no {@link MetricsRegistry} padrão.
+ * Campos estáticos finais: o código instrumentado só faz um incremento
+ * lock-free, sem busca por nome.
+ */
+public final class GameMetrics {
+    private static final MetricsRegistry REGISTRY = MetricsRegistry.getDefault();
+
+    public static final Counter PIECES_PLACED = REGISTRY.counter(
+            "tetris_pieces_placed_total", "Peças travadas no tabuleiro");
+
+    public static final Counter LINES_SINGLE = linesCounter("single");
+    public static final Counter LINES_DOUBLE = linesCounter("double");
+    public static final Counter LINES_TRIPLE = linesCounter("triple");
+    public static final Counter LINES_TETRIS = linesCounter("tetris");
+
+    public static final Counter TICKS = REGISTRY.counter(
+            "tetris_ticks_total", "Frames de lógica executados");
+    public static final LatencyHistogram TICK_DURATION = REGISTRY.histogram(
+            "tetris_tick_duration_seconds", "Duração de cada frame de lógica");
+    public static final LatencyHistogram FRAME_DURATION = REGISTRY.histogram(
+            "tetris_frame_duration_seconds", "Intervalo entre frames pintados");
+
+    public static final Counter STATE_SNAPSHOTS = REGISTRY.counter(
+            "tetris_game_state_snapshots_total", "Snapshots de GameState criados");
+    public static final Counter SCORE_WRITES = REGISTRY.counter(
+            "tetris_score_writes_total", "Gravações de recorde em disco");
+    public static final LatencyHistogram SCORE_WRITE_DURATION = REGISTRY.histogram(
+            "tetris_score_write_duration_seconds", "Duração de cada gravação de recorde, com fsync");
+
+    private GameMetrics() {
+    }
+
+    private static Counter linesCounter(String type) {
+        return REGISTRY.counter("tetris_lines_cleared_total{type=\"" + type + "\"}",
+                "Limpezas de linha por tipo");
+    }
+
+    /**
+     * Conta uma limpeza de 1 a 4 linhas.
+     */
+    public static void recordLinesCleared(int lineCount) {
+        switch (lineCount) {
+            case 1:
+                LINES_SINGLE.increment();
+                break;
+            case 2:
+                LINES_DOUBLE.increment();
+                break;
+            case 3:
+                LINES_TRIPLE.increment();
+                break;
+            case 4:
+                LINES_TETRIS.increment();
+                break;
+            default:
+                break;
+        }
+    }
+}
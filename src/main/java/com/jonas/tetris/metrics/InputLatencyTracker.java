@@ -0,0 +1,170 @@
+package com.jonas.tetris.metrics;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Rastreia cada input do jogador desde a chegada do KeyEvent até o primeiro
+ * frame que exibe seu efeito, passando por:
+ * <ol>
+ * <li>aplicação no controller;</li>
+ * <li>publicação do snapshot (GameState) para a UI;</li>
+ * <li>apresentação (fim do paint que desenhou esse snapshot).</li>
+ * </ol>
+ *
+ * Os inputs são processados em ordem, então cada etapa é uma "marca d'água"
+ * de sequência: publicar ou apresentar fecha todos os inputs pendentes até
+ * ali. Os timestamps ficam em um ring buffer pré-alocado e as distribuições
+ * em {@link LatencyHistogram}s cumulativos, exportáveis para arquivo.
+ */
+public class InputLatencyTracker {
+    private static final int CAPACITY = 256; // potência de 2
+    private static final int MASK = CAPACITY - 1;
+
+    private final long[] arrivalNanos = new long[CAPACITY];
+    private final long[] appliedNanos = new long[CAPACITY];
+    private final long[] publishedNanos = new long[CAPACITY];
+
+    private final AtomicLong nextSeq = new AtomicLong();
+    private volatile long appliedUpTo = -1;
+    private volatile long publishedUpTo = -1;
+    private long presentedUpTo = -1;
+
+    private final LatencyHistogram dispatchDelay = new LatencyHistogram();
+    private final LatencyHistogram applyLatency = new LatencyHistogram();
+    private final LatencyHistogram publishLatency = new LatencyHistogram();
+    private final LatencyHistogram presentLatency = new LatencyHistogram();
+    private final LatencyHistogram totalLatency = new LatencyHistogram();
+    private final LatencyHistogram windowLatency;
+    private final AtomicLong dropped = new AtomicLong();
+
+    /**
+     * @param windowLatency histograma extra (de janela) que também recebe a
+     *                      latência total, usado pelo overlay de depuração
+     */
+    public InputLatencyTracker(LatencyHistogram windowLatency) {
+        this.windowLatency = windowLatency;
+    }
+
+    /**
+     * Registra a chegada de um input.
+     *
+     * @param arrivalNanos  System.nanoTime() no início do tratamento do evento
+     * @param dispatchNanos atraso entre o evento do SO e a entrega na EDT
+     * @return número de sequência do input
+     */
+    public long begin(long arrivalNanos, long dispatchNanos) {
+        long seq = nextSeq.getAndIncrement();
+        this.arrivalNanos[(int) (seq & MASK)] = arrivalNanos;
+        dispatchDelay.record(dispatchNanos);
+        return seq;
+    }
+
+    /**
+     * Marca como aplicados ao controller todos os inputs até {@code seq}.
+     * Chamadas repetidas com a mesma sequência não alteram o timestamp.
+     */
+    public void markApplied(long seq, long nowNanos) {
+        long from = Math.max(appliedUpTo + 1, seq - MASK);
+        for (long i = from; i <= seq; i++) {
+            appliedNanos[(int) (i & MASK)] = nowNanos;
+        }
+        if (seq > appliedUpTo) {
+            appliedUpTo = seq;
+        }
+    }
+
+    /**
+     * Um snapshot foi publicado: contém todos os inputs já aplicados.
+     */
+    public void markPublished(long nowNanos) {
+        long applied = appliedUpTo;
+        long from = Math.max(publishedUpTo + 1, applied - MASK);
+        for (long seq = from; seq <= applied; seq++) {
+            publishedNanos[(int) (seq & MASK)] = nowNanos;
+        }
+        if (applied > publishedUpTo) {
+            publishedUpTo = applied;
+        }
+    }
+
+    /**
+     * Um frame terminou de ser pintado: fecha a medição de todos os inputs
+     * cujo snapshot já havia sido publicado. Chamado apenas pela EDT.
+     */
+    public void markPresented(long nowNanos) {
+        long published = publishedUpTo;
+        if (published <= presentedUpTo) {
+            return;
+        }
+
+        long from = presentedUpTo + 1;
+        if (published - from >= CAPACITY) {
+            // Inputs sobrescritos no ring antes de serem apresentados
+            dropped.addAndGet(published - from - MASK);
+            from = published - MASK;
+        }
+
+        for (long seq = from; seq <= published; seq++) {
+            int slot = (int) (seq & MASK);
+            long arrival = arrivalNanos[slot];
+            applyLatency.record(appliedNanos[slot] - arrival);
+            publishLatency.record(publishedNanos[slot] - appliedNanos[slot]);
+            presentLatency.record(nowNanos - publishedNanos[slot]);
+            totalLatency.record(nowNanos - arrival);
+            if (windowLatency != null) {
+                windowLatency.record(nowNanos - arrival);
+            }
+        }
+        presentedUpTo = published;
+    }
+
+    public LatencyHistogram getTotalLatency() {
+        return totalLatency;
+    }
+
+    public long getDroppedCount() {
+        return dropped.get();
+    }
+
+    /**
+     * Exporta as distribuições em CSV: um resumo por etapa seguido dos
+     * buckets não vazios do histograma de latência total.
+     */
+    public void exportTo(Path file) throws IOException {
+        try (BufferedWriter writer = Files.newBufferedWriter(file)) {
+            writer.write("stage,count,p50_ms,p90_ms,p99_ms,p999_ms,max_ms\n");
+            writeSummary(writer, "dispatch", dispatchDelay);
+            writeSummary(writer, "apply", applyLatency);
+            writeSummary(writer, "publish", publishLatency);
+            writeSummary(writer, "present", presentLatency);
+            writeSummary(writer, "total", totalLatency);
+            writer.write("# dropped=" + dropped.get() + "\n");
+
+            writer.write("\nbucket_lower_ns,bucket_upper_ns,count\n");
+            for (int i = 0; i < totalLatency.getBucketCount(); i++) {
+                long count = totalLatency.getCountAtBucket(i);
+                if (count > 0) {
+                    writer.write(LatencyHistogram.bucketLowerBound(i) + ","
+                            + LatencyHistogram.bucketUpperBound(i) + "," + count + "\n");
+                }
+            }
+        }
+    }
+
+    private static void writeSummary(BufferedWriter writer, String stage, LatencyHistogram histogram)
+            throws IOException {
+        writer.write(String.format(Locale.ROOT, "%s,%d,%.3f,%.3f,%.3f,%.3f,%.3f%n",
+                stage,
+                histogram.getCount(),
+                histogram.getValueAtPercentile(50) / 1e6,
+                histogram.getValueAtPercentile(90) / 1e6,
+                histogram.getValueAtPercentile(99) / 1e6,
+                histogram.getValueAtPercentile(99.9) / 1e6,
+                histogram.getMax() / 1e6));
+    }
+}
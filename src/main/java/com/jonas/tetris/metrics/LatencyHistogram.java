@@ -0,0 +1,179 @@
+package com.jonas.tetris.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Histograma de latências com buckets fixos log-lineares (estilo HDR).
+ * Cada potência de 2 é dividida em 32 sub-buckets, o que dá erro relativo
+ * abaixo de ~3% para valores de 0 ns até ~18 minutos.
+ *
+ * O registro é lock-free e não aloca: pode ser chamado de qualquer thread
+ * (EDT, loop de lógica) enquanto outra lê os percentis.
+ */
+public class LatencyHistogram {
+    private static final int SUB_BUCKET_BITS = 5;
+    private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+    private static final int SUB_BUCKET_MASK = SUB_BUCKET_COUNT - 1;
+    private static final int MAX_EXPONENT = 40; // 2^40 ns ≈ 18 min
+    static final int BUCKET_COUNT = (MAX_EXPONENT - SUB_BUCKET_BITS + 2) * SUB_BUCKET_COUNT;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKET_COUNT);
+    private final AtomicLong totalCount = new AtomicLong();
+    private final AtomicLong totalSum = new AtomicLong();
+    private final AtomicLong maxValue = new AtomicLong();
+
+    /**
+     * Registra um valor (em nanossegundos ou qualquer unidade inteira).
+     * Valores negativos contam como zero.
+     */
+    public void record(long value) {
+        if (value < 0) {
+            value = 0;
+        }
+        counts.incrementAndGet(bucketIndex(value));
+        totalCount.incrementAndGet();
+        totalSum.addAndGet(value);
+
+        long currentMax = maxValue.get();
+        while (value > currentMax && !maxValue.compareAndSet(currentMax, value)) {
+            currentMax = maxValue.get();
+        }
+    }
+
+    /**
+     * Registra {@code count} ocorrências do mesmo valor de uma vez (por
+     * exemplo, ao restaurar um histograma salvo bucket a bucket).
+     */
+    public void recordCount(long value, long count) {
+        if (count <= 0) {
+            return;
+        }
+        if (value < 0) {
+            value = 0;
+        }
+        counts.addAndGet(bucketIndex(value), count);
+        totalCount.addAndGet(count);
+        totalSum.addAndGet(value * count);
+
+        long currentMax = maxValue.get();
+        while (value > currentMax && !maxValue.compareAndSet(currentMax, value)) {
+            currentMax = maxValue.get();
+        }
+    }
+
+    public long getCount() {
+        return totalCount.get();
+    }
+
+    public long getMax() {
+        return maxValue.get();
+    }
+
+    public long getSum() {
+        return totalSum.get();
+    }
+
+    public double getMean() {
+        long count = totalCount.get();
+        return count == 0 ? 0.0 : (double) totalSum.get() / count;
+    }
+
+    /**
+     * Valor aproximado no percentil informado (0-100).
+     * Retorna o ponto médio do bucket correspondente, limitado ao máximo visto.
+     */
+    public long getValueAtPercentile(double percentile) {
+        long count = totalCount.get();
+        if (count == 0) {
+            return 0;
+        }
+
+        long target = (long) Math.ceil(Math.min(100.0, Math.max(0.0, percentile)) / 100.0 * count);
+        target = Math.max(1, target);
+
+        long seen = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            seen += counts.get(i);
+            if (seen >= target) {
+                return Math.min(bucketMidpoint(i), maxValue.get());
+            }
+        }
+        return maxValue.get();
+    }
+
+    /**
+     * Quantidade de valores registrados até {@code value}, na resolução dos
+     * buckets (só conta buckets inteiramente abaixo do limite).
+     */
+    public long getCountAtOrBelow(long value) {
+        long total = 0;
+        for (int i = 0; i < BUCKET_COUNT && bucketUpperBound(i) - 1 <= value; i++) {
+            total += counts.get(i);
+        }
+        return total;
+    }
+
+    /**
+     * Quantidade registrada no bucket (usado por exportadores).
+     */
+    public long getCountAtBucket(int index) {
+        return counts.get(index);
+    }
+
+    public int getBucketCount() {
+        return BUCKET_COUNT;
+    }
+
+    /**
+     * Zera o histograma. Registros concorrentes durante o reset podem ser
+     * parcialmente perdidos, o que é aceitável para estatísticas de janela.
+     */
+    public void reset() {
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            counts.set(i, 0);
+        }
+        totalCount.set(0);
+        totalSum.set(0);
+        maxValue.set(0);
+    }
+
+    static int bucketIndex(long value) {
+        if (value < SUB_BUCKET_COUNT) {
+            return (int) value;
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(value);
+        if (exponent > MAX_EXPONENT) {
+            return BUCKET_COUNT - 1;
+        }
+        int shift = exponent - SUB_BUCKET_BITS;
+        int subBucket = (int) (value >>> shift) & SUB_BUCKET_MASK;
+        return (shift + 1) * SUB_BUCKET_COUNT + subBucket;
+    }
+
+    /**
+     * Limite inferior (inclusivo) do bucket.
+     */
+    public static long bucketLowerBound(int index) {
+        int block = index >>> SUB_BUCKET_BITS;
+        int subBucket = index & SUB_BUCKET_MASK;
+        if (block == 0) {
+            return subBucket;
+        }
+        return ((long) (SUB_BUCKET_COUNT + subBucket)) << (block - 1);
+    }
+
+    /**
+     * Limite superior (exclusivo) do bucket.
+     */
+    public static long bucketUpperBound(int index) {
+        int block = index >>> SUB_BUCKET_BITS;
+        long width = block == 0 ? 1 : 1L << (block - 1);
+        return bucketLowerBound(index) + width;
+    }
+
+    private static long bucketMidpoint(int index) {
+        long lower = bucketLowerBound(index);
+        return lower + (bucketUpperBound(index) - lower) / 2;
+    }
+}
@@ -0,0 +1,84 @@
+package com.jonas.tetris.metrics;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * Endpoint HTTP mínimo, só em localhost, que serve as métricas em
+ * {@code /metrics} no formato de texto do Prometheus. Usa uma única thread
+ * daemon do próprio servidor HTTP do JDK.
+ */
+public class MetricsHttpServer {
+    public static final int DEFAULT_PORT = 9404;
+    private static final String CONTENT_TYPE = "text/plain; version=0.0.4; charset=utf-8";
+
+    private final MetricsRegistry registry;
+    private final HttpServer server;
+
+    /**
+     * @param port porta local (0 escolhe uma livre)
+     */
+    public MetricsHttpServer(MetricsRegistry registry, int port) throws IOException {
+        this.registry = registry;
+        this.server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+        server.createContext("/metrics", this::handle);
+    }
+
+    /**
+     * Inicia o endpoint se {@code -Dtetris.metrics.port} estiver definido.
+     *
+     * @return o servidor iniciado, ou null
+     */
+    public static MetricsHttpServer startFromSystemProperty() {
+        String port = System.getProperty("tetris.metrics.port");
+        if (port == null) {
+            return null;
+        }
+        try {
+            MetricsHttpServer server = new MetricsHttpServer(MetricsRegistry.getDefault(), Integer.parseInt(port));
+            server.start();
+            System.out.println("Métricas em http://localhost:" + server.getPort() + "/metrics");
+            return server;
+        } catch (IOException | NumberFormatException e) {
+            System.err.println("Erro ao iniciar endpoint de métricas: " + e.getMessage());
+            return null;
+        }
+    }
+
+    public void start() {
+        server.start();
+    }
+
+    public void stop() {
+        server.stop(0);
+    }
+
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try {
+            if (!"GET".equals(exchange.getRequestMethod())) {
+                exchange.sendResponseHeaders(405, -1);
+                return;
+            }
+            StringBuilder text = new StringBuilder(4096);
+            registry.writePrometheus(text);
+            byte[] body = text.toString().getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().set("Content-Type", CONTENT_TYPE);
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        } finally {
+            exchange.close();
+        }
+    }
+}
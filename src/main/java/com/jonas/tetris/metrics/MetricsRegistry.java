@@ -0,0 +1,182 @@
+package com.jonas.tetris.metrics;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.LongSupplier;
+
+/**
+ * Registro de métricas (contadores, gauges e histogramas) do jogo.
+ *
+ * O registro e a exportação usam um lock, mas só acontecem na criação das
+ * métricas e quando alguém lê os valores (JMX ou HTTP). Quem instrumenta
+ * guarda a referência da métrica e registra valores sem lock.
+ *
+ * Nomes seguem a convenção do Prometheus; rótulos vão no próprio nome,
+ * por exemplo {@code tetris_lines_cleared_total{type="tetris"}}.
+ */
+public class MetricsRegistry {
+    private static final MetricsRegistry DEFAULT = new MetricsRegistry();
+
+    /**
+     * Limites dos buckets exportados para histogramas de duração (segundos).
+     */
+    private static final double[] EXPORTED_BUCKETS_SECONDS = {
+            0.0001, 0.00025, 0.0005, 0.001, 0.0025, 0.005, 0.01, 0.0167, 0.025, 0.05, 0.1, 0.25, 0.5, 1.0
+    };
+
+    enum Kind {
+        COUNTER, GAUGE, HISTOGRAM
+    }
+
+    static final class Entry {
+        final String name;
+        final String baseName;
+        final String labels;
+        final String help;
+        final Kind kind;
+        final Counter counter;
+        final LatencyHistogram histogram;
+        volatile LongSupplier gauge;
+
+        Entry(String name, String help, Kind kind, Counter counter, LatencyHistogram histogram, LongSupplier gauge) {
+            int brace = name.indexOf('{');
+            this.name = name;
+            this.baseName = brace >= 0 ? name.substring(0, brace) : name;
+            this.labels = brace >= 0 ? name.substring(brace + 1, name.length() - 1) : "";
+            this.help = help;
+            this.kind = kind;
+            this.counter = counter;
+            this.histogram = histogram;
+            this.gauge = gauge;
+        }
+
+        long value() {
+            switch (kind) {
+                case COUNTER:
+                    return counter.get();
+                case GAUGE:
+                    return gauge.getAsLong();
+                default:
+                    return histogram.getCount();
+            }
+        }
+    }
+
+    private final Map<String, Entry> entries = new LinkedHashMap<>();
+
+    public static MetricsRegistry getDefault() {
+        return DEFAULT;
+    }
+
+    /**
+     * Retorna o contador com o nome, criando-o se preciso.
+     */
+    public synchronized Counter counter(String name, String help) {
+        Entry entry = entries.get(name);
+        if (entry == null) {
+            entry = new Entry(name, help, Kind.COUNTER, new Counter(), null, null);
+            entries.put(name, entry);
+        }
+        requireKind(entry, Kind.COUNTER);
+        return entry.counter;
+    }
+
+    /**
+     * Registra (ou substitui) um gauge lido sob demanda.
+     */
+    public synchronized void gauge(String name, String help, LongSupplier supplier) {
+        Entry entry = entries.get(name);
+        if (entry == null) {
+            entries.put(name, new Entry(name, help, Kind.GAUGE, null, null, supplier));
+        } else {
+            requireKind(entry, Kind.GAUGE);
+            entry.gauge = supplier;
+        }
+    }
+
+    /**
+     * Retorna o histograma de durações (em nanossegundos) com o nome.
+     * É exportado em segundos.
+     */
+    public synchronized LatencyHistogram histogram(String name, String help) {
+        Entry entry = entries.get(name);
+        if (entry == null) {
+            entry = new Entry(name, help, Kind.HISTOGRAM, null, new LatencyHistogram(), null);
+            entries.put(name, entry);
+        }
+        requireKind(entry, Kind.HISTOGRAM);
+        return entry.histogram;
+    }
+
+    private static void requireKind(Entry entry, Kind kind) {
+        if (entry.kind != kind) {
+            throw new IllegalArgumentException("Métrica " + entry.name + " já registrada como " + entry.kind);
+        }
+    }
+
+    synchronized List<Entry> entries() {
+        return new ArrayList<>(entries.values());
+    }
+
+    /**
+     * Valores atuais por nome (histogramas: contagem, soma, p50, p99 e máximo
+     * em nanossegundos, com sufixos).
+     */
+    public Map<String, Long> snapshot() {
+        Map<String, Long> values = new LinkedHashMap<>();
+        for (Entry entry : entries()) {
+            if (entry.kind == Kind.HISTOGRAM) {
+                LatencyHistogram histogram = entry.histogram;
+                values.put(entry.name + "_count", histogram.getCount());
+                values.put(entry.name + "_sum_nanos", histogram.getSum());
+                values.put(entry.name + "_p50_nanos", histogram.getValueAtPercentile(50));
+                values.put(entry.name + "_p99_nanos", histogram.getValueAtPercentile(99));
+                values.put(entry.name + "_max_nanos", histogram.getMax());
+            } else {
+                values.put(entry.name, entry.value());
+            }
+        }
+        return values;
+    }
+
+    /**
+     * Escreve todas as métricas no formato de texto do Prometheus (0.0.4).
+     */
+    public void writePrometheus(StringBuilder out) {
+        String lastBaseName = null;
+        for (Entry entry : entries()) {
+            if (!entry.baseName.equals(lastBaseName)) {
+                lastBaseName = entry.baseName;
+                out.append("# HELP ").append(entry.baseName).append(' ').append(entry.help).append('\n');
+                out.append("# TYPE ").append(entry.baseName).append(' ')
+                        .append(entry.kind.name().toLowerCase()).append('\n');
+            }
+            if (entry.kind == Kind.HISTOGRAM) {
+                writeHistogram(out, entry);
+            } else {
+                out.append(entry.name).append(' ').append(entry.value()).append('\n');
+            }
+        }
+    }
+
+    private static void writeHistogram(StringBuilder out, Entry entry) {
+        LatencyHistogram histogram = entry.histogram;
+        String labelPrefix = entry.labels.isEmpty() ? "" : entry.labels + ",";
+        long count = 0;
+        for (double bound : EXPORTED_BUCKETS_SECONDS) {
+            // Leitura concorrente: manter os buckets cumulativos monotônicos
+            count = Math.max(count, histogram.getCountAtOrBelow((long) (bound * 1e9)));
+            out.append(entry.baseName).append("_bucket{").append(labelPrefix)
+                    .append("le=\"").append(bound).append("\"} ").append(count).append('\n');
+        }
+        long total = Math.max(count, histogram.getCount());
+        String labels = entry.labels.isEmpty() ? "" : "{" + entry.labels + "}";
+        out.append(entry.baseName).append("_bucket{").append(labelPrefix)
+                .append("le=\"+Inf\"} ").append(total).append('\n');
+        out.append(entry.baseName).append("_sum").append(labels).append(' ')
+                .append(histogram.getSum() / 1e9).append('\n');
+        out.append(entry.baseName).append("_count").append(labels).append(' ').append(total).append('\n');
+    }
+}
@@ -0,0 +1,126 @@
+package com.jonas.tetris.metrics.jfr;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.text.ParseException;
+import java.text.SimpleDateFormat;
+import java.time.Duration;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Map;
+
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+
+/**
+ * Perfil de gravação do JDK Flight Recorder para o jogo: as configurações
+ * "default" do JDK mais os eventos do Tetris sem limite de duração e
+ * limites menores para pausas de GC, bloqueios de monitor e park, para
+ * correlacionar travadas da EDT com o que acontecia no jogo.
+ *
+ * Iniciado pelo menu (F9) ou com {@code -Dtetris.jfr=true}.
+ */
+public final class FlightRecording {
+    public static final Path DIRECTORY = Paths.get("tetris_recordings");
+    private static final long MAX_SIZE_BYTES = 100L * 1024 * 1024;
+    private static final Duration MAX_AGE = Duration.ofMinutes(30);
+
+    private static final String[] TETRIS_EVENTS = {
+            "com.jonas.tetris.Tick",
+            "com.jonas.tetris.PieceLock",
+            "com.jonas.tetris.LineClear",
+            "com.jonas.tetris.SnapshotPublish",
+            "com.jonas.tetris.Paint"
+    };
+
+    private static Recording recording;
+    private static Path destination;
+    private static boolean shutdownHookInstalled;
+
+    private FlightRecording() {
+    }
+
+    /**
+     * Configurações do perfil "tetris".
+     */
+    public static Map<String, String> profileSettings() throws IOException, ParseException {
+        Map<String, String> settings = new HashMap<>(Configuration.getConfiguration("default").getSettings());
+        for (String event : TETRIS_EVENTS) {
+            settings.put(event + "#enabled", "true");
+            settings.put(event + "#threshold", "0 ms");
+        }
+        settings.put("jdk.JavaMonitorEnter#threshold", "5 ms");
+        settings.put("jdk.JavaMonitorWait#threshold", "5 ms");
+        settings.put("jdk.ThreadPark#threshold", "5 ms");
+        settings.put("jdk.ExecutionSample#period", "10 ms");
+        settings.put("jdk.GCPhasePause#enabled", "true");
+        settings.put("jdk.GCPhasePause#threshold", "0 ms");
+        return settings;
+    }
+
+    public static synchronized boolean isRecording() {
+        return recording != null;
+    }
+
+    /**
+     * Inicia a gravação (sem efeito se já estiver gravando).
+     *
+     * @return arquivo onde a gravação será salva ao parar
+     */
+    public static synchronized Path start() throws IOException, ParseException {
+        if (recording != null) {
+            return destination;
+        }
+        Files.createDirectories(DIRECTORY);
+        String timestamp = new SimpleDateFormat("yyyyMMdd-HHmmss").format(new Date());
+        destination = DIRECTORY.resolve("tetris-" + timestamp + ".jfr");
+
+        Recording started = new Recording(profileSettings());
+        started.setName("tetris");
+        started.setToDisk(true);
+        started.setMaxSize(MAX_SIZE_BYTES);
+        started.setMaxAge(MAX_AGE);
+        started.setDestination(destination);
+        started.start();
+        recording = started;
+
+        // Sair do jogo com a gravação ativa ainda grava o arquivo
+        if (!shutdownHookInstalled) {
+            shutdownHookInstalled = true;
+            Runtime.getRuntime().addShutdownHook(new Thread(FlightRecording::stop, "tetris-jfr-dump"));
+        }
+        return destination;
+    }
+
+    /**
+     * Para a gravação e grava o arquivo.
+     *
+     * @return arquivo gravado, ou null se não estava gravando
+     */
+    public static synchronized Path stop() {
+        if (recording == null) {
+            return null;
+        }
+        recording.stop(); // Com destino definido, o arquivo é gravado aqui
+        recording.close();
+        recording = null;
+        return destination;
+    }
+
+    /**
+     * Inicia se {@code -Dtetris.jfr=true}.
+     */
+    public static void startFromSystemProperty() {
+        if (!Boolean.getBoolean("tetris.jfr")) {
+            return;
+        }
+        try {
+            Path file = start();
+            System.out.println("Gravação JFR em andamento: " + file);
+        } catch (IOException | ParseException e) {
+            System.err.println("Erro ao iniciar gravação JFR: " + e.getMessage());
+        }
+    }
+}
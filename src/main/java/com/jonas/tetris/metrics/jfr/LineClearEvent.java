@@ -0,0 +1,39 @@
+package com.jonas.tetris.metrics.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Linhas completas removidas do tabuleiro.
+ */
+@Name("com.jonas.tetris.LineClear")
+@Label("Linhas limpas")
+@Category({ "Tetris", "Engine" })
+@Description("Limpeza de linhas, pontos ganhos e nível")
+@StackTrace(false)
+public class LineClearEvent extends Event {
+    private static final LineClearEvent PROBE = new LineClearEvent();
+
+    @Label("Linhas")
+    public int lines;
+
+    @Label("Pontos")
+    public int points;
+
+    @Label("Nível")
+    public int level;
+
+    @Label("Total de linhas")
+    public int totalLines;
+
+    @Label("Frame")
+    public long frame;
+
+    public static boolean enabled() {
+        return PROBE.isEnabled();
+    }
+}
@@ -0,0 +1,33 @@
+package com.jonas.tetris.metrics.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Uma chamada de GamePanel.paintComponent.
+ */
+@Name("com.jonas.tetris.Paint")
+@Label("Pintura do tabuleiro")
+@Category({ "Tetris", "Renderer" })
+@Description("Duração e área de um paintComponent do GamePanel")
+@StackTrace(false)
+public class PaintEvent extends Event {
+    private static final PaintEvent PROBE = new PaintEvent();
+
+    @Label("Largura do clip")
+    public int clipWidth;
+
+    @Label("Altura do clip")
+    public int clipHeight;
+
+    @Label("Tile")
+    public int tileSize;
+
+    public static boolean enabled() {
+        return PROBE.isEnabled();
+    }
+}
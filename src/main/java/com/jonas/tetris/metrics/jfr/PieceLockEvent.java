@@ -0,0 +1,42 @@
+package com.jonas.tetris.metrics.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Peça travada no tabuleiro.
+ */
+@Name("com.jonas.tetris.PieceLock")
+@Label("Peça travada")
+@Category({ "Tetris", "Engine" })
+@Description("Tipo, posição e rotação da peça e buracos criados ao travar")
+@StackTrace(false)
+public class PieceLockEvent extends Event {
+    private static final PieceLockEvent PROBE = new PieceLockEvent();
+
+    @Label("Tipo")
+    public String pieceType;
+
+    @Label("X")
+    public int x;
+
+    @Label("Y")
+    public int y;
+
+    @Label("Rotação")
+    public int rotation;
+
+    @Label("Buracos criados")
+    public int holesCreated;
+
+    @Label("Frame")
+    public long frame;
+
+    public static boolean enabled() {
+        return PROBE.isEnabled();
+    }
+}
@@ -0,0 +1,30 @@
+package com.jonas.tetris.metrics.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Snapshot do estado lido pela EDT e repassado aos painéis.
+ */
+@Name("com.jonas.tetris.SnapshotPublish")
+@Label("Publicação de snapshot")
+@Category({ "Tetris", "Renderer" })
+@Description("Leitura do GameState e atualização dos painéis na EDT")
+@StackTrace(false)
+public class SnapshotPublishEvent extends Event {
+    private static final SnapshotPublishEvent PROBE = new SnapshotPublishEvent();
+
+    @Label("Peças")
+    public int totalPieces;
+
+    @Label("Pontuação")
+    public int score;
+
+    public static boolean enabled() {
+        return PROBE.isEnabled();
+    }
+}
@@ -0,0 +1,33 @@
+package com.jonas.tetris.metrics.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Um frame da thread de lógica (input, gravidade e lock delay).
+ */
+@Name("com.jonas.tetris.Tick")
+@Label("Tick de lógica")
+@Category({ "Tetris", "Engine" })
+@Description("Duração de um frame do GameLoop")
+@StackTrace(false)
+public class TickEvent extends Event {
+    private static final TickEvent PROBE = new TickEvent();
+
+    @Label("Frame")
+    public long frame;
+
+    @Label("Nível")
+    public int level;
+
+    /**
+     * Evita criar o evento quando nenhuma gravação o pede.
+     */
+    public static boolean enabled() {
+        return PROBE.isEnabled();
+    }
+}
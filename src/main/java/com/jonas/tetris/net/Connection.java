@@ -0,0 +1,106 @@
+package com.jonas.tetris.net;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+
+import com.jonas.tetris.bot.StateWriter;
+import com.jonas.tetris.engine.GameController;
+
+/**
+ * Um cliente do servidor versus: o canal, os buffers de leitura e escrita e,
+ * dentro de uma sala, o jogo autoritativo dele. Só a thread do seletor mexe
+ * aqui.
+ */
+final class Connection {
+    static final int READ_BUFFER = 4096; // Também o tamanho máximo de uma linha
+    private static final int WRITE_BUFFER = 4096;
+    private static final int MAX_WRITE_BUFFER = 1 << 20; // Cliente que não lê é desconectado
+
+    final SocketChannel channel;
+    final SelectionKey key;
+    final ByteBuffer readBuffer = ByteBuffer.allocate(READ_BUFFER);
+    private ByteBuffer writeBuffer = ByteBuffer.allocate(WRITE_BUFFER); // Modo escrita: dados até position
+    private boolean queued;
+    private boolean overflowed;
+    boolean closed;
+
+    // Dentro de uma sala
+    Room room;
+    int seat;
+    GameController controller;
+    boolean alive;
+    final StateWriter stateWriter = new StateWriter();
+
+    Connection(SocketChannel channel, SelectionKey key) {
+        this.channel = channel;
+        this.key = key;
+    }
+
+    boolean isPlaying() {
+        return controller != null && alive;
+    }
+
+    /**
+     * Codifica a mensagem no buffer de saída. O envio de fato fica para
+     * {@link #flush()}, no fim da rodada do seletor.
+     *
+     * @return true se a conexão precisa entrar na fila de envio
+     */
+    boolean append(CharSequence message, CharsetEncoder encoder) {
+        if (closed || overflowed) {
+            return false;
+        }
+        CharBuffer chars = CharBuffer.wrap(message);
+        encoder.reset();
+        while (true) {
+            CoderResult result = encoder.encode(chars, writeBuffer, true);
+            if (!result.isOverflow()) {
+                break;
+            }
+            if (writeBuffer.capacity() >= MAX_WRITE_BUFFER) {
+                overflowed = true;
+                break;
+            }
+            ByteBuffer larger = ByteBuffer.allocate(writeBuffer.capacity() * 2);
+            writeBuffer.flip();
+            larger.put(writeBuffer);
+            writeBuffer = larger;
+        }
+        boolean wasQueued = queued;
+        queued = true;
+        return !wasQueued;
+    }
+
+    /**
+     * Escreve o que der sem bloquear; o resto espera por OP_WRITE.
+     *
+     * @return false se a conexão deve ser fechada
+     */
+    boolean flush() throws IOException {
+        queued = false;
+        if (overflowed) {
+            return false;
+        }
+        writeBuffer.flip();
+        channel.write(writeBuffer);
+        boolean pending = writeBuffer.hasRemaining();
+        writeBuffer.compact();
+        key.interestOps(pending ? SelectionKey.OP_READ | SelectionKey.OP_WRITE : SelectionKey.OP_READ);
+        return true;
+    }
+
+    void close() {
+        closed = true;
+        key.cancel();
+        try {
+            channel.close();
+        } catch (IOException e) {
+            // Já estava fechado do outro lado
+        }
+    }
+}
@@ -0,0 +1,214 @@
+package com.jonas.tetris.net;
+
+/**
+ * Netcode de rollback para o versus, na linha do GGPO: a entrada local vale
+ * no mesmo frame, a do oponente é prevista e, quando a de verdade chega
+ * diferente, a partida volta ao snapshot daquele frame e re-simula até o
+ * presente com as entradas corrigidas. Tudo sobre {@link VersusMatch}, que é
+ * determinística.
+ *
+ * As entradas são as ações apertadas no frame (máscara de
+ * {@link com.jonas.tetris.engine.GameController#step(int)}), então a
+ * previsão é "nenhuma ação": é o caso da grande maioria dos frames.
+ *
+ * Rede: cada pacote leva as entradas locais que o outro lado ainda não
+ * confirmou e o último frame do outro lado que este já tem inteiro (ack).
+ * Pacote perdido ou fora de ordem se resolve no próximo, sem retransmissão
+ * explícita. Quando a previsão passaria de {@link #MAX_ROLLBACK} frames sem
+ * confirmação, {@link #advance(int)} segura o frame (stall) em vez de
+ * prever mais.
+ *
+ * Não é thread-safe: entrada local, pacotes recebidos e frames vêm da mesma
+ * thread (o loop do jogo).
+ */
+public class RollbackSession {
+    public static final int MAX_ROLLBACK = 8;
+    private static final int HISTORY = 256; // Entradas guardadas (potência de 2)
+    private static final int HISTORY_MASK = HISTORY - 1;
+    private static final int SNAPSHOTS = 16; // Potência de 2 > MAX_ROLLBACK
+    private static final int SNAPSHOT_MASK = SNAPSHOTS - 1;
+    private static final int PREDICTION = 0;
+
+    /**
+     * Transporte até o outro lado (UDP, loopback de teste...).
+     */
+    public interface Link {
+        /**
+         * Entradas locais dos frames {@code firstFrame} até
+         * {@code firstFrame + count - 1}, mais o ack. O array é reaproveitado
+         * depois da chamada.
+         */
+        void send(long firstFrame, byte[] inputs, int count, long ack);
+    }
+
+    private final VersusMatch match;
+    private final int local;
+    private final Link link;
+
+    private final byte[] localInputs = new byte[HISTORY];
+    private final byte[] remoteInputs = new byte[HISTORY];
+    private final byte[] predicted = new byte[HISTORY]; // Usada na simulação de cada frame
+    private final VersusMatch.Snapshot[] snapshots = new VersusMatch.Snapshot[SNAPSHOTS];
+    private final byte[] packet = new byte[HISTORY];
+
+    private long frame; // Próximo frame a simular
+    private long confirmedRemote = -1; // Entradas remotas conhecidas até aqui, sem buracos
+    private long remoteAck = -1; // Entradas locais que o outro lado já tem
+    private long rollbackFrom = Long.MAX_VALUE; // Primeiro frame previsto errado
+
+    private long rollbacks;
+    private long resimulatedFrames;
+    private int maxRollback;
+    private long stalls;
+
+    /**
+     * @param local assento deste lado (0 ou 1)
+     */
+    public RollbackSession(VersusMatch match, int local, Link link) {
+        this.match = match;
+        this.local = local;
+        this.link = link;
+        for (int i = 0; i < SNAPSHOTS; i++) {
+            snapshots[i] = new VersusMatch.Snapshot();
+        }
+    }
+
+    /**
+     * Um frame com a entrada local: corrige previsões erradas pendentes,
+     * simula e envia.
+     *
+     * @return false se o frame ficou segurado esperando o outro lado (a
+     *         mesma entrada deve ser repassada no próximo tick)
+     */
+    public boolean advance(int localInput) {
+        settle();
+        if (frame - confirmedRemote > MAX_ROLLBACK || frame - remoteAck >= HISTORY) {
+            stalls++;
+            sendInputs();
+            return false;
+        }
+        int index = (int) (frame & HISTORY_MASK);
+        localInputs[index] = (byte) localInput;
+        simulate(frame);
+        frame++;
+        sendInputs();
+        return true;
+    }
+
+    /**
+     * Pacote do outro lado. Só guarda as entradas e marca onde a previsão
+     * errou; a re-simulação acontece no próximo {@link #advance(int)} ou
+     * {@link #poll()}, uma vez só por mais pacotes que cheguem.
+     */
+    public void receive(long firstFrame, byte[] inputs, int count, long ack) {
+        remoteAck = Math.max(remoteAck, Math.min(ack, frame - 1));
+        for (int i = 0; i < count; i++) {
+            long remoteFrame = firstFrame + i;
+            if (remoteFrame <= confirmedRemote) {
+                continue; // Repetido
+            }
+            if (remoteFrame != confirmedRemote + 1 || remoteFrame - frame >= HISTORY - SNAPSHOTS) {
+                break; // Buraco: os frames que faltam vêm no próximo pacote
+            }
+            int index = (int) (remoteFrame & HISTORY_MASK);
+            remoteInputs[index] = inputs[i];
+            confirmedRemote = remoteFrame;
+            if (remoteFrame < frame && predicted[index] != inputs[i]) {
+                rollbackFrom = Math.min(rollbackFrom, remoteFrame);
+            }
+        }
+    }
+
+    /**
+     * Tick sem frame novo (pausa, fim da partida): aplica o rollback
+     * pendente e reenvia o que o outro lado ainda não confirmou.
+     */
+    public void poll() {
+        settle();
+        sendInputs();
+    }
+
+    /**
+     * Aplica o rollback pendente, se houver: volta ao snapshot do primeiro
+     * frame previsto errado e re-simula até o presente.
+     */
+    private void settle() {
+        if (rollbackFrom >= frame) {
+            rollbackFrom = Long.MAX_VALUE;
+            return;
+        }
+        long from = rollbackFrom;
+        rollbackFrom = Long.MAX_VALUE;
+        match.load(snapshots[(int) (from & SNAPSHOT_MASK)]);
+        match.setEventsMuted(true);
+        for (long f = from; f < frame; f++) {
+            simulate(f);
+        }
+        match.setEventsMuted(false);
+
+        int distance = (int) (frame - from);
+        rollbacks++;
+        resimulatedFrames += distance;
+        maxRollback = Math.max(maxRollback, distance);
+    }
+
+    /**
+     * Grava o snapshot de antes do frame e o simula com a melhor entrada
+     * remota conhecida.
+     */
+    private void simulate(long f) {
+        int index = (int) (f & HISTORY_MASK);
+        byte remoteInput = f <= confirmedRemote ? remoteInputs[index] : PREDICTION;
+        predicted[index] = remoteInput;
+        match.save(snapshots[(int) (f & SNAPSHOT_MASK)]);
+        if (local == 0) {
+            match.step(localInputs[index], remoteInput);
+        } else {
+            match.step(remoteInput, localInputs[index]);
+        }
+    }
+
+    private void sendInputs() {
+        long first = remoteAck + 1;
+        int count = (int) (frame - first);
+        for (int i = 0; i < count; i++) {
+            packet[i] = localInputs[(int) ((first + i) & HISTORY_MASK)];
+        }
+        link.send(first, packet, count, confirmedRemote);
+    }
+
+    public VersusMatch getMatch() {
+        return match;
+    }
+
+    /**
+     * Próximo frame a simular (frames já simulados).
+     */
+    public long getFrame() {
+        return frame;
+    }
+
+    /**
+     * Último frame simulado só com entradas de verdade: daqui para trás o
+     * estado não muda mais.
+     */
+    public long getConfirmedFrame() {
+        return Math.min(frame - 1, confirmedRemote);
+    }
+
+    public long getRollbacks() {
+        return rollbacks;
+    }
+
+    public long getResimulatedFrames() {
+        return resimulatedFrames;
+    }
+
+    public int getMaxRollback() {
+        return maxRollback;
+    }
+
+    public long getStalls() {
+        return stalls;
+    }
+}
@@ -0,0 +1,159 @@
+package com.jonas.tetris.net;
+
+import com.jonas.tetris.bot.StateWriter;
+import com.jonas.tetris.engine.GameController;
+import com.jonas.tetris.engine.GameState;
+
+/**
+ * Uma sala versus de 2 a {@link VersusServer#MAX_PLAYERS} jogadores. Começa
+ * quando enche, com a mesma semente para todos (mesma sequência de peças).
+ * O lixo gerado por um jogador vai para todos os oponentes ainda vivos; o
+ * último vivo vence. Sair no meio conta como eliminação.
+ */
+final class Room {
+    final String name;
+    final int size;
+    final long seed;
+    private final Connection[] seats;
+    private int count;
+    private int alive;
+    private boolean started;
+    private final StringBuilder line = new StringBuilder(512);
+    private final VersusServer server;
+
+    Room(VersusServer server, String name, int size, long seed) {
+        this.server = server;
+        this.name = name;
+        this.size = size;
+        this.seed = seed;
+        this.seats = new Connection[size];
+    }
+
+    boolean isStarted() {
+        return started;
+    }
+
+    boolean isEmpty() {
+        return count == 0;
+    }
+
+    /**
+     * Senta o jogador; com a sala cheia, a partida começa.
+     *
+     * @return true se a partida começou agora
+     */
+    boolean join(Connection connection) {
+        connection.room = this;
+        connection.seat = count;
+        seats[count++] = connection;
+        if (count < size) {
+            line.setLength(0);
+            line.append("{\"type\":\"waiting\",\"room\":");
+            StateWriter.appendString(line, name);
+            line.append(",\"players\":").append(count).append(",\"size\":").append(size).append("}\n");
+            broadcast();
+            return false;
+        }
+
+        started = true;
+        alive = size;
+        for (Connection player : seats) {
+            player.controller = new GameController(seed);
+            player.controller.startGame();
+            player.alive = true;
+            player.stateWriter.reset();
+
+            line.setLength(0);
+            line.append("{\"type\":\"start\",\"room\":");
+            StateWriter.appendString(line, name);
+            line.append(",\"you\":").append(player.seat).append(",\"players\":").append(size)
+                    .append(",\"seed\":").append(seed).append("}\n");
+            player.stateWriter.appendState(line, player.controller);
+            server.send(player, line);
+        }
+        return true;
+    }
+
+    /**
+     * Depois de uma jogada: repassa o lixo gerado, responde com o estado e
+     * elimina o jogador se ele perdeu.
+     */
+    void afterMove(Connection player) {
+        int attack = player.controller.drainOutgoingGarbage();
+        if (attack > 0) {
+            for (Connection opponent : seats) {
+                if (opponent != player && opponent.alive) {
+                    opponent.controller.receiveGarbage(attack);
+                    line.setLength(0);
+                    line.append("{\"type\":\"garbage\",\"from\":").append(player.seat)
+                            .append(",\"lines\":").append(attack)
+                            .append(",\"pending\":").append(opponent.controller.getPendingGarbage()).append("}\n");
+                    server.send(opponent, line);
+                }
+            }
+        }
+
+        line.setLength(0);
+        player.stateWriter.appendState(line, player.controller);
+        server.send(player, line);
+        if (player.controller.getStatus() == GameState.GameStatus.GAME_OVER) {
+            eliminate(player);
+        }
+    }
+
+    /**
+     * Conexão fechada: antes do início só libera a vaga; depois, perde.
+     */
+    void leave(Connection connection) {
+        if (!started) {
+            int seat = connection.seat;
+            System.arraycopy(seats, seat + 1, seats, seat, count - seat - 1);
+            seats[--count] = null;
+            for (int i = seat; i < count; i++) {
+                seats[i].seat = i;
+            }
+            connection.room = null;
+        } else if (connection.alive) {
+            eliminate(connection);
+        }
+    }
+
+    private void eliminate(Connection player) {
+        player.alive = false;
+        alive--;
+        line.setLength(0);
+        line.append("{\"type\":\"eliminated\",\"player\":").append(player.seat)
+                .append(",\"remaining\":").append(alive).append("}\n");
+        broadcast();
+        if (alive <= 1) {
+            finish();
+        }
+    }
+
+    private void finish() {
+        int winner = -1;
+        for (Connection player : seats) {
+            if (player.alive) {
+                winner = player.seat;
+            }
+        }
+        line.setLength(0);
+        line.append("{\"type\":\"result\",\"room\":");
+        StateWriter.appendString(line, name);
+        line.append(",\"winner\":").append(winner).append("}\n");
+        broadcast();
+
+        for (Connection player : seats) {
+            player.room = null;
+            player.controller = null;
+            player.alive = false;
+        }
+        server.roomFinished(this);
+    }
+
+    private void broadcast() {
+        for (int i = 0; i < count; i++) {
+            server.send(seats[i], line);
+        }
+    }
+}
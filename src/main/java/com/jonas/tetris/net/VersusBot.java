@@ -0,0 +1,292 @@
+package com.jonas.tetris.net;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.channels.Channels;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import com.jonas.tetris.bot.StateWriter;
+import com.jonas.tetris.domain.Board;
+import com.jonas.tetris.domain.Tetromino;
+import com.jonas.tetris.util.JsonReader;
+
+/**
+ * Cliente substituto do modo versus, para testes e carga: socket bloqueante,
+ * mesmo parser dos bots e uma estratégia gulosa simples (testa toda rotação
+ * e coluna e pesa linhas limpas, altura, buracos e irregularidade). Depois de
+ * {@code pieceBudget} peças ele desiste e só larga as peças onde nascem, o
+ * mesmo que faz quando a jogada escolhida não alcança; assim toda partida
+ * termina.
+ */
+public class VersusBot implements AutoCloseable {
+    private final SocketChannel channel;
+    private final JsonReader in;
+    private final Writer out;
+    private final int pieceBudget;
+    private final int[] rows = new int[StateWriter.ROWS];
+    private final int[] scratch = new int[StateWriter.ROWS]; // Tabuleiro depois da jogada testada
+    private int cleared;
+
+    // Última mensagem lida
+    private String type;
+    private String status;
+    private Tetromino.Type current;
+    private int you;
+    private int lines;
+    private int winner;
+
+    private int seat = -1;
+    private int pieces;
+    private int garbageReceived;
+    private boolean blocked;
+
+    /**
+     * @param pieceBudget peças jogadas a sério antes de desistir
+     */
+    public VersusBot(InetSocketAddress server, int pieceBudget) throws IOException {
+        this.pieceBudget = pieceBudget;
+        channel = SocketChannel.open(server);
+        channel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+        Reader reader = Channels.newReader(channel, StandardCharsets.UTF_8);
+        in = new JsonReader(reader);
+        out = Channels.newWriter(channel, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Pede uma vaga; a resposta é lida por {@link #awaitStart()}.
+     */
+    public void join(String room, int size) throws IOException {
+        out.write("{\"type\":\"join\",\"room\":\"" + room + "\",\"size\":" + size + "}\n");
+        out.flush();
+    }
+
+    /**
+     * Espera a sala encher.
+     *
+     * @return o assento deste bot
+     */
+    public int awaitStart() throws IOException {
+        while (seat < 0) {
+            readMessage();
+        }
+        return seat;
+    }
+
+    /**
+     * Joga até o resultado da sala.
+     *
+     * @return o assento vencedor (-1 se ninguém sobrou)
+     */
+    public int play() throws IOException {
+        awaitStart();
+        while (true) {
+            readMessage();
+            switch (type) {
+                case "state":
+                    if (status.equals("playing")) {
+                        move();
+                    }
+                    break;
+                case "garbage":
+                    garbageReceived += lines;
+                    break;
+                case "error":
+                    blocked = true; // A próxima peça cai onde estiver
+                    break;
+                case "result":
+                    return winner;
+                default:
+                    break;
+            }
+        }
+    }
+
+    public int getSeat() {
+        return seat;
+    }
+
+    public int getPieces() {
+        return pieces;
+    }
+
+    public int getGarbageReceived() {
+        return garbageReceived;
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    private void move() throws IOException {
+        pieces++;
+        int choice = blocked || pieces > pieceBudget ? -1 : bestPlacement();
+        blocked = false;
+        if (choice < 0) {
+            out.write("{\"type\":\"input\",\"keys\":\"H\"}\n");
+        } else {
+            out.write("{\"type\":\"play\",\"x\":" + (choice >> 2) + ",\"rotation\":" + (choice & 3) + "}\n");
+        }
+        out.flush();
+    }
+
+    private void readMessage() throws IOException {
+        if (in.peek() == JsonReader.Token.END_DOCUMENT) {
+            throw new IOException("servidor fechou a conexão");
+        }
+        type = "";
+        status = null;
+        in.beginObject();
+        while (in.hasNext()) {
+            if (in.nextNameEquals("type")) {
+                type = in.nextString();
+            } else if (in.nextNameEquals("status")) {
+                status = in.nextString();
+            } else if (in.nextNameEquals("current")) {
+                current = Tetromino.Type.valueOf(in.nextString());
+            } else if (in.nextNameEquals("you")) {
+                you = in.nextInt();
+            } else if (in.nextNameEquals("lines")) {
+                lines = in.nextInt();
+            } else if (in.nextNameEquals("winner")) {
+                winner = in.nextInt();
+            } else if (in.nextNameEquals("rows")) {
+                in.beginArray();
+                while (in.hasNext()) {
+                    in.beginArray();
+                    int y = in.nextInt();
+                    rows[y] = in.nextInt();
+                    in.endArray();
+                }
+                in.endArray();
+            } else {
+                in.nextName();
+                in.skipValue();
+            }
+        }
+        in.endObject();
+        if (type.equals("start")) {
+            seat = you;
+            Arrays.fill(rows, 0);
+        }
+    }
+
+    /**
+     * Melhor jogada para a peça atual, como {@code x << 2 | rotação}, ou -1
+     * se nenhuma cabe.
+     */
+    private int bestPlacement() {
+        int best = -1;
+        double bestScore = Double.NEGATIVE_INFINITY;
+        for (int rotation = 0; rotation < 4; rotation++) {
+            int[][] shape = Tetromino.of(current, rotation, 0, 0).getShape();
+            for (int x = 0; x + shape[0].length <= Board.BOARD_WIDTH; x++) {
+                if (!drop(shape, x)) {
+                    continue;
+                }
+                double score = evaluate();
+                if (score > bestScore) {
+                    bestScore = score;
+                    best = x << 2 | rotation;
+                }
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Larga a forma na coluna x sobre uma cópia do tabuleiro e limpa as
+     * linhas completas.
+     *
+     * @return false se não cabe nem no topo
+     */
+    private boolean drop(int[][] shape, int x) {
+        int y = 0;
+        if (collides(shape, x, y)) {
+            return false;
+        }
+        while (!collides(shape, x, y + 1)) {
+            y++;
+        }
+        System.arraycopy(rows, 0, scratch, 0, rows.length);
+        for (int r = 0; r < shape.length; r++) {
+            for (int c = 0; c < shape[r].length; c++) {
+                if (shape[r][c] != 0) {
+                    scratch[y + r] |= 1 << (x + c);
+                }
+            }
+        }
+        cleared = 0;
+        int full = (1 << Board.BOARD_WIDTH) - 1;
+        int target = scratch.length - 1;
+        for (int row = scratch.length - 1; row >= 0; row--) {
+            if (scratch[row] == full) {
+                cleared++;
+            } else {
+                scratch[target--] = scratch[row];
+            }
+        }
+        while (target >= 0) {
+            scratch[target--] = 0;
+        }
+        return true;
+    }
+
+    private boolean collides(int[][] shape, int x, int y) {
+        for (int r = 0; r < shape.length; r++) {
+            for (int c = 0; c < shape[r].length; c++) {
+                if (shape[r][c] != 0 && (y + r >= rows.length || (rows[y + r] & (1 << (x + c))) != 0)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Pesos clássicos de bots gulosos: linhas limpas contam a favor; altura
+     * somada, buracos e desnível entre colunas, contra.
+     */
+    private double evaluate() {
+        int height = 0;
+        int holes = 0;
+        int bumpiness = 0;
+        int previous = -1;
+        for (int x = 0; x < Board.BOARD_WIDTH; x++) {
+            int column = 0;
+            for (int y = 0; y < scratch.length; y++) {
+                if ((scratch[y] & (1 << x)) != 0) {
+                    if (column == 0) {
+                        column = scratch.length - y;
+                    }
+                } else if (column != 0) {
+                    holes++;
+                }
+            }
+            height += column;
+            if (previous >= 0) {
+                bumpiness += Math.abs(column - previous);
+            }
+            previous = column;
+        }
+        return 0.76 * cleared - 0.51 * height - 0.36 * holes - 0.18 * bumpiness;
+    }
+
+    /**
+     * Um bot numa sala do servidor em {@code host:port}.
+     */
+    public static void runOnce(String host, int port, String room, int size) throws IOException {
+        try (VersusBot bot = new VersusBot(new InetSocketAddress(host, port), Integer.MAX_VALUE)) {
+            bot.join(room, size);
+            int seat = bot.awaitStart();
+            int winner = bot.play();
+            System.out.println("Assento " + seat + ", " + bot.getPieces() + " peças, "
+                    + bot.getGarbageReceived() + " linhas de lixo recebidas; vencedor: " + winner);
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package com.jonas.tetris.net;
+
+import com.jonas.tetris.engine.FrameState;
+import com.jonas.tetris.engine.GameController;
+import com.jonas.tetris.engine.GameState;
+
+/**
+ * Partida versus de dois jogadores simulada por inteiro, frame a frame e de
+ * forma determinística: mesma semente e mesmas entradas dão o mesmo
+ * resultado em qualquer máquina. É o que cada lado do rollback
+ * ({@link RollbackSession}) roda, com a entrada do oponente prevista até
+ * chegar a de verdade.
+ *
+ * Ambos os lados precisam da mesma curva de velocidade selecionada, já que
+ * o {@link GameController#startGame()} usa a curva atual do jogo.
+ */
+public class VersusMatch {
+    public static final int PLAYERS = 2;
+
+    /**
+     * Estado dos dois jogadores num frame.
+     */
+    public static final class Snapshot {
+        private final FrameState[] players = { new FrameState(), new FrameState() };
+        private long frame;
+
+        public long getFrame() {
+            return frame;
+        }
+    }
+
+    private final GameController[] players = new GameController[PLAYERS];
+    private final Snapshot scratch = new Snapshot();
+    private long frame;
+
+    public VersusMatch(long seed) {
+        for (int i = 0; i < PLAYERS; i++) {
+            players[i] = new GameController(seed);
+            players[i].startGame();
+        }
+    }
+
+    /**
+     * Avança um frame: entradas dos dois ({@link GameController#step(int)})
+     * e depois a troca do lixo gerado neste frame.
+     */
+    public void step(int first, int second) {
+        players[0].step(first);
+        players[1].step(second);
+        int fromFirst = players[0].drainOutgoingGarbage();
+        int fromSecond = players[1].drainOutgoingGarbage();
+        players[1].receiveGarbage(fromFirst);
+        players[0].receiveGarbage(fromSecond);
+        frame++;
+    }
+
+    /**
+     * Frames já simulados.
+     */
+    public long getFrame() {
+        return frame;
+    }
+
+    public GameController getPlayer(int index) {
+        return players[index];
+    }
+
+    public boolean isOver() {
+        return players[0].getStatus() == GameState.GameStatus.GAME_OVER
+                || players[1].getStatus() == GameState.GameStatus.GAME_OVER;
+    }
+
+    /**
+     * Vencedor: quem não chegou ao game over (-1 se a partida continua ou
+     * se os dois perderam no mesmo frame).
+     */
+    public int getWinner() {
+        boolean firstLost = players[0].getStatus() == GameState.GameStatus.GAME_OVER;
+        boolean secondLost = players[1].getStatus() == GameState.GameStatus.GAME_OVER;
+        if (firstLost == secondLost) {
+            return -1;
+        }
+        return firstLost ? 1 : 0;
+    }
+
+    public void save(Snapshot target) {
+        players[0].saveFrame(target.players[0]);
+        players[1].saveFrame(target.players[1]);
+        target.frame = frame;
+    }
+
+    public void load(Snapshot source) {
+        players[0].loadFrame(source.players[0]);
+        players[1].loadFrame(source.players[1]);
+        frame = source.frame;
+    }
+
+    /**
+     * Suspende os eventos dos dois controllers (re-simulação).
+     */
+    void setEventsMuted(boolean muted) {
+        players[0].setEventsMuted(muted);
+        players[1].setEventsMuted(muted);
+    }
+
+    /**
+     * Hash do estado atual, para comparar as simulações dos dois lados.
+     */
+    public long checksum() {
+        save(scratch);
+        return scratch.players[0].checksum() * 31 + scratch.players[1].checksum();
+    }
+}
@@ -0,0 +1,423 @@
+package com.jonas.tetris.net;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+import com.jonas.tetris.bot.BotCommand;
+import com.jonas.tetris.bot.StateWriter;
+import com.jonas.tetris.domain.Board;
+import com.jonas.tetris.util.JsonReader;
+
+/**
+ * Servidor do modo versus em rede local: um seletor NIO não bloqueante numa
+ * única thread atende todas as conexões e salas. Cada jogador tem um
+ * {@link com.jonas.tetris.engine.GameController} autoritativo no servidor; o
+ * cliente só manda jogadas.
+ *
+ * O protocolo é o dos bots ({@link com.jonas.tetris.bot.BotSession}), uma
+ * mensagem JSON por linha, com o {@code join} na frente:
+ * <pre>
+ * {"type":"join","room":"sala1","size":2,"seed":7}   room, size e seed opcionais
+ * {"type":"play","x":3,"rotation":1}                 e input, sync, quit
+ * </pre>
+ * Servidor → cliente: {@code info} ao conectar, {@code waiting} enquanto a
+ * sala enche, {@code start} (com {@code you}, o assento) seguido do primeiro
+ * {@code state}, um {@code state} por jogada, {@code garbage} quando um
+ * oponente ataca, {@code eliminated} e por fim {@code result} com o
+ * vencedor. Depois do resultado o cliente pode entrar em outra sala.
+ *
+ * Como na sessão de bots, não há gravidade no servidor: a partida anda por
+ * jogadas. As respostas de uma rodada do seletor saem num único write por
+ * conexão.
+ */
+public class VersusServer implements AutoCloseable {
+    public static final int DEFAULT_PORT = 7117;
+    public static final int MAX_PLAYERS = 8;
+    static final int PROTOCOL_VERSION = 1;
+    private static final String DEFAULT_ROOM = "lobby";
+
+    private final Selector selector;
+    private final ServerSocketChannel serverChannel;
+    private final Thread thread;
+    private volatile boolean running;
+
+    // Estado da thread do seletor
+    private final Map<String, Room> waiting = new HashMap<>();
+    private final List<Connection> dirty = new ArrayList<>();
+    private final List<Connection> connections = new ArrayList<>();
+    private final SplittableRandom seeds = new SplittableRandom();
+    private final CharsetEncoder encoder = StandardCharsets.UTF_8.newEncoder();
+    private final CharsetDecoder decoder = StandardCharsets.UTF_8.newDecoder()
+            .onMalformedInput(CodingErrorAction.REPLACE)
+            .onUnmappableCharacter(CodingErrorAction.REPLACE);
+    private final CharBuffer lineChars = CharBuffer.allocate(Connection.READ_BUFFER);
+    private final JsonReader json = new JsonReader(new LineReader(lineChars));
+    private final BotCommand command = new BotCommand();
+    private final StringBuilder line = new StringBuilder(512);
+
+    // Lidos de outras threads (testes, monitoração)
+    private volatile int activeRooms;
+    private volatile int peakRooms;
+    private volatile long finishedRooms;
+    private volatile int connectionCount;
+
+    /**
+     * @param address endereço local (porta 0 escolhe uma livre)
+     */
+    public VersusServer(InetSocketAddress address) throws IOException {
+        selector = Selector.open();
+        serverChannel = ServerSocketChannel.open();
+        serverChannel.setOption(StandardSocketOptions.SO_REUSEADDR, true);
+        serverChannel.bind(address, 1024);
+        serverChannel.configureBlocking(false);
+        serverChannel.register(selector, SelectionKey.OP_ACCEPT);
+        thread = new Thread(this::run, "tetris-versus");
+    }
+
+    public void start() {
+        running = true;
+        thread.start();
+    }
+
+    public int getPort() {
+        return serverChannel.socket().getLocalPort();
+    }
+
+    /**
+     * Salas com partida em andamento.
+     */
+    public int getActiveRooms() {
+        return activeRooms;
+    }
+
+    /**
+     * Maior número de salas simultâneas desde o início.
+     */
+    public int getPeakRooms() {
+        return peakRooms;
+    }
+
+    public long getFinishedRooms() {
+        return finishedRooms;
+    }
+
+    public int getConnectionCount() {
+        return connectionCount;
+    }
+
+    @Override
+    public void close() throws IOException {
+        running = false;
+        selector.wakeup();
+        if (thread.isAlive()) {
+            try {
+                thread.join(5000);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        serverChannel.close();
+        selector.close();
+    }
+
+    private void run() {
+        try {
+            while (running) {
+                selector.select(this::handleKey);
+                flushDirty();
+            }
+        } catch (IOException e) {
+            System.err.println("Erro no servidor versus: " + e.getMessage());
+        } finally {
+            for (Connection connection : connections) {
+                connection.close();
+            }
+            connections.clear();
+            connectionCount = 0;
+        }
+    }
+
+    private void handleKey(SelectionKey key) {
+        if (!key.isValid()) {
+            return;
+        }
+        if (key.isAcceptable()) {
+            accept();
+            return;
+        }
+        Connection connection = (Connection) key.attachment();
+        try {
+            if (key.isWritable() && !connection.flush()) {
+                disconnect(connection);
+                return;
+            }
+            if (key.isReadable()) {
+                read(connection);
+            }
+        } catch (IOException e) {
+            disconnect(connection); // Conexão derrubada pelo cliente
+        }
+    }
+
+    private void accept() {
+        try {
+            SocketChannel channel;
+            while ((channel = serverChannel.accept()) != null) {
+                channel.configureBlocking(false);
+                channel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+                SelectionKey key = channel.register(selector, SelectionKey.OP_READ);
+                Connection connection = new Connection(channel, key);
+                key.attach(connection);
+                connections.add(connection);
+                connectionCount = connections.size();
+
+                line.setLength(0);
+                line.append("{\"type\":\"info\",\"name\":\"java-tetris-versus\",\"version\":").append(PROTOCOL_VERSION)
+                        .append(",\"width\":").append(Board.BOARD_WIDTH)
+                        .append(",\"height\":").append(StateWriter.ROWS)
+                        .append(",\"maxPlayers\":").append(MAX_PLAYERS).append("}\n");
+                send(connection, line);
+            }
+        } catch (IOException e) {
+            System.err.println("Erro ao aceitar conexão: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Lê o que chegou e trata cada linha completa; o resto fica no buffer
+     * para a próxima leitura.
+     */
+    private void read(Connection connection) throws IOException {
+        ByteBuffer buffer = connection.readBuffer;
+        if (connection.channel.read(buffer) < 0) {
+            disconnect(connection);
+            return;
+        }
+        buffer.flip();
+        int start = buffer.position();
+        for (int i = start; i < buffer.limit(); i++) {
+            if (buffer.get(i) != '\n') {
+                continue;
+            }
+            int limit = buffer.limit();
+            buffer.position(start).limit(i);
+            lineChars.clear();
+            decoder.reset();
+            decoder.decode(buffer, lineChars, true);
+            decoder.flush(lineChars);
+            lineChars.flip();
+            buffer.limit(limit).position(i + 1);
+            start = i + 1;
+
+            handleLine(connection);
+            if (connection.closed) {
+                return;
+            }
+        }
+        buffer.position(start);
+        buffer.compact();
+        if (!buffer.hasRemaining()) {
+            line.setLength(0);
+            StateWriter.appendError(line, "linha acima de " + Connection.READ_BUFFER + " bytes");
+            send(connection, line);
+            flushDirty();
+            disconnect(connection);
+        }
+    }
+
+    private void handleLine(Connection connection) {
+        json.reset();
+        try {
+            if (json.peek() == JsonReader.Token.END_DOCUMENT) {
+                return; // Linha em branco
+            }
+            command.read(json);
+        } catch (IOException e) {
+            sendError(connection, e.getMessage());
+            return;
+        }
+        if (command.type == null) {
+            sendError(connection, "comando sem type");
+            return;
+        }
+
+        String error;
+        switch (command.type) {
+            case "join":
+                join(connection);
+                break;
+            case "play":
+            case "input":
+                if (!connection.isPlaying()) {
+                    sendError(connection, "nenhuma partida em andamento");
+                    return;
+                }
+                error = command.type.equals("play") ? command.play(connection.controller)
+                        : command.input(connection.controller);
+                if (error != null) {
+                    sendError(connection, error);
+                    if (command.type.equals("play") && command.x == BotCommand.NO_X) {
+                        return;
+                    }
+                }
+                connection.room.afterMove(connection);
+                break;
+            case "sync":
+                if (connection.controller == null) {
+                    sendError(connection, "nenhuma partida em andamento");
+                    return;
+                }
+                connection.stateWriter.reset();
+                line.setLength(0);
+                connection.stateWriter.appendState(line, connection.controller);
+                send(connection, line);
+                break;
+            case "quit":
+                flushDirty();
+                disconnect(connection);
+                break;
+            default:
+                sendError(connection, "comando desconhecido: " + command.type);
+                break;
+        }
+    }
+
+    private void join(Connection connection) {
+        if (connection.room != null) {
+            sendError(connection, "já está na sala " + connection.room.name);
+            return;
+        }
+        String name = command.room != null ? command.room : DEFAULT_ROOM;
+        int size = command.size == 0 ? 2 : command.size;
+        if (size < 2 || size > MAX_PLAYERS) {
+            sendError(connection, "size fora de 2.." + MAX_PLAYERS + ": " + size);
+            return;
+        }
+
+        Room room = waiting.get(name);
+        if (room == null) {
+            long seed = command.hasSeed ? command.seed : seeds.nextLong();
+            room = new Room(this, name, size, seed);
+            waiting.put(name, room);
+        } else if (room.size != size) {
+            sendError(connection, "a sala " + name + " é de " + room.size + " jogadores");
+            return;
+        }
+        if (room.join(connection)) {
+            waiting.remove(name);
+            activeRooms++;
+            peakRooms = Math.max(peakRooms, activeRooms);
+        }
+    }
+
+    private void disconnect(Connection connection) {
+        if (connection.closed) {
+            return;
+        }
+        connection.close();
+        connections.remove(connection);
+        connectionCount = connections.size();
+        Room room = connection.room;
+        if (room != null) {
+            room.leave(connection);
+            if (!room.isStarted() && room.isEmpty()) {
+                waiting.remove(room.name);
+            }
+        }
+    }
+
+    void roomFinished(Room room) {
+        activeRooms--;
+        finishedRooms++;
+    }
+
+    /**
+     * Enfileira a mensagem; sai no fim da rodada do seletor.
+     */
+    void send(Connection connection, CharSequence message) {
+        if (connection.append(message, encoder)) {
+            dirty.add(connection);
+        }
+    }
+
+    private void sendError(Connection connection, String message) {
+        line.setLength(0);
+        StateWriter.appendError(line, message);
+        send(connection, line);
+    }
+
+    private void flushDirty() {
+        for (int i = 0; i < dirty.size(); i++) {
+            Connection connection = dirty.get(i);
+            if (connection.closed) {
+                continue;
+            }
+            try {
+                if (!connection.flush()) {
+                    disconnect(connection);
+                }
+            } catch (IOException e) {
+                disconnect(connection);
+            }
+        }
+        dirty.clear();
+    }
+
+    /**
+     * Inicia um servidor em primeiro plano (até o processo acabar).
+     */
+    public static void runForever(int port) throws IOException, InterruptedException {
+        VersusServer server = new VersusServer(new InetSocketAddress(port));
+        server.start();
+        System.out.println("Servidor versus na porta " + server.getPort());
+        server.thread.join();
+    }
+
+    /**
+     * Leitor sobre a linha já decodificada, para o {@link JsonReader}
+     * reaproveitado entre linhas e conexões.
+     */
+    private static final class LineReader extends Reader {
+        private final CharBuffer chars;
+
+        LineReader(CharBuffer chars) {
+            this.chars = chars;
+        }
+
+        @Override
+        public int read(char[] target, int offset, int length) {
+            if (!chars.hasRemaining()) {
+                return -1;
+            }
+            int count = Math.min(length, chars.remaining());
+            chars.get(target, offset, count);
+            return count;
+        }
+
+        @Override
+        public boolean ready() {
+            return chars.hasRemaining();
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
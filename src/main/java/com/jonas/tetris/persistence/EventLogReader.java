@@ -0,0 +1,181 @@
+package com.jonas.tetris.persistence;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import com.jonas.tetris.domain.Tetromino;
+import com.jonas.tetris.engine.GameEvent;
+
+/**
+ * Lê um arquivo gravado pelo {@link EventLogWriter}, registro a registro.
+ * Os campos do registro atual ficam disponíveis pelos getters até a próxima
+ * chamada de {@link #next()}. Um registro incompleto no fim do arquivo (queda
+ * durante a gravação) é ignorado.
+ */
+public class EventLogReader implements AutoCloseable {
+    private static final GameEvent.Type[] TYPES = GameEvent.Type.values();
+    private static final Tetromino.Type[] PIECE_TYPES = Tetromino.Type.values();
+
+    private final FileChannel channel;
+    private final ByteBuffer buffer = ByteBuffer.allocateDirect(64 * 1024).order(ByteOrder.LITTLE_ENDIAN);
+    private final long startEpochMillis;
+    private final long startNanoTime;
+
+    private int recordType;
+    private int pieceType;
+    private int rotation;
+    private int lineCount;
+    private int x;
+    private int y;
+    private int points;
+    private int level;
+    private long frame;
+    private long nanoTime;
+
+    public EventLogReader(Path file) throws IOException {
+        this.channel = FileChannel.open(file, StandardOpenOption.READ);
+        ByteBuffer header = ByteBuffer.allocate(EventLogWriter.HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+        while (header.hasRemaining() && channel.read(header) >= 0) {
+            // lendo cabeçalho
+        }
+        header.flip();
+        if (header.remaining() < EventLogWriter.HEADER_SIZE || header.getInt() != EventLogWriter.MAGIC) {
+            channel.close();
+            throw new IOException("Não é um log de eventos: " + file);
+        }
+        short version = header.getShort();
+        short recordSize = header.getShort();
+        if (version != EventLogWriter.VERSION || recordSize != EventLogWriter.RECORD_SIZE) {
+            channel.close();
+            throw new IOException("Versão de log não suportada: " + version);
+        }
+        this.startEpochMillis = header.getLong();
+        this.startNanoTime = header.getLong();
+        buffer.limit(0);
+    }
+
+    /**
+     * Arquivos de log do diretório em ordem cronológica.
+     */
+    public static List<Path> listFiles(Path directory) throws IOException {
+        List<Path> files = new ArrayList<>();
+        if (!Files.isDirectory(directory)) {
+            return files;
+        }
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory,
+                EventLogWriter.FILE_PREFIX + "*" + EventLogWriter.FILE_EXTENSION)) {
+            for (Path file : stream) {
+                files.add(file);
+            }
+        }
+        Collections.sort(files);
+        return files;
+    }
+
+    /**
+     * Avança para o próximo registro.
+     *
+     * @return false no fim do arquivo
+     */
+    public boolean next() throws IOException {
+        if (buffer.remaining() < EventLogWriter.RECORD_SIZE) {
+            buffer.compact();
+            while (buffer.position() < EventLogWriter.RECORD_SIZE && channel.read(buffer) > 0) {
+                // Continuar até ter ao menos um registro
+            }
+            buffer.flip();
+            if (buffer.remaining() < EventLogWriter.RECORD_SIZE) {
+                return false;
+            }
+        }
+        recordType = buffer.get() & 0xFF;
+        pieceType = buffer.get();
+        rotation = buffer.get();
+        lineCount = buffer.get();
+        x = buffer.getShort();
+        y = buffer.getShort();
+        points = buffer.getInt();
+        level = buffer.getInt();
+        frame = buffer.getLong();
+        nanoTime = buffer.getLong();
+        return true;
+    }
+
+    /**
+     * Tipo do registro atual, ou null se for uma marca de eventos perdidos.
+     */
+    public GameEvent.Type getType() {
+        if (recordType < 1 || recordType > TYPES.length) {
+            return null;
+        }
+        return TYPES[recordType - 1];
+    }
+
+    public boolean isGap() {
+        return recordType == EventLogWriter.GAP_RECORD;
+    }
+
+    /**
+     * Eventos perdidos antes deste ponto (só em marcas de eventos perdidos).
+     */
+    public int getDroppedCount() {
+        return isGap() ? points : 0;
+    }
+
+    public Tetromino.Type getPieceType() {
+        return pieceType >= 0 && pieceType < PIECE_TYPES.length ? PIECE_TYPES[pieceType] : null;
+    }
+
+    public int getRotation() {
+        return rotation;
+    }
+
+    public int getLineCount() {
+        return lineCount;
+    }
+
+    public int getX() {
+        return x;
+    }
+
+    public int getY() {
+        return y;
+    }
+
+    public int getPoints() {
+        return points;
+    }
+
+    public int getLevel() {
+        return level;
+    }
+
+    public long getFrame() {
+        return frame;
+    }
+
+    public long getNanoTime() {
+        return nanoTime;
+    }
+
+    /**
+     * Horário aproximado do registro (epoch em ms), a partir do cabeçalho.
+     */
+    public long getEpochMillis() {
+        return startEpochMillis + (nanoTime - startNanoTime) / 1_000_000L;
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
@@ -0,0 +1,233 @@
+package com.jonas.tetris.persistence;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+
+import com.jonas.tetris.domain.Tetromino;
+import com.jonas.tetris.engine.GameEvent;
+import com.jonas.tetris.engine.GameEventBus;
+
+/**
+ * Grava os eventos do jogo num log binário compacto para análise posterior.
+ *
+ * Registrado como consumidor DROP do {@link GameEventBus}: roda na thread do
+ * consumidor, nunca na de lógica. Os eventos são codificados em registros de
+ * tamanho fixo num {@link ByteBuffer} direto grande e gravados em lote pelo
+ * {@link FileChannel} quando o buffer enche, a cada {@value #FLUSH_INTERVAL_MS}
+ * ms ou no fim da partida. Os arquivos giram ao atingir o tamanho máximo, e
+ * os mais antigos são apagados. O formato é lido por {@link EventLogReader}.
+ */
+public class EventLogWriter implements GameEventBus.Handler, AutoCloseable {
+    public static final Path DEFAULT_DIRECTORY = Paths.get("tetris_events");
+    public static final long DEFAULT_MAX_FILE_BYTES = 8L * 1024 * 1024;
+    public static final int DEFAULT_MAX_FILES = 10;
+
+    static final int MAGIC = 0x544C4F47; // "TLOG"
+    static final short VERSION = 1;
+    static final int HEADER_SIZE = 24;
+    static final int RECORD_SIZE = 32;
+    static final String FILE_PREFIX = "events-";
+    static final String FILE_EXTENSION = ".tlog";
+
+    /**
+     * Tipo de registro que marca eventos perdidos (points = quantidade).
+     */
+    static final int GAP_RECORD = 0x7F;
+
+    private static final int BUFFER_SIZE = 256 * 1024;
+    private static final long FLUSH_INTERVAL_MS = 1000;
+
+    private final Path directory;
+    private final long maxFileBytes;
+    private final int maxFiles;
+    private final String sessionName;
+    private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+
+    private FileChannel channel;
+    private long fileBytes;
+    private int fileIndex;
+    private long lastFlushMillis = System.currentTimeMillis();
+    private GameEventBus bus;
+    private volatile GameEventBus.Subscription subscription;
+    private long reportedDrops;
+    private volatile long recordCount;
+    private boolean failed;
+
+    public EventLogWriter() {
+        this(DEFAULT_DIRECTORY, DEFAULT_MAX_FILE_BYTES, DEFAULT_MAX_FILES);
+    }
+
+    public EventLogWriter(Path directory, long maxFileBytes, int maxFiles) {
+        this.directory = directory;
+        this.maxFileBytes = Math.max(HEADER_SIZE + RECORD_SIZE, maxFileBytes);
+        this.maxFiles = Math.max(1, maxFiles);
+        this.sessionName = new SimpleDateFormat("yyyyMMdd-HHmmss").format(new Date());
+    }
+
+    /**
+     * Começa a gravar os eventos publicados no barramento.
+     */
+    public void attach(GameEventBus bus) {
+        this.bus = bus;
+        subscription = bus.subscribe("event-log", this, GameEventBus.Backpressure.DROP);
+    }
+
+    /**
+     * Registros gravados (ou no buffer) até agora.
+     */
+    public long getRecordCount() {
+        return recordCount;
+    }
+
+    @Override
+    public void onEvent(GameEvent event, boolean endOfBatch) {
+        if (failed) {
+            return;
+        }
+        try {
+            if (subscription != null && subscription.getDroppedCount() != reportedDrops) {
+                long dropped = subscription.getDroppedCount();
+                appendGap(dropped - reportedDrops, event);
+                reportedDrops = dropped;
+            }
+            append(event);
+
+            if (endOfBatch && (event.getType() == GameEvent.Type.GAME_OVER
+                    || System.currentTimeMillis() - lastFlushMillis >= FLUSH_INTERVAL_MS)) {
+                flush();
+            }
+        } catch (IOException e) {
+            failed = true; // Não insistir num disco com problema
+            System.err.println("Erro ao gravar log de eventos: " + e.getMessage());
+        }
+    }
+
+    private void append(GameEvent event) throws IOException {
+        reserveRecord();
+        Tetromino piece = event.getPiece();
+        buffer.put((byte) (event.getType().ordinal() + 1));
+        buffer.put(piece != null ? (byte) piece.getType().ordinal() : (byte) -1);
+        buffer.put((byte) event.getRotation());
+        buffer.put((byte) event.getLineCount());
+        buffer.putShort(piece != null ? (short) piece.getX() : 0);
+        buffer.putShort(piece != null ? (short) piece.getY() : 0);
+        buffer.putInt(event.getPoints());
+        buffer.putInt(event.getLevel());
+        buffer.putLong(event.getFrame());
+        buffer.putLong(event.getNanoTime());
+        recordCount++;
+    }
+
+    private void appendGap(long dropped, GameEvent next) throws IOException {
+        reserveRecord();
+        buffer.put((byte) GAP_RECORD);
+        buffer.put((byte) -1);
+        buffer.put((byte) 0);
+        buffer.put((byte) 0);
+        buffer.putShort((short) 0);
+        buffer.putShort((short) 0);
+        buffer.putInt((int) Math.min(Integer.MAX_VALUE, dropped));
+        buffer.putInt(next.getLevel());
+        buffer.putLong(next.getFrame());
+        buffer.putLong(next.getNanoTime());
+        recordCount++;
+    }
+
+    /**
+     * Garante espaço para um registro no buffer e no arquivo atual.
+     */
+    private void reserveRecord() throws IOException {
+        if (channel == null || fileBytes + buffer.position() + RECORD_SIZE > maxFileBytes) {
+            flush();
+            roll();
+        } else if (buffer.remaining() < RECORD_SIZE) {
+            flush();
+        }
+    }
+
+    /**
+     * Grava o conteúdo do buffer no arquivo atual.
+     */
+    public void flush() throws IOException {
+        lastFlushMillis = System.currentTimeMillis();
+        if (channel == null || buffer.position() == 0) {
+            return;
+        }
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            fileBytes += channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    private void roll() throws IOException {
+        if (channel != null) {
+            channel.close();
+        }
+        Files.createDirectories(directory);
+        Path file = directory.resolve(FILE_PREFIX + sessionName + "-" + String.format("%03d", fileIndex++) + FILE_EXTENSION);
+        channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING);
+
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+        header.putInt(MAGIC);
+        header.putShort(VERSION);
+        header.putShort((short) RECORD_SIZE);
+        header.putLong(System.currentTimeMillis());
+        header.putLong(System.nanoTime());
+        header.flip();
+        while (header.hasRemaining()) {
+            channel.write(header);
+        }
+        fileBytes = HEADER_SIZE;
+
+        deleteOldFiles();
+    }
+
+    private void deleteOldFiles() throws IOException {
+        List<Path> files = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, FILE_PREFIX + "*" + FILE_EXTENSION)) {
+            for (Path file : stream) {
+                files.add(file);
+            }
+        }
+        Collections.sort(files); // Nome começa com data e índice: ordem cronológica
+        for (int i = 0; i < files.size() - maxFiles; i++) {
+            Files.deleteIfExists(files.get(i));
+        }
+    }
+
+    /**
+     * Para de receber eventos, grava o que falta e fecha o arquivo.
+     */
+    @Override
+    public void close() {
+        GameEventBus.Subscription sub = subscription;
+        if (sub != null) {
+            subscription = null;
+            // Espera o consumidor entregar os eventos pendentes
+            bus.unsubscribe(sub);
+        }
+        try {
+            flush();
+            if (channel != null) {
+                channel.close();
+                channel = null;
+            }
+        } catch (IOException e) {
+            System.err.println("Erro ao fechar log de eventos: " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,178 @@
+package com.jonas.tetris.persistence;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.CRC32;
+
+import com.jonas.tetris.engine.GameCheckpoint;
+import com.jonas.tetris.engine.GameController;
+
+/**
+ * Partida salva para continuar depois: um {@link GameCheckpoint} num arquivo
+ * binário pequeno (cabeçalho com versão, checkpoint, CRC).
+ *
+ * Cada gravação copia o estado do controller (microssegundos, sob o lock
+ * dele), serializa num buffer reaproveitado e troca o arquivo com
+ * temporário + rename atômico, como os agregados. O autosave roda a cada
+ * {@link #AUTOSAVE_INTERVAL_MS} numa thread própria, então uma queda perde no
+ * máximo esses segundos e a thread de lógica nunca espera pelo disco.
+ */
+public class GameSaveStore implements AutoCloseable {
+    public static final Path DEFAULT_FILE = Paths.get("tetris_save.dat");
+    public static final long AUTOSAVE_INTERVAL_MS = 3000;
+
+    static final int MAGIC = 0x54534156; // "TSAV"
+    static final int HEADER_SIZE = 8;
+
+    private final Path file;
+    private final Path temp;
+    private final GameCheckpoint checkpoint = new GameCheckpoint();
+    private final ByteBuffer buffer = ByteBuffer.allocateDirect(HEADER_SIZE + GameCheckpoint.MAX_BYTES + 4)
+            .order(ByteOrder.LITTLE_ENDIAN);
+    private final CRC32 crc = new CRC32();
+    private ScheduledExecutorService autosave;
+
+    public GameSaveStore(Path file) {
+        this.file = file;
+        this.temp = file.resolveSibling(file.getFileName() + ".tmp");
+    }
+
+    /**
+     * Salva a partida em andamento.
+     *
+     * @return false se não havia partida para salvar (nada é escrito)
+     */
+    public synchronized boolean save(GameController controller) throws IOException {
+        if (!capture(controller)) {
+            return false;
+        }
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            channel.force(true);
+        }
+        Files.move(temp, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        return true;
+    }
+
+    /**
+     * Copia o estado e serializa no buffer, pronto para escrita. É a parte
+     * que concorre com a thread de lógica; fica bem abaixo de 1 ms.
+     */
+    synchronized boolean capture(GameController controller) {
+        if (!controller.checkpoint(checkpoint)) {
+            return false;
+        }
+        buffer.clear();
+        buffer.putInt(MAGIC).putShort(GameCheckpoint.FORMAT_VERSION).putShort((short) 0);
+        checkpoint.writeTo(buffer);
+        int end = buffer.position();
+
+        buffer.flip();
+        crc.reset();
+        crc.update(buffer);
+        buffer.limit(end + 4);
+        buffer.putInt(end, (int) crc.getValue());
+        buffer.position(0);
+        return true;
+    }
+
+    /**
+     * Bytes da última gravação (cabeçalho e CRC incluídos).
+     */
+    synchronized int size() {
+        return buffer.limit();
+    }
+
+    /**
+     * Começa a salvar {@code controller} a cada {@link #AUTOSAVE_INTERVAL_MS}.
+     * Erros de disco só são avisados; a próxima tentativa segue normalmente.
+     */
+    public synchronized void startAutosave(GameController controller) {
+        stopAutosave();
+        autosave = Executors.newSingleThreadScheduledExecutor(task -> {
+            Thread thread = new Thread(task, "tetris-autosave");
+            thread.setDaemon(true);
+            return thread;
+        });
+        autosave.scheduleWithFixedDelay(() -> {
+            try {
+                save(controller);
+            } catch (IOException e) {
+                System.err.println("Erro no autosave: " + e.getMessage());
+            }
+        }, AUTOSAVE_INTERVAL_MS, AUTOSAVE_INTERVAL_MS, TimeUnit.MILLISECONDS);
+    }
+
+    public synchronized void stopAutosave() {
+        if (autosave != null) {
+            autosave.shutdown(); // Cancela as próximas; uma gravação em curso termina
+            autosave = null;
+        }
+    }
+
+    /**
+     * Para o autosave e apaga o arquivo (partida terminada). Sincronizado
+     * com {@link #save(GameController)}: nenhuma gravação ressuscita o
+     * arquivo depois disso.
+     */
+    public synchronized void discard() {
+        stopAutosave();
+        delete(file);
+    }
+
+    /**
+     * Para o autosave; a partida salva continua no disco.
+     */
+    @Override
+    public void close() {
+        stopAutosave();
+    }
+
+    public static boolean exists(Path file) {
+        return Files.isRegularFile(file);
+    }
+
+    /**
+     * Lê a partida salva. Arquivo ausente, truncado ou com CRC errado vira
+     * {@link IOException}.
+     */
+    public static GameCheckpoint load(Path file) throws IOException {
+        ByteBuffer data = ByteBuffer.wrap(Files.readAllBytes(file)).order(ByteOrder.LITTLE_ENDIAN);
+        if (data.remaining() < HEADER_SIZE + 4) {
+            throw new IOException("arquivo incompleto");
+        }
+        CRC32 check = new CRC32();
+        check.update(data.array(), 0, data.limit() - 4);
+        if ((int) check.getValue() != data.getInt(data.limit() - 4)) {
+            throw new IOException("CRC não confere");
+        }
+        if (data.getInt() != MAGIC) {
+            throw new IOException("não é uma partida salva");
+        }
+        short version = data.getShort();
+        data.getShort();
+        data.limit(data.limit() - 4);
+        return GameCheckpoint.readFrom(data, version);
+    }
+
+    public static void delete(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            System.err.println("Erro ao apagar partida salva: " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,245 @@
+package com.jonas.tetris.persistence;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.CRC32;
+
+/**
+ * Leaderboard com todas as partidas terminadas.
+ *
+ * As entradas ficam num log binário só de acréscimo, com registros de
+ * tamanho fixo e CRC; ao abrir, o log é lido uma vez para reconstruir o
+ * {@link RankIndex} em memória, e um registro final incompleto (queda no
+ * meio da escrita) é descartado. Cada acréscimo é sincronizado com o disco
+ * ({@code force}) antes de entrar no índice, e registros nunca são
+ * reescritos: uma escrita interrompida só pode afetar o último registro,
+ * que o CRC detecta. O índice guarda só a pontuação: as demais
+ * colunas são lidas do arquivo pela posição, quando pedidas.
+ *
+ * Top-N e posição de uma pontuação custam O(log n) por entrada.
+ */
+public class Leaderboard implements AutoCloseable {
+    public static final Path DEFAULT_FILE = Paths.get("tetris_leaderboard.dat");
+
+    static final int MAGIC = 0x544C4244; // "TLBD"
+    static final short VERSION = 1;
+    static final int HEADER_SIZE = 16;
+    static final int RECORD_SIZE = 64;
+    static final int MODE_BYTES = 27;
+    private static final int CRC_OFFSET = RECORD_SIZE - 4;
+    private static final int SCAN_BUFFER_RECORDS = 1024;
+
+    private final Path file;
+    private final FileChannel channel;
+    private final RankIndex index = new RankIndex();
+    private final ByteBuffer record = ByteBuffer.allocate(RECORD_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+    private final CRC32 crc = new CRC32();
+
+    private Leaderboard(Path file, FileChannel channel) {
+        this.file = file;
+        this.channel = channel;
+    }
+
+    /**
+     * Abre (ou cria) o leaderboard e reconstrói o índice.
+     */
+    public static Leaderboard open(Path file) throws IOException {
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE);
+        Leaderboard leaderboard = new Leaderboard(file, channel);
+        try {
+            leaderboard.load();
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+        return leaderboard;
+    }
+
+    private void load() throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+        if (channel.size() < HEADER_SIZE) {
+            // Arquivo novo (ou cabeçalho incompleto: nada foi gravado ainda)
+            header.putInt(MAGIC).putShort(VERSION).putShort((short) RECORD_SIZE);
+            header.clear();
+            channel.truncate(0);
+            channel.write(header, 0);
+            channel.force(true);
+            return;
+        }
+
+        channel.read(header, 0);
+        header.flip();
+        if (header.getInt() != MAGIC) {
+            throw new IOException(file + " não é um leaderboard");
+        }
+        short version = header.getShort();
+        if (version != VERSION || header.getShort() != RECORD_SIZE) {
+            throw new IOException(file + ": versão " + version + " não suportada");
+        }
+
+        ByteBuffer chunk = ByteBuffer.allocate(RECORD_SIZE * SCAN_BUFFER_RECORDS).order(ByteOrder.LITTLE_ENDIAN);
+        int[] scores = new int[(int) ((channel.size() - HEADER_SIZE) / RECORD_SIZE)];
+        int loaded = 0;
+        long position = HEADER_SIZE;
+        long end = channel.size();
+        scan:
+        while (position + RECORD_SIZE <= end) {
+            chunk.clear();
+            int read = 0;
+            while (chunk.hasRemaining() && position + read < end) {
+                int n = channel.read(chunk, position + read);
+                if (n < 0) {
+                    break;
+                }
+                read += n;
+            }
+            chunk.flip();
+            while (chunk.remaining() >= RECORD_SIZE) {
+                int start = chunk.position();
+                if (!validRecord(chunk, start)) {
+                    break scan;
+                }
+                scores[loaded++] = chunk.getInt(start);
+                chunk.position(start + RECORD_SIZE);
+                position += RECORD_SIZE;
+            }
+        }
+
+        index.build(scores, loaded);
+
+        // Descartar o que sobrou depois do último registro válido
+        if (position != end) {
+            channel.truncate(position);
+        }
+    }
+
+    private boolean validRecord(ByteBuffer buffer, int start) {
+        int limit = buffer.limit();
+        crc.reset();
+        buffer.limit(start + CRC_OFFSET);
+        crc.update(buffer); // avança a posição até o CRC
+        buffer.limit(limit);
+        return (int) crc.getValue() == buffer.getInt(start + CRC_OFFSET);
+    }
+
+    /**
+     * Registra uma partida no fim do log.
+     *
+     * @return posição da partida no ranking (1 = melhor)
+     */
+    public synchronized int record(ScoreEntry entry) throws IOException {
+        int rank = index.countAtOrAbove(entry.getScore()) + 1;
+
+        encode(entry);
+        long position = HEADER_SIZE + (long) index.size() * RECORD_SIZE;
+        while (record.hasRemaining()) {
+            channel.write(record, position + record.position());
+        }
+        channel.force(false);
+        index.add(entry.getScore());
+        return rank;
+    }
+
+    private void encode(ScoreEntry entry) {
+        byte[] mode = entry.getMode().getBytes(StandardCharsets.UTF_8);
+        int modeLength = Math.min(mode.length, MODE_BYTES);
+
+        record.clear();
+        record.putInt(entry.getScore());
+        record.putInt(entry.getLines());
+        record.putInt(entry.getLevel());
+        record.putInt(entry.getPieces());
+        record.putLong(entry.getDurationMs());
+        record.putLong(entry.getTimestampMillis());
+        record.put((byte) modeLength);
+        record.put(mode, 0, modeLength);
+        while (record.position() < CRC_OFFSET) {
+            record.put((byte) 0);
+        }
+
+        crc.reset();
+        crc.update(record.array(), 0, CRC_OFFSET);
+        record.putInt((int) crc.getValue());
+        record.flip();
+    }
+
+    private ScoreEntry read(int id) throws IOException {
+        record.clear();
+        long position = HEADER_SIZE + (long) id * RECORD_SIZE;
+        while (record.hasRemaining()) {
+            if (channel.read(record, position + record.position()) < 0) {
+                throw new IOException("Registro " + id + " incompleto");
+            }
+        }
+        record.flip();
+
+        int score = record.getInt();
+        int lines = record.getInt();
+        int level = record.getInt();
+        int pieces = record.getInt();
+        long durationMs = record.getLong();
+        long timestamp = record.getLong();
+        int modeLength = Math.min(record.get() & 0xFF, MODE_BYTES);
+        String mode = new String(record.array(), record.position(), modeLength, StandardCharsets.UTF_8);
+        return new ScoreEntry(score, lines, level, pieces, durationMs, mode, timestamp);
+    }
+
+    /**
+     * As {@code n} melhores partidas, da melhor para a pior.
+     */
+    public synchronized List<ScoreEntry> top(int n) throws IOException {
+        int limit = Math.min(n, index.size());
+        List<ScoreEntry> entries = new ArrayList<>(Math.max(0, limit));
+        for (int rank = 0; rank < limit; rank++) {
+            entries.add(read(index.select(rank)));
+        }
+        return entries;
+    }
+
+    /**
+     * Partida pela ordem de gravação (0 = primeira).
+     */
+    public synchronized ScoreEntry get(int id) throws IOException {
+        if (id < 0 || id >= index.size()) {
+            throw new IndexOutOfBoundsException("Partida " + id + " de " + index.size());
+        }
+        return read(id);
+    }
+
+    /**
+     * Posição que uma partida com essa pontuação teria (1 = melhor).
+     */
+    public synchronized int rankOf(int score) {
+        return index.countAbove(score) + 1;
+    }
+
+    /**
+     * Maior pontuação registrada, ou 0 se não houver partidas.
+     */
+    public synchronized int getHighScore() {
+        return index.size() == 0 ? 0 : index.scoreOf(index.select(0));
+    }
+
+    public synchronized int size() {
+        return index.size();
+    }
+
+    public Path getFile() {
+        return file;
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        channel.close();
+    }
+}
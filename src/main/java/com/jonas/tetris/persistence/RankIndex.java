@@ -0,0 +1,262 @@
+package com.jonas.tetris.persistence;
+
+import java.util.Arrays;
+
+/**
+ * Índice de ranking: treap de estatística de ordem sobre arrays primitivos.
+ * Cada nó é uma entrada do leaderboard (o índice do nó é o id da entrada) e
+ * guarda o tamanho da subárvore, o que permite achar a k-ésima maior
+ * pontuação e a posição de uma pontuação em O(log n) esperado.
+ *
+ * Ordem: pontuação decrescente; empate, a entrada mais antiga (id menor)
+ * fica na frente. Os campos de cada nó ficam lado a lado num único int[]
+ * (16 bytes por entrada, sem objetos por nó), então descer um nível custa
+ * uma falta de cache, não quatro.
+ */
+final class RankIndex {
+    private static final int NIL = -1;
+    private static final int INITIAL_CAPACITY = 1024;
+
+    // Nó n ocupa nodes[n * STRIDE .. n * STRIDE + 3]
+    private static final int STRIDE = 4;
+    private static final int SCORE = 0;
+    private static final int LEFT = 1;
+    private static final int RIGHT = 2;
+    private static final int SIZE = 3;
+
+    private int[] nodes = new int[INITIAL_CAPACITY * STRIDE];
+    private int count;
+    private int root = NIL;
+
+    // Resultado do split (evita alocar um par por chamada)
+    private int splitLeft;
+    private int splitRight;
+
+    int size() {
+        return count;
+    }
+
+    /**
+     * Adiciona a próxima entrada (id = {@link #size()}).
+     *
+     * @return id da entrada
+     */
+    int add(int score) {
+        int node = count;
+        if ((node + 1) * STRIDE > nodes.length) {
+            nodes = Arrays.copyOf(nodes, nodes.length * 2);
+        }
+        int base = node * STRIDE;
+        nodes[base + SCORE] = score;
+        nodes[base + LEFT] = NIL;
+        nodes[base + RIGHT] = NIL;
+        nodes[base + SIZE] = 1;
+        count++;
+
+        split(root, score, node);
+        root = merge(merge(splitLeft, node), splitRight);
+        return node;
+    }
+
+    /**
+     * Monta o índice de uma vez com as {@code n} primeiras pontuações (ids 0
+     * a n-1), para a abertura do leaderboard: ordena as chaves e constrói o
+     * treap em tempo linear a partir da sequência ordenada, em vez de n
+     * inserções com acessos aleatórios à memória.
+     */
+    void build(int[] scoresById, int n) {
+        if (count != 0) {
+            throw new IllegalStateException("Índice já populado");
+        }
+        if (n == 0) {
+            return;
+        }
+        int capacity = Math.max(INITIAL_CAPACITY, Integer.highestOneBit(n - 1) << 1);
+        if (capacity * STRIDE > nodes.length) {
+            nodes = new int[capacity * STRIDE];
+        }
+
+        // Chave de ordenação: pontuação decrescente, depois id crescente
+        long[] keys = new long[n];
+        for (int id = 0; id < n; id++) {
+            long inverted = (long) Integer.MAX_VALUE - scoresById[id]; // 0 .. 2^32-1
+            keys[id] = ((inverted << 32) | id) ^ Long.MIN_VALUE;
+        }
+        Arrays.sort(keys);
+
+        // Árvore cartesiana pela prioridade, com uma pilha do caminho mais à direita
+        int[] stack = new int[n];
+        int top = -1;
+        for (int i = 0; i < n; i++) {
+            int node = (int) keys[i];
+            int base = node * STRIDE;
+            nodes[base + SCORE] = scoresById[node];
+            nodes[base + RIGHT] = NIL;
+
+            int last = NIL;
+            while (top >= 0 && priority(stack[top]) < priority(node)) {
+                last = stack[top--];
+                update(last); // filhos de quem sai da pilha já estão completos
+            }
+            nodes[base + LEFT] = last;
+            if (top >= 0) {
+                setRight(stack[top], node);
+            }
+            stack[++top] = node;
+        }
+        while (top >= 0) {
+            update(stack[top--]);
+        }
+        root = stack[0];
+        count = n;
+    }
+
+    /**
+     * Id da entrada na posição {@code rank} (0 = maior pontuação).
+     */
+    int select(int rank) {
+        if (rank < 0 || rank >= count) {
+            throw new IndexOutOfBoundsException("Posição " + rank + ", tamanho " + count);
+        }
+        int t = root;
+        while (true) {
+            int leftSize = sizeOf(left(t));
+            if (rank < leftSize) {
+                t = left(t);
+            } else if (rank == leftSize) {
+                return t;
+            } else {
+                rank -= leftSize + 1;
+                t = right(t);
+            }
+        }
+    }
+
+    /**
+     * Quantas entradas têm pontuação estritamente maior.
+     */
+    int countAbove(int score) {
+        int above = 0;
+        int t = root;
+        while (t != NIL) {
+            if (scoreAt(t) > score) {
+                above += sizeOf(left(t)) + 1;
+                t = right(t);
+            } else {
+                t = left(t);
+            }
+        }
+        return above;
+    }
+
+    /**
+     * Quantas entradas têm pontuação maior ou igual.
+     */
+    int countAtOrAbove(int score) {
+        int above = 0;
+        int t = root;
+        while (t != NIL) {
+            if (scoreAt(t) >= score) {
+                above += sizeOf(left(t)) + 1;
+                t = right(t);
+            } else {
+                t = left(t);
+            }
+        }
+        return above;
+    }
+
+    int scoreOf(int id) {
+        return scoreAt(id);
+    }
+
+    /**
+     * O nó {@code t} vem antes da chave (score, id) na ordem do ranking.
+     */
+    private boolean before(int t, int score, int id) {
+        return scoreAt(t) > score || (scoreAt(t) == score && t < id);
+    }
+
+    /**
+     * Divide a subárvore em nós antes da chave (splitLeft) e depois
+     * (splitRight).
+     */
+    private void split(int t, int score, int id) {
+        if (t == NIL) {
+            splitLeft = NIL;
+            splitRight = NIL;
+            return;
+        }
+        if (before(t, score, id)) {
+            split(right(t), score, id);
+            setRight(t, splitLeft);
+            update(t);
+            splitLeft = t;
+        } else {
+            split(left(t), score, id);
+            setLeft(t, splitRight);
+            update(t);
+            splitRight = t;
+        }
+    }
+
+    /**
+     * Junta duas subárvores, com todos os nós de {@code a} antes dos de {@code b}.
+     */
+    private int merge(int a, int b) {
+        if (a == NIL) {
+            return b;
+        }
+        if (b == NIL) {
+            return a;
+        }
+        if (priority(a) > priority(b)) {
+            setRight(a, merge(right(a), b));
+            update(a);
+            return a;
+        }
+        setLeft(b, merge(a, left(b)));
+        update(b);
+        return b;
+    }
+
+    private void update(int t) {
+        nodes[t * STRIDE + SIZE] = sizeOf(left(t)) + sizeOf(right(t)) + 1;
+    }
+
+    private int sizeOf(int t) {
+        return t == NIL ? 0 : nodes[t * STRIDE + SIZE];
+    }
+
+    /**
+     * Prioridade pseudoaleatória derivada do id (hash de mistura): a árvore
+     * fica balanceada em média e é reconstruída igual a cada abertura.
+     */
+    private static int priority(int id) {
+        int h = id * 0x9E3779B9;
+        h ^= h >>> 16;
+        h *= 0x85EBCA6B;
+        h ^= h >>> 13;
+        return h;
+    }
+
+    private int scoreAt(int t) {
+        return nodes[t * STRIDE + SCORE];
+    }
+
+    private int left(int t) {
+        return nodes[t * STRIDE + LEFT];
+    }
+
+    private int right(int t) {
+        return nodes[t * STRIDE + RIGHT];
+    }
+
+    private void setLeft(int t, int child) {
+        nodes[t * STRIDE + LEFT] = child;
+    }
+
+    private void setRight(int t, int child) {
+        nodes[t * STRIDE + RIGHT] = child;
+    }
+}
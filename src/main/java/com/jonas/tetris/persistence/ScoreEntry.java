@@ -0,0 +1,57 @@
+package com.jonas.tetris.persistence;
+
+/**
+ * Uma partida terminada, como registrada no {@link Leaderboard}.
+ */
+public class ScoreEntry {
+    private final int score;
+    private final int lines;
+    private final int level;
+    private final int pieces;
+    private final long durationMs;
+    private final String mode;
+    private final long timestampMillis;
+
+    /**
+     * @param mode            modo de jogo (ex.: curva de velocidade usada)
+     * @param timestampMillis fim da partida (epoch)
+     */
+    public ScoreEntry(int score, int lines, int level, int pieces, long durationMs, String mode,
+            long timestampMillis) {
+        this.score = score;
+        this.lines = lines;
+        this.level = level;
+        this.pieces = pieces;
+        this.durationMs = durationMs;
+        this.mode = mode == null ? "" : mode;
+        this.timestampMillis = timestampMillis;
+    }
+
+    public int getScore() {
+        return score;
+    }
+
+    public int getLines() {
+        return lines;
+    }
+
+    public int getLevel() {
+        return level;
+    }
+
+    public int getPieces() {
+        return pieces;
+    }
+
+    public long getDurationMs() {
+        return durationMs;
+    }
+
+    public String getMode() {
+        return mode;
+    }
+
+    public long getTimestampMillis() {
+        return timestampMillis;
+    }
+}
@@ -2,56 +2,200 @@ package com.jonas.tetris.persistence;
 
 import java.io.IOException;
 import java.nio.file.Files;
+import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import com.jonas.tetris.domain.Tetromino;
+import com.jonas.tetris.engine.GameState;
 
 /**
- * Repositório para persistência de recordes em arquivo.
- * Usa formato simples de texto.
+ * Repositório de recordes e estatísticas: fachada estática sobre o
+ * {@link ScoreService}
+ * padrão, criado na primeira chamada. Gravações e leituras rodam na thread
+ * de escrita do serviço; os métodos que devolvem {@link CompletableFuture}
+ * podem ser chamados do EDT, os demais bloqueiam até o disco responder.
+ *
+ * O recorde do formato antigo ({@code tetris_scores.txt}, uma linha
+ * {@code high_score=}) é importado uma vez, quando o leaderboard ainda está
+ * vazio. Na saída da JVM as gravações pendentes são concluídas.
  */
 public class ScoreRepository {
-    private static final String SCORES_FILE = "tetris_scores.txt";
+    private static final Path LEGACY_SCORES_FILE = Paths.get("tetris_scores.txt");
     private static final String HIGH_SCORE_KEY = "high_score=";
+    public static final String LEGACY_MODE = "legacy";
 
-    /**
-     * Retorna o recorde salvo, ou 0 se não existir.
-     */
-    public static int getHighScore() {
-        try {
-            if (Files.exists(Paths.get(SCORES_FILE))) {
-                String content = Files.readString(Paths.get(SCORES_FILE));
-                if (content.startsWith(HIGH_SCORE_KEY)) {
-                    String scoreStr = content.substring(HIGH_SCORE_KEY.length()).trim();
-                    return Integer.parseInt(scoreStr);
+    private static ScoreService service;
+    private static boolean shutdownHookInstalled;
+
+    private static synchronized ScoreService service() {
+        if (service == null) {
+            service = new ScoreService(Leaderboard.DEFAULT_FILE, StatsHistory.DEFAULT_FILE,
+                    StatsAggregator.DEFAULT_FILE);
+            service.submit(board -> {
+                if (board.size() == 0) {
+                    importLegacyScore(board);
                 }
+                return null;
+            });
+            if (!shutdownHookInstalled) {
+                shutdownHookInstalled = true;
+                Runtime.getRuntime().addShutdownHook(new Thread(ScoreRepository::close, "tetris-scores-flush"));
+            }
+        }
+        return service;
+    }
+
+    private static void importLegacyScore(Leaderboard target) {
+        try {
+            if (!Files.exists(LEGACY_SCORES_FILE)) {
+                return;
+            }
+            String content = Files.readString(LEGACY_SCORES_FILE);
+            if (content.startsWith(HIGH_SCORE_KEY)) {
+                int score = Integer.parseInt(content.substring(HIGH_SCORE_KEY.length()).trim());
+                long timestamp = Files.getLastModifiedTime(LEGACY_SCORES_FILE).toMillis();
+                target.record(new ScoreEntry(score, 0, 0, 0, 0, LEGACY_MODE, timestamp));
             }
         } catch (IOException | NumberFormatException e) {
-            System.err.println("Erro ao ler recordes: " + e.getMessage());
+            System.err.println("Erro ao importar recorde antigo: " + e.getMessage());
         }
-        return 0;
+    }
+
+    private static <T> CompletableFuture<T> withFallback(CompletableFuture<T> future, String error, T fallback) {
+        return future.exceptionally(e -> {
+            Throwable cause = e.getCause() != null ? e.getCause() : e;
+            System.err.println(error + ": " + cause.getMessage());
+            return fallback;
+        });
     }
 
     /**
-     * Salva o recorde se for maior que o atual.
+     * Recorde salvo (0 se não existir), sem bloquear quem chama.
      */
-    public static void saveScore(int score) {
-        int currentHighScore = getHighScore();
-        if (score > currentHighScore) {
-            try {
-                String content = HIGH_SCORE_KEY + score;
-                Files.writeString(Paths.get(SCORES_FILE), content);
-                System.out.println("Novo recorde salvo: " + score);
-            } catch (IOException e) {
-                System.err.println("Erro ao salvar recorde: " + e.getMessage());
+    public static CompletableFuture<Integer> loadHighScore() {
+        return withFallback(service().highScore(), "Erro ao ler recordes", 0);
+    }
+
+    /**
+     * Retorna o recorde salvo, ou 0 se não existir. Depois da primeira
+     * leitura vem do cache.
+     */
+    public static int getHighScore() {
+        return loadHighScore().join();
+    }
+
+    /**
+     * Enfileira a gravação de uma partida terminada.
+     *
+     * @return future com a posição no ranking (1 = melhor), ou -1 se não foi
+     *         possível gravar
+     */
+    public static CompletableFuture<Integer> recordGame(ScoreEntry entry) {
+        CompletableFuture<Integer> rank = service().record(entry).thenApply(position -> {
+            if (position == 1) {
+                System.out.println("Novo recorde salvo: " + entry.getScore());
             }
+            return position;
+        });
+        return withFallback(rank, "Erro ao salvar recorde", -1);
+    }
+
+    /**
+     * Enfileira a gravação das estatísticas de uma partida terminada. Os
+     * valores são copiados do snapshot antes de retornar.
+     */
+    public static CompletableFuture<Void> recordStats(GameState state, long timestampMillis) {
+        int score = state.getScore();
+        int lines = state.getTotalLines();
+        long durationMs = state.getElapsedTimeMs();
+        int[] pieces = new int[Tetromino.Type.values().length];
+        for (Tetromino.Type type : Tetromino.Type.values()) {
+            pieces[type.ordinal()] = state.getPieceCount(type);
+        }
+        int[] clears = new int[GameState.MAX_CLEAR];
+        for (int size = 1; size <= GameState.MAX_CLEAR; size++) {
+            clears[size - 1] = state.getClearCount(size);
+        }
+        CompletableFuture<Void> written = service().submitStats(history -> {
+            history.append(score, lines, durationMs, timestampMillis, pieces, clears);
+            return null;
+        });
+        return withFallback(written, "Erro ao salvar estatísticas", null);
+    }
+
+    /**
+     * Resumo do histórico de estatísticas, calculado na thread de escrita;
+     * {@code recent} é quantas partidas entram nas tendências.
+     *
+     * @return future com o resumo, ou {@code null} se não foi possível ler
+     */
+    public static CompletableFuture<StatsSummary> loadStatistics(int recent) {
+        return withFallback(service().submitStats(history -> history.summarize(recent)),
+                "Erro ao ler estatísticas", null);
+    }
+
+    /**
+     * Agregados de todas as partidas (médias, percentis, melhores por modo),
+     * lidos sem percorrer o histórico.
+     *
+     * @return future com os agregados, ou {@code null} se não foi possível ler
+     */
+    public static CompletableFuture<StatsAggregator> loadAggregates() {
+        return withFallback(service().loadAggregates(), "Erro ao ler estatísticas", null);
+    }
+
+    /**
+     * As {@code n} melhores partidas (bloqueia).
+     */
+    public static List<ScoreEntry> getTopScores(int n) {
+        return withFallback(service().top(n), "Erro ao ler recordes", Collections.<ScoreEntry>emptyList()).join();
+    }
+
+    /**
+     * Total de partidas registradas (0 se não foi possível ler), sem
+     * bloquear quem chama.
+     */
+    public static CompletableFuture<Integer> loadGameCount() {
+        return withFallback(service().gameCount(), "Erro ao ler recordes", 0);
+    }
+
+    /**
+     * Total de partidas registradas (bloqueia só na primeira leitura).
+     */
+    public static int getGameCount() {
+        return loadGameCount().join();
+    }
+
+    /**
+     * Espera as gravações enfileiradas até agora.
+     */
+    public static void flush() {
+        withFallback(service().submit(board -> null), "Erro ao gravar recordes", null).join();
+    }
+
+    /**
+     * Conclui as gravações pendentes e libera o arquivo.
+     */
+    public static synchronized void close() {
+        if (service != null) {
+            service.close();
+            service = null;
         }
     }
 
     /**
-     * Limpa o arquivo de recordes (para testes).
+     * Limpa os recordes (para testes).
      */
-    public static void clearScores() {
+    public static synchronized void clearScores() {
+        close();
         try {
-            Files.deleteIfExists(Paths.get(SCORES_FILE));
+            Files.deleteIfExists(Leaderboard.DEFAULT_FILE);
+            Files.deleteIfExists(StatsHistory.DEFAULT_FILE);
+            Files.deleteIfExists(StatsAggregator.DEFAULT_FILE);
+            Files.deleteIfExists(LEGACY_SCORES_FILE);
         } catch (IOException e) {
             System.err.println("Erro ao limpar recordes: " + e.getMessage());
         }
@@ -0,0 +1,275 @@
+package com.jonas.tetris.persistence;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.jonas.tetris.metrics.GameMetrics;
+
+/**
+ * Serviço de recordes com uma thread de escrita própria.
+ *
+ * Todo acesso ao {@link Leaderboard}, ao {@link StatsHistory} e ao
+ * {@link StatsAggregator} (abrir, gravar, ler) vira uma tarefa numa fila e
+ * roda em ordem na thread {@code tetris-scores}; quem chama recebe um
+ * {@link CompletableFuture} e nunca espera pelo disco. O recorde
+ * e o total de partidas ficam em cache: a primeira leitura busca no
+ * leaderboard, e cada gravação atualiza o cache já ao entrar na fila.
+ */
+public class ScoreService implements AutoCloseable {
+    private static final long CLOSE_TIMEOUT_MS = 5000;
+    private static final int UNKNOWN = -1;
+
+    /**
+     * Operação executada na thread de escrita com o leaderboard aberto.
+     */
+    @FunctionalInterface
+    public interface Task<T> {
+        T run(Leaderboard board) throws IOException;
+    }
+
+    /**
+     * Operação executada na thread de escrita com o histórico aberto.
+     */
+    @FunctionalInterface
+    public interface StatsTask<T> {
+        T run(StatsHistory history) throws IOException;
+    }
+
+    private interface Job<T> {
+        T run() throws IOException;
+    }
+
+    private final Path file;
+    private final Path statsFile;
+    private final Path aggregatesFile;
+    private final BlockingQueue<Runnable> queue = new LinkedBlockingQueue<>();
+    private final Thread writer;
+    private final Runnable shutdown = () -> { };
+    private final AtomicInteger highScore = new AtomicInteger(UNKNOWN);
+    private volatile int gameCount = UNKNOWN;
+    private boolean closed; // Protegido pelo lock da fila
+
+    // Só acessado pela thread de escrita
+    private Leaderboard board;
+    private StatsHistory stats;
+    private StatsAggregator aggregates;
+
+    public ScoreService(Path file, Path statsFile, Path aggregatesFile) {
+        this.file = file;
+        this.statsFile = statsFile;
+        this.aggregatesFile = aggregatesFile;
+        writer = new Thread(this::run, "tetris-scores");
+        writer.setDaemon(true); // Pendências são gravadas por close(), não pela JVM
+        writer.start();
+    }
+
+    private void run() {
+        try {
+            while (true) {
+                Runnable task = queue.take();
+                if (task == shutdown) {
+                    break;
+                }
+                task.run();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            closeBoard();
+        }
+    }
+
+    private Leaderboard board() throws IOException {
+        if (board == null) {
+            board = Leaderboard.open(file);
+            refreshCache();
+        }
+        return board;
+    }
+
+    private StatsHistory stats() throws IOException {
+        if (stats == null) {
+            stats = StatsHistory.open(statsFile);
+        }
+        return stats;
+    }
+
+    /**
+     * Agregados em dia com o leaderboard: partidas gravadas depois do último
+     * salvamento (queda entre as duas escritas) são somadas de novo aqui.
+     */
+    private StatsAggregator aggregates() throws IOException {
+        if (aggregates == null) {
+            Leaderboard leaderboard = board();
+            StatsAggregator loaded = StatsAggregator.load(aggregatesFile);
+            if (loaded.getGames() > leaderboard.size()) {
+                loaded = new StatsAggregator(); // Leaderboard apagado ou trocado
+            }
+            int from = (int) loaded.getGames();
+            for (int id = from; id < leaderboard.size(); id++) {
+                loaded.record(leaderboard.get(id));
+            }
+            aggregates = loaded;
+            if (from < leaderboard.size()) {
+                saveAggregates();
+            }
+        }
+        return aggregates;
+    }
+
+    private void saveAggregates() {
+        try {
+            aggregates.save(aggregatesFile);
+        } catch (IOException e) {
+            // O leaderboard continua sendo a fonte: na próxima abertura recalcula
+            System.err.println("Erro ao salvar agregados: " + e.getMessage());
+        }
+    }
+
+    private void refreshCache() {
+        if (board == null) {
+            return;
+        }
+        highScore.accumulateAndGet(board.getHighScore(), Math::max);
+        gameCount = board.size();
+    }
+
+    private void closeBoard() {
+        try {
+            if (board != null) {
+                board.close();
+            }
+            if (stats != null) {
+                stats.close();
+            }
+        } catch (IOException e) {
+            System.err.println("Erro ao fechar recordes: " + e.getMessage());
+        }
+        board = null;
+        stats = null;
+    }
+
+    /**
+     * Enfileira uma operação; o future falha com a {@link IOException} se o
+     * disco falhar, e com {@link IllegalStateException} após {@link #close()}.
+     */
+    public <T> CompletableFuture<T> submit(Task<T> task) {
+        return enqueue(() -> task.run(board()));
+    }
+
+    /**
+     * Como {@link #submit}, para o histórico de estatísticas.
+     */
+    public <T> CompletableFuture<T> submitStats(StatsTask<T> task) {
+        return enqueue(() -> task.run(stats()));
+    }
+
+    private <T> CompletableFuture<T> enqueue(Job<T> job) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        Runnable wrapped = () -> {
+            try {
+                T value = job.run();
+                refreshCache();
+                result.complete(value);
+            } catch (IOException | RuntimeException e) {
+                result.completeExceptionally(e);
+            }
+        };
+        synchronized (queue) {
+            if (closed) {
+                result.completeExceptionally(new IllegalStateException("Serviço de recordes fechado"));
+            } else {
+                queue.add(wrapped);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Grava uma partida terminada.
+     *
+     * @return future com a posição no ranking (1 = melhor)
+     */
+    public CompletableFuture<Integer> record(ScoreEntry entry) {
+        int score = entry.getScore();
+        highScore.updateAndGet(current -> current == UNKNOWN ? UNKNOWN : Math.max(current, score));
+        return submit(board -> {
+            long start = System.nanoTime();
+            StatsAggregator current = aggregates();
+            int rank = board.record(entry);
+            current.record(entry);
+            saveAggregates();
+            GameMetrics.SCORE_WRITE_DURATION.record(System.nanoTime() - start);
+            GameMetrics.SCORE_WRITES.increment();
+            return rank;
+        });
+    }
+
+    /**
+     * Agregados de todas as partidas. O objeto é o mesmo que a thread de
+     * escrita atualiza; os getters são sincronizados.
+     */
+    public CompletableFuture<StatsAggregator> loadAggregates() {
+        return enqueue(this::aggregates);
+    }
+
+    public CompletableFuture<List<ScoreEntry>> top(int n) {
+        return submit(board -> board.top(n));
+    }
+
+    /**
+     * Recorde sem acessar o disco se já estiver em cache.
+     */
+    public CompletableFuture<Integer> highScore() {
+        int cached = highScore.get();
+        if (cached != UNKNOWN) {
+            return CompletableFuture.completedFuture(cached);
+        }
+        return submit(Leaderboard::getHighScore).thenApply(ignored -> highScore.get());
+    }
+
+    /**
+     * Total de partidas gravadas, sem acessar o disco se já estiver em cache.
+     */
+    public CompletableFuture<Integer> gameCount() {
+        int cached = gameCount;
+        if (cached != UNKNOWN) {
+            return CompletableFuture.completedFuture(cached);
+        }
+        return submit(Leaderboard::size);
+    }
+
+    /**
+     * Espera as operações enfileiradas até agora.
+     */
+    public void flush() {
+        submit(board -> null).join();
+    }
+
+    /**
+     * Grava o que estiver na fila e encerra a thread de escrita.
+     */
+    @Override
+    public void close() {
+        synchronized (queue) {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            queue.add(shutdown);
+        }
+        try {
+            writer.join(CLOSE_TIMEOUT_MS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (writer.isAlive()) {
+            System.err.println("Recordes pendentes não foram gravados a tempo");
+        }
+    }
+}
@@ -0,0 +1,330 @@
+package com.jonas.tetris.persistence;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Collections;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.zip.CRC32;
+
+import com.jonas.tetris.metrics.LatencyHistogram;
+
+/**
+ * Agregados de todas as partidas, atualizados a cada partida terminada em
+ * vez de recalculados do histórico: médias, melhores por modo e percentis
+ * de pontuação e PPS em histogramas log-lineares ({@link LatencyHistogram},
+ * erro relativo abaixo de ~3%). Partidas sem duração (o recorde importado
+ * do formato antigo) só entram na pontuação: PPS, linhas por minuto e os
+ * modos contam apenas partidas cronometradas.
+ *
+ * O estado inteiro tem tamanho fixo (não cresce com o número de partidas) e
+ * é salvo num arquivo ao lado do leaderboard, reescrito por completo num
+ * temporário e trocado com rename atômico. {@link #getGames()} diz quantas
+ * partidas do leaderboard já foram somadas, para completar o que faltar
+ * depois de uma queda.
+ */
+public class StatsAggregator {
+    public static final Path DEFAULT_FILE = Paths.get("tetris_aggregates.dat");
+
+    static final int MAGIC = 0x54414747; // "TAGG"
+    static final short VERSION = 2;
+    private static final int PPS_SCALE = 1000; // PPS guardado em milésimos
+
+    /**
+     * Totais e melhores de um modo (curva de velocidade).
+     */
+    public static class ModeStats {
+        private long games;
+        private int bestScore;
+        private float bestPps;
+
+        ModeStats() {
+        }
+
+        ModeStats(ModeStats other) {
+            games = other.games;
+            bestScore = other.bestScore;
+            bestPps = other.bestPps;
+        }
+
+        public long getGames() {
+            return games;
+        }
+
+        public int getBestScore() {
+            return bestScore;
+        }
+
+        public float getBestPps() {
+            return bestPps;
+        }
+    }
+
+    private final LatencyHistogram scores = new LatencyHistogram();
+    private final LatencyHistogram ppsMillis = new LatencyHistogram();
+    private final Map<String, ModeStats> modes = new TreeMap<>();
+    private long games;
+    private long timedGames; // com duração: as que entram em PPS e tempo
+    private long scoreSum;
+    private double ppsSum;
+    private long linesSum;
+    private long durationSum;
+    private int bestScore;
+    private float bestPps;
+
+    /**
+     * PPS de uma partida, com a mesma regra de GameState.getPiecesPerSecond.
+     */
+    static float pps(ScoreEntry entry) {
+        return entry.getDurationMs() < 1000 ? 0f
+                : (float) (entry.getPieces() / (entry.getDurationMs() / 1000.0));
+    }
+
+    /**
+     * Partida com duração conhecida; o recorde importado não tem.
+     */
+    static boolean isTimed(ScoreEntry entry) {
+        return entry.getDurationMs() > 0 && !ScoreRepository.LEGACY_MODE.equals(entry.getMode());
+    }
+
+    /**
+     * Soma uma partida terminada.
+     */
+    public synchronized void record(ScoreEntry entry) {
+        games++;
+        scoreSum += entry.getScore();
+        bestScore = Math.max(bestScore, entry.getScore());
+        scores.record(entry.getScore());
+        if (!isTimed(entry)) {
+            return;
+        }
+
+        float pps = pps(entry);
+        timedGames++;
+        ppsSum += pps;
+        linesSum += entry.getLines();
+        durationSum += entry.getDurationMs();
+        bestPps = Math.max(bestPps, pps);
+        ppsMillis.record(Math.round(pps * PPS_SCALE));
+
+        ModeStats mode = modes.computeIfAbsent(entry.getMode(), name -> new ModeStats());
+        mode.games++;
+        mode.bestScore = Math.max(mode.bestScore, entry.getScore());
+        mode.bestPps = Math.max(mode.bestPps, pps);
+    }
+
+    public synchronized long getGames() {
+        return games;
+    }
+
+    /**
+     * Partidas com duração, base de PPS, tempo e modos.
+     */
+    public synchronized long getTimedGames() {
+        return timedGames;
+    }
+
+    public synchronized double getMeanScore() {
+        return games == 0 ? 0 : (double) scoreSum / games;
+    }
+
+    public synchronized double getMeanPps() {
+        return timedGames == 0 ? 0 : ppsSum / timedGames;
+    }
+
+    /**
+     * Linhas por minuto somando todas as partidas.
+     */
+    public synchronized double getLinesPerMinute() {
+        return durationSum <= 0 ? 0 : linesSum / (durationSum / 60_000.0);
+    }
+
+    public synchronized long getTotalDurationMs() {
+        return durationSum;
+    }
+
+    public synchronized int getBestScore() {
+        return bestScore;
+    }
+
+    public synchronized float getBestPps() {
+        return bestPps;
+    }
+
+    /**
+     * Pontuação aproximada no percentil (0-100).
+     */
+    public long getScorePercentile(double percentile) {
+        return scores.getValueAtPercentile(percentile);
+    }
+
+    /**
+     * PPS aproximado no percentil (0-100).
+     */
+    public double getPpsPercentile(double percentile) {
+        return ppsMillis.getValueAtPercentile(percentile) / (double) PPS_SCALE;
+    }
+
+    /**
+     * Cópia dos agregados por modo, em ordem alfabética.
+     */
+    public synchronized Map<String, ModeStats> getModes() {
+        Map<String, ModeStats> copy = new TreeMap<>();
+        modes.forEach((name, stats) -> copy.put(name, new ModeStats(stats)));
+        return Collections.unmodifiableMap(copy);
+    }
+
+    /**
+     * Salva o estado inteiro: grava um temporário, sincroniza e troca pelo
+     * arquivo anterior com rename atômico. Uma queda no meio deixa o arquivo
+     * antigo intacto.
+     */
+    public synchronized void save(Path file) throws IOException {
+        ByteBuffer buffer = encode();
+        Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            channel.force(true);
+        }
+        Files.move(temp, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    /**
+     * Lê agregados salvos. Arquivo ausente ou inválido (CRC, versão) volta
+     * vazio: quem chama refaz a partir do leaderboard.
+     */
+    public static StatsAggregator load(Path file) {
+        StatsAggregator aggregator = new StatsAggregator();
+        try {
+            ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(file)).order(ByteOrder.LITTLE_ENDIAN);
+            aggregator.decode(buffer);
+            return aggregator;
+        } catch (NoSuchFileException e) {
+            return aggregator;
+        } catch (IOException | RuntimeException e) {
+            System.err.println("Agregados inválidos em " + file + ", recalculando: " + e.getMessage());
+            return new StatsAggregator();
+        }
+    }
+
+    private ByteBuffer encode() {
+        int modeBytes = 0;
+        for (String name : modes.keySet()) {
+            modeBytes += 1 + Math.min(255, name.getBytes(StandardCharsets.UTF_8).length) + 16;
+        }
+        int histogramBytes = 2 * (4 + scores.getBucketCount() * 12);
+        ByteBuffer buffer = ByteBuffer.allocate(72 + histogramBytes + 4 + modeBytes + 4)
+                .order(ByteOrder.LITTLE_ENDIAN);
+
+        buffer.putInt(MAGIC).putShort(VERSION).putShort((short) 0);
+        buffer.putLong(games).putLong(timedGames).putLong(scoreSum).putDouble(ppsSum).putLong(linesSum).putLong(durationSum);
+        buffer.putInt(bestScore).putFloat(bestPps);
+        putHistogram(buffer, scores);
+        putHistogram(buffer, ppsMillis);
+
+        buffer.putInt(modes.size());
+        for (Map.Entry<String, ModeStats> mode : modes.entrySet()) {
+            byte[] name = mode.getKey().getBytes(StandardCharsets.UTF_8);
+            int length = Math.min(255, name.length);
+            buffer.put((byte) length).put(name, 0, length);
+            buffer.putLong(mode.getValue().games).putInt(mode.getValue().bestScore)
+                    .putFloat(mode.getValue().bestPps);
+        }
+
+        CRC32 crc = new CRC32();
+        crc.update(buffer.array(), 0, buffer.position());
+        buffer.putInt((int) crc.getValue());
+        buffer.flip();
+        return buffer;
+    }
+
+    /**
+     * Só os buckets não vazios: (índice, quantidade).
+     */
+    private static void putHistogram(ByteBuffer buffer, LatencyHistogram histogram) {
+        int sizePosition = buffer.position();
+        buffer.putInt(0);
+        int used = 0;
+        for (int i = 0; i < histogram.getBucketCount(); i++) {
+            long count = histogram.getCountAtBucket(i);
+            if (count > 0) {
+                buffer.putInt(i).putLong(count);
+                used++;
+            }
+        }
+        buffer.putInt(sizePosition, used);
+    }
+
+    private void decode(ByteBuffer buffer) throws IOException {
+        if (buffer.remaining() < 8) {
+            throw new IOException("arquivo incompleto");
+        }
+        CRC32 crc = new CRC32();
+        crc.update(buffer.array(), 0, buffer.limit() - 4);
+        if ((int) crc.getValue() != buffer.getInt(buffer.limit() - 4)) {
+            throw new IOException("CRC não confere");
+        }
+        if (buffer.getInt() != MAGIC) {
+            throw new IOException("não é um arquivo de agregados");
+        }
+        short version = buffer.getShort();
+        if (version != VERSION) {
+            throw new IOException("versão " + version + " não suportada");
+        }
+        buffer.getShort();
+
+        games = buffer.getLong();
+        timedGames = buffer.getLong();
+        scoreSum = buffer.getLong();
+        ppsSum = buffer.getDouble();
+        linesSum = buffer.getLong();
+        durationSum = buffer.getLong();
+        bestScore = buffer.getInt();
+        bestPps = buffer.getFloat();
+        getHistogram(buffer, scores, bestScore);
+        getHistogram(buffer, ppsMillis, Math.round(bestPps * PPS_SCALE));
+
+        int modeCount = buffer.getInt();
+        for (int i = 0; i < modeCount; i++) {
+            byte[] name = new byte[buffer.get() & 0xFF];
+            buffer.get(name);
+            ModeStats mode = new ModeStats();
+            mode.games = buffer.getLong();
+            mode.bestScore = buffer.getInt();
+            mode.bestPps = buffer.getFloat();
+            modes.put(new String(name, StandardCharsets.UTF_8), mode);
+        }
+    }
+
+    /**
+     * Restaura cada bucket pelo limite inferior; o bucket do máximo usa o
+     * valor exato, para os percentis altos não ficarem abaixo dele.
+     */
+    private static void getHistogram(ByteBuffer buffer, LatencyHistogram histogram, long max) {
+        int used = buffer.getInt();
+        for (int i = 0; i < used; i++) {
+            int bucket = buffer.getInt();
+            long count = buffer.getLong();
+            long lower = LatencyHistogram.bucketLowerBound(bucket);
+            boolean holdsMax = max >= lower && max < LatencyHistogram.bucketUpperBound(bucket);
+            if (holdsMax) {
+                histogram.recordCount(lower, count - 1);
+                histogram.recordCount(max, 1);
+            } else {
+                histogram.recordCount(lower, count);
+            }
+        }
+    }
+}
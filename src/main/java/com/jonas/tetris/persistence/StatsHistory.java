@@ -0,0 +1,366 @@
+package com.jonas.tetris.persistence;
+
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+import com.jonas.tetris.domain.Tetromino;
+import com.jonas.tetris.engine.GameState;
+
+/**
+ * Histórico de estatísticas por partida, em colunas mapeadas em memória.
+ *
+ * O arquivo é dividido em blocos de {@value #CHUNK_ROWS} partidas; dentro
+ * de cada bloco cada {@link Column} ocupa uma faixa contínua de valores
+ * primitivos de largura fixa. Consultas agregadas percorrem só as colunas
+ * que usam, direto dos buffers mapeados (fora do heap), sem montar objetos
+ * por partida. Crescer o arquivo é só mapear mais um bloco.
+ *
+ * Uma partida é gravada em todas as colunas antes de o contador do
+ * cabeçalho avançar, e os dois são sincronizados com o disco nessa ordem:
+ * uma queda no meio deixa no máximo uma linha ignorada.
+ */
+public class StatsHistory implements AutoCloseable {
+    public static final Path DEFAULT_FILE = Paths.get("tetris_stats.dat");
+
+    static final int MAGIC = 0x54535448; // "TSTH"
+    static final short VERSION = 1;
+    static final int HEADER_SIZE = 64;
+    static final int CHUNK_ROWS = 4096;
+    private static final int COUNT_OFFSET = 12;
+
+    /**
+     * Colunas gravadas por partida, na ordem em que aparecem em cada bloco.
+     */
+    public enum Column {
+        SCORE(Kind.INT), LINES(Kind.INT), PPS(Kind.FLOAT), DURATION_MS(Kind.LONG), TIMESTAMP(Kind.LONG),
+        PIECES_I(Kind.INT), PIECES_O(Kind.INT), PIECES_T(Kind.INT), PIECES_S(Kind.INT),
+        PIECES_Z(Kind.INT), PIECES_J(Kind.INT), PIECES_L(Kind.INT),
+        CLEARS_1(Kind.INT), CLEARS_2(Kind.INT), CLEARS_3(Kind.INT), CLEARS_4(Kind.INT);
+
+        private final Kind kind;
+
+        Column(Kind kind) {
+            this.kind = kind;
+        }
+
+        public static Column pieces(Tetromino.Type type) {
+            return COLUMNS[PIECES_I.ordinal() + type.ordinal()];
+        }
+
+        /**
+         * Coluna das limpezas de exatamente {@code lines} linhas.
+         */
+        public static Column clears(int lines) {
+            return COLUMNS[CLEARS_1.ordinal() + lines - 1];
+        }
+    }
+
+    private enum Kind {
+        INT(4), FLOAT(4), LONG(8);
+
+        final int width;
+
+        Kind(int width) {
+            this.width = width;
+        }
+    }
+
+    private static final Column[] COLUMNS = Column.values();
+    private static final int[] COLUMN_OFFSETS = new int[COLUMNS.length];
+    static final int ROW_BYTES;
+    static final int CHUNK_BYTES;
+
+    static {
+        int rowBytes = 0;
+        for (Column column : COLUMNS) {
+            COLUMN_OFFSETS[column.ordinal()] = rowBytes * CHUNK_ROWS;
+            rowBytes += column.kind.width;
+        }
+        ROW_BYTES = rowBytes;
+        CHUNK_BYTES = rowBytes * CHUNK_ROWS;
+    }
+
+    private final Path file;
+    private final FileChannel channel;
+    private final MappedByteBuffer header;
+    private MappedByteBuffer[] chunks = new MappedByteBuffer[4];
+    private int count;
+
+    private StatsHistory(Path file, FileChannel channel, MappedByteBuffer header) {
+        this.file = file;
+        this.channel = channel;
+        this.header = header;
+    }
+
+    /**
+     * Abre (ou cria) o histórico. Nada é lido além do cabeçalho.
+     */
+    public static StatsHistory open(Path file) throws IOException {
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE);
+        try {
+            boolean created = channel.size() < HEADER_SIZE;
+            MappedByteBuffer header = channel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_SIZE);
+            header.order(ByteOrder.LITTLE_ENDIAN);
+            StatsHistory history = new StatsHistory(file, channel, header);
+            if (created) {
+                header.putInt(0, MAGIC).putShort(4, VERSION).putShort(6, (short) ROW_BYTES)
+                        .putInt(8, CHUNK_ROWS).putInt(COUNT_OFFSET, 0);
+                header.force();
+            } else {
+                history.readHeader();
+            }
+            return history;
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    private void readHeader() throws IOException {
+        if (header.getInt(0) != MAGIC) {
+            throw new IOException(file + " não é um histórico de estatísticas");
+        }
+        short version = header.getShort(4);
+        if (version != VERSION || header.getShort(6) != ROW_BYTES || header.getInt(8) != CHUNK_ROWS) {
+            throw new IOException(file + ": versão " + version + " não suportada");
+        }
+        // Um contador além do que o arquivo guarda só pode vir de cópia truncada
+        long storedRows = (channel.size() - HEADER_SIZE) / CHUNK_BYTES * CHUNK_ROWS;
+        count = (int) Math.max(0, Math.min(header.getInt(COUNT_OFFSET), storedRows));
+    }
+
+    private MappedByteBuffer chunk(int index) throws IOException {
+        if (index >= chunks.length) {
+            chunks = Arrays.copyOf(chunks, Math.max(index + 1, chunks.length * 2));
+        }
+        MappedByteBuffer chunk = chunks[index];
+        if (chunk == null) {
+            long position = HEADER_SIZE + (long) index * CHUNK_BYTES;
+            chunk = channel.map(FileChannel.MapMode.READ_WRITE, position, CHUNK_BYTES);
+            chunk.order(ByteOrder.LITTLE_ENDIAN);
+            chunks[index] = chunk;
+        }
+        return chunk;
+    }
+
+    private static int at(Column column, int slot) {
+        return COLUMN_OFFSETS[column.ordinal()] + slot * column.kind.width;
+    }
+
+    /**
+     * Grava o resumo de uma partida terminada.
+     *
+     * @param piecesByType peças por {@link Tetromino.Type#ordinal()}
+     * @param clears       limpezas de 1 a 4 linhas, nos índices 0 a 3
+     */
+    public synchronized void append(int score, int lines, long durationMs, long timestampMillis,
+            int[] piecesByType, int[] clears) throws IOException {
+        int pieces = 0;
+        for (int value : piecesByType) {
+            pieces += value;
+        }
+        // Mesma regra de GameState.getPiecesPerSecond
+        float pps = durationMs < 1000 ? 0f : (float) (pieces / (durationMs / 1000.0));
+
+        MappedByteBuffer chunk = chunk(count / CHUNK_ROWS);
+        int slot = count % CHUNK_ROWS;
+        chunk.putInt(at(Column.SCORE, slot), score);
+        chunk.putInt(at(Column.LINES, slot), lines);
+        chunk.putFloat(at(Column.PPS, slot), pps);
+        chunk.putLong(at(Column.DURATION_MS, slot), durationMs);
+        chunk.putLong(at(Column.TIMESTAMP, slot), timestampMillis);
+        for (int type = 0; type < piecesByType.length; type++) {
+            chunk.putInt(at(COLUMNS[Column.PIECES_I.ordinal() + type], slot), piecesByType[type]);
+        }
+        for (int size = 0; size < clears.length; size++) {
+            chunk.putInt(at(COLUMNS[Column.CLEARS_1.ordinal() + size], slot), clears[size]);
+        }
+        chunk.force();
+
+        count++;
+        header.putInt(COUNT_OFFSET, count);
+        header.force();
+    }
+
+    public synchronized int size() {
+        return count;
+    }
+
+    /**
+     * Valor de uma coluna na partida {@code row} (0 = mais antiga).
+     */
+    public synchronized double get(Column column, int row) throws IOException {
+        checkRange(row, row + 1);
+        MappedByteBuffer chunk = chunk(row / CHUNK_ROWS);
+        int offset = at(column, row % CHUNK_ROWS);
+        switch (column.kind) {
+            case INT:
+                return chunk.getInt(offset);
+            case FLOAT:
+                return chunk.getFloat(offset);
+            default:
+                return chunk.getLong(offset);
+        }
+    }
+
+    /**
+     * Soma da coluna nas partidas {@code [from, to)}.
+     */
+    public synchronized double sum(Column column, int from, int to) throws IOException {
+        checkRange(from, to);
+        double total = 0;
+        for (int row = from; row < to;) {
+            MappedByteBuffer chunk = chunk(row / CHUNK_ROWS);
+            int slot = row % CHUNK_ROWS;
+            int end = Math.min(CHUNK_ROWS, slot + (to - row));
+            int offset = at(column, 0);
+            switch (column.kind) {
+                case INT:
+                    long ints = 0;
+                    for (int i = slot; i < end; i++) {
+                        ints += chunk.getInt(offset + i * 4);
+                    }
+                    total += ints;
+                    break;
+                case FLOAT:
+                    for (int i = slot; i < end; i++) {
+                        total += chunk.getFloat(offset + i * 4);
+                    }
+                    break;
+                default:
+                    long longs = 0;
+                    for (int i = slot; i < end; i++) {
+                        longs += chunk.getLong(offset + i * 8);
+                    }
+                    total += longs;
+                    break;
+            }
+            row += end - slot;
+        }
+        return total;
+    }
+
+    /**
+     * Maior valor da coluna nas partidas {@code [from, to)}, ou 0 se vazio.
+     */
+    public synchronized double max(Column column, int from, int to) throws IOException {
+        checkRange(from, to);
+        double best = from < to ? Double.NEGATIVE_INFINITY : 0;
+        for (int row = from; row < to;) {
+            MappedByteBuffer chunk = chunk(row / CHUNK_ROWS);
+            int slot = row % CHUNK_ROWS;
+            int end = Math.min(CHUNK_ROWS, slot + (to - row));
+            int offset = at(column, 0);
+            for (int i = slot; i < end; i++) {
+                double value;
+                switch (column.kind) {
+                    case INT:
+                        value = chunk.getInt(offset + i * 4);
+                        break;
+                    case FLOAT:
+                        value = chunk.getFloat(offset + i * 4);
+                        break;
+                    default:
+                        value = chunk.getLong(offset + i * 8);
+                        break;
+                }
+                best = Math.max(best, value);
+            }
+            row += end - slot;
+        }
+        return best;
+    }
+
+    /**
+     * Inclinação (mínimos quadrados) da coluna por partida em
+     * {@code [from, to)}: positiva se o valor vem subindo.
+     */
+    public synchronized double slope(Column column, int from, int to) throws IOException {
+        checkRange(from, to);
+        int n = to - from;
+        if (n < 2) {
+            return 0;
+        }
+        double sumY = 0;
+        double sumXY = 0;
+        for (int row = from; row < to; row++) {
+            double y = get(column, row);
+            sumY += y;
+            sumXY += (double) (row - from) * y;
+        }
+        double meanX = (n - 1) / 2.0;
+        double sxx = (double) n * (n * (double) n - 1) / 12.0;
+        return (sumXY - meanX * sumY) / sxx;
+    }
+
+    /**
+     * Copia a coluna nas partidas {@code [from, to)} para {@code target}.
+     */
+    public synchronized void read(Column column, int from, int to, float[] target) throws IOException {
+        checkRange(from, to);
+        for (int row = from; row < to; row++) {
+            target[row - from] = (float) get(column, row);
+        }
+    }
+
+    private void checkRange(int from, int to) {
+        if (from < 0 || to > count || from > to) {
+            throw new IndexOutOfBoundsException("[" + from + ", " + to + ") fora de [0, " + count + ")");
+        }
+    }
+
+    /**
+     * Resumo das últimas {@code recent} partidas para a tela de estatísticas,
+     * calculado só com varreduras de coluna nessa janela: o custo não depende
+     * do tamanho do histórico. Totais de todas as partidas ficam no
+     * {@link StatsAggregator}.
+     */
+    public synchronized StatsSummary summarize(int recent) throws IOException {
+        int from = Math.max(0, count - recent);
+        long[] pieces = new long[Tetromino.Type.values().length];
+        for (Tetromino.Type type : Tetromino.Type.values()) {
+            pieces[type.ordinal()] = (long) sum(Column.pieces(type), from, count);
+        }
+        long[] clears = new long[GameState.MAX_CLEAR];
+        for (int lines = 1; lines <= GameState.MAX_CLEAR; lines++) {
+            clears[lines - 1] = (long) sum(Column.clears(lines), from, count);
+        }
+        float[] recentPps = new float[count - from];
+        read(Column.PPS, from, count, recentPps);
+
+        return new StatsSummary(count, count - from,
+                linesPerMinute(from, count),
+                count == from ? 0 : sum(Column.PPS, from, count) / (count - from),
+                slope(Column.PPS, from, count),
+                slope(Column.SCORE, from, count),
+                pieces, clears, recentPps);
+    }
+
+    /**
+     * Linhas por minuto somando tempo e linhas das partidas {@code [from, to)}.
+     */
+    public synchronized double linesPerMinute(int from, int to) throws IOException {
+        double minutes = sum(Column.DURATION_MS, from, to) / 60_000.0;
+        return minutes <= 0 ? 0 : sum(Column.LINES, from, to) / minutes;
+    }
+
+    public Path getFile() {
+        return file;
+    }
+
+    /**
+     * Fecha o arquivo. Os blocos mapeados são liberados pelo GC.
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        Arrays.fill(chunks, null);
+        channel.close();
+    }
+}
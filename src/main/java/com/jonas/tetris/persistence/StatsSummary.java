@@ -0,0 +1,86 @@
+package com.jonas.tetris.persistence;
+
+import com.jonas.tetris.domain.Tetromino;
+
+/**
+ * Resumo das partidas recentes do {@link StatsHistory} para a tela de
+ * estatísticas. Totais de todas as partidas vêm do {@link StatsAggregator}.
+ */
+public class StatsSummary {
+    private final int games;
+    private final int recentGames;
+    private final double recentLinesPerMinute;
+    private final double recentAveragePps;
+    private final double recentPpsTrend;
+    private final double recentScoreTrend;
+    private final long[] pieces;
+    private final long[] clears;
+    private final float[] recentPps;
+
+    StatsSummary(int games, int recentGames, double recentLinesPerMinute, double recentAveragePps,
+            double recentPpsTrend, double recentScoreTrend, long[] pieces, long[] clears, float[] recentPps) {
+        this.games = games;
+        this.recentGames = recentGames;
+        this.recentLinesPerMinute = recentLinesPerMinute;
+        this.recentAveragePps = recentAveragePps;
+        this.recentPpsTrend = recentPpsTrend;
+        this.recentScoreTrend = recentScoreTrend;
+        this.pieces = pieces;
+        this.clears = clears;
+        this.recentPps = recentPps;
+    }
+
+    /**
+     * Partidas no histórico inteiro.
+     */
+    public int getGames() {
+        return games;
+    }
+
+    public int getRecentGames() {
+        return recentGames;
+    }
+
+    public double getRecentLinesPerMinute() {
+        return recentLinesPerMinute;
+    }
+
+    public double getRecentAveragePps() {
+        return recentAveragePps;
+    }
+
+    /**
+     * Variação média de PPS por partida nas partidas recentes.
+     */
+    public double getRecentPpsTrend() {
+        return recentPpsTrend;
+    }
+
+    /**
+     * Variação média de pontuação por partida nas partidas recentes.
+     */
+    public double getRecentScoreTrend() {
+        return recentScoreTrend;
+    }
+
+    /**
+     * Peças desse tipo nas partidas recentes.
+     */
+    public long getPieceCount(Tetromino.Type type) {
+        return pieces[type.ordinal()];
+    }
+
+    /**
+     * Limpezas de exatamente {@code lines} linhas (1 a 4) nas partidas recentes.
+     */
+    public long getClearCount(int lines) {
+        return clears[lines - 1];
+    }
+
+    /**
+     * PPS de cada partida recente, da mais antiga para a mais nova.
+     */
+    public float[] getRecentPps() {
+        return recentPps.clone();
+    }
+}
@@ -0,0 +1,121 @@
+package com.jonas.tetris.ui;
+
+import java.awt.BasicStroke;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Cache de sprites dos blocos, renderizados na resolução real do monitor
+ * (tamanho do tile × escala do display).
+ * Só é reconstruído quando o tamanho do tile ou a escala mudam.
+ */
+class BlockSprites {
+    private static final Color DROP_SHADOW = new Color(0, 0, 0, 60);
+    private static final Color HIGHLIGHT = new Color(255, 255, 255, 80);
+
+    private final Map<Color, BufferedImage> blocks = new HashMap<>();
+    private final Map<Color, BufferedImage> shadows = new HashMap<>();
+
+    private int tileSize;
+    private double scale;
+
+    /**
+     * Define o tamanho lógico do tile e a escala do display.
+     *
+     * @return true se o cache foi invalidado
+     */
+    boolean configure(int tileSize, double scale) {
+        if (tileSize == this.tileSize && scale == this.scale) {
+            return false;
+        }
+        this.tileSize = tileSize;
+        this.scale = scale;
+        blocks.clear();
+        shadows.clear();
+        return true;
+    }
+
+    int getTileSize() {
+        return tileSize;
+    }
+
+    /**
+     * Desenha um bloco sólido na posição (em coordenadas lógicas).
+     */
+    void drawBlock(Graphics2D g2d, int x, int y, Color color) {
+        BufferedImage sprite = blocks.get(color);
+        if (sprite == null) {
+            sprite = renderSprite(color, false);
+            blocks.put(color, sprite);
+        }
+        g2d.drawImage(sprite, x, y, tileSize, tileSize, null);
+    }
+
+    /**
+     * Desenha o contorno translúcido usado pela peça sombra (ghost).
+     */
+    void drawShadowBlock(Graphics2D g2d, int x, int y, Color color) {
+        BufferedImage sprite = shadows.get(color);
+        if (sprite == null) {
+            sprite = renderSprite(color, true);
+            shadows.put(color, sprite);
+        }
+        g2d.drawImage(sprite, x, y, tileSize, tileSize, null);
+    }
+
+    private BufferedImage renderSprite(Color color, boolean isShadow) {
+        int pixels = Math.max(1, (int) Math.ceil(tileSize * scale));
+        BufferedImage image = new BufferedImage(pixels, pixels, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g = image.createGraphics();
+        g.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+        g.scale(scale, scale);
+
+        if (isShadow) {
+            paintShadowBlock(g, color);
+        } else {
+            paintBlock(g, color);
+        }
+
+        g.dispose();
+        return image;
+    }
+
+    private void paintBlock(Graphics2D g, Color color) {
+        int size = tileSize;
+        int highlight = Math.max(2, size * 8 / 35); // 8px no tile original de 35px
+
+        // Sombra
+        g.setColor(DROP_SHADOW);
+        g.fillRoundRect(3, 3, size - 6, size - 6, 6, 6);
+
+        // Bloco principal
+        g.setColor(color);
+        g.fillRoundRect(1, 1, size - 2, size - 2, 6, 6);
+
+        // Highlight
+        g.setColor(HIGHLIGHT);
+        g.fillRoundRect(1, 1, size - 2, highlight, 6, 6);
+
+        // Borda
+        g.setColor(color.darker());
+        g.setStroke(new BasicStroke(1));
+        g.drawRoundRect(1, 1, size - 2, size - 2, 6, 6);
+    }
+
+    private void paintShadowBlock(Graphics2D g, Color color) {
+        int size = tileSize;
+
+        // Apenas borda da sombra
+        g.setColor(new Color(color.getRed(), color.getGreen(), color.getBlue(), 80));
+        g.setStroke(new BasicStroke(2));
+        g.drawRoundRect(2, 2, size - 4, size - 4, 6, 6);
+
+        // Preenchimento transparente
+        g.setColor(new Color(color.getRed(), color.getGreen(), color.getBlue(), 20));
+        g.fillRoundRect(2, 2, size - 4, size - 4, 6, 6);
+    }
+}
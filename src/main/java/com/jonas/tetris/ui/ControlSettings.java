@@ -0,0 +1,68 @@
+package com.jonas.tetris.ui;
+
+import java.util.prefs.Preferences;
+
+import com.jonas.tetris.engine.InputHandler;
+import com.jonas.tetris.engine.LevelManager;
+import com.jonas.tetris.engine.PieceQueue;
+
+/**
+ * Configurações de controle (DAS, ARR, soft drop factor, curva de
+ * velocidade e quantidade de próximas peças), persistidas nas Preferences do
+ * usuário como o tema.
+ */
+public class ControlSettings {
+    private static final Preferences prefs = Preferences.userNodeForPackage(ControlSettings.class);
+
+    private static final int DEFAULT_DAS_MS = (int) (InputHandler.DEFAULT_DAS_NANOS / 1_000_000L);
+    private static final int DEFAULT_ARR_MS = (int) (InputHandler.DEFAULT_ARR_NANOS / 1_000_000L);
+
+    public static int getDasMs() {
+        return prefs.getInt("das_ms", DEFAULT_DAS_MS);
+    }
+
+    public static int getArrMs() {
+        return prefs.getInt("arr_ms", DEFAULT_ARR_MS);
+    }
+
+    public static int getSoftDropFactor() {
+        return prefs.getInt("soft_drop_factor", InputHandler.DEFAULT_SOFT_DROP_FACTOR);
+    }
+
+    /**
+     * Curva de velocidade escolhida; a propriedade de sistema
+     * {@code tetris.curve} tem prioridade.
+     */
+    public static String getSpeedCurve() {
+        return System.getProperty("tetris.curve", prefs.get("speed_curve", LevelManager.DEFAULT_CURVE));
+    }
+
+    public static void saveSpeedCurve(String curveId) {
+        prefs.put("speed_curve", curveId);
+    }
+
+    /**
+     * Quantas próximas peças mostrar (1 a 7); a propriedade de sistema
+     * {@code tetris.preview} tem prioridade.
+     */
+    public static int getPreviewLength() {
+        int length = Integer.getInteger("tetris.preview", prefs.getInt("preview_length", PieceQueue.DEFAULT_PREVIEW));
+        return PieceQueue.clampPreview(length);
+    }
+
+    public static void savePreviewLength(int length) {
+        prefs.putInt("preview_length", PieceQueue.clampPreview(length));
+    }
+
+    public static void save(int dasMs, int arrMs, int softDropFactor) {
+        prefs.putInt("das_ms", Math.max(0, dasMs));
+        prefs.putInt("arr_ms", Math.max(0, arrMs));
+        prefs.putInt("soft_drop_factor", Math.max(1, softDropFactor));
+    }
+
+    public static void resetToDefault() {
+        save(DEFAULT_DAS_MS, DEFAULT_ARR_MS, InputHandler.DEFAULT_SOFT_DROP_FACTOR);
+        saveSpeedCurve(LevelManager.DEFAULT_CURVE);
+        savePreviewLength(PieceQueue.DEFAULT_PREVIEW);
+    }
+}
@@ -0,0 +1,107 @@
+package com.jonas.tetris.ui;
+
+import java.awt.Color;
+import java.awt.Font;
+import java.awt.Graphics2D;
+import java.awt.Rectangle;
+
+import com.jonas.tetris.metrics.FrameStats;
+import com.jonas.tetris.metrics.LatencyHistogram;
+
+/**
+ * Overlay de depuração (F3) com FPS, tempos de frame e tick, latência de
+ * input e taxa de alocação. Os textos são recalculados uma vez por segundo a
+ * partir de uma janela dos histogramas, não a cada paint.
+ */
+class DebugOverlay {
+    private static final long WINDOW_NANOS = 1_000_000_000L;
+    private static final Color BACKGROUND = new Color(0, 0, 0, 170);
+    private static final Color TEXT = new Color(120, 255, 120);
+    private static final Font FONT = new Font("Monospaced", Font.PLAIN, 12);
+    private static final int LINE_HEIGHT = 14;
+    private static final int MARGIN = 6;
+
+    private final FrameStats stats;
+    private final String[] lines = { "aguardando dados...", "", "", "", "" };
+    private final Rectangle bounds = new Rectangle(MARGIN, MARGIN, 260, MARGIN * 2 + LINE_HEIGHT * 5);
+
+    private boolean visible;
+    private long windowStartNanos;
+    private long windowStartFrames;
+    private long windowStartAllocated;
+
+    DebugOverlay(FrameStats stats) {
+        this.stats = stats;
+    }
+
+    void toggle() {
+        visible = !visible;
+        if (visible) {
+            startWindow(System.nanoTime());
+        }
+    }
+
+    boolean isVisible() {
+        return visible;
+    }
+
+    Rectangle getBounds() {
+        return bounds;
+    }
+
+    void paint(Graphics2D g2d) {
+        long now = System.nanoTime();
+        if (now - windowStartNanos >= WINDOW_NANOS) {
+            refresh(now);
+        }
+
+        g2d.setColor(BACKGROUND);
+        g2d.fillRect(bounds.x, bounds.y, bounds.width, bounds.height);
+        g2d.setColor(TEXT);
+        g2d.setFont(FONT);
+        int y = bounds.y + MARGIN + LINE_HEIGHT - 3;
+        for (String line : lines) {
+            g2d.drawString(line, bounds.x + MARGIN, y);
+            y += LINE_HEIGHT;
+        }
+    }
+
+    private void refresh(long now) {
+        double seconds = (now - windowStartNanos) / 1e9;
+        long frames = stats.getFrameCount() - windowStartFrames;
+        long allocated = stats.getAllocatedBytes();
+
+        LatencyHistogram frameTimes = stats.getFrameTimes();
+        LatencyHistogram tickTimes = stats.getTickTimes();
+        LatencyHistogram inputLatencies = stats.getInputLatencies();
+
+        lines[0] = String.format("FPS %.1f", frames / seconds);
+        lines[1] = String.format("frame p50 %.1f p99 %.1f max %.1f ms",
+                millis(frameTimes.getValueAtPercentile(50)),
+                millis(frameTimes.getValueAtPercentile(99)),
+                millis(frameTimes.getMax()));
+        lines[2] = String.format("tick  p50 %.3f p99 %.3f max %.3f ms",
+                millis(tickTimes.getValueAtPercentile(50)),
+                millis(tickTimes.getValueAtPercentile(99)),
+                millis(tickTimes.getMax()));
+        lines[3] = String.format("input->frame p50 %.1f p99 %.1f ms",
+                millis(inputLatencies.getValueAtPercentile(50)),
+                millis(inputLatencies.getValueAtPercentile(99)));
+        lines[4] = allocated < 0
+                ? "alloc n/d"
+                : String.format("alloc %.1f KB/s", (allocated - windowStartAllocated) / 1024.0 / seconds);
+
+        stats.reset();
+        startWindow(now);
+    }
+
+    private void startWindow(long now) {
+        windowStartNanos = now;
+        windowStartFrames = stats.getFrameCount();
+        windowStartAllocated = stats.getAllocatedBytes();
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+}
@@ -7,6 +7,7 @@ import java.awt.Font;
 import java.awt.FontMetrics;
 import java.awt.Graphics;
 import java.awt.Graphics2D;
+import java.awt.Rectangle;
 import java.awt.RenderingHints;
 
 import javax.swing.BorderFactory;
@@ -17,27 +18,79 @@ import com.jonas.tetris.domain.Board;
 import com.jonas.tetris.domain.Tetromino;
 import com.jonas.tetris.engine.GameController;
 import com.jonas.tetris.engine.GameState;
+import com.jonas.tetris.metrics.FrameStats;
+import com.jonas.tetris.metrics.jfr.PaintEvent;
 
 /**
  * Painel de renderização do jogo.
  * Desenha o tabuleiro, peças, e elementos visuais.
  */
 public class GamePanel extends JPanel implements ThemeManager.ThemeChangeListener {
-    private static final int TILE_SIZE = 35;
+    public static final int DEFAULT_TILE_SIZE = 35;
+    private static final BasicStroke GRID_STROKE = new BasicStroke(1);
+    private static final Color PAUSE_OVERLAY = new Color(0, 0, 0, 180);
     private GameState currentState;
     private final GameController controller;
+    private final FrameStats frameStats;
+    private final DebugOverlay debugOverlay;
 
-    public GamePanel(GameController controller) {
+    // Região suja reutilizada entre frames (evita alocar um Rectangle por update)
+    private final Rectangle dirtyRegion = new Rectangle();
+
+    // Sprites e fonte em cache para o tamanho de tile atual
+    private final BlockSprites sprites = new BlockSprites();
+    private int tileSize;
+    private Font pauseFont;
+
+    public GamePanel(GameController controller, FrameStats frameStats) {
         this.controller = controller;
-        setPreferredSize(new Dimension(
-                Board.BOARD_WIDTH * TILE_SIZE,
-                Board.BOARD_HEIGHT * TILE_SIZE));
+        this.frameStats = frameStats;
+        this.debugOverlay = new DebugOverlay(frameStats);
+        setTileSize(DEFAULT_TILE_SIZE);
         updateThemeColors();
 
         // Registrar listener de tema
         ThemeManager.addThemeChangeListener(this);
     }
 
+    /**
+     * Define o tamanho do tile (em pixels lógicos) e reconstrói os caches.
+     * Chamado pela janela em redimensionamentos e troca de fullscreen.
+     */
+    public void setTileSize(int newTileSize) {
+        if (newTileSize == tileSize) {
+            return;
+        }
+        tileSize = newTileSize;
+        pauseFont = new Font("Arial", Font.BOLD, Math.max(12, tileSize * 36 / DEFAULT_TILE_SIZE));
+        setPreferredSize(new Dimension(
+                Board.BOARD_WIDTH * tileSize,
+                Board.BOARD_HEIGHT * tileSize));
+        revalidate();
+        repaint();
+    }
+
+    public int getTileSize() {
+        return tileSize;
+    }
+
+    /**
+     * Liga/desliga o overlay de depuração (FPS, tempos de frame e tick).
+     */
+    public void toggleDebugOverlay() {
+        debugOverlay.toggle();
+        repaint();
+    }
+
+    /**
+     * Escala do display (1.0 em monitores comuns, 2.0 em HiDPI 200%).
+     */
+    private double getDisplayScale() {
+        return getGraphicsConfiguration() != null
+                ? getGraphicsConfiguration().getDefaultTransform().getScaleX()
+                : 1.0;
+    }
+
     private void updateThemeColors() {
         setBackground(ThemeManager.getBackgroundColor());
         setBorder(BorderFactory.createLineBorder(ThemeManager.getAccentColor(), 2));
@@ -51,13 +104,81 @@ public class GamePanel extends JPanel implements ThemeManager.ThemeChangeListene
         });
     }
 
+    /**
+     * Atualiza o estado exibido e repinta apenas as células que mudaram.
+     * Repinta o painel inteiro quando houve limpeza de linhas, troca de status
+     * ou reinício da partida.
+     */
     public void updateState(GameState state) {
+        GameState previous = this.currentState;
         this.currentState = state;
-        repaint();
+
+        if (previous == null || state == null || requiresFullRepaint(previous, state)) {
+            repaint();
+            return;
+        }
+
+        dirtyRegion.setBounds(0, 0, 0, 0);
+        addPieceBounds(previous.getCurrentPiece());
+        addPieceBounds(previous.getShadowPiece());
+        addPieceBounds(state.getCurrentPiece());
+        addPieceBounds(state.getShadowPiece());
+
+        // O overlay de depuração é atualizado a cada frame
+        if (debugOverlay.isVisible()) {
+            if (dirtyRegion.isEmpty()) {
+                dirtyRegion.setBounds(debugOverlay.getBounds());
+            } else {
+                dirtyRegion.add(debugOverlay.getBounds());
+            }
+        }
+
+        if (!dirtyRegion.isEmpty()) {
+            repaint(dirtyRegion);
+        }
+    }
+
+    /**
+     * Mudanças que afetam o tabuleiro além das peças exigem repintura completa.
+     */
+    private boolean requiresFullRepaint(GameState previous, GameState state) {
+        return previous.getStatus() != state.getStatus()
+                || previous.getTotalLines() != state.getTotalLines()
+                || state.getTotalPieces() < previous.getTotalPieces();
+    }
+
+    /**
+     * Adiciona à região suja os retângulos das células ocupadas pela peça.
+     */
+    private void addPieceBounds(Tetromino piece) {
+        if (piece == null) {
+            return;
+        }
+
+        int[][] shape = piece.getShape();
+        for (int i = 0; i < shape.length; i++) {
+            for (int j = 0; j < shape[i].length; j++) {
+                if (shape[i][j] != 0) {
+                    int screenX = (piece.getX() + j) * tileSize;
+                    int screenY = ((piece.getY() + i) - 2) * tileSize;
+                    if (dirtyRegion.isEmpty()) {
+                        dirtyRegion.setBounds(screenX, screenY, tileSize, tileSize);
+                    } else {
+                        dirtyRegion.add(screenX, screenY);
+                        dirtyRegion.add(screenX + tileSize, screenY + tileSize);
+                    }
+                }
+            }
+        }
     }
 
     @Override
     protected void paintComponent(Graphics g) {
+        PaintEvent paintEvent = PaintEvent.enabled() ? new PaintEvent() : null;
+        if (paintEvent != null) {
+            paintEvent.begin();
+        }
+
         super.paintComponent(g);
         Graphics2D g2d = (Graphics2D) g;
         g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
@@ -66,6 +187,9 @@ public class GamePanel extends JPanel implements ThemeManager.ThemeChangeListene
             return;
         }
 
+        // Sprites só são recriados se o tile ou a escala do display mudaram
+        sprites.configure(tileSize, getDisplayScale());
+
         // Desenhar grid
         drawGrid(g2d);
 
@@ -86,24 +210,38 @@ public class GamePanel extends JPanel implements ThemeManager.ThemeChangeListene
         if (currentState.getStatus() == GameState.GameStatus.PAUSED) {
             drawPauseOverlay(g2d);
         }
+
+        if (debugOverlay.isVisible()) {
+            debugOverlay.paint(g2d);
+        }
+
+        frameStats.recordFrame(System.nanoTime());
+
+        if (paintEvent != null) {
+            Rectangle clip = g.getClipBounds();
+            paintEvent.clipWidth = clip != null ? clip.width : getWidth();
+            paintEvent.clipHeight = clip != null ? clip.height : getHeight();
+            paintEvent.tileSize = tileSize;
+            paintEvent.commit();
+        }
     }
 
     private void drawGrid(Graphics2D g2d) {
         g2d.setColor(ThemeManager.getGridColor());
-        g2d.setStroke(new BasicStroke(1));
+        g2d.setStroke(GRID_STROKE);
 
-        int width = Board.BOARD_WIDTH * TILE_SIZE;
-        int height = Board.BOARD_HEIGHT * TILE_SIZE;
+        int width = Board.BOARD_WIDTH * tileSize;
+        int height = Board.BOARD_HEIGHT * tileSize;
 
         // Linhas verticais
         for (int i = 0; i <= Board.BOARD_WIDTH; i++) {
-            int x = i * TILE_SIZE;
+            int x = i * tileSize;
             g2d.drawLine(x, 0, x, height);
         }
 
         // Linhas horizontais
         for (int i = 0; i <= Board.BOARD_HEIGHT; i++) {
-            int y = i * TILE_SIZE;
+            int y = i * tileSize;
             g2d.drawLine(0, y, width, y);
         }
     }
@@ -115,8 +253,8 @@ public class GamePanel extends JPanel implements ThemeManager.ThemeChangeListene
         for (int y = 2; y < grid.length; y++) { // Pular buffer de spawn (primeiras 2 linhas)
             for (int x = 0; x < grid[y].length; x++) {
                 if (grid[y][x] != 0 && colors[y][x] != null) {
-                    int screenY = (y - 2) * TILE_SIZE; // Ajustar para cordinadas de tela
-                    drawBlock(g2d, x * TILE_SIZE, screenY, colors[y][x]);
+                    int screenY = (y - 2) * tileSize; // Ajustar para cordinadas de tela
+                    sprites.drawBlock(g2d, x * tileSize, screenY, colors[y][x]);
                 }
             }
         }
@@ -129,13 +267,13 @@ public class GamePanel extends JPanel implements ThemeManager.ThemeChangeListene
         for (int i = 0; i < shape.length; i++) {
             for (int j = 0; j < shape[i].length; j++) {
                 if (shape[i][j] != 0) {
-                    int screenX = (piece.getX() + j) * TILE_SIZE;
-                    int screenY = ((piece.getY() + i) - 2) * TILE_SIZE; // Ajustar pelo buffer + linha da shape
+                    int screenX = (piece.getX() + j) * tileSize;
+                    int screenY = ((piece.getY() + i) - 2) * tileSize; // Ajustar pelo buffer + linha da shape
 
                     if (isShadow) {
-                        drawShadowBlock(g2d, screenX, screenY, color);
+                        sprites.drawShadowBlock(g2d, screenX, screenY, color);
                     } else {
-                        drawBlock(g2d, screenX, screenY, color);
+                        sprites.drawBlock(g2d, screenX, screenY, color);
                     }
                 }
             }
@@ -146,47 +284,16 @@ public class GamePanel extends JPanel implements ThemeManager.ThemeChangeListene
         drawPiece(g2d, shadowPiece, true);
     }
 
-    private void drawBlock(Graphics2D g2d, int x, int y, Color color) {
-        // Sombra
-        g2d.setColor(new Color(0, 0, 0, 60));
-        g2d.fillRoundRect(x + 3, y + 3, TILE_SIZE - 6, TILE_SIZE - 6, 6, 6);
-
-        // Bloco principal
-        g2d.setColor(color);
-        g2d.fillRoundRect(x + 1, y + 1, TILE_SIZE - 2, TILE_SIZE - 2, 6, 6);
-
-        // Highlight
-        g2d.setColor(new Color(255, 255, 255, 80));
-        g2d.fillRoundRect(x + 1, y + 1, TILE_SIZE - 2, 8, 6, 6);
-
-        // Borda
-        g2d.setColor(color.darker());
-        g2d.setStroke(new BasicStroke(1));
-        g2d.drawRoundRect(x + 1, y + 1, TILE_SIZE - 2, TILE_SIZE - 2, 6, 6);
-    }
-
-    private void drawShadowBlock(Graphics2D g2d, int x, int y, Color color) {
-        // Apenas borda da sombra
-        g2d.setColor(new Color(color.getRed(), color.getGreen(), color.getBlue(), 80));
-        g2d.setStroke(new BasicStroke(2));
-        g2d.drawRoundRect(x + 2, y + 2, TILE_SIZE - 4, TILE_SIZE - 4, 6, 6);
-
-        // Preenchimento transparente
-        g2d.setColor(new Color(color.getRed(), color.getGreen(), color.getBlue(), 20));
-        g2d.fillRoundRect(x + 2, y + 2, TILE_SIZE - 4, TILE_SIZE - 4, 6, 6);
-    }
-
     private void drawPauseOverlay(Graphics2D g2d) {
         // Overlay semi-transparente
-        g2d.setColor(new Color(0, 0, 0, 180));
+        g2d.setColor(PAUSE_OVERLAY);
         g2d.fillRect(0, 0, getWidth(), getHeight());
 
         // Texto
         g2d.setColor(Color.WHITE);
-        Font font = new Font("Arial", Font.BOLD, 36);
-        g2d.setFont(font);
+        g2d.setFont(pauseFont);
         String text = "PAUSADO";
-        FontMetrics fm = g2d.getFontMetrics(font);
+        FontMetrics fm = g2d.getFontMetrics(pauseFont);
         int x = (getWidth() - fm.stringWidth(text)) / 2;
         int y = getHeight() / 2;
         g2d.drawString(text, x, y);
@@ -1,37 +1,89 @@
 package com.jonas.tetris.ui;
 
+import com.jonas.tetris.domain.Board;
 import com.jonas.tetris.engine.GameController;
+import com.jonas.tetris.engine.GameLoop;
 import com.jonas.tetris.engine.GameState;
+import com.jonas.tetris.engine.InputHandler;
 import com.jonas.tetris.engine.LevelManager;
+import com.jonas.tetris.metrics.FrameStats;
+import com.jonas.tetris.metrics.InputLatencyTracker;
+import com.jonas.tetris.metrics.MetricsRegistry;
+import com.jonas.tetris.metrics.jfr.SnapshotPublishEvent;
+import com.jonas.tetris.persistence.EventLogWriter;
+import com.jonas.tetris.persistence.GameSaveStore;
+import com.jonas.tetris.persistence.ScoreEntry;
+import com.jonas.tetris.persistence.ScoreRepository;
 
 import javax.swing.*;
 import java.awt.*;
 import java.awt.event.*;
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
  * Janela principal do jogo.
  * Contém o painel de jogo e o painel de informações lado a lado.
  */
 public class GameWindow extends JFrame {
+    private static final int MIN_TILE_SIZE = 12;
+    private static final double SCREEN_FILL_RATIO = 0.9; // Fração da tela ocupada pelo jogo
+    private static final String INPUT_LATENCY_FILE = "tetris_input_latency.csv";
+
     private final GameController controller;
     private final GamePanel gamePanel;
     private final InfoPanel infoPanel;
-    private Timer gameLoopTimer;
-    private Timer renderTimer;
+    private final FrameStats frameStats = new FrameStats();
+    private final InputHandler inputHandler;
+    private final GameLoop gameLoop;
+    private final EventLogWriter eventLog;
+    private final GameSaveStore saveStore = new GameSaveStore(GameSaveStore.DEFAULT_FILE);
+    private final boolean practice; // Modo treino: volta peças, sem ranking
+    private final AtomicBoolean renderPending = new AtomicBoolean();
+    private final Runnable renderTask = this::renderFrame;
+    // Dois snapshots alternados: os painéis comparam o anterior com o atual
+    private final GameState[] snapshots = { new GameState(), new GameState() };
+    private int snapshotIndex;
+    private final boolean[] keysDown = new boolean[InputHandler.Action.values().length];
     private JPanel overlayPanel;
+    private final JPanel mainPanel;
 
-    private volatile int currentLevel = 1;
     private volatile boolean gameOverHandled = false;
+    private long lastMarkedInput = -1; // thread de lógica
 
     public GameWindow(GameController controller) {
         this.controller = controller;
+        this.practice = controller.isRewindEnabled();
+        this.inputHandler = new InputHandler(controller,
+                ControlSettings.getDasMs() * 1_000_000L,
+                ControlSettings.getArrMs() * 1_000_000L,
+                ControlSettings.getSoftDropFactor());
+        this.gameLoop = new GameLoop(controller, inputHandler, this::onLogicTick);
+
+        // Log de eventos ligado antes do início, para registrar a partida inteira
+        if (Boolean.parseBoolean(System.getProperty("tetris.eventLog", "true"))) {
+            eventLog = new EventLogWriter();
+            eventLog.attach(controller.getEventBus());
+        } else {
+            eventLog = null;
+        }
+        // Partida retomada de um save já vem em andamento (pausada)
+        if (controller.getStatus() == GameState.GameStatus.NOT_STARTED) {
+            controller.startGame();
+        }
+
+        MetricsRegistry metrics = MetricsRegistry.getDefault();
+        metrics.gauge("tetris_level", "Nível da partida atual", controller::getLevel);
+        metrics.gauge("tetris_score", "Pontuação da partida atual", controller::getScore);
 
-        setTitle("TETRIS - Jogo");
+        setTitle(practice ? "TETRIS - Treino" : "TETRIS - Jogo");
         setDefaultCloseOperation(JFrame.DISPOSE_ON_CLOSE);
         setUndecorated(true); // Remove bordas para fullscreen
 
         // Painel principal com layout para centralizar
-        JPanel mainPanel = new JPanel(new GridBagLayout());
+        mainPanel = new JPanel(new GridBagLayout());
         mainPanel.setBackground(new Color(15, 15, 25));
 
         // Container do jogo (painel + info)
@@ -39,7 +91,7 @@ public class GameWindow extends JFrame {
         gameContainer.setBackground(new Color(15, 15, 25));
 
         // Painel do jogo (centro)
-        gamePanel = new GamePanel(controller);
+        gamePanel = new GamePanel(controller, frameStats);
         gameContainer.add(gamePanel, BorderLayout.CENTER);
 
         // Painel de info (direita)
@@ -67,6 +119,14 @@ public class GameWindow extends JFrame {
 
         add(layeredPane);
 
+        // Recalcular o tamanho do tile quando a área disponível mudar
+        mainPanel.addComponentListener(new ComponentAdapter() {
+            @Override
+            public void componentResized(ComponentEvent e) {
+                updateTileSize();
+            }
+        });
+
         // Configurar fullscreen
         GraphicsDevice gd = GraphicsEnvironment.getLocalGraphicsEnvironment().getDefaultScreenDevice();
         if (gd.isFullScreenSupported()) {
@@ -77,15 +137,61 @@ public class GameWindow extends JFrame {
         }
 
         // Key listener para input
-        addKeyListener(new GameKeyListener());
+        GameKeyListener keyListener = new GameKeyListener();
+        addKeyListener(keyListener);
+
+        // Fechar a janela também salva: o autosave pode estar até 3 s atrás
+        addWindowListener(new WindowAdapter() {
+            @Override
+            public void windowClosing(WindowEvent e) {
+                stopTimers();
+            }
+        });
+
+        // Ao perder o foco, nenhum keyReleased chega: soltar tudo
+        addWindowFocusListener(new WindowAdapter() {
+            @Override
+            public void windowLostFocus(WindowEvent e) {
+                keyListener.releaseAll();
+            }
+        });
         setFocusable(true);
         requestFocus();
 
-        // Game loop (separado da EDT)
-        startGameLoop();
+        // Medir alocação da EDT e da thread de lógica no overlay de depuração
+        SwingUtilities.invokeLater(() -> frameStats.trackThread(Thread.currentThread()));
 
-        // Render loop (EDT)
-        startRenderLoop();
+        // Game loop (thread de lógica; a renderização é agendada a cada tick)
+        gameLoop.start();
+        frameStats.trackThread(gameLoop.getThread());
+        saveStore.startAutosave(controller);
+    }
+
+    /**
+     * Calcula o tile a partir da área disponível, de modo que tabuleiro e
+     * painel lateral ocupem a maior parte da tela. Os painéis só reconstroem
+     * seus caches quando o valor muda.
+     */
+    private void updateTileSize() {
+        int availableWidth = mainPanel.getWidth();
+        int availableHeight = mainPanel.getHeight();
+        if (availableWidth <= 0 || availableHeight <= 0) {
+            return;
+        }
+
+        // Largura total em "tiles": tabuleiro + painel lateral proporcional
+        double widthInTiles = Board.BOARD_WIDTH
+                + InfoPanel.widthForTileSize(GamePanel.DEFAULT_TILE_SIZE) / (double) GamePanel.DEFAULT_TILE_SIZE;
+
+        int tileSize = (int) Math.min(
+                availableHeight * SCREEN_FILL_RATIO / Board.BOARD_HEIGHT,
+                availableWidth * SCREEN_FILL_RATIO / widthInTiles);
+        tileSize = Math.max(MIN_TILE_SIZE, tileSize);
+
+        if (tileSize != gamePanel.getTileSize()) {
+            gamePanel.setTileSize(tileSize);
+            infoPanel.setTileSize(tileSize);
+        }
     }
 
     private JPanel createOverlayPanel() {
@@ -96,46 +202,74 @@ public class GameWindow extends JFrame {
     }
 
     /**
-     * Loop de lógica do jogo (EDT com Timer dinâmico).
+     * Chamado na thread de lógica após cada frame. Registra métricas e agenda
+     * um único repaint pendente na EDT (ticks seguidos são coalescidos).
      */
-    private void startGameLoop() {
-        gameLoopTimer = new Timer(LevelManager.getSpeedForLevel(currentLevel), e -> {
-            controller.update();
-
-            // Ajustar velocidade se o nível mudou
-            GameState state = controller.getState();
-            if (state.getLevel() != currentLevel) {
-                currentLevel = state.getLevel();
-                gameLoopTimer.setDelay(LevelManager.getSpeedForLevel(currentLevel));
-            }
-        });
-        gameLoopTimer.start();
+    private void onLogicTick(long frameNanos, long durationNanos) {
+        frameStats.recordTick(durationNanos);
+
+        long applied = inputHandler.getLastAppliedTraceId();
+        if (applied != lastMarkedInput) {
+            lastMarkedInput = applied;
+            frameStats.getInputTracker().markApplied(applied, System.nanoTime());
+        }
+
+        if (renderPending.compareAndSet(false, true)) {
+            SwingUtilities.invokeLater(renderTask);
+        }
     }
 
     /**
-     * Loop de renderização (EDT).
+     * Publica o snapshot atual para os painéis (EDT).
      */
-    private void startRenderLoop() {
-        renderTimer = new Timer(50, e -> {
-            GameState state = controller.getState();
+    private void renderFrame() {
+        renderPending.set(false);
+        if (gameOverHandled) {
+            return;
+        }
 
-            gamePanel.updateState(state);
-            infoPanel.updateInfo(state);
+        SnapshotPublishEvent publishEvent = SnapshotPublishEvent.enabled() ? new SnapshotPublishEvent() : null;
+        if (publishEvent != null) {
+            publishEvent.begin();
+        }
 
-            if (state.getStatus() == GameState.GameStatus.GAME_OVER && !gameOverHandled) {
-                gameOverHandled = true;
-                handleGameOver(state);
-            }
-        });
-        renderTimer.start();
+        snapshotIndex ^= 1;
+        GameState state = controller.getState(snapshots[snapshotIndex]);
+        frameStats.getInputTracker().markPublished(System.nanoTime());
+
+        gamePanel.updateState(state);
+        infoPanel.updateInfo(state);
+
+        if (publishEvent != null) {
+            publishEvent.totalPieces = state.getTotalPieces();
+            publishEvent.score = state.getScore();
+            publishEvent.commit();
+        }
+
+        if (state.getStatus() == GameState.GameStatus.GAME_OVER) {
+            gameOverHandled = true;
+            handleGameOver(state);
+        }
     }
 
     private void handleGameOver(GameState state) {
-        // Pausar timers
-        if (gameLoopTimer != null)
-            gameLoopTimer.stop();
-        if (renderTimer != null)
-            renderTimer.stop();
+        // Parar o loop de lógica; a partida acabou, não há o que retomar
+        gameLoop.stop();
+        saveStore.discard();
+
+        exportInputLatency();
+
+        // Registrar a partida no leaderboard e no histórico (a gravação roda fora do EDT)
+        CompletableFuture<Integer> rank;
+        if (practice) {
+            rank = CompletableFuture.completedFuture(-1);
+        } else {
+            long finishedAt = System.currentTimeMillis();
+            rank = ScoreRepository.recordGame(new ScoreEntry(
+                    state.getScore(), state.getTotalLines(), state.getLevel(), state.getTotalPieces(),
+                    state.getElapsedTimeMs(), LevelManager.getCurrentCurve().getName(), finishedAt));
+            ScoreRepository.recordStats(state, finishedAt);
+        }
 
         // Criar overlay customizado
         overlayPanel.removeAll();
@@ -179,19 +313,43 @@ public class GameWindow extends JFrame {
         linesLabel.setForeground(new Color(220, 220, 220));
         linesLabel.setAlignmentX(Component.CENTER_ALIGNMENT);
         contentPanel.add(linesLabel);
+        contentPanel.add(Box.createVerticalStrut(20));
+
+        // Posição no ranking, preenchida quando a gravação terminar
+        JLabel rankLabel = new JLabel(practice ? "Treino: fora do ranking" : "Ranking: ...");
+        rankLabel.setFont(new Font("Arial", Font.PLAIN, 28));
+        rankLabel.setForeground(new Color(220, 220, 220));
+        rankLabel.setAlignmentX(Component.CENTER_ALIGNMENT);
+        contentPanel.add(rankLabel);
+        if (!practice) {
+            // Sem join: o callback roda na thread de escrita dos recordes
+            rank.thenAcceptBoth(ScoreRepository.loadGameCount(), (position, games) ->
+                SwingUtilities.invokeLater(() -> {
+                    if (position > 0) {
+                        rankLabel.setText("Ranking: #" + position + " de " + games);
+                        if (position == 1) {
+                            rankLabel.setForeground(new Color(255, 215, 0));
+                        }
+                    } else {
+                        rankLabel.setText("Ranking indisponível");
+                    }
+                }));
+        }
         contentPanel.add(Box.createVerticalStrut(60));
 
         // Botões
         JButton retryButton = createOverlayButton("Jogar Novamente");
         retryButton.addActionListener(e -> {
-            gameOverHandled = false;
-            overlayPanel.setVisible(false);
             controller.startGame();
-            if (gameLoopTimer != null)
-                gameLoopTimer.start();
-            if (renderTimer != null)
-                renderTimer.start();
-            requestFocus();
+            resumeAfterGameOver();
+        });
+
+        // Treino: desfazer a peça que encerrou a partida e continuar
+        JButton rewindButton = createOverlayButton("Voltar 1 Peça");
+        rewindButton.addActionListener(e -> {
+            if (controller.rewind(1)) {
+                resumeAfterGameOver();
+            }
         });
 
         JButton menuButton = createOverlayButton("Voltar ao Menu");
@@ -202,6 +360,10 @@ public class GameWindow extends JFrame {
             SwingUtilities.invokeLater(() -> new MainMenu());
         });
 
+        if (practice) {
+            contentPanel.add(rewindButton);
+            contentPanel.add(Box.createVerticalStrut(20));
+        }
         contentPanel.add(retryButton);
         contentPanel.add(Box.createVerticalStrut(20));
         contentPanel.add(menuButton);
@@ -210,9 +372,21 @@ public class GameWindow extends JFrame {
         overlayPanel.setVisible(true);
         overlayPanel.revalidate();
         overlayPanel.repaint();
+    }
 
-        // Salvar recorde
-        com.jonas.tetris.persistence.ScoreRepository.saveScore(state.getScore());
+    /**
+     * Esconde o overlay de game over e religa o loop (nova partida ou peça
+     * desfeita no treino).
+     */
+    private void resumeAfterGameOver() {
+        gameOverHandled = false;
+        overlayPanel.setVisible(false);
+        inputHandler.reset();
+        clearKeysDown();
+        gameLoop.start();
+        frameStats.trackThread(gameLoop.getThread());
+        saveStore.startAutosave(controller);
+        requestFocus();
     }
 
     private JButton createOverlayButton(String text) {
@@ -244,40 +418,114 @@ public class GameWindow extends JFrame {
     private class GameKeyListener extends KeyAdapter {
         @Override
         public void keyPressed(KeyEvent e) {
+            // Timestamp na chegada do evento, antes de qualquer processamento
+            long arrivalNanos = System.nanoTime();
+
+            InputHandler.Action action = toAction(e.getKeyCode());
+            if (action != null) {
+                // O key-repeat do SO é ignorado: DAS/ARR são do InputHandler
+                if (keysDown[action.ordinal()]) {
+                    return;
+                }
+                keysDown[action.ordinal()] = true;
+
+                long dispatchNanos = Math.max(0, System.currentTimeMillis() - e.getWhen()) * 1_000_000L;
+                long inputSeq = frameStats.getInputTracker().begin(arrivalNanos, dispatchNanos);
+                inputHandler.press(action, arrivalNanos, inputSeq);
+                return;
+            }
+
             switch (e.getKeyCode()) {
-                case KeyEvent.VK_LEFT:
-                    controller.moveLeft();
+                case KeyEvent.VK_F11:
+                    toggleFullscreen();
                     break;
-                case KeyEvent.VK_RIGHT:
-                    controller.moveRight();
+                case KeyEvent.VK_F3:
+                    gamePanel.toggleDebugOverlay();
                     break;
-                case KeyEvent.VK_DOWN:
-                    controller.softDrop();
+                case KeyEvent.VK_ESCAPE:
+                    handleEscape();
                     break;
-                case KeyEvent.VK_UP:
-                    controller.rotate();
+                case KeyEvent.VK_BACK_SPACE:
+                    if (practice) {
+                        controller.rewind(1);
+                    }
                     break;
+            }
+        }
+
+        @Override
+        public void keyReleased(KeyEvent e) {
+            InputHandler.Action action = toAction(e.getKeyCode());
+            if (action != null && keysDown[action.ordinal()]) {
+                keysDown[action.ordinal()] = false;
+                inputHandler.release(action, System.nanoTime());
+            }
+        }
+
+        void releaseAll() {
+            long now = System.nanoTime();
+            InputHandler.Action[] actions = InputHandler.Action.values();
+            for (int i = 0; i < keysDown.length; i++) {
+                if (keysDown[i]) {
+                    keysDown[i] = false;
+                    inputHandler.release(actions[i], now);
+                }
+            }
+        }
+
+        private InputHandler.Action toAction(int keyCode) {
+            switch (keyCode) {
+                case KeyEvent.VK_LEFT:
+                    return InputHandler.Action.LEFT;
+                case KeyEvent.VK_RIGHT:
+                    return InputHandler.Action.RIGHT;
+                case KeyEvent.VK_DOWN:
+                    return InputHandler.Action.SOFT_DROP;
+                case KeyEvent.VK_UP:
+                    return InputHandler.Action.ROTATE;
                 case KeyEvent.VK_SPACE:
-                    controller.hardDrop();
-                    break;
+                    return InputHandler.Action.HARD_DROP;
                 case KeyEvent.VK_C:
-                    controller.hold();
-                    break;
+                    return InputHandler.Action.HOLD;
                 case KeyEvent.VK_P:
-                    controller.pause();
-                    break;
-                case KeyEvent.VK_F11:
-                    toggleFullscreen();
-                    break;
-                case KeyEvent.VK_ESCAPE:
-                    handleEscape();
-                    break;
+                    return InputHandler.Action.PAUSE;
+                default:
+                    return null;
             }
+        }
+    }
 
-            // Atualizar UI imediatamente (já estamos na EDT)
-            GameState state = controller.getState();
-            gamePanel.updateState(state);
-            infoPanel.updateInfo(state);
+    private void clearKeysDown() {
+        for (int i = 0; i < keysDown.length; i++) {
+            keysDown[i] = false;
+        }
+    }
+
+    /**
+     * Exporta as distribuições de latência input → frame da sessão.
+     */
+    private void exportInputLatency() {
+        InputLatencyTracker tracker = frameStats.getInputTracker();
+        if (tracker.getTotalLatency().getCount() == 0) {
+            return;
+        }
+        try {
+            tracker.exportTo(Paths.get(INPUT_LATENCY_FILE));
+        } catch (IOException e) {
+            System.err.println("Erro ao exportar latências de input: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Salva a partida em andamento para o "Continuar" do menu (nada a fazer
+     * depois do game over).
+     */
+    private void saveGame() {
+        saveStore.close();
+        try {
+            saveStore.save(controller);
+        } catch (IOException e) {
+            System.err.println("Erro ao salvar a partida: " + e.getMessage());
         }
     }
 
@@ -316,15 +564,17 @@ public class GameWindow extends JFrame {
             gd.setFullScreenWindow(this);
         }
 
+        SwingUtilities.invokeLater(this::updateTileSize);
         requestFocus();
     }
 
     private void stopTimers() {
-        if (gameLoopTimer != null) {
-            gameLoopTimer.stop();
-        }
-        if (renderTimer != null) {
-            renderTimer.stop();
+        gameLoop.stop();
+        saveGame();
+
+        exportInputLatency();
+        if (eventLog != null) {
+            eventLog.close();
         }
 
         // Sair do fullscreen
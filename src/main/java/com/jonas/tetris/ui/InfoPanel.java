@@ -1,6 +1,5 @@
 package com.jonas.tetris.ui;
 
-import java.awt.BasicStroke;
 import java.awt.Color;
 import java.awt.Dimension;
 import java.awt.Font;
@@ -12,7 +11,9 @@ import javax.swing.BorderFactory;
 import javax.swing.JPanel;
 import javax.swing.SwingUtilities;
 
+import com.jonas.tetris.domain.Board;
 import com.jonas.tetris.engine.GameState;
+import com.jonas.tetris.engine.PiecePreview;
 import com.jonas.tetris.util.FontLoader;
 
 /**
@@ -21,7 +22,7 @@ import com.jonas.tetris.util.FontLoader;
  */
 public class InfoPanel extends JPanel implements ThemeManager.ThemeChangeListener {
     private static final int PANEL_WIDTH = 250;
-    private static final int TILE_SIZE = 35;
+    private static final int QUEUE_COLUMNS = 3; // caixas pequenas por linha
 
     private Color bgColor;
     private final Color textColor = new Color(220, 220, 220);
@@ -29,14 +30,71 @@ public class InfoPanel extends JPanel implements ThemeManager.ThemeChangeListene
 
     private GameState currentState;
 
+    // Métricas de layout e fontes em cache para a largura atual do painel
+    private int cachedWidth = -1;
+    private int padding;
+    private float fontSize;
+    private float infoFontSize;
+    private int squareSize;
+    private int nextBoxHeight;
+    private int queueBoxWidth;
+    private int queueBoxHeight;
+    private int holdSize;
+    private Font titleFont;
+    private Font infoFont;
+
+    // Sprites das peças: próxima (caixa grande), fila (caixas pequenas) e hold
+    private final PreviewSprites nextSprites = new PreviewSprites();
+    private final PreviewSprites queueSprites = new PreviewSprites();
+    private final PreviewSprites holdSprites = new PreviewSprites();
+
     public InfoPanel() {
-        setPreferredSize(new Dimension(PANEL_WIDTH, 20 * TILE_SIZE));
+        setTileSize(GamePanel.DEFAULT_TILE_SIZE);
         updateThemeColors();
 
         // Registrar listener de tema
         ThemeManager.addThemeChangeListener(this);
     }
 
+    /**
+     * Largura do painel proporcional ao tile do tabuleiro.
+     */
+    public static int widthForTileSize(int tileSize) {
+        return PANEL_WIDTH * tileSize / GamePanel.DEFAULT_TILE_SIZE;
+    }
+
+    /**
+     * Ajusta o tamanho preferido ao tile do tabuleiro.
+     * O cache de layout é reconstruído no próximo paint com a nova largura.
+     */
+    public void setTileSize(int tileSize) {
+        setPreferredSize(new Dimension(widthForTileSize(tileSize), Board.BOARD_HEIGHT * tileSize));
+        revalidate();
+        repaint();
+    }
+
+    /**
+     * Recalcula fontes e métricas de layout. Executado apenas quando a largura
+     * muda, não a cada frame.
+     */
+    private void rebuildLayoutCache(int panelWidth) {
+        cachedWidth = panelWidth;
+        padding = panelWidth / 15;
+        fontSize = panelWidth / 10f;
+        infoFontSize = panelWidth / 12f;
+        squareSize = panelWidth - 2 * padding;
+        nextBoxHeight = squareSize / 2;
+        queueBoxWidth = squareSize / QUEUE_COLUMNS;
+        queueBoxHeight = squareSize / 4;
+        holdSize = Math.min(60 * panelWidth / PANEL_WIDTH, squareSize / 2);
+
+        titleFont = FontLoader.loadFont("/font/font.ttf", fontSize);
+        if (titleFont == null) {
+            titleFont = new Font("Arial", Font.BOLD, (int) fontSize);
+        }
+        infoFont = titleFont.deriveFont(infoFontSize);
+    }
+
     private void updateThemeColors() {
         bgColor = ThemeManager.getBackgroundColor();
         accentColor = ThemeManager.getAccentColor();
@@ -52,9 +110,35 @@ public class InfoPanel extends JPanel implements ThemeManager.ThemeChangeListene
         });
     }
 
+    /**
+     * Atualiza as informações exibidas. Só repinta se algo visível mudou,
+     * já que o loop de lógica publica estados a cada frame.
+     */
     public void updateInfo(GameState state) {
+        GameState previous = this.currentState;
         this.currentState = state;
-        repaint();
+        if (previous == null || state == null || hasVisibleChanges(previous, state)) {
+            repaint();
+        }
+    }
+
+    private boolean hasVisibleChanges(GameState previous, GameState state) {
+        return previous.getScore() != state.getScore()
+                || previous.getLevel() != state.getLevel()
+                || previous.getTotalLines() != state.getTotalLines()
+                || previous.getTotalPieces() != state.getTotalPieces()
+                || previous.getElapsedTimeMs() / 1000 != state.getElapsedTimeMs() / 1000
+                || previous.getHoldPiece() != state.getHoldPiece()
+                || !previous.getNextQueue().sameAs(state.getNextQueue());
+    }
+
+    /**
+     * Escala do display (1.0 em monitores comuns, 2.0 em HiDPI 200%).
+     */
+    private double getDisplayScale() {
+        return getGraphicsConfiguration() != null
+                ? getGraphicsConfiguration().getDefaultTransform().getScaleX()
+                : 1.0;
     }
 
     @Override
@@ -67,17 +151,14 @@ public class InfoPanel extends JPanel implements ThemeManager.ThemeChangeListene
             return;
         }
 
-        int panelWidth = getWidth();
-        int panelHeight = getHeight();
-        int padding = panelWidth / 15;
-        int y = padding;
-
-        // Fonte
-        float fontSize = panelWidth / 10f;
-        Font titleFont = FontLoader.loadFont("/font/font.ttf", fontSize);
-        if (titleFont == null) {
-            titleFont = new Font("Arial", Font.BOLD, (int) fontSize);
+        if (getWidth() != cachedWidth) {
+            rebuildLayoutCache(getWidth());
         }
+        double scale = getDisplayScale();
+        nextSprites.configure(squareSize - 4, nextBoxHeight - 4, scale);
+        queueSprites.configure(queueBoxWidth - padding / 4 - 4, queueBoxHeight - padding / 4 - 4, scale);
+        holdSprites.configure(holdSize - 4, holdSize - 4, scale);
+        int y = padding;
 
         // Título "PRÓXIMA"
         g2d.setFont(titleFont);
@@ -86,22 +167,31 @@ public class InfoPanel extends JPanel implements ThemeManager.ThemeChangeListene
         y += (int) fontSize + padding;
 
         // Área da próxima peça
-        int squareSize = panelWidth - 2 * padding;
         g2d.setColor(accentColor);
-        g2d.fillRect(padding, y, squareSize, squareSize);
+        g2d.fillRect(padding, y, squareSize, nextBoxHeight);
         g2d.setColor(bgColor);
-        g2d.fillRect(padding + 2, y + 2, squareSize - 4, squareSize - 4);
+        g2d.fillRect(padding + 2, y + 2, squareSize - 4, nextBoxHeight - 4);
 
-        // Desenhar próxima peça
-        if (!currentState.getNextQueue().isEmpty()) {
-            drawNextPiece(g2d, currentState.getNextQueue().get(0), padding + 2, y + 2, squareSize - 4);
+        PiecePreview preview = currentState.getNextQueue();
+        if (preview.size() > 0) {
+            nextSprites.draw(g2d, preview.get(0), padding + 2, y + 2);
         }
+        y += nextBoxHeight + padding / 2;
 
-        y += squareSize + padding * 3;
+        // Demais peças da fila em caixas menores
+        int gap = padding / 4;
+        g2d.setColor(accentColor);
+        for (int i = 1; i < preview.size(); i++) {
+            int bx = padding + ((i - 1) % QUEUE_COLUMNS) * queueBoxWidth;
+            int by = y + ((i - 1) / QUEUE_COLUMNS) * queueBoxHeight;
+            g2d.drawRect(bx, by, queueBoxWidth - gap, queueBoxHeight - gap);
+            queueSprites.draw(g2d, preview.get(i), bx + 2, by + 2);
+        }
+        int queueRows = (preview.size() - 1 + QUEUE_COLUMNS - 1) / QUEUE_COLUMNS;
+        y += queueRows * queueBoxHeight + padding * 2;
 
         // Informações numéricas
-        float infoFontSize = panelWidth / 12f;
-        g2d.setFont(titleFont.deriveFont(infoFontSize));
+        g2d.setFont(infoFont);
         g2d.setColor(textColor);
 
         g2d.drawString("Score: " + currentState.getScore(), padding, y);
@@ -126,59 +216,11 @@ public class InfoPanel extends JPanel implements ThemeManager.ThemeChangeListene
         g2d.drawString("HOLD", padding, y);
         y += (int) infoFontSize + padding / 2;
 
-        int holdSize = Math.min(60, squareSize / 2);
         g2d.setColor(accentColor);
         g2d.drawRect(padding, y, holdSize, holdSize);
 
         if (currentState.getHoldPiece() != null) {
-            drawNextPiece(g2d, currentState.getHoldPiece(), padding + 2, y + 2, holdSize - 4);
-        }
-    }
-
-    private void drawNextPiece(Graphics2D g2d, com.jonas.tetris.domain.Tetromino piece, int x, int y, int size) {
-        if (piece == null)
-            return;
-
-        int[][] shape = piece.getShape();
-        Color color = piece.getColor();
-
-        int rows = shape.length;
-        int cols = shape[0].length;
-
-        int innerPadding = Math.max(2, size / 12);
-        int available = size - innerPadding * 2;
-        int blockSize = Math.max(1, Math.min(available / Math.max(1, cols), available / Math.max(1, rows)));
-
-        int pieceWidth = blockSize * cols;
-        int pieceHeight = blockSize * rows;
-        int startX = x + (size - pieceWidth) / 2;
-        int startY = y + (size - pieceHeight) / 2;
-
-        for (int i = 0; i < rows; i++) {
-            for (int j = 0; j < cols; j++) {
-                if (shape[i][j] != 0) {
-                    int bx = startX + j * blockSize;
-                    int by = startY + i * blockSize;
-
-                    // Sombra
-                    g2d.setColor(new Color(0, 0, 0, 80));
-                    g2d.fillRect(bx + Math.max(1, blockSize / 8), by + Math.max(1, blockSize / 8),
-                            blockSize - Math.max(2, blockSize / 6), blockSize - Math.max(2, blockSize / 6));
-
-                    // Bloco
-                    g2d.setColor(color);
-                    g2d.fillRect(bx, by, blockSize - 1, blockSize - 1);
-
-                    // Highlight
-                    g2d.setColor(new Color(255, 255, 255, 80));
-                    g2d.fillRect(bx, by, blockSize - 1, Math.max(2, blockSize / 4));
-
-                    // Borda
-                    g2d.setColor(color.darker());
-                    g2d.setStroke(new BasicStroke(1));
-                    g2d.drawRect(bx, by, blockSize - 1, blockSize - 1);
-                }
-            }
+            holdSprites.draw(g2d, currentState.getHoldPiece().getType(), padding + 2, y + 2);
         }
     }
 }
@@ -1,17 +1,30 @@
 package com.jonas.tetris.ui;
 
+import com.jonas.tetris.bot.BotSession;
+import com.jonas.tetris.engine.GameCheckpoint;
 import com.jonas.tetris.engine.GameController;
+import com.jonas.tetris.engine.LevelManager;
+import com.jonas.tetris.metrics.MetricsHttpServer;
+import com.jonas.tetris.metrics.MetricsMBean;
+import com.jonas.tetris.metrics.jfr.FlightRecording;
+import com.jonas.tetris.net.VersusBot;
+import com.jonas.tetris.net.VersusServer;
+import com.jonas.tetris.persistence.GameSaveStore;
 import com.jonas.tetris.persistence.ScoreRepository;
 
 import javax.swing.*;
 import java.awt.*;
 import java.awt.event.*;
+import java.io.IOException;
+import java.text.ParseException;
 
 /**
  * Tela inicial (Main Menu) do Tetris.
  * Exibe opções para Jogar, Instruções, Opções e Sair.
  */
 public class MainMenu extends JFrame implements ThemeManager.ThemeChangeListener {
+    private static final int PRACTICE_REWIND_PIECES = 1000;
+
     private GameWindow gameWindow;
     private int highScore;
     private JPanel mainPanel;
@@ -26,9 +39,6 @@ public class MainMenu extends JFrame implements ThemeManager.ThemeChangeListener
         // Registrar listener de tema
         ThemeManager.addThemeChangeListener(this);
 
-        // Carregar recorde
-        highScore = ScoreRepository.getHighScore();
-
         // Painel principal com layout centralizado
         mainPanel = new JPanel(new GridBagLayout());
         updateThemeColors();
@@ -50,20 +60,34 @@ public class MainMenu extends JFrame implements ThemeManager.ThemeChangeListener
         contentPanel.add(Box.createVerticalStrut(30));
 
         // Recorde
-        scoreLabel = new JLabel("Recorde: " + highScore);
+        scoreLabel = new JLabel("Recorde: ...");
         scoreLabel.setFont(new Font("Arial", Font.PLAIN, 24));
         scoreLabel.setForeground(new Color(220, 220, 220));
         scoreLabel.setAlignmentX(Component.CENTER_ALIGNMENT);
         contentPanel.add(scoreLabel);
+        loadHighScore();
         contentPanel.add(Box.createVerticalStrut(50));
 
-        // Botões
+        // Botões ("Continuar" só com uma partida salva)
+        if (GameSaveStore.exists(GameSaveStore.DEFAULT_FILE)) {
+            JButton resumeButton = createButton("Continuar");
+            resumeButton.addActionListener(e -> resumeGame());
+            contentPanel.add(resumeButton);
+            contentPanel.add(Box.createVerticalStrut(20));
+        }
+
         JButton playButton = createButton("Jogar");
         playButton.addActionListener(e -> startGame());
 
+        JButton practiceButton = createButton("Treino");
+        practiceButton.addActionListener(e -> startPractice());
+
         JButton instructionsButton = createButton("Instruções");
         instructionsButton.addActionListener(e -> showInstructions());
 
+        JButton statisticsButton = createButton("Estatísticas");
+        statisticsButton.addActionListener(e -> showStatistics());
+
         JButton optionsButton = createButton("Opções");
         optionsButton.addActionListener(e -> showOptions());
 
@@ -72,8 +96,12 @@ public class MainMenu extends JFrame implements ThemeManager.ThemeChangeListener
 
         contentPanel.add(playButton);
         contentPanel.add(Box.createVerticalStrut(20));
+        contentPanel.add(practiceButton);
+        contentPanel.add(Box.createVerticalStrut(20));
         contentPanel.add(instructionsButton);
         contentPanel.add(Box.createVerticalStrut(20));
+        contentPanel.add(statisticsButton);
+        contentPanel.add(Box.createVerticalStrut(20));
         contentPanel.add(optionsButton);
         contentPanel.add(Box.createVerticalStrut(20));
         contentPanel.add(exitButton);
@@ -89,6 +117,8 @@ public class MainMenu extends JFrame implements ThemeManager.ThemeChangeListener
                     startGame();
                 } else if (e.getKeyCode() == KeyEvent.VK_ESCAPE) {
                     System.exit(0);
+                } else if (e.getKeyCode() == KeyEvent.VK_F9) {
+                    toggleFlightRecording();
                 }
             }
         });
@@ -153,6 +183,44 @@ public class MainMenu extends JFrame implements ThemeManager.ThemeChangeListener
     }
 
     private void startGame() {
+        LevelManager.selectCurve(ControlSettings.getSpeedCurve());
+        GameController controller = new GameController();
+        controller.setPreviewLength(ControlSettings.getPreviewLength());
+        openGame(controller);
+    }
+
+    /**
+     * Modo treino: Backspace volta peças (até {@value #PRACTICE_REWIND_PIECES}).
+     */
+    private void startPractice() {
+        LevelManager.selectCurve(ControlSettings.getSpeedCurve());
+        GameController controller = new GameController();
+        controller.setPreviewLength(ControlSettings.getPreviewLength());
+        controller.enableRewind(PRACTICE_REWIND_PIECES);
+        openGame(controller);
+    }
+
+    /**
+     * Retoma a partida salva, pausada. Um save ilegível é descartado.
+     */
+    private void resumeGame() {
+        GameCheckpoint checkpoint;
+        try {
+            checkpoint = GameSaveStore.load(GameSaveStore.DEFAULT_FILE);
+        } catch (IOException e) {
+            GameSaveStore.delete(GameSaveStore.DEFAULT_FILE);
+            JOptionPane.showMessageDialog(this, "Não foi possível ler a partida salva: " + e.getMessage(),
+                    "Continuar", JOptionPane.WARNING_MESSAGE);
+            return;
+        }
+
+        LevelManager.selectCurve(checkpoint.getCurveId());
+        GameController controller = new GameController();
+        controller.restore(checkpoint);
+        openGame(controller);
+    }
+
+    private void openGame(GameController controller) {
         ScreenTransition.fadeOut(this, () -> {
             // Sair do fullscreen do menu
             ThemeManager.removeThemeChangeListener(this);
@@ -161,9 +229,6 @@ public class MainMenu extends JFrame implements ThemeManager.ThemeChangeListener
                 gd.setFullScreenWindow(null);
             }
 
-            GameController controller = new GameController();
-            controller.startGame();
-
             gameWindow = new GameWindow(controller);
             gameWindow.setVisible(true);
             setVisible(false);
@@ -171,6 +236,35 @@ public class MainMenu extends JFrame implements ThemeManager.ThemeChangeListener
         });
     }
 
+    /**
+     * Lê o recorde fora do EDT; depois da primeira vez vem do cache.
+     */
+    private void loadHighScore() {
+        ScoreRepository.loadHighScore().thenAccept(score -> SwingUtilities.invokeLater(() -> {
+            highScore = score;
+            scoreLabel.setText("Recorde: " + highScore);
+        }));
+    }
+
+    /**
+     * Liga/desliga a gravação JFR com o perfil do jogo.
+     */
+    private void toggleFlightRecording() {
+        String message;
+        if (FlightRecording.isRecording()) {
+            message = "Gravação JFR salva em:\n" + FlightRecording.stop().toAbsolutePath();
+        } else {
+            try {
+                message = "Gravação JFR iniciada.\nPressione F9 no menu para parar e salvar em:\n"
+                        + FlightRecording.start().toAbsolutePath();
+            } catch (IOException | ParseException ex) {
+                message = "Erro ao iniciar gravação JFR: " + ex.getMessage();
+            }
+        }
+        JOptionPane.showMessageDialog(this, message, "Flight Recorder", JOptionPane.INFORMATION_MESSAGE);
+        mainPanel.requestFocus();
+    }
+
     private void showInstructions() {
         String instructions = """
                 === INSTRUÇÕES ===
@@ -183,6 +277,9 @@ public class MainMenu extends JFrame implements ThemeManager.ThemeChangeListener
                 • C: Hold (trocar com peça guardada)
                 • P: Pausar/Resumir
                 • ESC: Voltar ao menu
+                • F3: Overlay de desempenho
+                • F9 (no menu): Iniciar/parar gravação JFR
+                • Backspace (treino): Voltar uma peça
 
                 Pontuação:
                 • 1 linha: 40 × nível
@@ -222,7 +319,49 @@ public class MainMenu extends JFrame implements ThemeManager.ThemeChangeListener
         });
     }
 
-    public static void main(String[] args) {
+    private void showStatistics() {
+        ScreenTransition.fadeOut(this, () -> {
+            ThemeManager.removeThemeChangeListener(this);
+            GraphicsDevice gd = GraphicsEnvironment.getLocalGraphicsEnvironment().getDefaultScreenDevice();
+            if (gd.getFullScreenWindow() == this) {
+                gd.setFullScreenWindow(null);
+            }
+
+            setVisible(false);
+            dispose();
+            SwingUtilities.invokeLater(() -> new StatisticsScreen());
+        });
+    }
+
+    public static void main(String[] args) throws IOException {
+        // Modo headless para bots: protocolo em stdin/stdout, sem janela
+        if (args.length > 0 && args[0].equals("--bot")) {
+            System.setProperty("java.awt.headless", "true");
+            BotSession.runOnStdio();
+            return;
+        }
+        // Versus em rede local: servidor, ou um bot substituto como cliente
+        if (args.length > 0 && args[0].equals("--versus-server")) {
+            System.setProperty("java.awt.headless", "true");
+            int port = args.length > 1 ? Integer.parseInt(args[1]) : VersusServer.DEFAULT_PORT;
+            try {
+                VersusServer.runForever(port);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return;
+        }
+        if (args.length > 0 && args[0].equals("--versus-bot")) {
+            System.setProperty("java.awt.headless", "true");
+            String host = args.length > 1 ? args[1] : "localhost";
+            int port = args.length > 2 ? Integer.parseInt(args[2]) : VersusServer.DEFAULT_PORT;
+            VersusBot.runOnce(host, port, args.length > 3 ? args[3] : "lobby", 2);
+            return;
+        }
+
+        MetricsMBean.register();
+        FlightRecording.startFromSystemProperty();
+        MetricsHttpServer.startFromSystemProperty();
         SwingUtilities.invokeLater(MainMenu::new);
     }
 }
@@ -0,0 +1,105 @@
+package com.jonas.tetris.ui;
+
+import java.awt.BasicStroke;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.util.Arrays;
+
+import com.jonas.tetris.domain.Tetromino;
+
+/**
+ * Cache de sprites de peças inteiras para as caixas de próximas peças e de
+ * hold, renderizados na resolução real do monitor. Um sprite por tipo,
+ * reconstruído só quando o tamanho da caixa ou a escala mudam.
+ */
+class PreviewSprites {
+    private static final Color SHADOW = new Color(0, 0, 0, 80);
+    private static final Color HIGHLIGHT = new Color(255, 255, 255, 80);
+    private static final BasicStroke STROKE = new BasicStroke(1);
+
+    private final BufferedImage[] sprites = new BufferedImage[Tetromino.Type.values().length];
+    private int width;
+    private int height;
+    private double scale;
+
+    /**
+     * Define o tamanho lógico da caixa e a escala do display.
+     *
+     * @return true se o cache foi invalidado
+     */
+    boolean configure(int width, int height, double scale) {
+        if (width == this.width && height == this.height && scale == this.scale) {
+            return false;
+        }
+        this.width = width;
+        this.height = height;
+        this.scale = scale;
+        Arrays.fill(sprites, null);
+        return true;
+    }
+
+    /**
+     * Desenha a peça centralizada na caixa com canto em (x, y).
+     */
+    void draw(Graphics2D g2d, Tetromino.Type type, int x, int y) {
+        BufferedImage sprite = sprites[type.ordinal()];
+        if (sprite == null) {
+            sprite = renderSprite(Tetromino.spawn(type));
+            sprites[type.ordinal()] = sprite;
+        }
+        g2d.drawImage(sprite, x, y, width, height, null);
+    }
+
+    private BufferedImage renderSprite(Tetromino piece) {
+        int pixelsW = Math.max(1, (int) Math.ceil(width * scale));
+        int pixelsH = Math.max(1, (int) Math.ceil(height * scale));
+        BufferedImage image = new BufferedImage(pixelsW, pixelsH, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g = image.createGraphics();
+        g.scale(scale, scale);
+        paintPiece(g, piece);
+        g.dispose();
+        return image;
+    }
+
+    private void paintPiece(Graphics2D g, Tetromino piece) {
+        int[][] shape = piece.getShape();
+        Color color = piece.getColor();
+
+        int rows = shape.length;
+        int cols = shape[0].length;
+
+        int innerPadding = Math.max(2, Math.min(width, height) / 12);
+        int blockSize = Math.max(1, Math.min((width - innerPadding * 2) / cols, (height - innerPadding * 2) / rows));
+
+        int startX = (width - blockSize * cols) / 2;
+        int startY = (height - blockSize * rows) / 2;
+
+        for (int i = 0; i < rows; i++) {
+            for (int j = 0; j < cols; j++) {
+                if (shape[i][j] != 0) {
+                    int bx = startX + j * blockSize;
+                    int by = startY + i * blockSize;
+
+                    // Sombra
+                    g.setColor(SHADOW);
+                    g.fillRect(bx + Math.max(1, blockSize / 8), by + Math.max(1, blockSize / 8),
+                            blockSize - Math.max(2, blockSize / 6), blockSize - Math.max(2, blockSize / 6));
+
+                    // Bloco
+                    g.setColor(color);
+                    g.fillRect(bx, by, blockSize - 1, blockSize - 1);
+
+                    // Highlight
+                    g.setColor(HIGHLIGHT);
+                    g.fillRect(bx, by, blockSize - 1, Math.max(2, blockSize / 4));
+
+                    // Borda
+                    g.setColor(color.darker());
+                    g.setStroke(STROKE);
+                    g.drawRect(bx, by, blockSize - 1, blockSize - 1);
+                }
+            }
+        }
+    }
+}
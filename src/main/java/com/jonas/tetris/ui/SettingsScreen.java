@@ -26,6 +26,7 @@ import javax.swing.BorderFactory;
 import javax.swing.Box;
 import javax.swing.BoxLayout;
 import javax.swing.JButton;
+import javax.swing.JComboBox;
 import javax.swing.JFrame;
 import javax.swing.JLabel;
 import javax.swing.JLayeredPane;
@@ -36,8 +37,11 @@ import javax.swing.SwingUtilities;
 import javax.swing.border.EmptyBorder;
 import javax.swing.event.ChangeListener;
 
+import com.jonas.tetris.engine.LevelManager;
+import com.jonas.tetris.engine.PieceQueue;
+
 /**
- * Tela de configurações do Tetris - Customização Visual
+ * Tela de configurações do Tetris - Customização Visual e controles
  */
 public class SettingsScreen extends JFrame implements ThemeManager.ThemeChangeListener {
 
@@ -52,6 +56,13 @@ public class SettingsScreen extends JFrame implements ThemeManager.ThemeChangeLi
     private JLayeredPane layeredPane;
     private JPanel mainContent;
 
+    // Controles (ControlSettings), salvos junto com o tema
+    private JSlider dasSlider;
+    private JSlider arrSlider;
+    private JSlider softDropSlider;
+    private JComboBox<String> curveSelector;
+    private JSlider previewSlider;
+
     public SettingsScreen() {
         setTitle("TETRIS - Customização Visual");
         setDefaultCloseOperation(JFrame.DISPOSE_ON_CLOSE);
@@ -142,7 +153,7 @@ public class SettingsScreen extends JFrame implements ThemeManager.ThemeChangeLi
         titleLabel.setForeground(accentColor);
         titleLabel.setAlignmentX(Component.CENTER_ALIGNMENT);
 
-        JLabel subtitleLabel = new JLabel("Personalize cores e temas do Tetris");
+        JLabel subtitleLabel = new JLabel("Personalize cores, temas e controles do Tetris");
         subtitleLabel.setFont(new Font("Arial", Font.ITALIC, 20));
         subtitleLabel.setForeground(textColor);
         subtitleLabel.setAlignmentX(Component.CENTER_ALIGNMENT);
@@ -171,9 +182,104 @@ public class SettingsScreen extends JFrame implements ThemeManager.ThemeChangeLi
         gbc.gridx = 1;
         center.add(rightPanel, gbc);
 
+        JPanel gameplayPanel = createGameplayPanel();
+        gbc.gridx = 2;
+        center.add(gameplayPanel, gbc);
+
         return center;
     }
 
+    private JPanel createGameplayPanel() {
+        JPanel panel = new JPanel();
+        panel.setLayout(new BoxLayout(panel, BoxLayout.Y_AXIS));
+        panel.setBackground(new Color(20, 20, 30));
+        panel.setBorder(BorderFactory.createCompoundBorder(
+                BorderFactory.createLineBorder(accentColor, 2),
+                new EmptyBorder(20, 20, 20, 20)));
+
+        JLabel sectionTitle = new JLabel("Controles");
+        sectionTitle.setFont(new Font("Arial", Font.BOLD, 28));
+        sectionTitle.setForeground(accentColor);
+        sectionTitle.setAlignmentX(Component.CENTER_ALIGNMENT);
+        panel.add(sectionTitle);
+        panel.add(Box.createVerticalStrut(20));
+
+        // DAS: espera antes de repetir; ARR: intervalo da repetição (0 = instantâneo)
+        dasSlider = createSlider(0, 300, ControlSettings.getDasMs());
+        panel.add(createSliderOption("DAS:", dasSlider, " ms"));
+        panel.add(Box.createVerticalStrut(15));
+
+        arrSlider = createSlider(0, 100, ControlSettings.getArrMs());
+        panel.add(createSliderOption("ARR:", arrSlider, " ms"));
+        panel.add(Box.createVerticalStrut(15));
+
+        softDropSlider = createSlider(1, 40, ControlSettings.getSoftDropFactor());
+        panel.add(createSliderOption("Soft drop:", softDropSlider, "x"));
+        panel.add(Box.createVerticalStrut(15));
+
+        // Curvas embutidas e as do usuário; vale a partir da próxima partida
+        LevelManager.reloadCustomCurves();
+        curveSelector = new JComboBox<>(LevelManager.getAvailableCurves().toArray(new String[0]));
+        curveSelector.setSelectedItem(ControlSettings.getSpeedCurve());
+        curveSelector.setFont(new Font("Arial", Font.PLAIN, 16));
+        curveSelector.setPreferredSize(new Dimension(200, 35));
+        panel.add(createComboOption("Velocidade:", curveSelector));
+        panel.add(Box.createVerticalStrut(15));
+
+        previewSlider = createSlider(PieceQueue.MIN_PREVIEW, PieceQueue.MAX_PREVIEW,
+                ControlSettings.getPreviewLength());
+        panel.add(createSliderOption("Próximas:", previewSlider, ""));
+
+        return panel;
+    }
+
+    private JSlider createSlider(int min, int max, int value) {
+        JSlider slider = new JSlider(min, max, Math.max(min, Math.min(max, value)));
+        slider.setBackground(new Color(20, 20, 30));
+        slider.setForeground(accentColor);
+        slider.setPreferredSize(new Dimension(200, 40));
+        return slider;
+    }
+
+    private JPanel createComboOption(String label, JComboBox<String> combo) {
+        JPanel panel = new JPanel(new FlowLayout(FlowLayout.LEFT));
+        panel.setBackground(new Color(20, 20, 30));
+        panel.setMaximumSize(new Dimension(500, 50));
+
+        JLabel labelComponent = new JLabel(label);
+        labelComponent.setFont(new Font("Arial", Font.PLAIN, 18));
+        labelComponent.setForeground(textColor);
+        labelComponent.setPreferredSize(new Dimension(110, 40));
+
+        panel.add(labelComponent);
+        panel.add(combo);
+
+        return panel;
+    }
+
+    private JPanel createSliderOption(String label, JSlider slider, String unit) {
+        JPanel panel = new JPanel(new FlowLayout(FlowLayout.LEFT));
+        panel.setBackground(new Color(20, 20, 30));
+        panel.setMaximumSize(new Dimension(500, 50));
+
+        JLabel labelComponent = new JLabel(label);
+        labelComponent.setFont(new Font("Arial", Font.PLAIN, 18));
+        labelComponent.setForeground(textColor);
+        labelComponent.setPreferredSize(new Dimension(110, 40));
+
+        JLabel valueLabel = new JLabel(slider.getValue() + unit);
+        valueLabel.setFont(new Font("Monospaced", Font.BOLD, 16));
+        valueLabel.setForeground(textColor);
+        valueLabel.setPreferredSize(new Dimension(80, 40));
+        slider.addChangeListener(e -> valueLabel.setText(slider.getValue() + unit));
+
+        panel.add(labelComponent);
+        panel.add(slider);
+        panel.add(valueLabel);
+
+        return panel;
+    }
+
     private JPanel createThemesPanel() {
         JPanel panel = new JPanel();
         panel.setLayout(new BoxLayout(panel, BoxLayout.Y_AXIS));
@@ -358,8 +464,8 @@ public class SettingsScreen extends JFrame implements ThemeManager.ThemeChangeLi
         footer.setBackground(bgColor);
         footer.setBorder(new EmptyBorder(30, 0, 0, 0));
 
-        JButton saveButton = createStyledButton("Salvar Tema", accentColor);
-        saveButton.addActionListener(e -> saveTheme());
+        JButton saveButton = createStyledButton("Salvar", accentColor);
+        saveButton.addActionListener(e -> saveSettings());
 
         JButton resetButton = createStyledButton("Restaurar Padrão", new Color(200, 100, 100));
         resetButton.addActionListener(e -> resetToDefault());
@@ -408,15 +514,24 @@ public class SettingsScreen extends JFrame implements ThemeManager.ThemeChangeLi
         themePreviewPanel.repaint();
     }
 
-    private void saveTheme() {
+    private void saveSettings() {
         ThemeManager.saveTheme(currentTheme.background, currentTheme.accent, currentTheme.grid);
-        showFeedbackMessage("Tema aplicado com sucesso!\nTodas as telas foram atualizadas.", accentColor);
+        ControlSettings.save(dasSlider.getValue(), arrSlider.getValue(), softDropSlider.getValue());
+        ControlSettings.saveSpeedCurve((String) curveSelector.getSelectedItem());
+        ControlSettings.savePreviewLength(previewSlider.getValue());
+        showFeedbackMessage("Configurações salvas!\nOs controles valem a partir da próxima partida.", accentColor);
     }
 
     private void resetToDefault() {
         applyTheme("Clássico");
         ThemeManager.resetToDefault();
-        showFeedbackMessage("Tema restaurado para o padrão!", accentColor);
+        ControlSettings.resetToDefault();
+        dasSlider.setValue(ControlSettings.getDasMs());
+        arrSlider.setValue(ControlSettings.getArrMs());
+        softDropSlider.setValue(ControlSettings.getSoftDropFactor());
+        curveSelector.setSelectedItem(ControlSettings.getSpeedCurve());
+        previewSlider.setValue(ControlSettings.getPreviewLength());
+        showFeedbackMessage("Configurações restauradas para o padrão!", accentColor);
     }
 
     private void showFeedbackMessage(String message, Color color) {
@@ -0,0 +1,315 @@
+package com.jonas.tetris.ui;
+
+import java.awt.BorderLayout;
+import java.awt.Color;
+import java.awt.Component;
+import java.awt.Cursor;
+import java.awt.Dimension;
+import java.awt.FlowLayout;
+import java.awt.Font;
+import java.awt.Graphics;
+import java.awt.Graphics2D;
+import java.awt.GraphicsDevice;
+import java.awt.GraphicsEnvironment;
+import java.awt.GridLayout;
+import java.awt.RenderingHints;
+import java.awt.event.KeyAdapter;
+import java.awt.event.KeyEvent;
+import java.awt.event.MouseAdapter;
+import java.awt.event.MouseEvent;
+import java.util.Map;
+
+import javax.swing.BorderFactory;
+import javax.swing.Box;
+import javax.swing.BoxLayout;
+import javax.swing.JButton;
+import javax.swing.JFrame;
+import javax.swing.JLabel;
+import javax.swing.JPanel;
+import javax.swing.SwingConstants;
+import javax.swing.SwingUtilities;
+import javax.swing.border.EmptyBorder;
+
+import com.jonas.tetris.domain.Tetromino;
+import com.jonas.tetris.persistence.ScoreRepository;
+import com.jonas.tetris.persistence.StatsAggregator;
+import com.jonas.tetris.persistence.StatsSummary;
+
+/**
+ * Tela de estatísticas: agregados de todas as partidas (mantidos a cada
+ * partida, sem varrer o histórico) e a evolução nas últimas
+ * {@value #RECENT_GAMES}, lida das colunas mapeadas. Tudo é calculado fora
+ * do EDT; aqui só chegam os números.
+ */
+public class StatisticsScreen extends JFrame {
+    private static final int RECENT_GAMES = 1000;
+
+    private final Color bgColor = new Color(15, 15, 25);
+    private final Color accentColor = new Color(100, 149, 237);
+    private final Color textColor = new Color(220, 220, 220);
+    private final Color cardColor = new Color(30, 30, 45);
+
+    private final JPanel statsGrid = new JPanel(new GridLayout(0, 4, 20, 20));
+    private final PpsChart ppsChart = new PpsChart();
+    private final JLabel statusLabel = new JLabel("Carregando...", SwingConstants.CENTER);
+
+    public StatisticsScreen() {
+        setTitle("TETRIS - Estatísticas");
+        setDefaultCloseOperation(JFrame.DISPOSE_ON_CLOSE);
+        setUndecorated(true);
+
+        JPanel mainContent = new JPanel(new BorderLayout());
+        mainContent.setBackground(bgColor);
+        mainContent.setBorder(new EmptyBorder(40, 60, 40, 60));
+
+        mainContent.add(createHeader(), BorderLayout.NORTH);
+        mainContent.add(createCenterPanel(), BorderLayout.CENTER);
+        mainContent.add(createFooter(), BorderLayout.SOUTH);
+        add(mainContent);
+
+        mainContent.setFocusable(true);
+        mainContent.addKeyListener(new KeyAdapter() {
+            @Override
+            public void keyPressed(KeyEvent e) {
+                if (e.getKeyCode() == KeyEvent.VK_ESCAPE) {
+                    goBack();
+                }
+            }
+        });
+
+        GraphicsDevice gd = GraphicsEnvironment.getLocalGraphicsEnvironment().getDefaultScreenDevice();
+        if (gd.isFullScreenSupported()) {
+            gd.setFullScreenWindow(this);
+        } else {
+            setExtendedState(JFrame.MAXIMIZED_BOTH);
+        }
+
+        setVisible(true);
+        mainContent.requestFocus();
+
+        // Fade in suave
+        ScreenTransition.fadeIn(this);
+
+        ScoreRepository.loadAggregates()
+                .thenCombine(ScoreRepository.loadStatistics(RECENT_GAMES), (aggregates, summary) -> {
+                    SwingUtilities.invokeLater(() -> showSummary(aggregates, summary));
+                    return null;
+                });
+    }
+
+    private JPanel createHeader() {
+        JPanel header = new JPanel();
+        header.setLayout(new BoxLayout(header, BoxLayout.Y_AXIS));
+        header.setBackground(bgColor);
+        header.setBorder(new EmptyBorder(0, 0, 30, 0));
+
+        JLabel titleLabel = new JLabel("ESTATÍSTICAS");
+        titleLabel.setFont(new Font("Arial", Font.BOLD, 56));
+        titleLabel.setForeground(accentColor);
+        titleLabel.setAlignmentX(Component.CENTER_ALIGNMENT);
+
+        statusLabel.setFont(new Font("Arial", Font.ITALIC, 20));
+        statusLabel.setForeground(textColor);
+        statusLabel.setAlignmentX(Component.CENTER_ALIGNMENT);
+
+        header.add(titleLabel);
+        header.add(Box.createVerticalStrut(10));
+        header.add(statusLabel);
+
+        return header;
+    }
+
+    private JPanel createCenterPanel() {
+        JPanel center = new JPanel(new BorderLayout(0, 30));
+        center.setBackground(bgColor);
+
+        statsGrid.setBackground(bgColor);
+        center.add(statsGrid, BorderLayout.NORTH);
+
+        ppsChart.setPreferredSize(new Dimension(800, 220));
+        ppsChart.setBorder(BorderFactory.createLineBorder(accentColor.darker(), 2));
+        center.add(ppsChart, BorderLayout.CENTER);
+
+        return center;
+    }
+
+    private JPanel createFooter() {
+        JPanel footer = new JPanel(new FlowLayout(FlowLayout.CENTER, 30, 0));
+        footer.setBackground(bgColor);
+        footer.setBorder(new EmptyBorder(30, 0, 0, 0));
+
+        JButton backButton = createStyledButton("Voltar", new Color(100, 100, 120));
+        backButton.addActionListener(e -> goBack());
+        footer.add(backButton);
+
+        return footer;
+    }
+
+    private void showSummary(StatsAggregator aggregates, StatsSummary summary) {
+        if (aggregates == null || summary == null) {
+            statusLabel.setText("Não foi possível ler o histórico");
+            return;
+        }
+        if (aggregates.getGames() == 0) {
+            statusLabel.setText("Nenhuma partida registrada ainda");
+            return;
+        }
+        statusLabel.setText(aggregates.getGames() + " partidas, "
+                + formatDuration(aggregates.getTotalDurationMs()) + " de jogo");
+
+        // Todas as partidas, mantidas incrementalmente
+        addStat("Melhor pontuação", String.valueOf(aggregates.getBestScore()));
+        addStat("Pontuação média", String.format("%.0f", aggregates.getMeanScore()));
+        addStat("Pontuação p50 / p90 / p99", aggregates.getScorePercentile(50) + " / "
+                + aggregates.getScorePercentile(90) + " / " + aggregates.getScorePercentile(99));
+        addStat("Linhas/min", String.format("%.1f", aggregates.getLinesPerMinute()));
+        addStat("Melhor PPS", String.format("%.2f", aggregates.getBestPps()));
+        addStat("PPS médio", String.format("%.2f", aggregates.getMeanPps()));
+        addStat("PPS p50 / p90 / p99", String.format("%.2f / %.2f / %.2f", aggregates.getPpsPercentile(50),
+                aggregates.getPpsPercentile(90), aggregates.getPpsPercentile(99)));
+
+        StringBuilder modes = new StringBuilder();
+        for (Map.Entry<String, StatsAggregator.ModeStats> mode : aggregates.getModes().entrySet()) {
+            modes.append(modes.length() == 0 ? "" : "  ").append(mode.getKey()).append(' ')
+                    .append(mode.getValue().getBestScore());
+        }
+        addStat("Melhor por modo", modes.toString());
+
+        // Últimas partidas, do histórico por coluna
+        String recent = " (últimas " + summary.getRecentGames() + ")";
+        addStat("Linhas/min" + recent, String.format("%.1f", summary.getRecentLinesPerMinute()));
+        addStat("PPS médio" + recent, String.format("%.2f", summary.getRecentAveragePps()));
+        addStat("Tendência PPS / 100 partidas", String.format("%+.2f", summary.getRecentPpsTrend() * 100));
+        addStat("Tendência pontos / 100 partidas", String.format("%+.0f", summary.getRecentScoreTrend() * 100));
+
+        StringBuilder pieces = new StringBuilder();
+        for (Tetromino.Type type : Tetromino.Type.values()) {
+            pieces.append(pieces.length() == 0 ? "" : "  ").append(type).append(' ')
+                    .append(summary.getPieceCount(type));
+        }
+        addStat("Peças por tipo" + recent, pieces.toString());
+        addStat("Simples / duplas / triplas", summary.getClearCount(1) + " / " + summary.getClearCount(2)
+                + " / " + summary.getClearCount(3));
+        addStat("Tetris" + recent, String.valueOf(summary.getClearCount(4)));
+
+        ppsChart.setValues(summary.getRecentPps());
+        statsGrid.revalidate();
+        statsGrid.repaint();
+    }
+
+    private void addStat(String title, String value) {
+        JPanel card = new JPanel();
+        card.setLayout(new BoxLayout(card, BoxLayout.Y_AXIS));
+        card.setBackground(cardColor);
+        card.setBorder(new EmptyBorder(12, 16, 12, 16));
+
+        JLabel titleLabel = new JLabel(title);
+        titleLabel.setFont(new Font("Arial", Font.PLAIN, 16));
+        titleLabel.setForeground(textColor);
+
+        JLabel valueLabel = new JLabel(value);
+        valueLabel.setFont(new Font("Arial", Font.BOLD, value.length() > 20 ? 16 : 28));
+        valueLabel.setForeground(Color.WHITE);
+
+        card.add(titleLabel);
+        card.add(Box.createVerticalStrut(6));
+        card.add(valueLabel);
+        statsGrid.add(card);
+    }
+
+    private static String formatDuration(long millis) {
+        long minutes = millis / 60_000;
+        return minutes >= 60 ? (minutes / 60) + "h" + String.format("%02d", minutes % 60) : minutes + " min";
+    }
+
+    private JButton createStyledButton(String text, Color color) {
+        JButton button = new JButton(text);
+        button.setPreferredSize(new Dimension(200, 55));
+        button.setFont(new Font("Arial", Font.BOLD, 20));
+        button.setBackground(color);
+        button.setForeground(Color.WHITE);
+        button.setBorderPainted(false);
+        button.setFocusPainted(false);
+        button.setCursor(new Cursor(Cursor.HAND_CURSOR));
+
+        button.addMouseListener(new MouseAdapter() {
+            @Override
+            public void mouseEntered(MouseEvent e) {
+                button.setBackground(color.brighter());
+            }
+
+            @Override
+            public void mouseExited(MouseEvent e) {
+                button.setBackground(color);
+            }
+        });
+
+        return button;
+    }
+
+    private void goBack() {
+        ScreenTransition.fadeOut(this, () -> {
+            GraphicsDevice gd = GraphicsEnvironment.getLocalGraphicsEnvironment().getDefaultScreenDevice();
+            if (gd.getFullScreenWindow() == this) {
+                gd.setFullScreenWindow(null);
+            }
+            setVisible(false);
+            dispose();
+            SwingUtilities.invokeLater(() -> new MainMenu());
+        });
+    }
+
+    /**
+     * Linha do PPS por partida, da mais antiga para a mais nova.
+     */
+    private class PpsChart extends JPanel {
+        private float[] values = new float[0];
+
+        PpsChart() {
+            setBackground(cardColor);
+        }
+
+        void setValues(float[] values) {
+            this.values = values;
+            repaint();
+        }
+
+        @Override
+        protected void paintComponent(Graphics g) {
+            super.paintComponent(g);
+            Graphics2D g2d = (Graphics2D) g;
+            g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+
+            g2d.setColor(textColor);
+            g2d.setFont(new Font("Arial", Font.PLAIN, 14));
+            g2d.drawString("PPS nas últimas " + values.length + " partidas", 12, 20);
+            if (values.length < 2) {
+                return;
+            }
+
+            float max = 0;
+            for (float value : values) {
+                max = Math.max(max, value);
+            }
+            if (max <= 0) {
+                return;
+            }
+            int left = 12;
+            int top = 32;
+            int width = getWidth() - 24;
+            int height = getHeight() - 44;
+            g2d.drawString(String.format("%.2f", max), getWidth() - 60, 20);
+
+            g2d.setColor(accentColor);
+            int previousX = left;
+            int previousY = top + height - Math.round(values[0] / max * height);
+            for (int i = 1; i < values.length; i++) {
+                int x = left + (int) ((long) i * width / (values.length - 1));
+                int y = top + height - Math.round(values[i] / max * height);
+                g2d.drawLine(previousX, previousY, x, y);
+                previousX = x;
+                previousY = y;
+            }
+        }
+    }
+}
@@ -3,11 +3,16 @@ package com.jonas.tetris.util;
 import java.awt.*;
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.HashMap;
+import java.util.Map;
 
 /**
  * Utilitário para carregar fontes customizadas do classpath.
  */
 public class FontLoader {
+    // Fontes base já lidas do classpath (o arquivo TTF é lido uma única vez)
+    private static final Map<String, Font> baseFonts = new HashMap<>();
+
     /**
      * Carrega uma fonte TrueType do classpath.
      *
@@ -15,13 +20,19 @@ public class FontLoader {
      * @param size tamanho da fonte em pontos
      * @return Font carregada ou Arial como fallback
      */
-    public static Font loadFont(String path, float size) {
+    public static synchronized Font loadFont(String path, float size) {
+        Font base = baseFonts.get(path);
+        if (base != null) {
+            return base.deriveFont(size);
+        }
+
         try (InputStream is = FontLoader.class.getResourceAsStream(path)) {
             if (is == null) {
                 System.err.println("Fonte não encontrada: " + path);
                 return new Font("Arial", Font.PLAIN, (int) size);
             }
             Font font = Font.createFont(Font.TRUETYPE_FONT, is);
+            baseFonts.put(path, font);
             return font.deriveFont(size);
         } catch (FontFormatException | IOException e) {
             e.printStackTrace();
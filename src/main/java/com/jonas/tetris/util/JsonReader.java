@@ -0,0 +1,531 @@
+package com.jonas.tetris.util;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Parser JSON de streaming (pull), escrito à mão para os protocolos de linha:
+ * lê tokens direto de um {@link Reader} com buffer próprio, sem montar
+ * árvore. Vários documentos seguidos (um por linha) são lidos em sequência.
+ *
+ * Uso: {@link #peek()} diz o próximo token; {@code begin/end*},
+ * {@link #nextName()} e {@code next*} consomem. Números inteiros são lidos
+ * sem alocar. Erros de sintaxe viram {@link IOException}; depois de um erro,
+ * {@link #skipLine()} descarta o resto da linha e volta ao início de um
+ * documento. Uma quebra de linha dentro de um documento também é erro (a
+ * linha acabou antes dele), e fica para o {@code skipLine()}: cada linha
+ * da entrada dá um documento ou um erro. Para arquivos pequenos lidos de
+ * uma vez (resultados do JMH), {@link #readTree()} monta o valor inteiro,
+ * aceitando quebras de linha.
+ */
+public final class JsonReader {
+    public enum Token {
+        BEGIN_OBJECT, END_OBJECT, BEGIN_ARRAY, END_ARRAY, NAME, STRING, NUMBER, BOOLEAN, NULL, END_DOCUMENT
+    }
+
+    private static final int MAX_DEPTH = 32;
+
+    // Escopos da pilha
+    private static final int DOCUMENT = 0;
+    private static final int EMPTY_OBJECT = 1;
+    private static final int DANGLING_NAME = 2;
+    private static final int NONEMPTY_OBJECT = 3;
+    private static final int EMPTY_ARRAY = 4;
+    private static final int NONEMPTY_ARRAY = 5;
+
+    private final Reader in;
+    private final char[] buffer = new char[8192];
+    private int pos;
+    private int limit;
+
+    private final int[] stack = new int[MAX_DEPTH];
+    private int depth = 1; // stack[0] = DOCUMENT
+    private boolean multiline; // Só durante readTree()
+
+    private Token peeked;
+    private boolean booleanValue;
+    private final StringBuilder text = new StringBuilder(); // Nome, string ou número pendente
+
+    public JsonReader(Reader in) {
+        this.in = in;
+    }
+
+    /**
+     * Próximo token, sem consumir.
+     */
+    public Token peek() throws IOException {
+        if (peeked == null) {
+            peeked = doPeek();
+        }
+        return peeked;
+    }
+
+    public void beginObject() throws IOException {
+        expect(Token.BEGIN_OBJECT);
+        push(EMPTY_OBJECT);
+    }
+
+    public void endObject() throws IOException {
+        expect(Token.END_OBJECT);
+        depth--;
+    }
+
+    public void beginArray() throws IOException {
+        expect(Token.BEGIN_ARRAY);
+        push(EMPTY_ARRAY);
+    }
+
+    public void endArray() throws IOException {
+        expect(Token.END_ARRAY);
+        depth--;
+    }
+
+    /**
+     * Há mais elementos no objeto ou array atual?
+     */
+    public boolean hasNext() throws IOException {
+        Token token = peek();
+        return token != Token.END_OBJECT && token != Token.END_ARRAY && token != Token.END_DOCUMENT;
+    }
+
+    public String nextName() throws IOException {
+        expect(Token.NAME);
+        return text.toString();
+    }
+
+    /**
+     * Compara o nome pendente sem alocar e o consome se for igual.
+     */
+    public boolean nextNameEquals(String name) throws IOException {
+        if (peek() != Token.NAME || !contentEquals(name)) {
+            return false;
+        }
+        peeked = null;
+        return true;
+    }
+
+    public String nextString() throws IOException {
+        Token token = peek();
+        if (token != Token.STRING && token != Token.NUMBER) {
+            throw error("esperava string, veio " + token);
+        }
+        peeked = null;
+        return text.toString();
+    }
+
+    public boolean nextBoolean() throws IOException {
+        expect(Token.BOOLEAN);
+        return booleanValue;
+    }
+
+    public void nextNull() throws IOException {
+        expect(Token.NULL);
+    }
+
+    /**
+     * Inteiro, sem alocar.
+     */
+    public long nextLong() throws IOException {
+        expect(Token.NUMBER);
+        try {
+            return Long.parseLong(text, 0, text.length(), 10);
+        } catch (NumberFormatException e) {
+            throw error("inteiro inválido: " + text);
+        }
+    }
+
+    public int nextInt() throws IOException {
+        long value = nextLong();
+        if (value != (int) value) {
+            throw error("inteiro fora do intervalo: " + value);
+        }
+        return (int) value;
+    }
+
+    public double nextDouble() throws IOException {
+        expect(Token.NUMBER);
+        try {
+            return Double.parseDouble(text.toString());
+        } catch (NumberFormatException e) {
+            throw error("número inválido: " + text);
+        }
+    }
+
+    /**
+     * Lê o próximo valor inteiro como árvore: objetos viram {@link Map} (na
+     * ordem do documento), arrays viram {@link List}, números viram
+     * {@link Double}, e {@code null} vira null. O valor pode ocupar várias
+     * linhas.
+     */
+    public Object readTree() throws IOException {
+        boolean wasMultiline = multiline;
+        multiline = true;
+        try {
+            return readTreeValue();
+        } finally {
+            multiline = wasMultiline;
+        }
+    }
+
+    private Object readTreeValue() throws IOException {
+        switch (peek()) {
+            case BEGIN_OBJECT:
+                Map<String, Object> object = new LinkedHashMap<>();
+                beginObject();
+                while (hasNext()) {
+                    String name = nextName();
+                    object.put(name, readTreeValue());
+                }
+                endObject();
+                return object;
+            case BEGIN_ARRAY:
+                List<Object> array = new ArrayList<>();
+                beginArray();
+                while (hasNext()) {
+                    array.add(readTreeValue());
+                }
+                endArray();
+                return array;
+            case STRING:
+                return nextString();
+            case NUMBER:
+                return nextDouble();
+            case BOOLEAN:
+                return nextBoolean();
+            case NULL:
+                nextNull();
+                return null;
+            default:
+                throw error("esperava um valor, veio " + peek());
+        }
+    }
+
+    /**
+     * Pula o próximo valor inteiro (objetos e arrays aninhados inclusive).
+     */
+    public void skipValue() throws IOException {
+        int level = 0;
+        do {
+            switch (peek()) {
+                case BEGIN_OBJECT:
+                    beginObject();
+                    level++;
+                    break;
+                case BEGIN_ARRAY:
+                    beginArray();
+                    level++;
+                    break;
+                case END_OBJECT:
+                    endObject();
+                    level--;
+                    break;
+                case END_ARRAY:
+                    endArray();
+                    level--;
+                    break;
+                case END_DOCUMENT:
+                    throw error("fim da entrada no meio de um valor");
+                default:
+                    peeked = null;
+                    break;
+            }
+        } while (level > 0);
+    }
+
+    /**
+     * Há um documento inteiro ou parte dele já disponível, sem bloquear?
+     * Espaços em branco no buffer não contam.
+     */
+    public boolean ready() throws IOException {
+        while (pos < limit && isWhitespace(buffer[pos])) {
+            pos++;
+        }
+        return peeked != null && peeked != Token.END_DOCUMENT || pos < limit || in.ready();
+    }
+
+    /**
+     * Descarta o resto da linha atual e volta ao início de um documento.
+     */
+    public void skipLine() throws IOException {
+        peeked = null;
+        depth = 1;
+        stack[0] = DOCUMENT;
+        while (true) {
+            if (pos == limit && !fill()) {
+                return;
+            }
+            if (buffer[pos++] == '\n') {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Volta ao início de um documento e descarta o que já estava no buffer,
+     * para reaproveitar o parser quando a fonte por baixo muda de conteúdo
+     * (uma linha nova de outro cliente, por exemplo).
+     */
+    public void reset() {
+        peeked = null;
+        depth = 1;
+        stack[0] = DOCUMENT;
+        pos = 0;
+        limit = 0;
+    }
+
+    private void expect(Token expected) throws IOException {
+        Token token = peek();
+        if (token != expected) {
+            throw error("esperava " + expected + ", veio " + token);
+        }
+        peeked = null;
+    }
+
+    private void push(int scope) throws IOException {
+        if (depth == MAX_DEPTH) {
+            throw error("aninhamento acima de " + MAX_DEPTH);
+        }
+        stack[depth++] = scope;
+    }
+
+    private Token doPeek() throws IOException {
+        int scope = stack[depth - 1];
+        int c;
+        switch (scope) {
+            case EMPTY_ARRAY:
+                stack[depth - 1] = NONEMPTY_ARRAY;
+                c = nextNonWhitespace();
+                if (c == ']') {
+                    return Token.END_ARRAY;
+                }
+                pos--;
+                return readValue();
+            case NONEMPTY_ARRAY:
+                c = nextNonWhitespace();
+                if (c == ']') {
+                    return Token.END_ARRAY;
+                }
+                if (c != ',') {
+                    throw error("esperava ',' ou ']'");
+                }
+                return readValue();
+            case EMPTY_OBJECT:
+            case NONEMPTY_OBJECT:
+                stack[depth - 1] = DANGLING_NAME;
+                c = nextNonWhitespace();
+                if (c == '}') {
+                    return Token.END_OBJECT;
+                }
+                if (scope == NONEMPTY_OBJECT) {
+                    if (c != ',') {
+                        throw error("esperava ',' ou '}'");
+                    }
+                    c = nextNonWhitespace();
+                }
+                if (c != '"') {
+                    throw error("esperava nome entre aspas");
+                }
+                readString();
+                return Token.NAME;
+            case DANGLING_NAME:
+                stack[depth - 1] = NONEMPTY_OBJECT;
+                if (nextNonWhitespace() != ':') {
+                    throw error("esperava ':'");
+                }
+                return readValue();
+            default:
+                c = nextNonWhitespaceOrEnd();
+                if (c == -1) {
+                    return Token.END_DOCUMENT;
+                }
+                pos--;
+                return readValue();
+        }
+    }
+
+    private Token readValue() throws IOException {
+        int c = nextNonWhitespace();
+        switch (c) {
+            case '{':
+                return Token.BEGIN_OBJECT;
+            case '[':
+                return Token.BEGIN_ARRAY;
+            case '"':
+                readString();
+                return Token.STRING;
+            case 't':
+                readLiteral("rue");
+                booleanValue = true;
+                return Token.BOOLEAN;
+            case 'f':
+                readLiteral("alse");
+                booleanValue = false;
+                return Token.BOOLEAN;
+            case 'n':
+                readLiteral("ull");
+                return Token.NULL;
+            default:
+                if (c == '-' || (c >= '0' && c <= '9')) {
+                    readNumber(c);
+                    return Token.NUMBER;
+                }
+                throw error("caractere inesperado '" + (char) c + "'");
+        }
+    }
+
+    private void readLiteral(String rest) throws IOException {
+        for (int i = 0; i < rest.length(); i++) {
+            if (nextChar() != rest.charAt(i)) {
+                throw error("literal inválido");
+            }
+        }
+    }
+
+    private void readNumber(int first) throws IOException {
+        text.setLength(0);
+        text.append((char) first);
+        while (pos < limit || fill()) {
+            char c = buffer[pos];
+            if ((c >= '0' && c <= '9') || c == '.' || c == 'e' || c == 'E' || c == '+' || c == '-') {
+                text.append(c);
+                pos++;
+            } else {
+                break;
+            }
+        }
+    }
+
+    /**
+     * Lê até a aspa de fechamento (a de abertura já foi consumida).
+     */
+    private void readString() throws IOException {
+        text.setLength(0);
+        while (true) {
+            char c = nextChar();
+            if (c == '"') {
+                return;
+            }
+            if (c == '\\') {
+                c = nextChar();
+                switch (c) {
+                    case 'n':
+                        text.append('\n');
+                        break;
+                    case 't':
+                        text.append('\t');
+                        break;
+                    case 'r':
+                        text.append('\r');
+                        break;
+                    case 'b':
+                        text.append('\b');
+                        break;
+                    case 'f':
+                        text.append('\f');
+                        break;
+                    case 'u':
+                        int code = 0;
+                        for (int i = 0; i < 4; i++) {
+                            int digit = Character.digit(nextChar(), 16);
+                            if (digit < 0) {
+                                throw error("escape \\u inválido");
+                            }
+                            code = (code << 4) | digit;
+                        }
+                        text.append((char) code);
+                        break;
+                    default:
+                        text.append(c); // \" \\ \/
+                        break;
+                }
+            } else if (c == '\n') {
+                pos--; // Fica para skipLine()
+                throw error("string sem fechamento");
+            } else {
+                text.append(c);
+            }
+        }
+    }
+
+    private boolean contentEquals(String value) {
+        if (text.length() != value.length()) {
+            return false;
+        }
+        for (int i = 0; i < value.length(); i++) {
+            if (text.charAt(i) != value.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private char nextChar() throws IOException {
+        if (pos == limit && !fill()) {
+            throw error("fim da entrada no meio de um valor");
+        }
+        char c = buffer[pos++];
+        if (c == '\n' && !multiline) {
+            throw lineEnded();
+        }
+        return c;
+    }
+
+    /**
+     * Próximo caractere fora de espaços, dentro de um documento: o fim da
+     * linha ali é erro.
+     */
+    private int nextNonWhitespace() throws IOException {
+        while (pos < limit || fill()) {
+            char c = buffer[pos++];
+            if (c == '\n' && !multiline) {
+                throw lineEnded();
+            }
+            if (!isWhitespace(c)) {
+                return c;
+            }
+        }
+        throw error("fim da entrada no meio de um valor");
+    }
+
+    /**
+     * A linha acabou no meio do documento; a quebra fica para skipLine().
+     */
+    private IOException lineEnded() {
+        pos--;
+        return error("linha terminou no meio do documento");
+    }
+
+    private int nextNonWhitespaceOrEnd() throws IOException {
+        while (pos < limit || fill()) {
+            char c = buffer[pos++];
+            if (!isWhitespace(c)) {
+                return c;
+            }
+        }
+        return -1;
+    }
+
+    private static boolean isWhitespace(char c) {
+        return c == ' ' || c == '\n' || c == '\r' || c == '\t';
+    }
+
+    private boolean fill() throws IOException {
+        int read = in.read(buffer, 0, buffer.length);
+        if (read <= 0) {
+            pos = 0;
+            limit = 0;
+            return false;
+        }
+        pos = 0;
+        limit = read;
+        return true;
+    }
+
+    private IOException error(String message) {
+        return new IOException("JSON inválido: " + message);
+    }
+}
@@ -0,0 +1,31 @@
+package com.jonas.tetris.util;
+
+/**
+ * Contas de memória retida por objeto, no estilo do RamUsageEstimator do
+ * Lucene: tamanhos de uma JVM de 64 bits com compressed oops (o padrão
+ * abaixo de 32 GB de heap), alinhados em 8 bytes. É estimativa para
+ * orçamento, não medição.
+ */
+public final class RamUsage {
+    public static final int OBJECT_HEADER = 12;
+    public static final int ARRAY_HEADER = 16;
+    public static final int REFERENCE = 4;
+
+    private RamUsage() {
+    }
+
+    public static long align(long bytes) {
+        return (bytes + 7) & ~7L;
+    }
+
+    /**
+     * Objeto com {@code fieldBytes} de campos próprios.
+     */
+    public static long object(int fieldBytes) {
+        return align(OBJECT_HEADER + fieldBytes);
+    }
+
+    public static long array(int length, int elementBytes) {
+        return align(ARRAY_HEADER + (long) length * elementBytes);
+    }
+}
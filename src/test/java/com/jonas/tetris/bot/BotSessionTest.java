@@ -0,0 +1,200 @@
+package com.jonas.tetris.bot;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.io.PipedReader;
+import java.io.PipedWriter;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.Test;
+
+import com.jonas.tetris.domain.Board;
+import com.jonas.tetris.util.JsonReader;
+
+public class BotSessionTest {
+
+    private static String[] run(String input) throws IOException {
+        StringWriter out = new StringWriter();
+        new BotSession(new StringReader(input), out).run();
+        return out.toString().split("\n");
+    }
+
+    @Test
+    public void testStartPlayAndIncrementalRows() throws IOException {
+        String[] lines = run("{\"type\":\"start\",\"seed\":42,\"preview\":5}\n"
+                + "{\"type\":\"play\",\"x\":0,\"rotation\":0}\n"
+                + "{\"type\":\"input\",\"keys\":\">H\"}\n"
+                + "{\"type\":\"sync\"}\n"
+                + "{\"type\":\"quit\"}\n");
+
+        assertEquals(5, lines.length);
+        assertTrue(lines[0], lines[0].startsWith("{\"type\":\"info\""));
+        assertTrue(lines[1], lines[1].contains("\"piece\":1,") && lines[1].endsWith("\"rows\":[]}"));
+        assertEquals(5, queueOf(lines[1]).length());
+
+        // Cada jogada manda só as linhas novas; o sync reenvia todas
+        int first = rowCount(lines[2]);
+        int second = rowCount(lines[3]);
+        assertTrue(first > 0 && second > 0);
+        assertTrue(lines[4].contains("\"piece\":3,"));
+        assertTrue(rowCount(lines[4]) >= Math.max(first, second));
+    }
+
+    @Test
+    public void testTruncatedLineGetsItsOwnError() throws IOException {
+        String[] lines = run("{\"type\":\"start\",\"seed\":1}\n"
+                + "{\"type\":\"play\"\n"
+                + "{\"type\":\"sync\"}\n"
+                + "{\"type\":\"quit\"}\n");
+
+        assertEquals(4, lines.length);
+        assertTrue(lines[1], lines[1].startsWith("{\"type\":\"state\""));
+        assertTrue(lines[2], lines[2].startsWith("{\"type\":\"error\""));
+        assertTrue(lines[3], lines[3].startsWith("{\"type\":\"state\"")); // O sync não foi engolido
+    }
+
+    @Test
+    public void testErrorsDoNotStopTheSession() throws IOException {
+        String[] lines = run("{\"type\":\"play\",\"x\":0}\n"
+                + "not json\n"
+                + "{\"type\":\"start\",\"seed\":1}\n"
+                + "{\"type\":\"play\",\"x\":-5}\n"
+                + "{\"type\":\"dance\"}\n");
+
+        assertTrue(lines[1], lines[1].contains("nenhuma partida"));
+        assertTrue(lines[2], lines[2].startsWith("{\"type\":\"error\""));
+        assertTrue(lines[3], lines[3].startsWith("{\"type\":\"state\""));
+        assertTrue(lines[4], lines[4].contains("inalcançável"));
+        assertTrue(lines[5], lines[5].contains("\"piece\":1,")); // Nada mudou
+        assertTrue(lines[6], lines[6].contains("desconhecido"));
+    }
+
+    @Test
+    public void testUnreachablePlayKeepsTheHold() throws IOException {
+        String[] lines = run("{\"type\":\"start\",\"seed\":1}\n"
+                + "{\"type\":\"play\",\"x\":-5,\"hold\":true}\n"
+                + "{\"type\":\"play\",\"x\":0,\"hold\":true}\n");
+
+        assertTrue(lines[2], lines[2].contains("inalcançável"));
+        assertTrue(lines[3], lines[3].contains("\"piece\":1,") && lines[3].contains("\"hold\":null"));
+        assertTrue(lines[4], lines[4].contains("\"piece\":3,") && !lines[4].contains("\"hold\":null"));
+    }
+
+    /**
+     * Bot de verdade do outro lado de um pipe: lê cada estado com o mesmo
+     * parser, escolhe a coluna mais baixa e responde uma jogada por vez.
+     */
+    @Test
+    public void testThousandsOfPiecesPerSecondThroughAPipe() throws Exception {
+        PipedWriter toEngine = new PipedWriter();
+        PipedReader engineIn = new PipedReader(toEngine, 1 << 16);
+        PipedWriter engineOut = new PipedWriter();
+        PipedReader fromEngine = new PipedReader(engineOut, 1 << 16);
+
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        Thread engine = new Thread(() -> {
+            try (Writer out = engineOut) {
+                new BotSession(engineIn, out).run();
+            } catch (Throwable t) {
+                failure.set(t);
+            }
+        }, "bot-engine");
+        engine.start();
+
+        int target = 5000;
+        int pieces = 0;
+        int[] rows = new int[Board.BOARD_HEIGHT + 2];
+        JsonReader reader = new JsonReader(fromEngine);
+        long start = System.nanoTime();
+        toEngine.write("{\"type\":\"start\",\"seed\":3}\n");
+        toEngine.flush();
+        while (pieces < target) {
+            String status = readMessage(reader, rows);
+            if (status == null) {
+                continue; // info
+            }
+            if (status.equals("game_over")) {
+                java.util.Arrays.fill(rows, 0);
+                toEngine.write("{\"type\":\"start\"}\n");
+            } else {
+                pieces++;
+                toEngine.write("{\"type\":\"play\",\"x\":" + lowestColumn(rows) + ",\"rotation\":0}\n");
+            }
+            toEngine.flush();
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+        toEngine.write("{\"type\":\"quit\"}\n");
+        toEngine.close();
+        engine.join(5000);
+
+        assertEquals(null, failure.get());
+        double rate = target / seconds;
+        assertTrue("peças/s: " + rate, rate > 1000);
+    }
+
+    /**
+     * Lê uma mensagem e aplica as linhas recebidas.
+     *
+     * @return status do state, ou null para outras mensagens
+     */
+    private static String readMessage(JsonReader reader, int[] rows) throws IOException {
+        String status = null;
+        boolean isState = false;
+        reader.beginObject();
+        while (reader.hasNext()) {
+            String name = reader.nextName();
+            if (name.equals("type")) {
+                isState = reader.nextString().equals("state");
+            } else if (name.equals("status")) {
+                status = reader.nextString();
+            } else if (name.equals("rows")) {
+                reader.beginArray();
+                while (reader.hasNext()) {
+                    reader.beginArray();
+                    int y = reader.nextInt();
+                    rows[y] = reader.nextInt();
+                    reader.endArray();
+                }
+                reader.endArray();
+            } else {
+                reader.skipValue();
+            }
+        }
+        reader.endObject();
+        return isState ? status : null;
+    }
+
+    private static int lowestColumn(int[] rows) {
+        int best = 0;
+        int bestHeight = Integer.MAX_VALUE;
+        for (int x = 0; x < Board.BOARD_WIDTH - 1; x++) {
+            int height = 0;
+            for (int y = 0; y < rows.length; y++) {
+                if ((rows[y] & (3 << x)) != 0) {
+                    height = rows.length - y;
+                    break;
+                }
+            }
+            if (height < bestHeight) {
+                bestHeight = height;
+                best = x;
+            }
+        }
+        return best;
+    }
+
+    private static String queueOf(String line) {
+        int start = line.indexOf("\"queue\":\"") + 9;
+        return line.substring(start, line.indexOf('"', start));
+    }
+
+    private static int rowCount(String line) {
+        String rows = line.substring(line.indexOf("\"rows\":["));
+        return rows.length() - rows.replace("[", "").length() - 1;
+    }
+}
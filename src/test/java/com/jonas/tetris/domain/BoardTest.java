@@ -71,4 +71,55 @@ public class BoardTest {
         assertFalse(board.isCellOccupied(5, 10));
         assertFalse(board.isCellOccupied(3, 15));
     }
+
+    @Test
+    public void testColumnHeightTracksStack() {
+        assertEquals(0, board.getColumnHeight(3));
+
+        board.setCell(3, Board.BOARD_HEIGHT + 1, java.awt.Color.RED); // última linha
+        assertEquals(1, board.getColumnHeight(3));
+
+        board.setCell(3, Board.BOARD_HEIGHT - 2, java.awt.Color.RED);
+        assertEquals(4, board.getColumnHeight(3));
+    }
+
+    @Test
+    public void testColumnHeightAfterLineClear() {
+        for (int x = 0; x < Board.BOARD_WIDTH; x++) {
+            board.setCell(x, Board.BOARD_HEIGHT + 1, java.awt.Color.BLUE);
+        }
+        board.setCell(2, Board.BOARD_HEIGHT, java.awt.Color.BLUE);
+
+        board.clearCompleteLines();
+
+        assertEquals(1, board.getColumnHeight(2));
+        assertEquals(0, board.getColumnHeight(5));
+    }
+
+    @Test
+    public void testCountHoles() {
+        assertEquals(0, board.countHoles());
+
+        // Bloco suspenso sobre duas células vazias
+        board.setCell(4, Board.BOARD_HEIGHT - 1, java.awt.Color.RED);
+        assertEquals(2, board.countHoles());
+
+        board.setCell(4, Board.BOARD_HEIGHT + 1, java.awt.Color.RED);
+        assertEquals(1, board.countHoles());
+    }
+
+    @Test
+    public void testAddGarbageLinesPushesStackUp() {
+        board.setCell(3, Board.BOARD_HEIGHT + 1, java.awt.Color.RED);
+
+        assertFalse(board.addGarbageLines(2, 7, java.awt.Color.GRAY));
+        assertTrue(board.isCellOccupied(3, Board.BOARD_HEIGHT - 1));
+        for (int y = Board.BOARD_HEIGHT; y <= Board.BOARD_HEIGHT + 1; y++) {
+            for (int x = 0; x < Board.BOARD_WIDTH; x++) {
+                assertEquals(x != 7, board.isCellOccupied(x, y));
+            }
+        }
+        assertEquals(3, board.getColumnHeight(3));
+        assertEquals(0, board.clearCompleteLines()); // O buraco impede a limpeza
+    }
 }
@@ -2,6 +2,7 @@ package com.jonas.tetris.domain;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertSame;
 import org.junit.Test;
 
 public class TetrominoRotationTest {
@@ -43,6 +44,16 @@ public class TetrominoRotationTest {
         assertNotEquals(originalShape.length, rotatedShape.length);
     }
 
+    @Test
+    public void testInstancesAreShared() {
+        Tetromino piece = Tetromino.spawn(Tetromino.Type.T);
+
+        assertSame(piece, piece.moveTo(5, 0).moveTo(4, 0));
+        assertSame(piece, piece.rotated().rotated().rotated().rotated());
+        assertSame(piece.rotated(), Tetromino.of(Tetromino.Type.T, 1, 4, 0));
+        assertEquals(1, piece.rotated().moveTo(6, 3).getRotation()); // mover mantém a rotação
+    }
+
     @Test
     public void testMultipleRotations() {
         Tetromino piece = new Tetromino(Tetromino.Type.T, 5, 5);
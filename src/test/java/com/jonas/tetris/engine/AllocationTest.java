@@ -0,0 +1,143 @@
+package com.jonas.tetris.engine;
+
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assume.assumeTrue;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.lang.management.ManagementFactory;
+
+/**
+ * Garante que o jogo em regime não aloca por tick nem por input: mede os
+ * bytes alocados pela thread (ThreadMXBean) ao longo de 100 mil ticks.
+ * Reinícios após game over ficam fora da medição.
+ */
+public class AllocationTest {
+    private static final int WARMUP_TICKS = 20_000;
+    private static final int MEASURED_TICKS = 100_000;
+    // Uma alocação por tick já passaria de 1 MB; a folga cobre a própria medição
+    private static final long BUDGET_BYTES = 16 * 1024;
+
+    private static final com.sun.management.ThreadMXBean THREADS =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    private static final InputHandler.Action[] SCRIPT = {
+            InputHandler.Action.LEFT, InputHandler.Action.ROTATE, InputHandler.Action.RIGHT,
+            InputHandler.Action.SOFT_DROP, InputHandler.Action.RIGHT, InputHandler.Action.HOLD,
+            InputHandler.Action.ROTATE, InputHandler.Action.LEFT, InputHandler.Action.HARD_DROP
+    };
+
+    private GameController controller;
+    private InputHandler input;
+    private GameLoop loop;
+    private GameState snapshot;
+    private long now;
+
+    @Before
+    public void setUp() {
+        assumeTrue(THREADS.isThreadAllocatedMemorySupported());
+        THREADS.setThreadAllocatedMemoryEnabled(true);
+
+        controller = new GameController();
+        controller.startGame();
+        input = new InputHandler(controller);
+        loop = new GameLoop(controller, input, null);
+        snapshot = new GameState();
+        now = 0;
+    }
+
+    @Test
+    public void testTicksDoNotAllocate() {
+        runTicks(WARMUP_TICKS);
+        long allocated = runTicks(MEASURED_TICKS);
+        assertTrue("Alocados " + allocated + " bytes em " + MEASURED_TICKS + " ticks", allocated <= BUDGET_BYTES);
+    }
+
+    @Test
+    public void testTwentyGDoesNotAllocate() {
+        controller.setGravityOverride(LevelManager.TWENTY_G);
+        runTicks(WARMUP_TICKS);
+        long allocated = runTicks(MEASURED_TICKS);
+        assertTrue("Alocados " + allocated + " bytes em " + MEASURED_TICKS + " ticks", allocated <= BUDGET_BYTES);
+    }
+
+    @Test
+    public void testCommandsDoNotAllocate() {
+        runCommands(WARMUP_TICKS);
+        long allocated = runCommands(MEASURED_TICKS);
+        assertTrue("Alocados " + allocated + " bytes em " + MEASURED_TICKS + " comandos", allocated <= BUDGET_BYTES);
+    }
+
+    @Test
+    public void testSnapshotIsReused() {
+        assertSame(snapshot, controller.getState(snapshot));
+        assertSame(controller.getState(snapshot).getNextQueue(), controller.getState(snapshot).getNextQueue());
+    }
+
+    /**
+     * Simula ticks com input roteirizado, lendo um snapshot a cada frame como
+     * a UI faz.
+     */
+    private long runTicks(int ticks) {
+        long allocated = 0;
+        long start = THREADS.getCurrentThreadAllocatedBytes();
+        for (int i = 0; i < ticks; i++) {
+            if (controller.getStatus() == GameState.GameStatus.GAME_OVER) {
+                allocated += THREADS.getCurrentThreadAllocatedBytes() - start;
+                controller.startGame();
+                input.reset();
+                start = THREADS.getCurrentThreadAllocatedBytes();
+            }
+
+            // A cada 6 frames pressiona uma tecla do roteiro e solta 3 frames depois
+            int phase = i % 6;
+            InputHandler.Action action = SCRIPT[(i / 6) % SCRIPT.length];
+            if (phase == 0) {
+                input.press(action, now, i);
+            } else if (phase == 3) {
+                input.release(action, now);
+            }
+
+            loop.tick(now);
+            controller.getState(snapshot);
+            now += GameLoop.FRAME_NANOS;
+        }
+        return allocated + THREADS.getCurrentThreadAllocatedBytes() - start;
+    }
+
+    /**
+     * Chama os comandos do controller diretamente, sem o InputHandler.
+     */
+    private long runCommands(int count) {
+        long allocated = 0;
+        long start = THREADS.getCurrentThreadAllocatedBytes();
+        for (int i = 0; i < count; i++) {
+            if (controller.getStatus() == GameState.GameStatus.GAME_OVER) {
+                allocated += THREADS.getCurrentThreadAllocatedBytes() - start;
+                controller.startGame();
+                start = THREADS.getCurrentThreadAllocatedBytes();
+            }
+
+            int step = i % 8;
+            if (step == 0) {
+                controller.moveLeft();
+            } else if (step == 1) {
+                controller.rotate();
+            } else if (step == 2) {
+                controller.shiftToWall(1);
+            } else if (step == 3) {
+                controller.softDrop();
+            } else if (step == 4) {
+                controller.hold();
+            } else if (step == 5) {
+                controller.moveRight();
+            } else if (step == 6) {
+                controller.update();
+            } else {
+                controller.hardDrop();
+            }
+        }
+        return allocated + THREADS.getCurrentThreadAllocatedBytes() - start;
+    }
+}
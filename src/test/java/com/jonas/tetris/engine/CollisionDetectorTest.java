@@ -1,5 +1,6 @@
 package com.jonas.tetris.engine;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 import org.junit.Before;
@@ -85,4 +86,25 @@ public class CollisionDetectorTest {
         Tetromino piece = new Tetromino(Tetromino.Type.O, 5, 0);
         assertFalse(CollisionDetector.isGameOver(piece, board));
     }
+
+    @Test
+    public void testShiftLimitReachesWallAboveStack() {
+        // Pilha baixa em todas as colunas não bloqueia uma peça no topo
+        for (int x = 0; x < Board.BOARD_WIDTH - 1; x++) {
+            board.setCell(x, Board.BOARD_HEIGHT + 1, java.awt.Color.RED);
+        }
+        Tetromino piece = new Tetromino(Tetromino.Type.O, 4, 0);
+
+        assertEquals(0, CollisionDetector.getShiftLimitX(piece, -1, board));
+        assertEquals(Board.BOARD_WIDTH - 2, CollisionDetector.getShiftLimitX(piece, 1, board));
+    }
+
+    @Test
+    public void testShiftLimitStopsAtStack() {
+        // Parede de blocos na coluna 1, na altura da peça
+        board.setCell(1, 10, java.awt.Color.RED);
+        Tetromino piece = new Tetromino(Tetromino.Type.O, 5, 9);
+
+        assertEquals(2, CollisionDetector.getShiftLimitX(piece, -1, board));
+    }
 }
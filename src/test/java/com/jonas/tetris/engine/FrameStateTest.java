@@ -0,0 +1,89 @@
+package com.jonas.tetris.engine;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+public class FrameStateTest {
+
+    /**
+     * Entradas fixas por frame: uma ação a cada poucos frames e um hard drop
+     * a cada 20.
+     */
+    private static int input(long frame) {
+        if (frame % 20 == 19) {
+            return 1 << InputHandler.Action.HARD_DROP.ordinal();
+        }
+        switch ((int) (frame % 7)) {
+            case 1:
+                return 1 << (frame / 20 % 3 == 0 ? InputHandler.Action.LEFT : InputHandler.Action.RIGHT).ordinal();
+            case 3:
+                return 1 << InputHandler.Action.ROTATE.ordinal();
+            case 5:
+                return frame % 3 == 0 ? 1 << InputHandler.Action.HOLD.ordinal()
+                        : 1 << InputHandler.Action.RIGHT.ordinal();
+            default:
+                return 0;
+        }
+    }
+
+    private static long run(GameController controller, long from, long to, FrameState scratch) {
+        for (long frame = from; frame < to; frame++) {
+            controller.step(input(frame));
+        }
+        controller.saveFrame(scratch);
+        return scratch.checksum();
+    }
+
+    @Test
+    public void testSteppingIsDeterministic() {
+        FrameState scratch = new FrameState();
+        GameController first = new GameController(21);
+        GameController second = new GameController(21);
+        first.startGame();
+        second.startGame();
+        assertEquals(run(first, 0, 600, scratch), run(second, 0, 600, scratch));
+        assertTrue("peças: " + first.getState().getTotalPieces(), first.getState().getTotalPieces() > 15);
+    }
+
+    @Test
+    public void testLoadFrameRewindsExactly() {
+        GameController controller = new GameController(8);
+        controller.startGame();
+        FrameState saved = new FrameState();
+        FrameState scratch = new FrameState();
+
+        long before = run(controller, 0, 100, saved);
+        long after = run(controller, 100, 250, scratch);
+        assertNotEquals(before, after);
+
+        controller.loadFrame(saved);
+        controller.saveFrame(scratch);
+        assertEquals(before, scratch.checksum());
+        assertEquals(after, run(controller, 100, 250, scratch)); // Re-simulação dá o mesmo resultado
+    }
+
+    @Test
+    public void testSaveAndLoadTakeMicroseconds() {
+        GameController controller = new GameController(3);
+        controller.startGame();
+        FrameState state = new FrameState();
+        run(controller, 0, 200, state);
+
+        int rounds = 200_000;
+        for (int i = 0; i < rounds; i++) { // Aquecimento
+            controller.saveFrame(state);
+            controller.loadFrame(state);
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < rounds; i++) {
+            controller.saveFrame(state);
+            controller.loadFrame(state);
+        }
+        long perRound = (System.nanoTime() - start) / rounds;
+        System.out.println("saveFrame + loadFrame: " + perRound + " ns");
+        assertTrue("ns: " + perRound, perRound < 5_000);
+    }
+}
@@ -0,0 +1,217 @@
+package com.jonas.tetris.engine;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Random;
+
+import org.junit.Test;
+
+import com.jonas.tetris.domain.Tetromino;
+
+public class GameCheckpointTest {
+
+    /**
+     * Sequência fixa de ações, variada o bastante para limpar linhas, usar o
+     * hold e deixar peças no meio da queda.
+     */
+    private static void play(GameController controller, int steps, int offset) {
+        for (int i = offset; i < offset + steps && controller.getStatus() == GameState.GameStatus.PLAYING; i++) {
+            switch (i % 6) {
+                case 0:
+                    controller.moveLeft();
+                    controller.moveLeft();
+                    break;
+                case 1:
+                    controller.rotate();
+                    controller.shiftToWall(1);
+                    break;
+                case 2:
+                    controller.hold();
+                    break;
+                default:
+                    break;
+            }
+            for (int frame = 0; frame < 5; frame++) {
+                controller.update();
+            }
+            if (i % 3 == 2) {
+                controller.hardDrop();
+            }
+        }
+    }
+
+    private static void assertSameGame(GameState expected, GameState actual) {
+        assertEquals(expected.getStatus(), actual.getStatus());
+        assertEquals(expected.getScore(), actual.getScore());
+        assertEquals(expected.getLevel(), actual.getLevel());
+        assertEquals(expected.getTotalLines(), actual.getTotalLines());
+        assertEquals(expected.getTotalPieces(), actual.getTotalPieces());
+        assertEquals(expected.getCurrentPiece(), actual.getCurrentPiece());
+        assertEquals(expected.getHoldPiece() == null, actual.getHoldPiece() == null);
+        for (int i = 0; i < expected.getNextQueue().size(); i++) {
+            assertEquals(expected.getNextQueue().get(i), actual.getNextQueue().get(i));
+        }
+        for (int y = 0; y < expected.getBoardGrid().length; y++) {
+            assertArrayEquals(expected.getBoardGrid()[y], actual.getBoardGrid()[y]);
+            assertArrayEquals(expected.getBoardColors()[y], actual.getBoardColors()[y]);
+        }
+        for (Tetromino.Type type : Tetromino.Type.values()) {
+            assertEquals(expected.getPieceCount(type), actual.getPieceCount(type));
+        }
+    }
+
+    @Test
+    public void testGameRandomMatchesJavaRandom() {
+        GameRandom game = new GameRandom(1234);
+        Random reference = new Random(1234);
+        for (int i = 0; i < 1000; i++) {
+            assertEquals(reference.nextInt(7), game.nextInt(7));
+        }
+
+        long state = game.getState();
+        int expected = game.nextInt(1000);
+        game.setState(state);
+        assertEquals(expected, game.nextInt(1000));
+    }
+
+    @Test
+    public void testRestoredGameContinuesIdentically() throws IOException {
+        GameController original = new GameController(7);
+        original.startGame();
+        play(original, 24, 0);
+        assertEquals(GameState.GameStatus.PLAYING, original.getStatus());
+
+        GameCheckpoint checkpoint = new GameCheckpoint();
+        assertTrue(original.checkpoint(checkpoint));
+        ByteBuffer buffer = ByteBuffer.allocate(GameCheckpoint.MAX_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        checkpoint.writeTo(buffer);
+        buffer.flip();
+        assertTrue("checkpoint compacto: " + buffer.remaining(), buffer.remaining() < 512);
+
+        GameController restored = new GameController(99);
+        restored.restore(GameCheckpoint.readFrom(buffer, GameCheckpoint.FORMAT_VERSION));
+        assertEquals(GameState.GameStatus.PAUSED, restored.getStatus());
+        assertEquals(checkpoint.getElapsedMs(), restored.getState().getElapsedTimeMs());
+        restored.pause();
+        assertSameGame(original.getState(), restored.getState());
+
+        // Mesmas ações daqui em diante: mesmas peças, mesmo tabuleiro
+        for (int round = 0; round < 20 && original.getStatus() == GameState.GameStatus.PLAYING; round++) {
+            play(original, 10, 24 + round * 10);
+            play(restored, 10, 24 + round * 10);
+            assertSameGame(original.getState(), restored.getState());
+        }
+    }
+
+    @Test
+    public void testRestoreKeepsNonDefaultCurve() throws IOException {
+        assertTrue(LevelManager.selectCurve("nes"));
+        GameCheckpoint checkpoint = new GameCheckpoint();
+        try {
+            GameController original = new GameController(5);
+            original.startGame();
+            play(original, 6, 0);
+            assertTrue(original.checkpoint(checkpoint));
+        } finally {
+            LevelManager.selectCurve(LevelManager.DEFAULT_CURVE);
+        }
+        assertEquals("nes", checkpoint.getCurveId());
+
+        ByteBuffer buffer = ByteBuffer.allocate(GameCheckpoint.MAX_BYTES);
+        checkpoint.writeTo(buffer);
+        buffer.flip();
+        GameController restored = new GameController(1);
+        restored.restore(GameCheckpoint.readFrom(buffer, GameCheckpoint.FORMAT_VERSION));
+
+        GameCheckpoint again = new GameCheckpoint();
+        assertTrue(restored.checkpoint(again));
+        assertEquals("nes", again.getCurveId()); // Não caiu na curva padrão
+    }
+
+    @Test
+    public void testPracticeModeSurvivesTheSave() throws IOException {
+        GameController original = new GameController(11);
+        original.enableRewind(50);
+        original.startGame();
+        play(original, 12, 0);
+        GameCheckpoint checkpoint = new GameCheckpoint();
+        assertTrue(original.checkpoint(checkpoint));
+        assertTrue(checkpoint.isPractice());
+
+        ByteBuffer buffer = ByteBuffer.allocate(GameCheckpoint.MAX_BYTES);
+        checkpoint.writeTo(buffer);
+        buffer.flip();
+        GameController restored = new GameController(2);
+        restored.restore(GameCheckpoint.readFrom(buffer, GameCheckpoint.FORMAT_VERSION));
+        assertTrue(restored.isRewindEnabled());
+
+        // O ponto retomado é o primeiro do histórico
+        restored.pause();
+        int score = restored.getState().getScore();
+        int pieces = restored.getState().getTotalPieces();
+        restored.hardDrop();
+        assertEquals(1, restored.getRewindDepth());
+        assertTrue(restored.rewind(1));
+        assertEquals(score, restored.getState().getScore());
+        assertEquals(pieces, restored.getState().getTotalPieces());
+    }
+
+    @Test
+    public void testNormalGameRestoresWithoutRewind() throws IOException {
+        GameController original = new GameController(11);
+        original.startGame();
+        play(original, 6, 0);
+        GameCheckpoint checkpoint = new GameCheckpoint();
+        assertTrue(original.checkpoint(checkpoint));
+        assertFalse(checkpoint.isPractice());
+
+        ByteBuffer buffer = ByteBuffer.allocate(GameCheckpoint.MAX_BYTES);
+        checkpoint.writeTo(buffer);
+        buffer.flip();
+        GameController restored = new GameController(2);
+        restored.enableRewind(50);
+        restored.restore(GameCheckpoint.readFrom(buffer, GameCheckpoint.FORMAT_VERSION));
+        assertFalse(restored.isRewindEnabled());
+    }
+
+    @Test
+    public void testVersionOneStillLoads() throws IOException {
+        GameController original = new GameController(4);
+        original.enableRewind(50);
+        original.startGame();
+        GameCheckpoint checkpoint = new GameCheckpoint();
+        assertTrue(original.checkpoint(checkpoint));
+
+        // A versão 1 é a mesma coisa sem o campo final do modo treino
+        ByteBuffer buffer = ByteBuffer.allocate(GameCheckpoint.MAX_BYTES);
+        checkpoint.writeTo(buffer);
+        buffer.flip();
+        buffer.limit(buffer.limit() - Integer.BYTES);
+        GameCheckpoint old = GameCheckpoint.readFrom(buffer, (short) 1);
+        assertFalse(old.isPractice());
+        assertEquals(checkpoint.getScore(), old.getScore());
+    }
+
+    @Test
+    public void testNoCheckpointOutsideAGame() {
+        GameController controller = new GameController(3);
+        assertFalse(controller.checkpoint(new GameCheckpoint()));
+
+        controller.startGame();
+        while (controller.getStatus() != GameState.GameStatus.GAME_OVER) {
+            controller.hardDrop();
+        }
+        assertFalse(controller.checkpoint(new GameCheckpoint()));
+    }
+
+    @Test(expected = IOException.class)
+    public void testUnknownVersionRejected() throws IOException {
+        GameCheckpoint.readFrom(ByteBuffer.allocate(GameCheckpoint.MAX_BYTES), (short) 99);
+    }
+}
@@ -0,0 +1,199 @@
+package com.jonas.tetris.engine;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Test;
+
+import com.jonas.tetris.domain.Tetromino;
+
+public class GameEventBusTest {
+    private final GameEventBus bus = new GameEventBus(8);
+
+    @After
+    public void tearDown() {
+        bus.close();
+    }
+
+    /**
+     * Handler que guarda uma cópia do que recebeu.
+     */
+    private static class Recorder implements GameEventBus.Handler {
+        final List<String> events = new ArrayList<>();
+        final List<Long> sequences = new ArrayList<>();
+        int lines;
+        int points;
+        int batches;
+        volatile CountDownLatch gate;
+
+        @Override
+        public void onEvent(GameEvent event, boolean endOfBatch) {
+            CountDownLatch currentGate = gate;
+            if (currentGate != null) {
+                try {
+                    currentGate.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            synchronized (this) {
+                events.add(event.getType().name());
+                sequences.add(event.getSequence());
+                if (event.getType() == GameEvent.Type.LINE_CLEARED) {
+                    lines += event.getLineCount();
+                    points += event.getPoints();
+                }
+                if (endOfBatch) {
+                    batches++;
+                }
+            }
+        }
+    }
+
+    private static void awaitLag(GameEventBus.Subscription sub) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (sub.getLag() > 0 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(1);
+        }
+        assertEquals(0, sub.getLag());
+    }
+
+    @Test
+    public void testEventsDeliveredInOrder() throws InterruptedException {
+        Recorder recorder = new Recorder();
+        GameEventBus.Subscription sub = bus.subscribe("ordem", recorder, GameEventBus.Backpressure.BLOCK);
+
+        for (int i = 0; i < 100; i++) {
+            bus.publishPieceEvent(GameEvent.Type.PIECE_SPAWNED, new Tetromino(Tetromino.Type.T), 0, 1, i);
+        }
+        awaitLag(sub);
+
+        synchronized (recorder) {
+            assertEquals(100, recorder.sequences.size());
+            for (int i = 0; i < 100; i++) {
+                assertEquals(i, recorder.sequences.get(i).longValue());
+            }
+            assertTrue(recorder.batches >= 1);
+        }
+        assertEquals(0, sub.getDroppedCount());
+    }
+
+    @Test
+    public void testDropSkipsOldEventsOfSlowConsumer() throws InterruptedException {
+        Recorder recorder = new Recorder();
+        recorder.gate = new CountDownLatch(1);
+        GameEventBus.Subscription sub = bus.subscribe("lento", recorder, GameEventBus.Backpressure.DROP);
+
+        for (int i = 0; i < 50; i++) {
+            bus.publishLineCleared(1, 100, 1, i); // Não bloqueia o produtor
+        }
+        recorder.gate.countDown();
+        awaitLag(sub);
+
+        synchronized (recorder) {
+            assertTrue(sub.getDroppedCount() > 0);
+            assertEquals(50, recorder.events.size() + sub.getDroppedCount());
+        }
+    }
+
+    @Test
+    public void testBlockNeverLosesEvents() throws InterruptedException {
+        Recorder recorder = new Recorder();
+        recorder.gate = new CountDownLatch(1);
+        GameEventBus.Subscription sub = bus.subscribe("bloqueante", recorder, GameEventBus.Backpressure.BLOCK);
+
+        Thread producer = new Thread(() -> {
+            for (int i = 0; i < 50; i++) {
+                bus.publishLineCleared(1, 100, 1, i);
+            }
+        });
+        producer.start();
+        Thread.sleep(50);
+        recorder.gate.countDown();
+        producer.join(5000);
+        awaitLag(sub);
+
+        synchronized (recorder) {
+            assertEquals(50, recorder.lines);
+        }
+        assertEquals(0, sub.getDroppedCount());
+        assertTrue(sub.getProducerWaits() > 0);
+    }
+
+    @Test
+    public void testCoalesceKeepsLineTotals() throws InterruptedException {
+        Recorder recorder = new Recorder();
+        recorder.gate = new CountDownLatch(1);
+        GameEventBus.Subscription sub = bus.subscribe("resumo", recorder, GameEventBus.Backpressure.COALESCE);
+
+        for (int i = 0; i < 50; i++) {
+            bus.publishLineCleared(2, 300, 1, i);
+            bus.publishPieceEvent(GameEvent.Type.PIECE_SPAWNED, new Tetromino(Tetromino.Type.I), 0, 1, i);
+        }
+        recorder.gate.countDown();
+        awaitLag(sub);
+
+        synchronized (recorder) {
+            assertEquals(100, recorder.lines);
+            assertEquals(15000, recorder.points);
+            assertTrue(recorder.events.size() < 100);
+        }
+    }
+
+    @Test
+    public void testCoalesceWithoutOverflowKeepsEveryEventInOrder() throws InterruptedException {
+        Recorder recorder = new Recorder();
+        recorder.gate = new CountDownLatch(1);
+        GameEventBus.Subscription sub = bus.subscribe("ordem", recorder, GameEventBus.Backpressure.COALESCE);
+
+        bus.publishPieceEvent(GameEvent.Type.PIECE_LOCKED, new Tetromino(Tetromino.Type.I), 0, 1, 0);
+        bus.publishLineCleared(1, 100, 1, 0);
+        bus.publishPieceEvent(GameEvent.Type.PIECE_SPAWNED, new Tetromino(Tetromino.Type.O), 0, 1, 0);
+        bus.publishLineCleared(2, 300, 1, 1);
+        bus.publishPieceEvent(GameEvent.Type.PIECE_SPAWNED, new Tetromino(Tetromino.Type.T), 0, 1, 1);
+        recorder.gate.countDown();
+        awaitLag(sub);
+
+        synchronized (recorder) {
+            assertEquals(List.of("PIECE_LOCKED", "LINE_CLEARED", "PIECE_SPAWNED", "LINE_CLEARED", "PIECE_SPAWNED"),
+                    recorder.events);
+            assertEquals(List.of(0L, 1L, 2L, 3L, 4L), recorder.sequences);
+            assertEquals(3, recorder.lines);
+        }
+        assertEquals(0, sub.getDroppedCount());
+    }
+
+    @Test
+    public void testLegacyListenerStillNotified() throws InterruptedException {
+        GameController controller = new GameController();
+        CountDownLatch spawned = new CountDownLatch(1);
+        controller.addListener(new GameController.GameEventListener() {
+            @Override
+            public void onLineCleared(int lineCount, int points) {
+            }
+
+            @Override
+            public void onLevelUp(int newLevel) {
+            }
+
+            @Override
+            public void onGameOver() {
+            }
+
+            @Override
+            public void onPieceSpawned(Tetromino piece) {
+                spawned.countDown();
+            }
+        });
+
+        controller.startGame();
+        assertTrue(spawned.await(5, TimeUnit.SECONDS));
+        controller.getEventBus().close();
+    }
+}
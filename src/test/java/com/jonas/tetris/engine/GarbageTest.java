@@ -0,0 +1,134 @@
+package com.jonas.tetris.engine;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+import com.jonas.tetris.domain.Board;
+import com.jonas.tetris.domain.Tetromino;
+
+public class GarbageTest {
+    private static final int BOTTOM = Board.BOARD_HEIGHT + 1;
+
+    /**
+     * Partida com as duas linhas do fundo cheias exceto as colunas 0 e 1 e
+     * um O na mão: {@code placeAt(0, 0)} limpa um double.
+     */
+    private static GameController doubleReady() {
+        GameController controller = new GameController(5);
+        controller.startGame();
+        GameCheckpoint checkpoint = new GameCheckpoint();
+        controller.checkpoint(checkpoint);
+        checkpoint.palette[0] = 0xFF808080;
+        checkpoint.paletteSize = 1;
+        for (int y = BOTTOM - 1; y <= BOTTOM; y++) {
+            for (int x = 2; x < Board.BOARD_WIDTH; x++) {
+                checkpoint.cells[y * Board.BOARD_WIDTH + x] = 1;
+            }
+        }
+        checkpoint.currentType = Tetromino.Type.O.ordinal();
+        checkpoint.currentRotation = 0;
+        controller.restore(checkpoint);
+        controller.pause(); // restore volta pausado
+        return controller;
+    }
+
+    @Test
+    public void testPendingGarbageRisesWhenNoLinesClear() {
+        GameController controller = new GameController(9);
+        controller.startGame();
+        controller.receiveGarbage(2);
+        assertEquals(2, controller.getPendingGarbage());
+
+        controller.placeAt(0, 0);
+        assertEquals(0, controller.getPendingGarbage());
+        int[][] grid = controller.getState().getBoardGrid();
+        for (int y = BOTTOM - 1; y <= BOTTOM; y++) {
+            int filled = 0;
+            for (int x = 0; x < Board.BOARD_WIDTH; x++) {
+                filled += grid[y][x] != 0 ? 1 : 0;
+            }
+            assertEquals(Board.BOARD_WIDTH - 1, filled);
+        }
+        assertEquals(0, controller.drainOutgoingGarbage());
+    }
+
+    @Test
+    public void testClearSendsGarbage() {
+        GameController controller = doubleReady();
+        assertEquals(true, controller.placeAt(0, 0));
+        assertEquals(2, controller.getState().getTotalLines());
+        assertEquals(1, controller.drainOutgoingGarbage());
+        assertEquals(0, controller.drainOutgoingGarbage());
+    }
+
+    @Test
+    public void testClearCancelsPendingGarbageFirst() {
+        GameController controller = doubleReady();
+        controller.receiveGarbage(3);
+        controller.placeAt(0, 0);
+
+        // O double (1 linha de ataque) cancela uma das 3; nada sai, nada sobe
+        assertEquals(2, controller.getPendingGarbage());
+        assertEquals(0, controller.drainOutgoingGarbage());
+        assertEquals(0, controller.getState().getBoardGrid()[BOTTOM][5]);
+    }
+
+    @Test
+    public void testGarbagePushingBlocksOffTheTopEndsTheGame() {
+        GameController controller = new GameController(9);
+        CountDownLatch over = new CountDownLatch(1);
+        controller.addListener(new GameController.GameEventListener() {
+            @Override
+            public void onLineCleared(int lineCount, int points) {
+            }
+
+            @Override
+            public void onLevelUp(int newLevel) {
+            }
+
+            @Override
+            public void onGameOver() {
+                over.countDown();
+            }
+
+            @Override
+            public void onPieceSpawned(Tetromino piece) {
+            }
+        });
+        controller.startGame();
+        controller.receiveGarbage(Board.BOARD_HEIGHT + 2); // A peça no fundo sobe além do buffer
+        int pieces = controller.getState().getTotalPieces();
+
+        controller.placeAt(0, 0);
+        assertEquals(GameState.GameStatus.GAME_OVER, controller.getStatus());
+        assertEquals(pieces, controller.getState().getTotalPieces()); // Nenhuma peça nova
+        try {
+            assertTrue(over.await(5, TimeUnit.SECONDS));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            controller.getEventBus().close();
+        }
+    }
+
+    @Test
+    public void testSeededGameKeepsPieceSequence() {
+        // O gerador dos buracos é separado: o lixo não muda as peças
+        GameController plain = new GameController(11);
+        GameController attacked = new GameController(11);
+        plain.startGame();
+        attacked.startGame();
+        for (int i = 0; i < 6; i++) {
+            attacked.receiveGarbage(1);
+            plain.placeAt(0, (i % 4) * 2);
+            attacked.placeAt(0, (i % 4) * 2);
+            assertEquals(plain.getState().getCurrentPiece().getType(),
+                    attacked.getState().getCurrentPiece().getType());
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package com.jonas.tetris.engine;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.jonas.tetris.domain.Tetromino;
+
+public class GravityLockTest {
+    private GameController controller;
+
+    @Before
+    public void setUp() {
+        controller = new GameController();
+        controller.startGame();
+    }
+
+    private Tetromino piece() {
+        return controller.getState().getCurrentPiece();
+    }
+
+    private void frames(int count) {
+        for (int i = 0; i < count; i++) {
+            controller.update();
+        }
+    }
+
+    @Test
+    public void testFractionalGravityAccumulates() {
+        controller.setGravityOverride(LevelManager.GRAVITY_UNIT / 4); // 1 célula a cada 4 frames
+        int startY = piece().getY();
+
+        frames(3);
+        assertEquals(startY, piece().getY());
+
+        frames(1);
+        assertEquals(startY + 1, piece().getY());
+
+        frames(8);
+        assertEquals(startY + 3, piece().getY());
+    }
+
+    @Test
+    public void testTwentyGDropsToFloorImmediately() {
+        controller.setGravityOverride(LevelManager.TWENTY_G);
+        frames(1);
+        int floorY = piece().getY();
+        assertTrue(floorY > 0);
+
+        // Já está no chão: soft drop não desce mais
+        controller.softDrop();
+        assertEquals(floorY, piece().getY());
+        assertEquals(1, controller.getState().getTotalPieces()); // Ainda não travou
+    }
+
+    @Test
+    public void testPieceLocksAfterLockDelay() {
+        controller.setGravityOverride(LevelManager.TWENTY_G);
+        int lockDelay = LevelManager.getLockDelayForLevel(1);
+
+        frames(lockDelay - 1);
+        assertEquals(1, controller.getState().getTotalPieces());
+
+        frames(1);
+        assertEquals(2, controller.getState().getTotalPieces());
+    }
+
+    @Test
+    public void testMoveResetIsLimited() {
+        controller.setGravityOverride(LevelManager.TWENTY_G);
+        int lockDelay = LevelManager.getLockDelayForLevel(1);
+
+        // Cada movimento no chão reinicia o lock delay, até o limite de resets
+        long lockedAt = -1;
+        for (int frame = 0; frame < lockDelay * 40 && lockedAt < 0; frame++) {
+            controller.update();
+            if (controller.getState().getTotalPieces() > 1) {
+                lockedAt = controller.getFrameCount();
+            } else if (frame % 2 == 1) {
+                if (frame % 4 == 1) {
+                    controller.moveLeft();
+                } else {
+                    controller.moveRight();
+                }
+            }
+        }
+
+        assertTrue("peça deveria travar apesar dos resets", lockedAt > 0);
+        assertTrue("resets deveriam adiar o travamento", lockedAt > lockDelay);
+        assertTrue("resets deveriam ser limitados", lockedAt <= (long) lockDelay * 17);
+    }
+
+    @Test
+    public void testSoftDropDoesNotLockOnGround() {
+        controller.setGravityOverride(LevelManager.TWENTY_G);
+        frames(1);
+
+        controller.softDrop();
+        assertEquals(1, controller.getState().getTotalPieces());
+    }
+}
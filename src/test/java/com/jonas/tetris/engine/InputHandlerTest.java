@@ -0,0 +1,116 @@
+package com.jonas.tetris.engine;
+
+import static org.junit.Assert.assertEquals;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.jonas.tetris.domain.Board;
+
+public class InputHandlerTest {
+    private static final long MS = 1_000_000L;
+    private static final long GRAVITY = 500 * MS;
+
+    private GameController controller;
+
+    @Before
+    public void setUp() {
+        controller = new GameController();
+        controller.startGame();
+    }
+
+    private int pieceX() {
+        return controller.getState().getCurrentPiece().getX();
+    }
+
+    @Test
+    public void testPressShiftsOnceImmediately() {
+        InputHandler input = new InputHandler(controller, 100 * MS, 20 * MS, 20);
+        int startX = pieceX();
+
+        input.press(InputHandler.Action.LEFT, 0, -1);
+        input.update(0, GRAVITY);
+        assertEquals(startX - 1, pieceX());
+
+        // Antes do DAS vencer, nada acontece
+        input.update(99 * MS, GRAVITY);
+        assertEquals(startX - 1, pieceX());
+    }
+
+    @Test
+    public void testAutoRepeatAfterDas() {
+        InputHandler input = new InputHandler(controller, 100 * MS, 20 * MS, 20);
+        int startX = pieceX();
+
+        input.press(InputHandler.Action.LEFT, 0, -1);
+        input.update(0, GRAVITY);
+        input.update(100 * MS, GRAVITY); // DAS venceu: 1 repetição
+        assertEquals(startX - 2, pieceX());
+
+        input.update(120 * MS, GRAVITY); // + ARR
+        assertEquals(startX - 3, pieceX());
+    }
+
+    @Test
+    public void testReleaseBeforeDasUsesEventTimestamp() {
+        InputHandler input = new InputHandler(controller, 100 * MS, 20 * MS, 20);
+        int startX = pieceX();
+
+        // Pressionar e soltar dentro do mesmo frame lógico
+        input.press(InputHandler.Action.RIGHT, 0, -1);
+        input.release(InputHandler.Action.RIGHT, 50 * MS);
+        input.update(200 * MS, GRAVITY);
+
+        assertEquals(startX + 1, pieceX());
+    }
+
+    @Test
+    public void testZeroArrShiftsToWall() {
+        InputHandler input = new InputHandler(controller, 100 * MS, 0, 20);
+
+        input.press(InputHandler.Action.LEFT, 0, -1);
+        input.update(0, GRAVITY);
+        input.update(100 * MS, GRAVITY);
+        assertEquals(0, pieceX());
+
+        input.release(InputHandler.Action.LEFT, 110 * MS);
+        input.press(InputHandler.Action.RIGHT, 110 * MS, -1);
+        input.update(210 * MS, GRAVITY);
+        int width = controller.getState().getCurrentPiece().getShape()[0].length;
+        assertEquals(Board.BOARD_WIDTH - width, pieceX());
+    }
+
+    @Test
+    public void testRepeatedPressIsIgnored() {
+        InputHandler input = new InputHandler(controller, 100 * MS, 20 * MS, 20);
+        int startX = pieceX();
+
+        input.press(InputHandler.Action.LEFT, 0, -1);
+        input.press(InputHandler.Action.LEFT, 30 * MS, -1); // key-repeat do SO
+        input.update(50 * MS, GRAVITY);
+
+        assertEquals(startX - 1, pieceX());
+    }
+
+    @Test
+    public void testSoftDropUsesFactorOfGravity() {
+        InputHandler input = new InputHandler(controller, 100 * MS, 20 * MS, 10);
+        int startY = controller.getState().getCurrentPiece().getY();
+
+        // Gravidade de 500 ms com fator 10: um passo a cada 50 ms
+        input.press(InputHandler.Action.SOFT_DROP, 0, -1);
+        input.update(0, GRAVITY);
+        input.update(100 * MS, GRAVITY);
+
+        assertEquals(startY + 3, controller.getState().getCurrentPiece().getY());
+    }
+
+    @Test
+    public void testLastAppliedTraceId() {
+        InputHandler input = new InputHandler(controller);
+        input.press(InputHandler.Action.ROTATE, 0, 7);
+        assertEquals(-1, input.getLastAppliedTraceId());
+
+        input.update(0, GRAVITY);
+        assertEquals(7, input.getLastAppliedTraceId());
+    }
+}
@@ -49,4 +49,12 @@ public class LevelManagerTest {
         
         assertEquals(speed1, speedInvalid); // Should default to level 1
     }
+
+    @Test
+    public void testGravityMatchesSpeed() {
+        // Nível 1: 500 ms por célula = 1/30 G
+        assertEquals(LevelManager.GRAVITY_UNIT / 30, LevelManager.getGravityForLevel(1), 1);
+        assertTrue(LevelManager.getGravityForLevel(20) > LevelManager.getGravityForLevel(1));
+        assertEquals(LevelManager.getGravityForLevel(20), LevelManager.getGravityForLevel(99));
+    }
 }
@@ -0,0 +1,75 @@
+package com.jonas.tetris.engine;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import org.junit.Test;
+
+import com.jonas.tetris.domain.Tetromino;
+
+public class PieceQueueTest {
+
+    @Test
+    public void testFifoAcrossWrapAround() {
+        PieceQueue queue = new PieceQueue();
+        Tetromino.Type[] types = Tetromino.Type.values();
+
+        // Mais voltas que a capacidade do buffer
+        int next = 0;
+        for (int i = 0; i < PieceQueue.MAX_PREVIEW; i++) {
+            queue.add(types[i % types.length]);
+        }
+        for (int i = 0; i < 50; i++) {
+            assertEquals(types[next % types.length], queue.poll());
+            queue.add(types[(next + PieceQueue.MAX_PREVIEW) % types.length]);
+            next++;
+        }
+        assertEquals(PieceQueue.MAX_PREVIEW, queue.size());
+        assertEquals(types[next % types.length], queue.get(0));
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testAddBeyondMaxPreviewFails() {
+        PieceQueue queue = new PieceQueue();
+        for (int i = 0; i <= PieceQueue.MAX_PREVIEW; i++) {
+            queue.add(Tetromino.Type.I);
+        }
+    }
+
+    @Test
+    public void testCopyAndCompare() {
+        PieceQueue queue = new PieceQueue();
+        queue.add(Tetromino.Type.T);
+        queue.add(Tetromino.Type.S);
+        queue.poll();
+        queue.add(Tetromino.Type.Z);
+
+        PieceQueue copy = new PieceQueue();
+        copy.copyFrom(queue);
+        assertTrue(copy.sameAs(queue));
+
+        copy.truncate(1);
+        assertEquals(1, copy.size());
+        assertEquals(Tetromino.Type.S, copy.get(0));
+    }
+
+    @Test
+    public void testControllerPreviewLength() {
+        GameController controller = new GameController(7);
+        assertEquals(PieceQueue.DEFAULT_PREVIEW, controller.getState().getNextQueue().size());
+
+        controller.setPreviewLength(7);
+        controller.startGame();
+        PiecePreview preview = controller.getState().getNextQueue();
+        assertEquals(7, preview.size());
+
+        // A próxima peça da fila é a que entra no hard drop
+        Tetromino.Type next = preview.get(0);
+        controller.hardDrop();
+        assertEquals(next, controller.getState().getCurrentPiece().getType());
+
+        controller.setPreviewLength(0);
+        assertEquals(PieceQueue.MIN_PREVIEW, controller.getState().getNextQueue().size());
+        controller.setPreviewLength(99);
+        assertEquals(PieceQueue.MAX_PREVIEW, controller.getState().getNextQueue().size());
+    }
+}
@@ -0,0 +1,116 @@
+package com.jonas.tetris.engine;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+
+public class RewindBufferTest {
+
+    /**
+     * Coloca uma peça numa coluna que varia, para não perder cedo demais.
+     */
+    private static void placePiece(GameController controller, int i) {
+        if (i % 3 == 0) {
+            controller.rotate();
+        }
+        controller.shiftToWall(i % 2 == 0 ? -1 : 1);
+        if (i % 4 == 1) {
+            controller.moveLeft();
+            controller.moveLeft();
+        }
+        controller.hardDrop();
+    }
+
+    private static void assertSameState(GameState expected, GameState actual) {
+        assertEquals(expected.getScore(), actual.getScore());
+        assertEquals(expected.getTotalLines(), actual.getTotalLines());
+        assertEquals(expected.getTotalPieces(), actual.getTotalPieces());
+        assertEquals(expected.getCurrentPiece(), actual.getCurrentPiece());
+        assertEquals(expected.getHoldPiece(), actual.getHoldPiece());
+        for (int i = 0; i < expected.getNextQueue().size(); i++) {
+            assertEquals(expected.getNextQueue().get(i), actual.getNextQueue().get(i));
+        }
+        for (int y = 0; y < expected.getBoardGrid().length; y++) {
+            assertArrayEquals(expected.getBoardGrid()[y], actual.getBoardGrid()[y]);
+            assertArrayEquals(expected.getBoardColors()[y], actual.getBoardColors()[y]);
+        }
+    }
+
+    @Test
+    public void testRewindRestoresPieceStartAndSameSequence() {
+        GameController controller = new GameController(5);
+        controller.enableRewind(100);
+        controller.startGame();
+        GameState initial = controller.getState();
+        controller.hold(); // O hold não cria entrada: voltar tudo desfaz ele também
+
+        List<GameState> starts = new ArrayList<>();
+        starts.add(controller.getState());
+        for (int i = 0; i < 16; i++) {
+            placePiece(controller, i);
+            starts.add(controller.getState());
+        }
+        assertEquals(GameState.GameStatus.PLAYING, controller.getStatus());
+        assertEquals(16, controller.getRewindDepth());
+
+        assertTrue(controller.rewind(6));
+        assertEquals(10, controller.getRewindDepth());
+        assertSameState(starts.get(10), controller.getState());
+
+        // As mesmas jogadas daqui em diante levam aos mesmos estados
+        for (int i = 10; i < 16; i++) {
+            placePiece(controller, i);
+            assertSameState(starts.get(i + 1), controller.getState());
+        }
+
+        assertTrue(controller.rewind(16));
+        assertSameState(initial, controller.getState());
+        assertFalse(controller.rewind(1));
+    }
+
+    @Test
+    public void testOldestEntriesAreOverwritten() {
+        GameController controller = new GameController(8);
+        controller.enableRewind(5);
+        controller.startGame();
+        for (int i = 0; i < 12; i++) {
+            placePiece(controller, i);
+        }
+        assertEquals(4, controller.getRewindDepth());
+        assertFalse(controller.rewind(5));
+        assertTrue(controller.rewind(4));
+        assertEquals(8, controller.getState().getTotalPieces() - 1);
+    }
+
+    @Test
+    public void testRewindUndoesGameOver() {
+        GameController controller = new GameController(13);
+        controller.enableRewind(1000);
+        controller.startGame();
+        GameState lastStart = controller.getState();
+        while (controller.getStatus() == GameState.GameStatus.PLAYING) {
+            lastStart = controller.getState();
+            controller.hardDrop();
+        }
+
+        assertTrue(controller.rewind(1));
+        assertEquals(GameState.GameStatus.PLAYING, controller.getStatus());
+        assertSameState(lastStart, controller.getState());
+    }
+
+    @Test
+    public void testDisabledByDefault() {
+        GameController controller = new GameController(1);
+        controller.startGame();
+        controller.hardDrop();
+        assertFalse(controller.isRewindEnabled());
+        assertEquals(0, controller.getRewindDepth());
+        assertFalse(controller.rewind(1));
+    }
+}
@@ -67,4 +67,13 @@ public class ScoreCalculatorTest {
         assertEquals(0, ScoreCalculator.calculateSoftDrop(-1));
         assertEquals(0, ScoreCalculator.calculateHardDrop(-1));
     }
+
+    @Test
+    public void testGarbageTable() {
+        assertEquals(0, ScoreCalculator.calculateGarbage(0));
+        assertEquals(0, ScoreCalculator.calculateGarbage(1));
+        assertEquals(1, ScoreCalculator.calculateGarbage(2));
+        assertEquals(2, ScoreCalculator.calculateGarbage(3));
+        assertEquals(4, ScoreCalculator.calculateGarbage(4));
+    }
 }
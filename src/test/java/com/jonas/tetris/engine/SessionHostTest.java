@@ -0,0 +1,155 @@
+package com.jonas.tetris.engine;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+
+public class SessionHostTest {
+
+    /**
+     * Bot simples: uma peça a cada {@code every} frames, colunas alternadas;
+     * no game over começa outra partida.
+     */
+    private static HostedSession.Driver bot(int every) {
+        return (controller, frame) -> {
+            if (controller.getStatus() == GameState.GameStatus.GAME_OVER) {
+                controller.startGame();
+            } else if (frame % every == every - 1) {
+                controller.placeAt((int) (frame / every) & 3, (int) (frame / every % 4) * 2);
+            }
+        };
+    }
+
+    private static void waitUntil(java.util.function.BooleanSupplier condition, long timeoutMs)
+            throws InterruptedException {
+        long deadline = System.currentTimeMillis() + timeoutMs;
+        while (!condition.getAsBoolean()) {
+            if (System.currentTimeMillis() > deadline) {
+                fail("tempo esgotado");
+            }
+            Thread.sleep(10);
+        }
+    }
+
+    @Test
+    public void testSessionsTickUntilTheirLimitOrGameOver() throws Exception {
+        try (SessionHost host = new SessionHost(1, Long.MAX_VALUE)) {
+            HostedSession limited = host.open(1, bot(5), 30);
+            HostedSession quitter = host.open(2, (controller, frame) -> controller.hardDrop()); // Topo em poucos frames
+            HostedSession endless = host.open(3, bot(5));
+            assertTrue(host.getAccountedBytes() > 0);
+
+            waitUntil(() -> limited.isFinished() && quitter.isFinished(), 5000);
+            waitUntil(() -> host.getFinishedCount() == 2, 1000);
+            assertEquals(30, limited.getFrame());
+            assertTrue(limited.getController().getState().getTotalPieces() >= 6);
+            assertEquals(GameState.GameStatus.GAME_OVER, quitter.getController().getStatus());
+            assertEquals(1, host.getSessionCount());
+
+            assertTrue(endless.getFrame() >= 25); // Shard próprio, defasado dentro do frame
+            endless.close();
+            waitUntil(() -> host.getSessionCount() == 0, 1000);
+            assertEquals(0, host.getAccountedBytes());
+        }
+    }
+
+    @Test
+    public void testThrowingDriverOnlyEndsItsOwnSession() throws Exception {
+        try (SessionHost host = new SessionHost(1, Long.MAX_VALUE)) {
+            HostedSession.Driver healthy = bot(5);
+            List<HostedSession> sessions = new ArrayList<>();
+            HostedSession broken = host.open(0, (controller, frame) -> {
+                if (frame == 5) {
+                    throw new IllegalStateException("bot com bug");
+                }
+                healthy.onFrame(controller, frame);
+            });
+            sessions.add(broken);
+            for (int i = 1; i < 2 * SessionHost.SHARDS_PER_THREAD; i++) {
+                sessions.add(host.open(i, bot(5)));
+            }
+            HostedSession shardMate = sessions.get(SessionHost.SHARDS_PER_THREAD); // Mesmo shard da quebrada
+
+            waitUntil(() -> host.getFinishedCount() == 1, 5000);
+            assertTrue(broken.isFinished());
+            assertEquals("bot com bug", broken.getFailure().getMessage());
+            assertEquals(5, broken.getFrame());
+            assertEquals(1, host.getFailedCount());
+            assertEquals(sessions.size() - 1, host.getSessionCount());
+
+            waitUntil(() -> shardMate.getFrame() > 30, 5000);
+            assertNull(shardMate.getFailure());
+            assertFalse(shardMate.isFinished());
+        }
+    }
+
+    @Test
+    public void testOpenRespectsTheMemoryBudget() {
+        long perSession = new HostedSession(0, new GameController(1), bot(5), 1).ramBytesUsed();
+        try (SessionHost host = new SessionHost(1, perSession * 5 / 2)) {
+            host.open(1, bot(5));
+            host.open(2, bot(5));
+            try {
+                host.open(3, bot(5));
+                fail("deveria recusar a terceira sessão");
+            } catch (IllegalStateException e) {
+                assertTrue(e.getMessage().contains("Orçamento"));
+            }
+            assertEquals(2, host.getSessionCount());
+        }
+    }
+
+    /**
+     * Dez mil sessões jogando a 60 Hz: todas andam, o heap cresce o que a
+     * conta de memória diz e o frame típico sai na hora.
+     */
+    @Test
+    public void testTenThousandConcurrentSessions() throws Exception {
+        int count = 10_000;
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        System.gc();
+        long heapBefore = memory.getHeapMemoryUsage().getUsed();
+
+        try (SessionHost host = new SessionHost(Long.MAX_VALUE)) {
+            List<HostedSession> sessions = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                sessions.add(host.open(i, bot(20)));
+            }
+            long accounted = host.getAccountedBytes();
+            Thread.sleep(500);
+            host.getTickLateness().reset();
+            host.getTickDuration().reset();
+            long startFrames = sessions.get(0).getFrame();
+            Thread.sleep(2000);
+            long frames = sessions.get(0).getFrame() - startFrames;
+
+            System.gc();
+            long heapUsed = memory.getHeapMemoryUsage().getUsed() - heapBefore;
+            long lagging = sessions.stream().filter(s -> s.getFrame() < startFrames).count();
+            long p50 = host.getTickLateness().getValueAtPercentile(50);
+            long p99 = host.getTickLateness().getValueAtPercentile(99);
+            System.out.printf("%d sessões: %d B/sessão contados, %d B/sessão no heap; %d frames em 2 s; "
+                    + "atraso p50 %.2f ms, p99 %.2f ms; frame de shard p99 %.2f ms%n", count, accounted / count,
+                    heapUsed / count, frames, p50 / 1e6, p99 / 1e6,
+                    host.getTickDuration().getValueAtPercentile(99) / 1e6);
+
+            assertEquals(count, host.getSessionCount());
+            assertEquals(0, lagging);
+            assertTrue("frames: " + frames, frames >= 90); // 120 no relógio
+            assertTrue("p50: " + p50, p50 < GameLoop.FRAME_NANOS);
+            assertTrue("p99: " + p99, p99 < 5 * GameLoop.FRAME_NANOS);
+            assertTrue("heap: " + heapUsed, heapUsed < 2 * accounted + (32 << 20));
+            // O motor não aloca por frame: a conta de alocação fica perto de zero
+            assertTrue(sessions.get(0).getAllocatedBytes() < 64 * 1024);
+        }
+    }
+}
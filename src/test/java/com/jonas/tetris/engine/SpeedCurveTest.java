@@ -0,0 +1,87 @@
+package com.jonas.tetris.engine;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.IOException;
+import java.io.StringReader;
+
+import org.junit.After;
+import org.junit.Test;
+
+public class SpeedCurveTest {
+
+    @After
+    public void tearDown() {
+        LevelManager.selectCurve(LevelManager.DEFAULT_CURVE);
+    }
+
+    private static SpeedCurve parse(String text) throws IOException {
+        return SpeedCurve.parse("test", new StringReader(text));
+    }
+
+    @Test
+    public void testParseUnitsAndFillGaps() throws IOException {
+        SpeedCurve curve = parse("""
+                name = Teste
+                lines_per_level = 5
+                1  60f    30  # uma célula por segundo
+                3  0.5G   20
+                5  20G    10
+                """);
+
+        assertEquals("Teste", curve.getName());
+        assertEquals("test", curve.getId());
+        assertEquals(5, curve.getLevelCount());
+        assertEquals(LevelManager.GRAVITY_UNIT / 60, curve.getGravity(1), 1);
+        assertEquals(curve.getGravity(1), curve.getGravity(2)); // nível omitido repete o anterior
+        assertEquals(LevelManager.GRAVITY_UNIT / 2, curve.getGravity(3));
+        assertEquals(20, curve.getLockDelay(4));
+        assertEquals(LevelManager.TWENTY_G, curve.getGravity(99));
+        assertEquals(10, curve.getLockDelay(99));
+        assertEquals(1000, curve.getSpeedMs(1));
+        assertEquals(2, curve.calculateLevel(5));
+    }
+
+    @Test
+    public void testGravityAboveTwentyGIsCapped() throws IOException {
+        SpeedCurve curve = parse("1 0.1ms 30\n");
+        assertEquals(LevelManager.TWENTY_G, curve.getGravity(1));
+    }
+
+    @Test
+    public void testInvalidCurvesAreRejected() throws IOException {
+        String[] invalid = {
+                "",
+                "2 500ms 30\n",
+                "1 500ms 30\n1 400ms 30\n",
+                "1 500 30\n",
+                "1 -5ms 30\n",
+                "1 500ms 0\n",
+                "1 0/256G 30\n",
+                "speed = 3\n1 500ms 30\n",
+        };
+        for (String text : invalid) {
+            try {
+                parse(text);
+                fail("curva deveria ser rejeitada: " + text);
+            } catch (IllegalArgumentException expected) {
+                // ok
+            }
+        }
+    }
+
+    @Test
+    public void testBuiltInCurvesLoad() {
+        assertTrue(LevelManager.getAvailableCurves().containsAll(
+                java.util.List.of("classic", "nes", "guideline", "tgm")));
+
+        assertTrue(LevelManager.selectCurve("tgm"));
+        assertEquals(LevelManager.TWENTY_G, LevelManager.getGravityForLevel(20));
+
+        assertFalse(LevelManager.selectCurve("inexistente"));
+        assertEquals(500, LevelManager.getSpeedForLevel(1)); // volta para a clássica
+    }
+}
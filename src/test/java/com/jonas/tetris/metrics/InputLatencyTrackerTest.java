@@ -0,0 +1,84 @@
+package com.jonas.tetris.metrics;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.Test;
+
+public class InputLatencyTrackerTest {
+
+    @Test
+    public void testInputIsMatchedToFirstFrameAfterPublication() {
+        LatencyHistogram window = new LatencyHistogram();
+        InputLatencyTracker tracker = new InputLatencyTracker(window);
+
+        long seq = tracker.begin(1_000, 0);
+        tracker.markApplied(seq, 2_000);
+
+        // Frame pintado antes da publicação não conta
+        tracker.markPresented(2_500);
+        assertEquals(0, tracker.getTotalLatency().getCount());
+
+        tracker.markPublished(3_000);
+        tracker.markPresented(11_000);
+
+        assertEquals(1, tracker.getTotalLatency().getCount());
+        assertEquals(10_000, tracker.getTotalLatency().getMax());
+        assertEquals(1, window.getCount());
+
+        // Frames seguintes não registram o mesmo input de novo
+        tracker.markPresented(20_000);
+        assertEquals(1, tracker.getTotalLatency().getCount());
+    }
+
+    @Test
+    public void testSeveralInputsClosedBySameFrame() {
+        InputLatencyTracker tracker = new InputLatencyTracker(null);
+        for (int i = 0; i < 3; i++) {
+            long seq = tracker.begin(i * 100, 0);
+            tracker.markApplied(seq, i * 100 + 10);
+        }
+        tracker.markPublished(500);
+        tracker.markPresented(1_000);
+
+        assertEquals(3, tracker.getTotalLatency().getCount());
+        assertEquals(1_000, tracker.getTotalLatency().getMax());
+    }
+
+    @Test
+    public void testOverflowCountsDroppedInputs() {
+        InputLatencyTracker tracker = new InputLatencyTracker(null);
+        for (int i = 0; i < 300; i++) {
+            long seq = tracker.begin(i, 0);
+            tracker.markApplied(seq, i);
+        }
+        tracker.markPublished(400);
+        tracker.markPresented(500);
+
+        assertEquals(256, tracker.getTotalLatency().getCount());
+        assertEquals(44, tracker.getDroppedCount());
+    }
+
+    @Test
+    public void testExportWritesStageSummary() throws Exception {
+        InputLatencyTracker tracker = new InputLatencyTracker(null);
+        long seq = tracker.begin(0, 1_000_000);
+        tracker.markApplied(seq, 100);
+        tracker.markPublished(200);
+        tracker.markPresented(5_000_000);
+
+        Path file = Files.createTempFile("latency", ".csv");
+        try {
+            tracker.exportTo(file);
+            String content = Files.readString(file);
+            assertTrue(content.startsWith("stage,count"));
+            assertTrue(content.contains("total,1,"));
+            assertTrue(content.contains("bucket_lower_ns"));
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+}
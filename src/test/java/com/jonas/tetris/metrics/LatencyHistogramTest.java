@@ -0,0 +1,73 @@
+package com.jonas.tetris.metrics;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import org.junit.Test;
+
+public class LatencyHistogramTest {
+
+    @Test
+    public void testBucketBoundsAreContiguous() {
+        for (int i = 0; i < LatencyHistogram.BUCKET_COUNT - 1; i++) {
+            assertEquals(LatencyHistogram.bucketUpperBound(i), LatencyHistogram.bucketLowerBound(i + 1));
+        }
+    }
+
+    @Test
+    public void testValuesFallInsideTheirBucket() {
+        long[] values = { 0, 1, 31, 32, 33, 63, 64, 1_000, 16_666_666, 1_000_000_000L };
+        for (long value : values) {
+            int index = LatencyHistogram.bucketIndex(value);
+            assertTrue(value >= LatencyHistogram.bucketLowerBound(index));
+            assertTrue(value < LatencyHistogram.bucketUpperBound(index));
+        }
+    }
+
+    @Test
+    public void testPercentilesWithinRelativeError() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int i = 1; i <= 1000; i++) {
+            histogram.record(i * 1_000L); // 1 µs .. 1 ms
+        }
+
+        assertEquals(1000, histogram.getCount());
+        assertEquals(1_000_000L, histogram.getMax());
+        assertEquals(500_000.0, histogram.getValueAtPercentile(50), 500_000 * 0.04);
+        assertEquals(990_000.0, histogram.getValueAtPercentile(99), 990_000 * 0.04);
+        assertEquals(500_500.0, histogram.getMean(), 0.001);
+    }
+
+    @Test
+    public void testResetClearsEverything() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(42);
+        histogram.reset();
+
+        assertEquals(0, histogram.getCount());
+        assertEquals(0, histogram.getMax());
+        assertEquals(0, histogram.getValueAtPercentile(99));
+    }
+
+    @Test
+    public void testNegativeValuesCountAsZero() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(-5);
+        assertEquals(1, histogram.getCount());
+        assertEquals(0, histogram.getValueAtPercentile(100));
+    }
+
+    @Test
+    public void testRecordCountMatchesRepeatedRecords() {
+        LatencyHistogram single = new LatencyHistogram();
+        LatencyHistogram repeated = new LatencyHistogram();
+        single.recordCount(5_000, 3);
+        single.recordCount(70, 0);
+        for (int i = 0; i < 3; i++) {
+            repeated.record(5_000);
+        }
+
+        assertEquals(repeated.getCount(), single.getCount());
+        assertEquals(repeated.getSum(), single.getSum());
+        assertEquals(repeated.getValueAtPercentile(50), single.getValueAtPercentile(50));
+    }
+}
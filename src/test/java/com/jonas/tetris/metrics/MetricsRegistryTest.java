@@ -0,0 +1,91 @@
+package com.jonas.tetris.metrics;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.management.ManagementFactory;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+
+import javax.management.ObjectName;
+
+import org.junit.Test;
+
+public class MetricsRegistryTest {
+
+    @Test
+    public void testCounterIsSharedByName() {
+        MetricsRegistry registry = new MetricsRegistry();
+        Counter counter = registry.counter("test_total", "teste");
+        counter.increment();
+        counter.add(4);
+
+        assertSame(counter, registry.counter("test_total", "teste"));
+        assertEquals(5L, registry.snapshot().get("test_total").longValue());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testKindMismatchIsRejected() {
+        MetricsRegistry registry = new MetricsRegistry();
+        registry.counter("test_metric", "teste");
+        registry.histogram("test_metric", "teste");
+    }
+
+    @Test
+    public void testPrometheusText() {
+        MetricsRegistry registry = new MetricsRegistry();
+        registry.counter("lines_total{type=\"single\"}", "Linhas").add(3);
+        registry.counter("lines_total{type=\"tetris\"}", "Linhas").add(1);
+        registry.gauge("level", "Nível", () -> 7);
+        LatencyHistogram histogram = registry.histogram("tick_seconds", "Tick");
+        histogram.record(2_000_000L); // 2 ms
+        histogram.record(40_000_000L); // 40 ms
+
+        StringBuilder out = new StringBuilder();
+        registry.writePrometheus(out);
+        String text = out.toString();
+
+        assertEquals(1, text.split("# TYPE lines_total counter", -1).length - 1);
+        assertTrue(text.contains("lines_total{type=\"single\"} 3\n"));
+        assertTrue(text.contains("lines_total{type=\"tetris\"} 1\n"));
+        assertTrue(text.contains("# TYPE level gauge\nlevel 7\n"));
+        assertTrue(text.contains("tick_seconds_bucket{le=\"0.001\"} 0\n"));
+        assertTrue(text.contains("tick_seconds_bucket{le=\"0.0025\"} 1\n"));
+        assertTrue(text.contains("tick_seconds_bucket{le=\"+Inf\"} 2\n"));
+        assertTrue(text.contains("tick_seconds_count 2\n"));
+    }
+
+    @Test
+    public void testHttpEndpointServesMetrics() throws IOException {
+        MetricsRegistry registry = new MetricsRegistry();
+        registry.counter("http_test_total", "teste").add(42);
+        MetricsHttpServer server = new MetricsHttpServer(registry, 0);
+        server.start();
+        try {
+            URL url = new URL("http://localhost:" + server.getPort() + "/metrics");
+            HttpURLConnection connection = (HttpURLConnection) url.openConnection();
+            assertEquals(200, connection.getResponseCode());
+            assertTrue(connection.getContentType().startsWith("text/plain"));
+            try (InputStream in = connection.getInputStream()) {
+                String body = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+                assertTrue(body.contains("http_test_total 42"));
+            }
+        } finally {
+            server.stop();
+        }
+    }
+
+    @Test
+    public void testJmxExposesDefaultRegistry() throws Exception {
+        GameMetrics.PIECES_PLACED.increment();
+        MetricsMBean.register();
+
+        Object value = ManagementFactory.getPlatformMBeanServer()
+                .getAttribute(new ObjectName(MetricsMBean.OBJECT_NAME), "tetris_pieces_placed_total");
+        assertTrue((Long) value >= 1);
+    }
+}
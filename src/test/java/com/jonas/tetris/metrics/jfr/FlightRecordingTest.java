@@ -0,0 +1,62 @@
+package com.jonas.tetris.metrics.jfr;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import org.junit.Test;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+
+import com.jonas.tetris.engine.GameController;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+public class FlightRecordingTest {
+
+    @Test
+    public void testProfileEnablesTetrisEvents() throws Exception {
+        Map<String, String> settings = FlightRecording.profileSettings();
+        assertEquals("true", settings.get("com.jonas.tetris.PieceLock#enabled"));
+        assertEquals("0 ms", settings.get("com.jonas.tetris.Tick#threshold"));
+        assertEquals("5 ms", settings.get("jdk.JavaMonitorEnter#threshold"));
+    }
+
+    @Test
+    public void testEventsDisabledWithoutRecording() {
+        assertFalse(PieceLockEvent.enabled());
+        assertFalse(TickEvent.enabled());
+    }
+
+    @Test
+    public void testPieceLockRecorded() throws Exception {
+        Path file = Files.createTempFile("tetris", ".jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable(PieceLockEvent.class).withoutThreshold();
+            recording.start();
+            assertTrue(PieceLockEvent.enabled());
+
+            GameController controller = new GameController();
+            controller.startGame();
+            controller.hardDrop();
+            controller.hardDrop();
+
+            recording.stop();
+            recording.dump(file);
+        }
+
+        List<RecordedEvent> events = RecordingFile.readAllEvents(file);
+        Files.deleteIfExists(file);
+        long locks = events.stream()
+                .filter(e -> e.getEventType().getName().equals("com.jonas.tetris.PieceLock"))
+                .count();
+        assertEquals(2, locks);
+        RecordedEvent first = events.get(0);
+        assertTrue(first.getString("pieceType") != null);
+        assertTrue(first.getInt("holesCreated") >= 0);
+    }
+}
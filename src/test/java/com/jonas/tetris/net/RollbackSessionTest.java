@@ -0,0 +1,154 @@
+package com.jonas.tetris.net;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Test;
+
+import com.jonas.tetris.engine.InputHandler;
+
+public class RollbackSessionTest {
+    private static final long SEED = 77;
+    private static final int FRAMES = 1200;
+
+    /**
+     * Entradas fixas por assento e frame, diferentes entre os dois lados para
+     * a previsão errar com frequência.
+     */
+    private static int input(int seat, long frame) {
+        long f = frame + seat * 5;
+        if (f % 20 == 19) {
+            return 1 << InputHandler.Action.HARD_DROP.ordinal();
+        }
+        switch ((int) (f % 6)) {
+            case 1:
+                return 1 << (f / 20 % 2 == seat ? InputHandler.Action.LEFT : InputHandler.Action.RIGHT).ordinal();
+            case 4:
+                return 1 << (seat == 0 ? InputHandler.Action.ROTATE : InputHandler.Action.HOLD).ordinal();
+            default:
+                return 0;
+        }
+    }
+
+    /**
+     * Rede de teste medida em frames: cada pacote chega depois da latência
+     * mais um jitter aleatório (podendo passar à frente de outros) ou se
+     * perde.
+     */
+    private static final class Loopback implements RollbackSession.Link {
+        private final Random random;
+        private final int latency;
+        private final int jitter;
+        private final double loss;
+        private final List<long[]> headers = new ArrayList<>(); // Chegada, primeiro frame, ack
+        private final List<byte[]> payloads = new ArrayList<>();
+        private RollbackSession peer;
+        private long now;
+
+        Loopback(long seed, int latency, int jitter, double loss) {
+            this.random = new Random(seed);
+            this.latency = latency;
+            this.jitter = jitter;
+            this.loss = loss;
+        }
+
+        @Override
+        public void send(long firstFrame, byte[] inputs, int count, long ack) {
+            if (random.nextDouble() < loss) {
+                return;
+            }
+            long arrival = now + latency + (jitter == 0 ? 0 : random.nextInt(jitter + 1));
+            headers.add(new long[] { arrival, firstFrame, ack });
+            payloads.add(Arrays.copyOf(inputs, count)); // O array da sessão é reaproveitado
+        }
+
+        void deliver(long tick) {
+            now = tick;
+            Iterator<long[]> header = headers.iterator();
+            Iterator<byte[]> payload = payloads.iterator();
+            while (header.hasNext()) {
+                long[] h = header.next();
+                byte[] p = payload.next();
+                if (h[0] <= tick) {
+                    header.remove();
+                    payload.remove();
+                    peer.receive(h[1], p, p.length, h[2]);
+                }
+            }
+        }
+    }
+
+    /**
+     * Roda os dois lados tick a tick até os dois confirmarem todos os frames.
+     */
+    private static RollbackSession[] play(int latency, int jitter, double loss) {
+        Loopback[] links = { new Loopback(1, latency, jitter, loss), new Loopback(2, latency, jitter, loss) };
+        RollbackSession[] sessions = new RollbackSession[2];
+        for (int seat = 0; seat < 2; seat++) {
+            sessions[seat] = new RollbackSession(new VersusMatch(SEED), seat, links[seat]);
+        }
+        links[0].peer = sessions[1];
+        links[1].peer = sessions[0];
+
+        long tick = 0;
+        while (sessions[0].getConfirmedFrame() < FRAMES - 1 || sessions[1].getConfirmedFrame() < FRAMES - 1) {
+            assertTrue("não convergiu em " + tick + " ticks", tick < FRAMES * 10);
+            for (int seat = 0; seat < 2; seat++) {
+                links[1 - seat].deliver(tick);
+                RollbackSession session = sessions[seat];
+                if (session.getFrame() < FRAMES) {
+                    session.advance(input(seat, session.getFrame()));
+                } else {
+                    session.poll();
+                }
+            }
+            tick++;
+        }
+        return sessions;
+    }
+
+    private static long reference() {
+        VersusMatch match = new VersusMatch(SEED);
+        for (long frame = 0; frame < FRAMES; frame++) {
+            match.step(input(0, frame), input(1, frame));
+        }
+        return match.checksum();
+    }
+
+    @Test
+    public void testBothSidesConvergeUnderJitterAndLoss() {
+        RollbackSession[] sessions = play(3, 4, 0.1);
+        long expected = reference();
+        for (RollbackSession session : sessions) {
+            assertEquals(FRAMES, session.getMatch().getFrame());
+            assertEquals(expected, session.getMatch().checksum());
+            assertTrue(session.getRollbacks() > 0);
+            assertTrue("rollback: " + session.getMaxRollback(),
+                    session.getMaxRollback() <= RollbackSession.MAX_ROLLBACK + 1);
+        }
+        System.out.printf("rollbacks %d/%d, frames re-simulados %d/%d, stalls %d/%d%n",
+                sessions[0].getRollbacks(), sessions[1].getRollbacks(), sessions[0].getResimulatedFrames(),
+                sessions[1].getResimulatedFrames(), sessions[0].getStalls(), sessions[1].getStalls());
+    }
+
+    /**
+     * Latência acima da janela de previsão: os dois lados seguram frames em
+     * vez de prever demais, e ainda assim terminam iguais.
+     */
+    @Test
+    public void testHighLatencyStallsInsteadOfPredictingFurther() {
+        RollbackSession[] sessions = play(12, 2, 0);
+        long expected = reference();
+        for (RollbackSession session : sessions) {
+            assertEquals(expected, session.getMatch().checksum());
+            assertTrue(session.getStalls() > 0);
+            assertTrue(session.getMaxRollback() <= RollbackSession.MAX_ROLLBACK + 1);
+        }
+    }
+}
@@ -0,0 +1,156 @@
+package com.jonas.tetris.net;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class VersusServerTest {
+    private VersusServer server;
+    private InetSocketAddress address;
+
+    @Before
+    public void setUp() throws IOException {
+        server = new VersusServer(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0));
+        server.start();
+        address = new InetSocketAddress(InetAddress.getLoopbackAddress(), server.getPort());
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        server.close();
+    }
+
+    @Test
+    public void testTwoBotsPlayARoomToTheEnd() throws Exception {
+        try (VersusBot first = new VersusBot(address, 50); VersusBot second = new VersusBot(address, 50)) {
+            first.join("duelo", 2);
+            second.join("duelo", 2);
+            assertEquals(0, first.awaitStart());
+            assertEquals(1, second.awaitStart());
+
+            ExecutorService pool = Executors.newFixedThreadPool(2);
+            Future<Integer> a = pool.submit(first::play);
+            Future<Integer> b = pool.submit(second::play);
+            int winner = a.get(30, TimeUnit.SECONDS);
+            assertEquals(winner, (int) b.get(30, TimeUnit.SECONDS));
+            pool.shutdown();
+
+            assertTrue(winner == 0 || winner == 1);
+            assertTrue(first.getPieces() > 0 && second.getPieces() > 0);
+        }
+        assertEquals(1, server.getFinishedRooms());
+        assertEquals(0, server.getActiveRooms());
+    }
+
+    @Test
+    public void testErrorsAndDisconnectDuringAGame() throws Exception {
+        // b cai no meio da partida, então não é recurso do try
+        Socket b = new Socket(address.getAddress(), address.getPort());
+        try (Socket a = new Socket(address.getAddress(), address.getPort())) {
+            BufferedReader inA = reader(a);
+            BufferedReader inB = reader(b);
+            assertTrue(inA.readLine().startsWith("{\"type\":\"info\""));
+            inB.readLine();
+
+            send(a, "{\"type\":\"play\",\"x\":0}\nnot json\n{\"type\":\"join\",\"room\":\"r\",\"size\":9}\n");
+            assertTrue(inA.readLine().contains("nenhuma partida"));
+            assertTrue(inA.readLine().startsWith("{\"type\":\"error\""));
+            assertTrue(inA.readLine().contains("size fora"));
+
+            send(a, "{\"type\":\"join\",\"room\":\"r\",\"seed\":4}\n");
+            assertTrue(inA.readLine().contains("\"type\":\"waiting\""));
+            send(b, "{\"type\":\"join\",\"room\":\"r\"}\n");
+            String start = inB.readLine();
+            assertTrue(start, start.contains("\"you\":1") && start.contains("\"seed\":4"));
+            assertTrue(inB.readLine().startsWith("{\"type\":\"state\""));
+
+            // Quem cai no meio perde; o outro vence
+            b.close();
+            inA.readLine(); // start
+            inA.readLine(); // state
+            assertTrue(inA.readLine().contains("\"eliminated\",\"player\":1"));
+            assertTrue(inA.readLine().contains("\"winner\":0"));
+        } finally {
+            b.close();
+        }
+    }
+
+    /**
+     * Centenas de salas abertas ao mesmo tempo num único seletor: todas
+     * começam antes de qualquer jogada e todas chegam ao resultado.
+     */
+    @Test
+    public void testHundredsOfConcurrentRooms() throws Exception {
+        int rooms = 200;
+        List<VersusBot> bots = new ArrayList<>();
+        try {
+            for (int i = 0; i < rooms; i++) {
+                for (int seat = 0; seat < 2; seat++) {
+                    VersusBot bot = new VersusBot(address, 50);
+                    bots.add(bot);
+                    bot.join("carga-" + i, 2);
+                }
+            }
+            for (VersusBot bot : bots) {
+                bot.awaitStart();
+            }
+            assertEquals(rooms, server.getActiveRooms());
+
+            ExecutorService pool = Executors.newFixedThreadPool(bots.size());
+            List<Future<Integer>> winners = new ArrayList<>();
+            long start = System.nanoTime();
+            for (VersusBot bot : bots) {
+                winners.add(pool.submit(bot::play));
+            }
+            int pieces = 0;
+            int garbage = 0;
+            for (int i = 0; i < bots.size(); i += 2) {
+                int winner = winners.get(i).get(60, TimeUnit.SECONDS);
+                assertEquals(winner, (int) winners.get(i + 1).get(60, TimeUnit.SECONDS));
+                pieces += bots.get(i).getPieces() + bots.get(i + 1).getPieces();
+                garbage += bots.get(i).getGarbageReceived() + bots.get(i + 1).getGarbageReceived();
+            }
+            double seconds = (System.nanoTime() - start) / 1e9;
+            pool.shutdown();
+
+            assertEquals(rooms, server.getFinishedRooms());
+            assertEquals(rooms, server.getPeakRooms());
+            assertTrue("lixo trocado: " + garbage, garbage > 0);
+            System.out.printf("%d salas, %d peças em %.2f s (%.0f peças/s)%n", rooms, pieces, seconds,
+                    pieces / seconds);
+        } finally {
+            for (VersusBot bot : bots) {
+                bot.close();
+            }
+        }
+    }
+
+    private static BufferedReader reader(Socket socket) throws IOException {
+        socket.setSoTimeout(5000);
+        return new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+    }
+
+    private static void send(Socket socket, String lines) throws IOException {
+        OutputStream out = socket.getOutputStream();
+        out.write(lines.getBytes(StandardCharsets.UTF_8));
+        out.flush();
+    }
+}
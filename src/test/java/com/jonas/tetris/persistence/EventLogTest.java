@@ -0,0 +1,112 @@
+package com.jonas.tetris.persistence;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.jonas.tetris.domain.Tetromino;
+import com.jonas.tetris.engine.GameController;
+import com.jonas.tetris.engine.GameEvent;
+import com.jonas.tetris.engine.GameEventBus;
+
+public class EventLogTest {
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private static List<GameEvent.Type> readTypes(Path directory) throws IOException {
+        List<GameEvent.Type> types = new ArrayList<>();
+        for (Path file : EventLogReader.listFiles(directory)) {
+            try (EventLogReader reader = new EventLogReader(file)) {
+                while (reader.next()) {
+                    types.add(reader.getType());
+                }
+            }
+        }
+        return types;
+    }
+
+    @Test
+    public void testControllerEventsRoundTrip() throws IOException {
+        Path directory = folder.getRoot().toPath();
+        GameController controller = new GameController();
+        EventLogWriter writer = new EventLogWriter(directory, EventLogWriter.DEFAULT_MAX_FILE_BYTES, 3);
+        writer.attach(controller.getEventBus());
+
+        controller.startGame();
+        controller.moveLeft();
+        controller.rotate();
+        controller.hold();
+        controller.hardDrop();
+        writer.close();
+
+        List<GameEvent.Type> types = readTypes(directory);
+        assertEquals(GameEvent.Type.PIECE_SPAWNED, types.get(0));
+        assertTrue(types.contains(GameEvent.Type.MOVE));
+        assertTrue(types.contains(GameEvent.Type.ROTATE));
+        assertTrue(types.contains(GameEvent.Type.HOLD));
+        assertTrue(types.contains(GameEvent.Type.PIECE_LOCKED));
+        assertEquals(writer.getRecordCount(), types.size());
+    }
+
+    @Test
+    public void testRecordFieldsArePreserved() throws IOException {
+        Path directory = folder.getRoot().toPath();
+        GameEventBus bus = new GameEventBus();
+        EventLogWriter writer = new EventLogWriter(directory, EventLogWriter.DEFAULT_MAX_FILE_BYTES, 3);
+        writer.attach(bus);
+
+        bus.publishPieceEvent(GameEvent.Type.PIECE_LOCKED, new Tetromino(Tetromino.Type.L, 4, 17), 2, 3, 1234);
+        bus.publishLineCleared(4, 2400, 3, 1234);
+        writer.close();
+
+        try (EventLogReader reader = new EventLogReader(EventLogReader.listFiles(directory).get(0))) {
+            assertTrue(reader.next());
+            assertEquals(GameEvent.Type.PIECE_LOCKED, reader.getType());
+            assertEquals(Tetromino.Type.L, reader.getPieceType());
+            assertEquals(4, reader.getX());
+            assertEquals(17, reader.getY());
+            assertEquals(2, reader.getRotation());
+            assertEquals(3, reader.getLevel());
+            assertEquals(1234, reader.getFrame());
+
+            assertTrue(reader.next());
+            assertEquals(GameEvent.Type.LINE_CLEARED, reader.getType());
+            assertEquals(4, reader.getLineCount());
+            assertEquals(2400, reader.getPoints());
+            assertTrue(reader.getNanoTime() > 0);
+
+            assertFalse(reader.next());
+        }
+    }
+
+    @Test
+    public void testFilesRollAndOldOnesAreDeleted() throws IOException {
+        Path directory = folder.getRoot().toPath();
+        GameEventBus bus = new GameEventBus(4096);
+        long maxFileBytes = EventLogWriter.HEADER_SIZE + 10 * EventLogWriter.RECORD_SIZE;
+        EventLogWriter writer = new EventLogWriter(directory, maxFileBytes, 3);
+        writer.attach(bus);
+
+        for (int i = 0; i < 100; i++) {
+            bus.publishLevelUp(i, i);
+        }
+        writer.close();
+
+        List<Path> files = EventLogReader.listFiles(directory);
+        assertEquals(3, files.size());
+        for (Path file : files) {
+            assertTrue(Files.size(file) <= maxFileBytes);
+        }
+        assertEquals(30, readTypes(directory).size()); // Só os 3 arquivos mais recentes
+    }
+}
@@ -0,0 +1,96 @@
+package com.jonas.tetris.persistence;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.jonas.tetris.engine.GameCheckpoint;
+import com.jonas.tetris.engine.GameController;
+import com.jonas.tetris.engine.GameState;
+
+public class GameSaveStoreTest {
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private static GameController gameInProgress() {
+        GameController controller = new GameController(11);
+        controller.startGame();
+        for (int i = 0; i < 6; i++) {
+            controller.shiftToWall(i % 2 == 0 ? -1 : 1);
+            controller.hardDrop();
+        }
+        return controller;
+    }
+
+    @Test
+    public void testSaveAndLoad() throws IOException {
+        Path file = folder.getRoot().toPath().resolve("save.dat");
+        GameController controller = gameInProgress();
+        try (GameSaveStore store = new GameSaveStore(file)) {
+            assertTrue(store.save(controller));
+        }
+
+        GameCheckpoint loaded = GameSaveStore.load(file);
+        assertEquals(controller.getScore(), loaded.getScore());
+        assertEquals(controller.getLevel(), loaded.getLevel());
+
+        GameController restored = new GameController();
+        restored.restore(loaded);
+        GameState expected = controller.getState();
+        GameState actual = restored.getState();
+        assertEquals(expected.getCurrentPiece(), actual.getCurrentPiece());
+        assertEquals(expected.getTotalPieces(), actual.getTotalPieces());
+        for (int y = 0; y < expected.getBoardGrid().length; y++) {
+            for (int x = 0; x < expected.getBoardGrid()[y].length; x++) {
+                assertEquals(expected.getBoardColors()[y][x], actual.getBoardColors()[y][x]);
+            }
+        }
+    }
+
+    @Test
+    public void testCaptureIsWellUnderAMillisecond() {
+        GameController controller = gameInProgress();
+        GameSaveStore store = new GameSaveStore(folder.getRoot().toPath().resolve("save.dat"));
+        for (int i = 0; i < 10_000; i++) {
+            store.capture(controller); // Aquecimento
+        }
+
+        int runs = 1000;
+        long start = System.nanoTime();
+        for (int i = 0; i < runs; i++) {
+            assertTrue(store.capture(controller));
+        }
+        long averageNanos = (System.nanoTime() - start) / runs;
+        assertTrue("captura levou " + averageNanos + " ns", averageNanos < 250_000);
+        assertTrue("save compacto: " + store.size(), store.size() < 512);
+    }
+
+    @Test
+    public void testCorruptSaveRejectedAndDiscardDeletes() throws IOException {
+        Path file = folder.getRoot().toPath().resolve("save.dat");
+        GameSaveStore store = new GameSaveStore(file);
+        assertTrue(store.save(gameInProgress()));
+
+        byte[] bytes = Files.readAllBytes(file);
+        bytes[20] ^= 1;
+        Files.write(file, bytes);
+        try {
+            GameSaveStore.load(file);
+            fail("CRC deveria falhar");
+        } catch (IOException expected) {
+            // ok
+        }
+
+        store.discard();
+        assertFalse(GameSaveStore.exists(file));
+    }
+}
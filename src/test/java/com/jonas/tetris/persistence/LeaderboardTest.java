@@ -0,0 +1,137 @@
+package com.jonas.tetris.persistence;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class LeaderboardTest {
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private static ScoreEntry game(int score, long timestamp) {
+        return new ScoreEntry(score, score / 100, 1 + score / 1000, score / 10, 60_000, "classic", timestamp);
+    }
+
+    @Test
+    public void testTopAndRankWithTies() throws IOException {
+        Path file = folder.getRoot().toPath().resolve("board.dat");
+        try (Leaderboard board = Leaderboard.open(file)) {
+            assertEquals(1, board.record(game(500, 1)));
+            assertEquals(1, board.record(game(900, 2)));
+            assertEquals(3, board.record(game(500, 3))); // empate: a mais antiga fica na frente
+            assertEquals(4, board.record(game(100, 4)));
+
+            List<ScoreEntry> top = board.top(3);
+            assertEquals(900, top.get(0).getScore());
+            assertEquals(1, top.get(1).getTimestampMillis());
+            assertEquals(3, top.get(2).getTimestampMillis());
+            assertEquals("classic", top.get(0).getMode());
+
+            assertEquals(2, board.rankOf(500));
+            assertEquals(1, board.rankOf(1000));
+            assertEquals(5, board.rankOf(0));
+            assertEquals(900, board.getHighScore());
+        }
+    }
+
+    @Test
+    public void testReopenRebuildsIndex() throws IOException {
+        Path file = folder.getRoot().toPath().resolve("board.dat");
+        Random random = new Random(3);
+        List<Integer> scores = new ArrayList<>();
+        try (Leaderboard board = Leaderboard.open(file)) {
+            for (int i = 0; i < 5000; i++) {
+                int score = random.nextInt(100_000);
+                scores.add(score);
+                board.record(game(score, i));
+            }
+        }
+        scores.sort(Collections.reverseOrder());
+
+        try (Leaderboard board = Leaderboard.open(file)) {
+            assertEquals(5000, board.size());
+            List<ScoreEntry> top = board.top(50);
+            for (int i = 0; i < top.size(); i++) {
+                assertEquals((int) scores.get(i), top.get(i).getScore());
+            }
+            int probe = scores.get(1234);
+            assertEquals(scores.indexOf(probe) + 1, board.rankOf(probe));
+        }
+    }
+
+    @Test
+    public void testTornTailIsDiscarded() throws IOException {
+        Path file = folder.getRoot().toPath().resolve("board.dat");
+        try (Leaderboard board = Leaderboard.open(file)) {
+            board.record(game(300, 1));
+            board.record(game(700, 2));
+        }
+
+        // Simula queda no meio da gravação do terceiro registro
+        long goodSize = Files.size(file);
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+            channel.write(java.nio.ByteBuffer.wrap(new byte[Leaderboard.RECORD_SIZE / 2]));
+        }
+
+        try (Leaderboard board = Leaderboard.open(file)) {
+            assertEquals(2, board.size());
+            assertEquals(goodSize, Files.size(file));
+            assertEquals(2, board.record(game(500, 3)));
+        }
+        try (Leaderboard board = Leaderboard.open(file)) {
+            assertEquals(3, board.size());
+        }
+    }
+
+    @Test
+    public void testRankIndexMatchesSortedOrder() {
+        RankIndex index = new RankIndex();
+        Random random = new Random(11);
+        List<Integer> scores = new ArrayList<>();
+        for (int i = 0; i < 20_000; i++) {
+            int score = random.nextInt(1000); // muitos empates
+            scores.add(score);
+            index.add(score);
+        }
+        List<Integer> sorted = new ArrayList<>(scores);
+        sorted.sort(Collections.reverseOrder());
+
+        for (int rank = 0; rank < sorted.size(); rank += 97) {
+            assertEquals((int) sorted.get(rank), index.scoreOf(index.select(rank)));
+        }
+        assertEquals(sorted.indexOf(500), index.countAbove(500));
+    }
+
+    @Test
+    public void testBuildMatchesIncrementalInsert() {
+        Random random = new Random(5);
+        int[] scores = new int[10_000];
+        RankIndex incremental = new RankIndex();
+        for (int i = 0; i < scores.length; i++) {
+            scores[i] = random.nextInt(500);
+            incremental.add(scores[i]);
+        }
+        RankIndex built = new RankIndex();
+        built.build(scores, scores.length);
+
+        assertEquals(incremental.size(), built.size());
+        for (int rank = 0; rank < scores.length; rank += 37) {
+            assertEquals(incremental.select(rank), built.select(rank));
+        }
+        assertEquals(incremental.countAbove(250), built.countAbove(250));
+        assertEquals(scores.length, built.add(42)); // continua aceitando inserções
+        assertEquals(incremental.countAtOrAbove(42) + 1, built.countAtOrAbove(42));
+    }
+}
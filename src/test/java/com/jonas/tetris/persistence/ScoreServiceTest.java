@@ -0,0 +1,138 @@
+package com.jonas.tetris.persistence;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class ScoreServiceTest {
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private Path stats() {
+        return folder.getRoot().toPath().resolve("stats.dat");
+    }
+
+    private Path aggregates() {
+        return folder.getRoot().toPath().resolve("aggregates.dat");
+    }
+
+    private static ScoreEntry game(int score) {
+        return new ScoreEntry(score, 0, 1, 0, 1000, "classic", score);
+    }
+
+    /**
+     * Segura a thread de escrita até o latch ser liberado.
+     */
+    private static void block(ScoreService service, CountDownLatch release) {
+        service.submit(board -> {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return null;
+        });
+    }
+
+    @Test
+    public void testWritesRunOnWriterThreadInOrder() {
+        Path file = folder.getRoot().toPath().resolve("board.dat");
+        try (ScoreService service = new ScoreService(file, stats(), aggregates())) {
+            CompletableFuture<Integer> first = service.record(game(100));
+            CompletableFuture<Integer> second = service.record(game(300));
+            CompletableFuture<Integer> third = service.record(game(200));
+
+            assertEquals("tetris-scores", service.submit(board -> Thread.currentThread().getName()).join());
+            assertEquals(1, (int) first.join());
+            assertEquals(1, (int) second.join());
+            assertEquals(2, (int) third.join());
+            assertEquals(3, (int) service.gameCount().join());
+        }
+    }
+
+    @Test
+    public void testHighScoreCacheSeesQueuedWrites() {
+        Path file = folder.getRoot().toPath().resolve("board.dat");
+        try (ScoreService service = new ScoreService(file, stats(), aggregates())) {
+            service.record(game(500));
+            assertEquals(500, (int) service.highScore().join());
+
+            CountDownLatch release = new CountDownLatch(1);
+            block(service, release);
+            CompletableFuture<Integer> pending = service.record(game(900));
+
+            // O disco ainda não viu a partida, mas o cache já
+            CompletableFuture<Integer> cached = service.highScore();
+            assertTrue(cached.isDone());
+            assertEquals(900, (int) cached.join());
+            assertFalse(pending.isDone());
+
+            release.countDown();
+            assertEquals(1, (int) pending.join());
+        }
+    }
+
+    @Test
+    public void testCloseWritesPendingEntries() throws IOException {
+        Path file = folder.getRoot().toPath().resolve("board.dat");
+        ScoreService service = new ScoreService(file, stats(), aggregates());
+        CountDownLatch release = new CountDownLatch(1);
+        block(service, release);
+        for (int i = 0; i < 100; i++) {
+            service.record(game(i));
+        }
+        release.countDown();
+        service.close();
+
+        try (Leaderboard board = Leaderboard.open(file)) {
+            assertEquals(100, board.size());
+            assertEquals(99, board.getHighScore());
+        }
+    }
+
+    @Test
+    public void testAggregatesCatchUpWithLeaderboard() throws IOException {
+        Path file = folder.getRoot().toPath().resolve("board.dat");
+        try (ScoreService service = new ScoreService(file, stats(), aggregates())) {
+            service.record(game(100));
+            service.record(game(700)).join();
+        }
+        // Partidas gravadas sem passar pelos agregados (queda entre as duas escritas)
+        try (Leaderboard board = Leaderboard.open(file)) {
+            board.record(game(400));
+            board.record(game(900));
+        }
+
+        try (ScoreService service = new ScoreService(file, stats(), aggregates())) {
+            StatsAggregator aggregates = service.loadAggregates().join();
+            assertEquals(4, aggregates.getGames());
+            assertEquals(900, aggregates.getBestScore());
+            assertEquals(525.0, aggregates.getMeanScore(), 1e-9);
+
+            service.record(game(50)).join();
+            assertEquals(5, aggregates.getGames());
+        }
+        assertEquals(5, StatsAggregator.load(aggregates()).getGames());
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testSubmitAfterCloseFails() throws Throwable {
+        ScoreService service = new ScoreService(folder.getRoot().toPath().resolve("board.dat"), stats(), aggregates());
+        service.close();
+        try {
+            service.record(game(1)).join();
+        } catch (CompletionException e) {
+            throw e.getCause();
+        }
+    }
+}
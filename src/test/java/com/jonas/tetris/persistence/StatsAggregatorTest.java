@@ -0,0 +1,103 @@
+package com.jonas.tetris.persistence;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Random;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class StatsAggregatorTest {
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private static ScoreEntry game(int score, int pieces, long durationMs, String mode) {
+        return new ScoreEntry(score, score / 100, 1, pieces, durationMs, mode, 0);
+    }
+
+    private static StatsAggregator randomGames(int count, int[] scores) {
+        StatsAggregator aggregator = new StatsAggregator();
+        Random random = new Random(9);
+        for (int i = 0; i < count; i++) {
+            scores[i] = 1 + random.nextInt(200_000);
+            aggregator.record(game(scores[i], 60 + random.nextInt(240), 60_000, i % 2 == 0 ? "classic" : "nes"));
+        }
+        Arrays.sort(scores);
+        return aggregator;
+    }
+
+    @Test
+    public void testRunningValuesAndPercentiles() {
+        int[] scores = new int[10_000];
+        StatsAggregator aggregator = randomGames(scores.length, scores);
+
+        assertEquals(10_000, aggregator.getGames());
+        assertEquals(Arrays.stream(scores).average().getAsDouble(), aggregator.getMeanScore(), 1e-6);
+        assertEquals(scores[scores.length - 1], aggregator.getBestScore());
+        for (double percentile : new double[] { 50, 90, 99 }) {
+            int exact = scores[(int) Math.ceil(percentile / 100 * scores.length) - 1];
+            assertEquals(exact, aggregator.getScorePercentile(percentile), exact * 0.03);
+        }
+        // 60 a 299 peças por minuto: de 1 a ~5 PPS, uniforme
+        assertEquals(3.0, aggregator.getPpsPercentile(50), 0.1);
+        assertEquals(2, aggregator.getModes().size());
+        assertEquals(5000, aggregator.getModes().get("nes").getGames());
+    }
+
+    @Test
+    public void testLegacyRecordOnlyCountsTowardsScores() {
+        StatsAggregator aggregator = new StatsAggregator();
+        aggregator.record(game(4000, 100, 60_000, "classic"));
+        aggregator.record(new ScoreEntry(90_000, 0, 0, 0, 0, ScoreRepository.LEGACY_MODE, 0));
+
+        assertEquals(2, aggregator.getGames());
+        assertEquals(1, aggregator.getTimedGames());
+        assertEquals(47_000, aggregator.getMeanScore(), 1e-9);
+        assertEquals(90_000, aggregator.getBestScore());
+        assertEquals(100 / 60.0, aggregator.getMeanPps(), 1e-4);
+        assertEquals(60_000, aggregator.getTotalDurationMs());
+        assertEquals(100 / 60.0, aggregator.getPpsPercentile(0), 0.05);
+        assertEquals(Collections.singleton("classic"), aggregator.getModes().keySet());
+    }
+
+    @Test
+    public void testSaveAndLoadRoundTrip() throws IOException {
+        Path file = folder.getRoot().toPath().resolve("aggregates.dat");
+        int[] scores = new int[2000];
+        StatsAggregator original = randomGames(scores.length, scores);
+        original.save(file);
+
+        StatsAggregator loaded = StatsAggregator.load(file);
+        assertEquals(original.getGames(), loaded.getGames());
+        assertEquals(original.getTimedGames(), loaded.getTimedGames());
+        assertEquals(original.getMeanPps(), loaded.getMeanPps(), 0);
+        assertEquals(original.getLinesPerMinute(), loaded.getLinesPerMinute(), 0);
+        assertEquals(original.getBestPps(), loaded.getBestPps(), 0);
+        for (double percentile : new double[] { 50, 90, 99, 100 }) {
+            assertEquals(original.getScorePercentile(percentile), loaded.getScorePercentile(percentile));
+            assertEquals(original.getPpsPercentile(percentile), loaded.getPpsPercentile(percentile), 0);
+        }
+        assertEquals(original.getModes().get("classic").getBestScore(),
+                loaded.getModes().get("classic").getBestScore());
+    }
+
+    @Test
+    public void testCorruptFileLoadsEmpty() throws IOException {
+        Path file = folder.getRoot().toPath().resolve("aggregates.dat");
+        StatsAggregator aggregator = new StatsAggregator();
+        aggregator.record(game(1000, 100, 60_000, "classic"));
+        aggregator.save(file);
+
+        byte[] bytes = Files.readAllBytes(file);
+        bytes[10] ^= 1;
+        Files.write(file, bytes);
+        assertEquals(0, StatsAggregator.load(file).getGames());
+        assertEquals(0, StatsAggregator.load(folder.getRoot().toPath().resolve("missing.dat")).getGames());
+    }
+}
@@ -0,0 +1,122 @@
+package com.jonas.tetris.persistence;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.jonas.tetris.domain.Tetromino;
+import com.jonas.tetris.engine.GameController;
+import com.jonas.tetris.engine.GameState;
+import com.jonas.tetris.persistence.StatsHistory.Column;
+
+public class StatsHistoryTest {
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private static final int[] CLEARS = { 3, 2, 1, 1 };
+
+    /**
+     * Partida i: pontuação 100*i, i linhas em i minutos, 60*i peças (1 PPS).
+     */
+    private static void appendGame(StatsHistory history, int i) throws IOException {
+        int[] pieces = new int[Tetromino.Type.values().length];
+        pieces[Tetromino.Type.I.ordinal()] = 60 * i;
+        history.append(100 * i, i, 60_000L * i, 1_000L * i, pieces, CLEARS);
+    }
+
+    @Test
+    public void testAggregatesAcrossChunks() throws IOException {
+        Path file = folder.getRoot().toPath().resolve("stats.dat");
+        int games = StatsHistory.CHUNK_ROWS + 10;
+        try (StatsHistory history = StatsHistory.open(file)) {
+            for (int i = 1; i <= games; i++) {
+                appendGame(history, i);
+            }
+
+            assertEquals(games, history.size());
+            assertEquals(100.0 * games, history.max(Column.SCORE, 0, games), 0);
+            assertEquals((double) games * (games + 1) / 2, history.sum(Column.LINES, 0, games), 0);
+            assertEquals(1.0, history.max(Column.PPS, 0, games), 1e-6);
+            assertEquals(1.0, history.linesPerMinute(0, games), 1e-9);
+            assertEquals(100.0, history.slope(Column.SCORE, games - 1000, games), 1e-6);
+            assertEquals(2.0 * games, history.sum(Column.clears(2), 0, games), 0);
+            assertEquals(60.0 * games, history.get(Column.pieces(Tetromino.Type.I), games - 1), 0);
+        }
+    }
+
+    @Test
+    public void testReopenKeepsRowsAndClampsCount() throws IOException {
+        Path file = folder.getRoot().toPath().resolve("stats.dat");
+        try (StatsHistory history = StatsHistory.open(file)) {
+            for (int i = 1; i <= 5; i++) {
+                appendGame(history, i);
+            }
+        }
+        try (StatsHistory history = StatsHistory.open(file)) {
+            assertEquals(5, history.size());
+            assertEquals(500, history.get(Column.SCORE, 4), 0);
+            assertEquals(5000, history.get(Column.TIMESTAMP, 4), 0);
+        }
+
+        // Arquivo cortado no meio do bloco: o contador não passa do que existe
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            channel.truncate(StatsHistory.HEADER_SIZE + StatsHistory.CHUNK_BYTES / 2);
+        }
+        try (StatsHistory history = StatsHistory.open(file)) {
+            assertEquals(0, history.size());
+            appendGame(history, 7);
+            assertEquals(700, history.get(Column.SCORE, 0), 0);
+        }
+    }
+
+    @Test
+    public void testSummaryFromPlayedGame() throws IOException {
+        GameController controller = new GameController(42);
+        controller.startGame();
+        while (controller.getStatus() != GameState.GameStatus.GAME_OVER) {
+            controller.hardDrop();
+        }
+        GameState state = controller.getState();
+
+        int[] pieces = new int[Tetromino.Type.values().length];
+        int pieceTotal = 0;
+        for (Tetromino.Type type : Tetromino.Type.values()) {
+            pieces[type.ordinal()] = state.getPieceCount(type);
+            pieceTotal += pieces[type.ordinal()];
+        }
+        int[] clears = new int[GameState.MAX_CLEAR];
+        int clearedLines = 0;
+        for (int lines = 1; lines <= GameState.MAX_CLEAR; lines++) {
+            clears[lines - 1] = state.getClearCount(lines);
+            clearedLines += lines * clears[lines - 1];
+        }
+        assertEquals(state.getTotalPieces(), pieceTotal);
+        assertEquals(state.getTotalLines(), clearedLines);
+
+        Path file = folder.getRoot().toPath().resolve("stats.dat");
+        try (StatsHistory history = StatsHistory.open(file)) {
+            history.append(state.getScore(), state.getTotalLines(), 90_000, 1, pieces, clears);
+            history.append(0, 0, 500, 2, new int[pieces.length], new int[clears.length]);
+
+            StatsSummary summary = history.summarize(1);
+            assertEquals(2, summary.getGames());
+            assertEquals(1, summary.getRecentGames());
+            assertEquals(0, summary.getPieceCount(Tetromino.Type.T)); // só a última partida
+            assertEquals(0.0, summary.getRecentAveragePps(), 0); // menos de 1 s conta como 0
+
+            summary = history.summarize(10);
+            assertEquals(2, summary.getRecentGames());
+            assertEquals(state.getPieceCount(Tetromino.Type.T), summary.getPieceCount(Tetromino.Type.T));
+            assertEquals(state.getClearCount(1), summary.getClearCount(1));
+            assertEquals(pieceTotal / 90.0 / 2, summary.getRecentAveragePps(), 1e-4);
+            assertEquals(2, summary.getRecentPps().length);
+        }
+    }
+}
@@ -0,0 +1,126 @@
+package com.jonas.tetris.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Test;
+
+public class JsonReaderTest {
+
+    @Test
+    public void testReadTree() throws IOException {
+        JsonReader reader = new JsonReader(new StringReader(
+                "[{\"a\": [1, -2.5e1, true, null], \"b\": \"x\\\"\\u0041\", \"c\": {}}]"));
+
+        List<?> root = (List<?>) reader.readTree();
+        Map<?, ?> parsed = (Map<?, ?>) root.get(0);
+        assertEquals(Arrays.asList(1.0, -25.0, true, null), parsed.get("a"));
+        assertEquals("x\"A", parsed.get("b"));
+        assertTrue(((Map<?, ?>) parsed.get("c")).isEmpty());
+        assertEquals(Arrays.asList("a", "b", "c"), List.copyOf(parsed.keySet()));
+        assertEquals(JsonReader.Token.END_DOCUMENT, reader.peek());
+    }
+
+    @Test
+    public void testReadsNestedValuesAcrossDocuments() throws IOException {
+        JsonReader reader = new JsonReader(new StringReader(
+                "{\"a\": -12, \"b\": [1, 2.5e1, true, null], \"c\": {\"d\": \"x\\\"\\u0041\\n\"}}\n"
+                        + "{\"a\":7}\n"));
+
+        reader.beginObject();
+        assertTrue(reader.nextNameEquals("a"));
+        assertEquals(-12, reader.nextInt());
+        assertFalse(reader.nextNameEquals("x"));
+        assertEquals("b", reader.nextName());
+        reader.beginArray();
+        assertEquals(1, reader.nextLong());
+        assertEquals(25.0, reader.nextDouble(), 0);
+        assertTrue(reader.nextBoolean());
+        reader.nextNull();
+        assertFalse(reader.hasNext());
+        reader.endArray();
+        assertEquals("c", reader.nextName());
+        reader.beginObject();
+        assertEquals("d", reader.nextName());
+        assertEquals("x\"A\n", reader.nextString());
+        reader.endObject();
+        reader.endObject();
+
+        reader.beginObject();
+        assertEquals("a", reader.nextName());
+        reader.skipValue();
+        reader.endObject();
+        assertEquals(JsonReader.Token.END_DOCUMENT, reader.peek());
+    }
+
+    @Test
+    public void testSkipValueSkipsNestedStructures() throws IOException {
+        JsonReader reader = new JsonReader(new StringReader("{\"skip\":{\"a\":[1,{\"b\":[]}]},\"keep\":3}"));
+        reader.beginObject();
+        reader.nextName();
+        reader.skipValue();
+        assertEquals("keep", reader.nextName());
+        assertEquals(3, reader.nextInt());
+        reader.endObject();
+    }
+
+    @Test
+    public void testRecoversAfterSyntaxErrorOnNextLine() throws IOException {
+        JsonReader reader = new JsonReader(new StringReader("{\"a\" 1}\n{\"a\":2}\n"));
+        try {
+            reader.beginObject();
+            reader.nextName();
+            reader.nextInt();
+            fail("faltou o ':'");
+        } catch (IOException expected) {
+            reader.skipLine();
+        }
+
+        reader.beginObject();
+        assertEquals("a", reader.nextName());
+        assertEquals(2, reader.nextInt());
+        reader.endObject();
+        assertEquals(JsonReader.Token.END_DOCUMENT, reader.peek());
+    }
+
+    @Test
+    public void testLineEndingInsideADocumentOnlyLosesThatLine() throws IOException {
+        JsonReader reader = new JsonReader(new StringReader("{\"a\":1\n{\"a\":2}\n[tru\n[3,\n{\"a\":4}\n"));
+        for (int bad = 0; bad < 3; bad++) {
+            try {
+                reader.skipValue();
+                fail("linha terminou antes do documento");
+            } catch (IOException expected) {
+                assertTrue(expected.getMessage(), expected.getMessage().contains("linha"));
+                reader.skipLine();
+            }
+            if (bad == 0) {
+                reader.beginObject();
+                assertEquals("a", reader.nextName());
+                assertEquals(2, reader.nextInt());
+                reader.endObject();
+            }
+        }
+
+        reader.beginObject();
+        assertEquals("a", reader.nextName());
+        assertEquals(4, reader.nextInt());
+        reader.endObject();
+        assertEquals(JsonReader.Token.END_DOCUMENT, reader.peek());
+    }
+
+    @Test
+    public void testReadTreeAcceptsLineBreaks() throws IOException {
+        JsonReader reader = new JsonReader(new StringReader("{\n  \"a\": [\n    1,\n    2\n  ]\n}\n"));
+        assertEquals(Arrays.asList(1.0, 2.0), ((Map<?, ?>) reader.readTree()).get("a"));
+        assertEquals(JsonReader.Token.END_DOCUMENT, reader.peek());
+    }
+}